@@ -2,6 +2,7 @@ package com.jilou.ui;
 
 import com.jilou.ui.container.Scene;
 import com.jilou.ui.logic.Renderer;
+import com.jilou.ui.widget.AbstractWidget;
 
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -23,6 +24,11 @@ public final class ApplicationFactory {
      */
     private static final AtomicInteger sceneID = new AtomicInteger();
 
+    /**
+     * Get a {@link AtomicInteger} for generate next id entry for {@link AbstractWidget} objects.
+     */
+    private static final AtomicInteger widgetID = new AtomicInteger();
+
     /**
      * Generates the next unique identifier for a {@link Renderer}.
      * <p>
@@ -49,5 +55,16 @@ public final class ApplicationFactory {
         return sceneID.getAndIncrement();
     }
 
+    /**
+     * Generates the next unique identifier for an {@link AbstractWidget}.
+     * <p>
+     * The value is used to build a unique localized name for widgets which are created without one.
+     * </p>
+     * @return a {@link Integer} - value which represent the ID
+     */
+    public static Integer giveNextWidgetID() {
+        return widgetID.getAndIncrement();
+    }
+
 }
 
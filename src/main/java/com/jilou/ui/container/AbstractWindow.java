@@ -2,13 +2,17 @@ package com.jilou.ui.container;
 
 import com.jilou.ui.container.layout.Page;
 import com.jilou.ui.widget.AbstractWidget;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.lwjgl.glfw.GLFW;
 
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * An abstract representation of a window built on top of the {@link LWJGLWindow}.
@@ -29,6 +33,12 @@ import java.util.List;
  * The {@link AbstractWindow} also provides an option to configure whether rendering
  * should continue when the window is minimized via the {@link #setRenderAtMinimized(boolean)} method.
  * </p>
+ * <p>
+ * By default the window updates and draws every frame. With {@link #setRenderOnDemand(boolean)} a frame is only
+ * drawn if the active scene changed something visible, see {@link Scene#invalidatePaint()}, or if
+ * {@link #requestRedraw()} was called. Otherwise the window thread sleeps until the next input event, so
+ * {@link #update(float)} is only called after input or about ten times per second while the window is idle.
+ * </p>
  *
  * @since 0.1.0
  * @see LWJGLWindow
@@ -37,6 +47,18 @@ import java.util.List;
 @Getter
 public abstract class AbstractWindow extends LWJGLWindow {
 
+    private static final Logger LOGGER = LogManager.getLogger(AbstractWindow.class);
+
+    /**
+     * The longest time in seconds an idle window sleeps before it checks for changes again.
+     */
+    private static final double IDLE_TIMEOUT = 0.1;
+
+    /**
+     * The longest frame delta in seconds, so animations do not jump after the window was idle.
+     */
+    private static final float MAX_DELTA = 0.1f;
+
     /**
      * {@code true} if rendering continues while minimized; {@code false} otherwise
      * Sets whether the window should continue rendering while minimized.
@@ -53,18 +75,33 @@ public abstract class AbstractWindow extends LWJGLWindow {
     @Setter
     private boolean useDefaultCallbacks;
 
+    /**
+     * {@code true} if frames are only drawn after a change; {@code false} to draw every frame.
+     */
+    @Setter
+    private boolean renderOnDemand;
+
     /**
      * the list of scenes
      */
     private final List<Scene> sceneList = new ArrayList<>();
 
     /**
-     * scene the scene to set as active
      * return the active scene
      */
-    @Setter
     private Scene activeScene;
 
+    /**
+     * The scene which becomes active once it is prepared, null if no switch is pending.
+     */
+    private volatile Scene targetScene;
+
+    /**
+     * The prepared target scene, which is activated by the window thread at the next frame.
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile Scene readyScene;
+
     /**
      * Store the current hovered {@link AbstractWidget}.
      */
@@ -79,6 +116,7 @@ public abstract class AbstractWindow extends LWJGLWindow {
         super(localizedName);
         this.renderAtMinimized = false;
         this.useDefaultCallbacks = true;
+        this.renderOnDemand = false;
         this.setWidth(DEFAULT_WIDTH);
         this.setHeight(DEFAULT_HEIGHT);
         this.activeScene = new Scene(new Page(), this);
@@ -120,12 +158,113 @@ public abstract class AbstractWindow extends LWJGLWindow {
      */
     @Override
     protected void nativeUpdate() {
+        long lastFrame = System.nanoTime();
         while (!isClosing()) {
-            if(activeScene != null) {
-                activeScene.update();
+            long now = System.nanoTime();
+            float delta = Math.min(MAX_DELTA, (now - lastFrame) / 1_000_000_000.0f);
+            lastFrame = now;
+
+            getInput().poll();
+            runWindowTasks();
+            Scene ready = readyScene;
+            if (ready != null) {
+                readyScene = null;
+                setActiveScene(ready);
+            }
+            update(delta);
+            Scene scene = activeScene;
+            boolean animating = false;
+            if(scene != null) {
+                scene.commit();
+                scene.getAnimator().update(delta);
+                animating = scene.getAnimator().isRunning();
+                scene.update();
+            }
+
+            boolean sceneChanged = scene != null && scene.consumePaint();
+            if (consumeRedraw() || sceneChanged || animating || !renderOnDemand) {
+                renderNative(this::render);
+            } else {
+                GLFW.glfwWaitEventsTimeout(IDLE_TIMEOUT);
+            }
+        }
+    }
+
+    /**
+     * Prepares a scene in the background, so it can be shown without stall, see {@link Scene#prepare()}.
+     * <p>
+     * The style, layout and render order are computed on a worker thread, the fonts are loaded on the window
+     * thread afterward. The active scene is prepared by every frame and completes immediately.
+     * </p>
+     *
+     * @param scene the scene to prepare
+     * @return a future which completes with the scene once it is ready
+     */
+    public CompletableFuture<Scene> prepareScene(Scene scene) {
+        if (scene == null) {
+            throw new IllegalArgumentException("Scene cannot be null");
+        }
+        if (scene == activeScene || scene.isPrepared()) {
+            return CompletableFuture.completedFuture(scene);
+        }
+        if (scene.getWidth() != getWidth() || scene.getHeight() != getHeight()) {
+            scene.setWidth(getWidth());
+            scene.setHeight(getHeight());
+        }
+        return CompletableFuture.runAsync(scene::prepare)
+                .thenCompose(ignored -> scene.needsUpload()
+                        ? runOnWindowThread(scene::upload)
+                        : CompletableFuture.<Void>completedFuture(null))
+                .thenApply(ignored -> scene);
+    }
+
+    /**
+     * Switches to a scene once it is prepared. While the window is not running, the scene is activated
+     * immediately. A later switch replaces a pending switch. If the preparation fails, the switch is
+     * dropped and the active scene stays.
+     *
+     * @param scene the scene to show
+     */
+    private void switchScene(Scene scene) {
+        if (scene == null) {
+            return;
+        }
+        if (!isRunning() || scene == activeScene || scene.isPrepared()) {
+            targetScene = null;
+            readyScene = null;
+            setActiveScene(scene);
+            return;
+        }
+        targetScene = scene;
+        prepareScene(scene).whenComplete((prepared, failure) -> {
+            if (targetScene != scene) {
+                return;
+            }
+            targetScene = null;
+            if (failure != null) {
+                LOGGER.error("Scene [ {} ] could not be prepared", scene.getLocalizedName(), failure);
+                return;
             }
-            renderNative(this::render);
+            readyScene = prepared;
+            requestRedraw();
+        });
+    }
+
+    /**
+     * Sets the active scene and draws it at the next frame. The previous scene is released, see {@link Scene}.
+     *
+     * @param activeScene the scene to set as active
+     */
+    public void setActiveScene(Scene activeScene) {
+        Scene previous = this.activeScene;
+        this.activeScene = activeScene;
+        if (previous != null && previous != activeScene) {
+            previous.release();
+        }
+        if (activeScene != null) {
+            activeScene.invalidatePaint();
         }
+        requestRedraw();
     }
 
     @Override
@@ -276,7 +415,7 @@ public abstract class AbstractWindow extends LWJGLWindow {
     }
 
     /**
-     * Navigates to a scene by its ID.
+     * Navigates to a scene by its ID. The scene becomes active once it is prepared, see {@link #prepareScene(Scene)}.
      *
      * @param id the ID of the scene to navigate to
      */
@@ -291,32 +430,34 @@ public abstract class AbstractWindow extends LWJGLWindow {
             return;
         }
 
-        setActiveScene(getScene(id));
+        switchScene(getScene(id));
     }
 
     /**
      * Navigates to the next scene in the list. If no next scene exists, wraps around to the first scene.
+     * The scene becomes active once it is prepared.
      */
     public void nextScene() {
-        int currentIndexID = activeScene.getId();
-        int futureID = currentIndexID + 1;
+        Scene current = targetScene != null ? targetScene : activeScene;
+        int futureID = current.getId() + 1;
         if (hasScene(futureID)) {
-            setActiveScene(getScene(futureID));
+            switchScene(getScene(futureID));
         } else {
-            setActiveScene(sceneList.getFirst());
+            switchScene(sceneList.getFirst());
         }
     }
 
     /**
      * Navigates to the previous scene in the list. If no previous scene exists, wraps around to the last scene.
+     * The scene becomes active once it is prepared.
      */
     public void previousScene() {
-        int currentIndexID = activeScene.getId();
-        int futureID = currentIndexID - 1;
+        Scene current = targetScene != null ? targetScene : activeScene;
+        int futureID = current.getId() - 1;
         if (hasScene(futureID)) {
-            setActiveScene(getScene(futureID));
+            switchScene(getScene(futureID));
         } else {
-            setActiveScene(sceneList.getLast());
+            switchScene(sceneList.getLast());
         }
     }
 
@@ -335,6 +476,7 @@ public abstract class AbstractWindow extends LWJGLWindow {
                 this.height = height;
 
                 calculateViewport();
+                requestRedraw();
             });
 
             addFrameBufferSizeCallback((handle, width, height) -> {
@@ -343,58 +485,29 @@ public abstract class AbstractWindow extends LWJGLWindow {
                     activeScene.setHeight(height);
                 }
                 calculateViewport();
+                requestRedraw();
+            });
+
+            addContentScaleCallback((handle, scaleX, scaleY) -> {
+                calculateViewport();
+                requestRedraw();
             });
 
-            addContentScaleCallback((handle, scaleX, scaleY) -> calculateViewport());
+            addRefreshCallback(handle -> requestRedraw());
 
             addMousePositionCallback((handle, posX, posY) -> {
                 if(activeScene != null) {
-                    for (AbstractWidget widget : activeScene.getReverseUnpackedWidgetList()) {
-                        boolean hovered = isMouseOverWidget(widget, posX, posY);
-
-                        if (hovered) {
-                            if (hoveredWidget != null && !hoveredWidget.equals(widget) && hoveredWidget.isHovered()) {
-                                    hoveredWidget.getHoverCallback().onHover(hoveredWidget, false);
-                            }
-
-                            if (!widget.isHovered()) {
-                                hoveredWidget = widget;
-                                widget.getHoverCallback().onHover(hoveredWidget, true);
-                            }
-                            break;
-                        } else {
-                            if (widget.isHovered()) {
-                                widget.getHoverCallback().onHover(widget, false);
-                                hoveredWidget = null;
-                            }
-                        }
+                    AbstractWidget widget = activeScene.getStore().hitTest(posX, posY);
+                    if (hoveredWidget != null && hoveredWidget != widget && hoveredWidget.isHovered()) {
+                        hoveredWidget.getHoverCallback().onHover(hoveredWidget, false);
+                    }
+                    hoveredWidget = widget;
+                    if (widget != null && !widget.isHovered()) {
+                        widget.getHoverCallback().onHover(widget, true);
                     }
                 }
             });
         }
     }
 
-    /**
-     * Determines if the mouse pointer is hovering over a specific widget.
-     * <p>
-     * This method checks whether the mouse pointer is within the bounds of the given widget,
-     * based on its position and dimensions.
-     * </p>
-     *
-     * @param widget the widget to check against. If {@code null}, the method will return {@code false}.
-     * @param mouseX the x-coordinate of the mouse pointer.
-     * @param mouseY the y-coordinate of the mouse pointer.
-     * @return {@code true} if the mouse pointer is over the widget, {@code false} otherwise.
-     *         Returns {@code false} if the widget is {@code null}.
-     */
-    private boolean isMouseOverWidget(AbstractWidget widget, double mouseX, double mouseY) {
-        if (widget == null) return false;
-        double posX = widget.getPositionX();
-        double posY = widget.getPositionY();
-        double widgetWidth = widget.getWidth();
-        double widgetHeight = widget.getHeight();
-        return mouseX >= posX && mouseX <= posX + widgetWidth &&
-                mouseY >= posY && mouseY <= posY + widgetHeight;
-    }
-
 }
\ No newline at end of file
@@ -7,10 +7,18 @@ import com.jilou.ui.enums.WindowStates;
 import com.jilou.ui.logic.AbstractRenderer;
 import com.jilou.ui.logic.Renderer;
 import com.jilou.ui.logic.callbacks.NativeCallbacks.*;
+import com.jilou.ui.logic.graphics.CanvasRenderer;
+import com.jilou.ui.logic.graphics.ChartRenderer;
+import com.jilou.ui.logic.graphics.ImageRenderer;
+import com.jilou.ui.logic.graphics.PathRenderer;
+import com.jilou.ui.logic.graphics.TiledImageRenderer;
 import com.jilou.ui.logic.graphics.WidgetBackgroundRenderer;
 import com.jilou.ui.logic.graphics.WidgetBorderRenderer;
 import com.jilou.ui.logic.graphics.WidgetTextRenderer;
+import com.jilou.ui.logic.graphics.mapper.ImageNativeMapper;
 import com.jilou.ui.logic.graphics.tools.GLCalculate;
+import com.jilou.ui.logic.input.InputHandler;
+import com.jilou.ui.logic.input.InputState;
 import com.jilou.ui.logic.input.KeyBoard;
 import com.jilou.ui.logic.input.Mouse;
 import com.jilou.ui.utils.Color;
@@ -26,7 +34,9 @@ import org.lwjgl.system.MemoryUtil;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -68,12 +78,22 @@ public abstract class LWJGLWindow {
 
     private final List<LWJGLWindow> nativeWindows = new ArrayList<>();
 
+    /**
+     * The image textures and atlas pages of this window, shared by all renderers which draw images.
+     */
+    private ImageNativeMapper imageMapper;
+
     /**
      * {@link Thread}- active window thread.
      */
     @Getter
     private Thread windowThread;
 
+    /**
+     * Tasks which must run on the window thread, like uploads into the graphics context.
+     */
+    private final Queue<Runnable> windowTasks = new ConcurrentLinkedQueue<>();
+
     /**
      * {@link Long}- current generated native handle.
      */
@@ -124,6 +144,17 @@ public abstract class LWJGLWindow {
 
     protected Color windowBackgroundColor;
 
+    /**
+     * {@link Boolean}- true if a new frame was requested independent of the scene.
+     */
+    private volatile boolean redrawRequested = true;
+
+    /**
+     * {@link InputHandler}- keyboard and mouse input of this window.
+     */
+    @Getter
+    private final InputHandler input = new InputHandler();
+
     private NativeSizeCallback sizeCallback;
     private NativePositionCallback positionCallback;
     private NativeFrameBufferSizeCallback frameBufferSizeCallback;
@@ -505,6 +536,20 @@ public abstract class LWJGLWindow {
         removeRenderer(renderer.getName());
     }
 
+    /**
+     * Function returns the image mapper of this window, which owns the textures and the atlas of all drawn
+     * images. Every renderer which draws images uses it, so an image is uploaded once per window. It is
+     * created on the first call, which must happen on the window thread, and disposed by
+     * {@link #removeAllRenderers()}.
+     * @return {@link ImageNativeMapper}- the image mapper of this window.
+     */
+    public ImageNativeMapper getImageMapper() {
+        if (imageMapper == null) {
+            imageMapper = new ImageNativeMapper(this::requestRedraw);
+        }
+        return imageMapper;
+    }
+
     /**
      * Function removes all {@link Renderer}'s which included in {@link LWJGLWindow}.
      * This is perfect for clean up functions!
@@ -514,6 +559,10 @@ public abstract class LWJGLWindow {
             renderer.dispose();
         }
         renderers.clear();
+        if (imageMapper != null) {
+            imageMapper.dispose();
+            imageMapper = null;
+        }
         LOGGER.info("Removed all renderers!");
     }
 
@@ -568,10 +617,11 @@ public abstract class LWJGLWindow {
      * @param green The green component of the color (0 to 255).
      * @param blue The blue component of the color (0 to 255).
      *
-     * @see Color#set(int, int, int, int) for setting the color using RGB components.
+     * @see Color#rgb(int, int, int) for creating the color using RGB components.
      */
     public void setBackgroundColor(int red, int green, int blue) {
-        windowBackgroundColor.set(red, green, blue, 255);
+        windowBackgroundColor = Color.rgb(red, green, blue);
+        requestRedraw();
     }
 
     /**
@@ -581,10 +631,11 @@ public abstract class LWJGLWindow {
      *
      * @param hexadecimal The hexadecimal string representing the color (e.g., "#FF5733").
      *
-     * @see Color#setHexadecimal(String) for setting the color using hexadecimal notation.
+     * @see Color#hexadecimal(String) for creating the color using hexadecimal notation.
      */
     public void setBackgroundColor(String hexadecimal) {
-        windowBackgroundColor.setHexadecimal(hexadecimal);
+        windowBackgroundColor = Color.hexadecimal(hexadecimal);
+        requestRedraw();
     }
 
     /**
@@ -594,6 +645,73 @@ public abstract class LWJGLWindow {
      */
     public void setBackgroundColor(Color color) {
         windowBackgroundColor = color;
+        requestRedraw();
+    }
+
+    /**
+     * Requests a new frame, for example after a change which is not tracked by the active scene.
+     * This can be called from any thread, a waiting window thread is woken up.
+     */
+    public void requestRedraw() {
+        redrawRequested = true;
+        if (windowHandle != 0L && Thread.currentThread() != windowThread) {
+            GLFW.glfwPostEmptyEvent();
+        }
+    }
+
+    /**
+     * Runs a task on the window thread, which owns the graphics context. The task runs immediately if this is
+     * the window thread, otherwise it runs before the next frame and a waiting window thread is woken up.
+     *
+     * @param task the task
+     * @return a future which completes after the task ran
+     */
+    public CompletableFuture<Void> runOnWindowThread(Runnable task) {
+        if (Thread.currentThread() == windowThread) {
+            task.run();
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        windowTasks.add(() -> {
+            try {
+                task.run();
+                future.complete(null);
+            } catch (RuntimeException exception) {
+                future.completeExceptionally(exception);
+            }
+        });
+        requestRedraw();
+        return future;
+    }
+
+    /**
+     * Runs all tasks which were queued by {@link #runOnWindowThread(Runnable)}. Called by the window thread.
+     */
+    protected void runWindowTasks() {
+        Runnable task;
+        while ((task = windowTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    /**
+     * @return {@code true} if the window thread was started and is still alive.
+     */
+    public boolean isRunning() {
+        return windowThread != null && windowThread.isAlive();
+    }
+
+    /**
+     * Checks if a new frame was requested since the last call and resets the request.
+     *
+     * @return {@code true} if a new frame was requested
+     */
+    protected boolean consumeRedraw() {
+        if (!redrawRequested) {
+            return false;
+        }
+        redrawRequested = false;
+        return true;
     }
 
     /**
@@ -742,6 +860,24 @@ public abstract class LWJGLWindow {
         return nativeWindows;
     }
 
+    /**
+     * Function returns the {@link KeyBoard} of this window. The state is updated once per frame and must only be
+     * read on the window thread, other threads use {@link InputHandler#snapshot(InputState)}.
+     * @return {@link KeyBoard}- keyboard of this window.
+     */
+    public KeyBoard getKeyBoard() {
+        return input.getKeyBoard();
+    }
+
+    /**
+     * Function returns the {@link Mouse} of this window. The state is updated once per frame and must only be
+     * read on the window thread, other threads use {@link InputHandler#snapshot(InputState)}.
+     * @return {@link Mouse}- mouse of this window.
+     */
+    public Mouse getMouse() {
+        return input.getMouse();
+    }
+
     /* ############################################################################################
      *
      *                                       Callbacks
@@ -1001,7 +1137,12 @@ public abstract class LWJGLWindow {
      */
     private void registerDefaultRenderers() {
         addRenderer(new WidgetBackgroundRenderer());
+        addRenderer(new ImageRenderer());
         addRenderer(new WidgetBorderRenderer());
+        addRenderer(new PathRenderer());
+        addRenderer(new TiledImageRenderer());
+        addRenderer(new ChartRenderer());
+        addRenderer(new CanvasRenderer());
         addRenderer(new WidgetTextRenderer());
     }
 
@@ -1125,7 +1266,7 @@ public abstract class LWJGLWindow {
      * </ul>
      * <p>
      * Each callback is registered with GLFW and optionally supplemented with additional functionality
-     * through external handler methods such as {@code KeyBoard::callback} or {@code Mouse::callback}.
+     * through external handler methods such as the input callbacks of this window's {@link InputHandler}.
      * </p>
      *
      * @see GLFW
@@ -1167,23 +1308,23 @@ public abstract class LWJGLWindow {
 
         this.keyCallback = new NativeKeyCallback();
         this.keyCallback.add(GLFW.glfwSetKeyCallback(windowHandle, keyCallback));
-        this.keyCallback.add(KeyBoard::callback);
+        this.keyCallback.add(input::keyCallback);
 
         this.mouseButtonCallback = new NativeMouseButtonCallback();
         this.mouseButtonCallback.add(GLFW.glfwSetMouseButtonCallback(windowHandle, mouseButtonCallback));
-        this.mouseButtonCallback.add(Mouse::callback);
+        this.mouseButtonCallback.add(input::mouseButtonCallback);
 
         this.mousePositionCallback = new NativeMousePositionCallback();
         this.mousePositionCallback.add(GLFW.glfwSetCursorPosCallback(windowHandle, mousePositionCallback));
-        this.mousePositionCallback.add(Mouse::positionCallback);
+        this.mousePositionCallback.add(input::positionCallback);
 
         this.mouseEnteredCallback = new NativeMouseEnteredCallback();
         this.mouseEnteredCallback.add(GLFW.glfwSetCursorEnterCallback(windowHandle, mouseEnteredCallback));
-        this.mouseEnteredCallback.add(Mouse::enteredCallback);
+        this.mouseEnteredCallback.add(input::enteredCallback);
 
         this.scrollCallback = new NativeScrollCallback();
         this.scrollCallback.add(GLFW.glfwSetScrollCallback(windowHandle, scrollCallback));
-        this.scrollCallback.add(Mouse::scrollCallback);
+        this.scrollCallback.add(input::scrollCallback);
     }
 
     /**
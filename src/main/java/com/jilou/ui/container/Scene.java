@@ -2,10 +2,23 @@ package com.jilou.ui.container;
 
 import com.jilou.ui.ApplicationFactory;
 import com.jilou.ui.container.layout.Layout;
+import com.jilou.ui.logic.animation.Animator;
+import com.jilou.ui.logic.binding.Bindings;
+import com.jilou.ui.logic.graphics.font.Font;
+import com.jilou.ui.styles.css.CssSheet;
 import com.jilou.ui.widget.AbstractWidget;
+import com.jilou.ui.widget.LayoutTask;
+import com.jilou.ui.widget.WidgetRegistry;
+import com.jilou.ui.widget.WidgetStore;
+import com.jilou.ui.widget.control.Text;
+import lombok.AccessLevel;
 import lombok.Getter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Represents a scene in the application, which contains a collection of widgets and a layout.
@@ -13,6 +26,18 @@ import java.util.*;
  * Each scene is identified by a unique ID and can optionally be associated with a container window and a root layout.
  * The scene manages widgets, including adding, removing, and updating them, and serves as the basis for user interface rendering.
  * </p>
+ * <p>
+ * A scene is owned by the thread which draws it, see {@link #commit()}. Only the methods of the scene which change
+ * it route calls of other threads: adding and removing widgets, changing the css sheet and the bindings is
+ * queued and applied at the start of the next frame. Widgets and the lookups of the scene, like
+ * {@link #getWidget(String)}, are not thread-safe, other threads must change or read them inside
+ * {@link #post(Runnable)}. Queued changes are not visible to the posting thread until they are applied.
+ * </p>
+ * <p>
+ * A scene which is not drawn has no owner, the window releases a scene when it activates another one. Changes of
+ * any thread then run immediately, unless {@link #prepare()} runs on another thread at the same time, in which
+ * case they are queued and applied by the next {@link #prepare()} or {@link #commit()}.
+ * </p>
  *
  * @since 0.1.0
  * @author Daniel Ramke
@@ -20,6 +45,8 @@ import java.util.*;
 @Getter
 public class Scene {
 
+    private static final Logger LOGGER = LogManager.getLogger(Scene.class);
+
     /**
      * The unique identifier for the {@code Scene}.
      * Retrieves the unique identifier of the scene.
@@ -51,6 +78,23 @@ public class Scene {
 
     private List<AbstractWidget> reverseUnpackedWidgetList;
 
+    /**
+     * The index of all {@link AbstractWidget}'s in this scene, including nested children.
+     */
+    private final WidgetRegistry registry = new WidgetRegistry(this);
+
+    /**
+     * The render data of all registered widgets in primitive arrays, used for hit-testing and drawing.
+     */
+    @Getter
+    private final WidgetStore store = new WidgetStore();
+
+    /**
+     * The animations of this scene, advanced by the window every frame.
+     */
+    @Getter
+    private final Animator animator = new Animator();
+
     /**
      * The container window associated with the scene.
      * Retrieves the container window associated with the scene.
@@ -83,8 +127,62 @@ public class Scene {
     @Getter
     private int height;
 
+    /**
+     * The css style sheet of the scene, null if the widgets are only styled by code.
+     */
+    @Getter
+    private CssSheet css;
+
     private boolean needSorted;
 
+    /**
+     * True if something visible changed since the last frame was drawn.
+     */
+    private volatile boolean paintDirty = true;
+
+    /**
+     * True if {@link #prepare()} ran and the scene was not changed afterward.
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile boolean prepared;
+
+    /**
+     * The fonts whose buffers must be loaded on the window thread before the scene is shown.
+     */
+    @Getter(AccessLevel.NONE)
+    private final List<Font> pendingFonts = new ArrayList<>();
+
+    /**
+     * The changes posted by other threads than the owner, in posting order.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Queue<Runnable> mutations = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The thread which draws the scene, null before the first {@link #commit()}.
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile Thread owner;
+
+    /**
+     * The thread which applies the queued changes at the moment, null if none does.
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile Thread committer;
+
+    /**
+     * Held while {@link #prepare()} or {@link #commit()} touches the scene, and while a change of a thread
+     * runs immediately because the scene has no owner.
+     */
+    @Getter(AccessLevel.NONE)
+    private final ReentrantLock access = new ReentrantLock();
+
+    /**
+     * The data bindings which are applied with every {@link #commit()}.
+     */
+    @Getter(AccessLevel.NONE)
+    private final List<Bindings> bindings = new ArrayList<>();
+
     /**
      * Constructs a scene with no root layout and no container.
      */
@@ -122,16 +220,23 @@ public class Scene {
 
     /**
      * Updates the scene by updating its root layout if it exists.
+     * Afterward the top level widgets are updated, which skip themselves if their subtree is clean.
+     * Large independent subtrees are updated in parallel by {@link LayoutTask}.
+     * If the scene has a {@link CssSheet}, the css style of invalidated widgets is computed first.
      */
     protected void update() {
+        if (css != null && widgetList != null) {
+            for (AbstractWidget widget : widgetList) {
+                widget.updateStyle(css);
+            }
+        }
+
         if (root != null) {
             root.update();
         }
 
         if(widgetList != null) {
-            for (AbstractWidget widget : widgetList) {
-                widget.update();
-            }
+            LayoutTask.update(widgetList, registry.size());
         }
 
         if(needSorted) {
@@ -142,52 +247,358 @@ public class Scene {
 
             reverseUnpackedWidgetList = new ArrayList<>(unpackedWidgetList);
             reverseUnpackedWidgetList.sort((widgetStart, widgetEnd) -> widgetEnd.getStyle().getZIndex() - widgetStart.getStyle().getZIndex());
+            store.setOrder(unpackedWidgetList);
             needSorted = false;
         }
     }
 
+    /**
+     * Does the work of the first frame of this scene ahead of time, so showing the scene does not stall.
+     * <p>
+     * The css style is computed, the widgets are arranged and the render order is built. Fonts which were not
+     * loaded yet are collected, they are loaded by {@link #upload()} on the window thread. This can run on any
+     * thread while the scene is not active. Changes which other threads make through the scene meanwhile are
+     * queued and applied by the next call or the next {@link #commit()}.
+     * </p>
+     */
+    public void prepare() {
+        access.lock();
+        try {
+            applyMutations();
+            update();
+            pendingFonts.clear();
+            List<AbstractWidget> widgets = unpackedWidgetList == null ? List.of() : unpackedWidgetList;
+            for (AbstractWidget widget : widgets) {
+                if (widget instanceof Text text && !text.getFont().isTest() && !pendingFonts.contains(text.getFont())) {
+                    pendingFonts.add(text.getFont());
+                }
+            }
+            prepared = true;
+        } finally {
+            access.unlock();
+        }
+    }
+
+    /**
+     * @return {@code true} if {@link #upload()} has work left for the window thread.
+     */
+    public boolean needsUpload() {
+        access.lock();
+        try {
+            return !pendingFonts.isEmpty();
+        } finally {
+            access.unlock();
+        }
+    }
+
+    /**
+     * Loads the resources collected by {@link #prepare()}. This must run on the window thread.
+     */
+    public void upload() {
+        access.lock();
+        try {
+            for (Font font : pendingFonts) {
+                if (!font.isTest()) {
+                    font.nativeLoadBuffers();
+                }
+            }
+            pendingFonts.clear();
+        } finally {
+            access.unlock();
+        }
+    }
+
+    /**
+     * @return {@code true} if the scene was prepared and its resources are uploaded, so it can be shown without stall.
+     */
+    public boolean isPrepared() {
+        return prepared && !needsUpload();
+    }
+
+    /**
+     * Runs a change of the scene or its widgets on the owner thread. The change runs immediately if this is the
+     * owner thread, or if the scene has no living owner and is not prepared by another thread at the moment.
+     * Otherwise it is queued until the next {@link #prepare()} or {@link #commit()}.
+     *
+     * @param mutation the change
+     */
+    public void post(Runnable mutation) {
+        if (mutation == null) {
+            return;
+        }
+        if (isOwnerThread()) {
+            mutation.run();
+            return;
+        }
+        if (!hasLivingOwner() && access.tryLock()) {
+            try {
+                if (!hasLivingOwner()) {
+                    applyMutations();
+                    mutation.run();
+                    return;
+                }
+            } finally {
+                access.unlock();
+            }
+        }
+        mutations.add(mutation);
+        requestFrame();
+    }
+
+    /**
+     * Queues a change until the next {@link #prepare()} or {@link #commit()}, also if the calling thread owns
+     * the scene. Background tasks hand their results to the owner thread with this, so they never change a
+     * widget while the owner arranges it.
+     *
+     * @param mutation the change
+     */
+    public void enqueue(Runnable mutation) {
+        if (mutation == null) {
+            return;
+        }
+        mutations.add(mutation);
+        requestFrame();
+    }
+
+    /**
+     * Adds data bindings, whose changed values are applied with every {@link #commit()}.
+     *
+     * @param bindings the bindings
+     */
+    public void addBindings(Bindings bindings) {
+        if (bindings == null) {
+            return;
+        }
+        if (!isOwnerThread()) {
+            post(() -> addBindings(bindings));
+            return;
+        }
+        if (!this.bindings.contains(bindings)) {
+            this.bindings.add(bindings);
+            bindings.setWakeUp(this::requestFrame);
+        }
+    }
+
+    /**
+     * Removes data bindings from this scene.
+     *
+     * @param bindings the bindings
+     */
+    public void removeBindings(Bindings bindings) {
+        if (!isOwnerThread()) {
+            post(() -> removeBindings(bindings));
+            return;
+        }
+        if (bindings != null && this.bindings.remove(bindings)) {
+            bindings.setWakeUp(null);
+        }
+    }
+
+    /**
+     * Wakes up the window of this scene, so it draws a new frame.
+     */
+    private void requestFrame() {
+        AbstractWindow window = container;
+        if (window != null) {
+            window.requestRedraw();
+        }
+    }
+
+    /**
+     * Applies all queued changes in posting order and makes the calling thread the owner of this scene.
+     * Afterward the latest values of all changed {@link Bindings} are applied. The window calls this at the
+     * start of every frame, so all changes of a frame are applied together and cost one sort and one layout
+     * pass in the following {@link #update()}.
+     *
+     * @return the amount of applied changes, without the bindings
+     */
+    public int commit() {
+        access.lock();
+        try {
+            owner = Thread.currentThread();
+            int count = applyMutations();
+            for (int i = 0; i < bindings.size(); i++) {
+                bindings.get(i).apply();
+            }
+            return count;
+        } finally {
+            access.unlock();
+        }
+    }
+
+    /**
+     * @return {@code true} if the calling thread owns the scene at the moment: it draws the scene, it applies the
+     * queued changes, or it prepares the scene or runs a change while the scene has no owner. Other threads
+     * must change the scene through {@link #post(Runnable)}.
+     */
+    public boolean isOwnerThread() {
+        Thread current = Thread.currentThread();
+        return current == owner || current == committer || access.isHeldByCurrentThread();
+    }
+
+    /**
+     * Gives up the ownership of the calling thread after the scene stopped being drawn, so changes of other
+     * threads are no longer queued for a frame which does not come. Queued changes are applied if the scene
+     * has no owner afterward.
+     */
+    void release() {
+        access.lock();
+        try {
+            if (owner == Thread.currentThread()) {
+                owner = null;
+            }
+            if (!hasLivingOwner()) {
+                applyMutations();
+            }
+        } finally {
+            access.unlock();
+        }
+    }
+
+    private boolean hasLivingOwner() {
+        Thread thread = owner;
+        return thread != null && thread.isAlive();
+    }
+
+    private int applyMutations() {
+        if (mutations.isEmpty()) {
+            return 0;
+        }
+        committer = Thread.currentThread();
+        int count = 0;
+        try {
+            Runnable mutation;
+            while ((mutation = mutations.poll()) != null) {
+                try {
+                    mutation.run();
+                } catch (RuntimeException exception) {
+                    LOGGER.error("Scene [ {} ] change failed", localizedName, exception);
+                }
+                count++;
+            }
+        } finally {
+            committer = null;
+        }
+        return count;
+    }
+
     /**
      * Sets the root layout of the scene.
      * <p>
      * If the scene already has a root layout, it is cleaned up before setting the new root.
+     * All widgets of the new root are registered at the scene.
      * </p>
      *
      * @param root the new root layout for the scene
      */
     public void setRoot(Layout root) {
-        if (getRoot() != null) {
-            root.cleanUp();
+        if (getRoot() != null && getRoot() != root) {
+            getRoot().cleanUp();
         }
+        registry.clear();
         this.root = root;
         if (root != null) {
             root.setParent(this);
             this.widgetList = root.getWidgetList();
         }
+        registry.registerAll(widgetList);
         this.needSorted = true;
     }
 
+    /**
+     * Sets the css style sheet of the scene. The css style of all widgets is computed again at the next
+     * {@link #update()}. Removing the sheet resets all widgets to their base style.
+     *
+     * @param css the new style sheet, null to style the widgets only by code
+     */
+    public void setCss(CssSheet css) {
+        if (!isOwnerThread()) {
+            post(() -> setCss(css));
+            return;
+        }
+        if (this.css == css) {
+            return;
+        }
+        this.css = css;
+        for (AbstractWidget widget : widgetList) {
+            widget.invalidateStyle();
+            if (css == null) {
+                widget.updateStyle(CssSheet.EMPTY);
+            }
+        }
+    }
+
     /**
      * Adds a widget to the scene if it does not already exist.
+     * A widget which is still the child of another widget is detached from it first.
      *
      * @param widget the widget to add
+     * @throws IllegalArgumentException if a localized name of the widget tree is already used in the scene
      */
     public void add(AbstractWidget widget) {
-        if (hasWidget(widget)) {
+        if (!isOwnerThread()) {
+            post(() -> add(widget));
+            return;
+        }
+        registry.checkNames(widget);
+        if (!attach(widget)) {
             return;
         }
+        registry.register(widget);
+    }
 
-        widgetList.add(widget);
-        this.needSorted = true;
+    /**
+     * Adds all given widgets to the scene.
+     * <p>
+     * The scene order is only invalidated once for the whole collection, which makes this the preferred way
+     * to populate a scene with many widgets.
+     * </p>
+     *
+     * @param widgets the widgets to add
+     * @throws IllegalArgumentException if a localized name of the widget trees is already used in the scene
+     */
+    public void addAll(Collection<? extends AbstractWidget> widgets) {
+        if (widgets == null || widgets.isEmpty()) {
+            return;
+        }
+        if (!isOwnerThread()) {
+            List<AbstractWidget> copy = List.copyOf(widgets);
+            post(() -> addAll(copy));
+            return;
+        }
+        registry.checkNames(widgets);
+        if (widgetList instanceof ArrayList<AbstractWidget> list) {
+            list.ensureCapacity(list.size() + widgets.size());
+        }
+        List<AbstractWidget> attached = new ArrayList<>(widgets.size());
+        for (AbstractWidget widget : widgets) {
+            if (attach(widget)) {
+                attached.add(widget);
+            }
+        }
+        registry.registerAll(attached);
     }
 
     /**
-     * Removes a widget from the scene.
+     * Removes a widget from the scene and destroys it.
+     * The widget can be a top level widget or a nested child of another widget.
      *
      * @param widget the widget to remove
      */
     public void remove(AbstractWidget widget) {
-        if (widget != null) {
-            remove(widget.getLocalizedName());
+        if (!isOwnerThread()) {
+            post(() -> remove(widget));
+            return;
+        }
+        if (!registry.contains(widget)) {
+            return;
+        }
+        animator.cancel(widget);
+        widget.destroy();
+        if (widget.hasParent()) {
+            widget.getParent().removeChild(widget);
+        } else {
+            detach(widget);
         }
     }
 
@@ -197,23 +608,74 @@ public class Scene {
      * @param localizedName the localized name of the widget to remove
      */
     public void remove(String localizedName) {
-        if (!hasWidget(localizedName)) {
+        if (!isOwnerThread()) {
+            post(() -> remove(localizedName));
+            return;
+        }
+        remove(getWidget(localizedName));
+    }
+
+    /**
+     * Puts the top level widgets into the given order. The widgets stay in the scene, so their
+     * registration, caches and animations are kept.
+     *
+     * @param order all top level widgets in their new order
+     * @throws IllegalArgumentException if the order does not contain every top level widget exactly once
+     */
+    public void reorder(List<AbstractWidget> order) {
+        if (!isOwnerThread() && order != null) {
+            List<AbstractWidget> copy = List.copyOf(order);
+            post(() -> reorder(copy));
+            return;
+        }
+        Set<AbstractWidget> remaining = Collections.newSetFromMap(new IdentityHashMap<>());
+        remaining.addAll(widgetList);
+        boolean valid = order != null && order.size() == widgetList.size();
+        for (int i = 0; valid && i < order.size(); i++) {
+            valid = remaining.remove(order.get(i));
+        }
+        if (!valid) {
+            throw new IllegalArgumentException("Order must contain every top level widget exactly once");
+        }
+        if (widgetList.equals(order)) {
+            return;
+        }
+        List<AbstractWidget> copy = new ArrayList<>(order);
+        widgetList.clear();
+        widgetList.addAll(copy);
+        if (root != null) {
+            root.invalidate();
+        }
+        invalidateOrder();
+    }
+
+    /**
+     * Detaches a top level widget from the scene without destroying it.
+     * <p>
+     * This is used when a widget is moved into another widget via {@link AbstractWidget#addChild(AbstractWidget)}.
+     * </p>
+     *
+     * @param widget the top level widget to detach
+     */
+    public void detach(AbstractWidget widget) {
+        if (!registry.contains(widget) || widget.hasParent()) {
             return;
         }
-        AbstractWidget widget = getWidget(localizedName);
-        widget.destroy();
         widgetList.remove(widget);
-        this.needSorted = true;
+        registry.unregister(widget);
+        if (root != null) {
+            root.widgetRemoved(widget);
+        }
     }
 
     /**
-     * Checks if a widget exists in the scene.
+     * Checks if a widget exists in the scene, either as top level widget or as nested child.
      *
      * @param widget the widget to check
      * @return true if the widget exists, false otherwise
      */
     public boolean hasWidget(AbstractWidget widget) {
-        return widgetList.contains(widget);
+        return registry.contains(widget);
     }
 
     /**
@@ -223,23 +685,72 @@ public class Scene {
      * @return true if the widget exists, false otherwise
      */
     public boolean hasWidget(String localizedName) {
-        return getWidget(localizedName) != null;
+        return registry.contains(localizedName);
     }
 
     /**
      * Retrieves a widget from the scene by its localized name.
+     * Nested children are found as well.
      *
      * @param localizedName the localized name of the widget to retrieve
      * @return the widget with the specified localized name, or null if not found
      */
     public AbstractWidget getWidget(String localizedName) {
-        AbstractWidget widget = null;
-        for (AbstractWidget widgets : widgetList) {
-            if (widgets.getLocalizedName().equals(localizedName)) {
-                widget = widgets;
-            }
+        return registry.get(localizedName);
+    }
+
+    /**
+     * Marks the render order of the scene as outdated, so it is rebuilt at the next {@link #update()}.
+     */
+    public void invalidateOrder() {
+        this.prepared = false;
+        this.needSorted = true;
+        this.paintDirty = true;
+    }
+
+    /**
+     * Requests a new frame, because something visible in the scene changed.
+     */
+    public void invalidatePaint() {
+        this.paintDirty = true;
+    }
+
+    /**
+     * Checks if a new frame was requested since the last call and resets the request.
+     *
+     * @return {@code true} if the scene must be drawn again
+     */
+    public boolean consumePaint() {
+        if (!paintDirty) {
+            return false;
+        }
+        paintDirty = false;
+        return true;
+    }
+
+    /**
+     * Marks the root layout as dirty, so the top level widgets are arranged again at the next {@link #update()}.
+     * Use {@link #invalidateLayout(AbstractWidget)} if the cause is a single widget.
+     */
+    public void invalidateLayout() {
+        this.prepared = false;
+        this.paintDirty = true;
+        if (root != null) {
+            root.invalidate();
+        }
+    }
+
+    /**
+     * Notifies the root layout that the given top level widget was added or changed its size.
+     *
+     * @param widget the added or changed top level widget
+     */
+    public void invalidateLayout(AbstractWidget widget) {
+        this.prepared = false;
+        this.paintDirty = true;
+        if (root != null) {
+            root.invalidate(widget);
         }
-        return widget;
     }
 
     /**
@@ -268,6 +779,7 @@ public class Scene {
      */
     public void setWidth(int width) {
         this.width = width;
+        this.paintDirty = true;
         if (root != null) {
             root.setWidth(root.getWidth());
         }
@@ -283,13 +795,35 @@ public class Scene {
      */
     public void setHeight(int height) {
         this.height = height;
+        this.paintDirty = true;
         if (root != null) {
             root.setHeight(root.getHeight());
         }
     }
 
+    /**
+     * Links a widget to the top level list of the scene without touching the index.
+     *
+     * @param widget the widget to link
+     * @return {@code true} if the widget was linked, {@code false} if it was {@code null} or already present
+     */
+    private boolean attach(AbstractWidget widget) {
+        if (widget == null || registry.contains(widget)) {
+            return false;
+        }
+        if (widget.hasParent()) {
+            widget.getParent().removeChild(widget);
+        } else if (widget.getScene() != null) {
+            widget.getScene().detach(widget);
+        }
+        widgetList.add(widget);
+        invalidateLayout(widget);
+        return true;
+    }
+
     /**
      * Generates a list of widgets by performing a depth-first traversal of the provided root widgets.
+     * Hidden widgets and their subtrees are left out, so they are neither drawn nor hit.
      *
      * @param root a list of root widgets to start the traversal; must not be {@code null}.
      * @return a {@code List} containing all widgets discovered during the traversal,
@@ -300,6 +834,9 @@ public class Scene {
         Deque<AbstractWidget> stack = new ArrayDeque<>(root);
         while (!stack.isEmpty()) {
             AbstractWidget current = stack.pop();
+            if (!current.isDrawn()) {
+                continue;
+            }
             result.add(current);
 
             List<AbstractWidget> children = current.getChildren();
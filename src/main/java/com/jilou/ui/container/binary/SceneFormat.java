@@ -0,0 +1,164 @@
+package com.jilou.ui.container.binary;
+
+import com.jilou.ui.container.Scene;
+import com.jilou.ui.widget.AbstractWidget;
+import com.jilou.ui.widget.control.Text;
+import com.jilou.ui.widget.shapes.Rectangle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A compact binary format for a {@link Scene} with its {@link com.jilou.ui.container.layout.Layout},
+ * widget tree and styles.
+ * <p>
+ * A file starts with a string table and a table of the distinct {@link com.jilou.ui.styles.Style} values,
+ * followed by the layout and the widgets. The widgets are stored in pre-order as columns: all types, all
+ * parents, all names and so on, then the bounds as columns of doubles. Loading reads every column with one
+ * bulk copy, creates all widgets in one pass and links the tree without a scene, so the scene registers the
+ * whole tree at once. Files are read through a memory mapping, see {@link #read(Path)}.
+ * </p>
+ * <p>
+ * Widget classes are created by their {@link WidgetCodec}. {@link Rectangle} and {@link Text} are registered
+ * by default, other widget classes must be registered with {@link #register(Class, WidgetCodec)} before a
+ * scene with such widgets is written or loaded. The css sheet of a scene and the fonts of texts are not
+ * stored, a loaded scene keeps the computed styles of the written scene. Background images are not stored
+ * either, writing a scene with an image background fails.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public final class SceneFormat {
+
+    /**
+     * The first four bytes of every scene file, {@code JSCN}.
+     */
+    public static final int MAGIC = 0x4A53434E;
+
+    /**
+     * The version of the format written by this class.
+     */
+    public static final short VERSION = 2;
+
+    static final byte LAYOUT_NONE = 0;
+    static final byte LAYOUT_PAGE = 1;
+    static final byte LAYOUT_FLEX = 2;
+    static final byte LAYOUT_GRID = 3;
+
+    /**
+     * The registered codecs by widget class name.
+     */
+    private static final Map<String, WidgetCodec<?>> CODECS = new ConcurrentHashMap<>();
+
+    static {
+        register(Rectangle.class, (localizedName, payload) -> new Rectangle(localizedName));
+        register(Text.class, new WidgetCodec<>() {
+            @Override
+            public Text create(String localizedName, String payload) {
+                return new Text(localizedName, payload);
+            }
+
+            @Override
+            public String payload(Text widget) {
+                return widget.getMessage();
+            }
+        });
+    }
+
+    private SceneFormat() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Registers the codec of a widget class. A registered codec is replaced.
+     *
+     * @param type  the widget class
+     * @param codec the codec which creates widgets of this class
+     * @param <T>   the widget class
+     */
+    public static <T extends AbstractWidget> void register(Class<T> type, WidgetCodec<T> codec) {
+        if (type == null || codec == null) {
+            throw new IllegalArgumentException("Type and codec cannot be null");
+        }
+        CODECS.put(type.getName(), codec);
+    }
+
+    /**
+     * Encodes a scene.
+     *
+     * @param scene the scene
+     * @return the encoded scene
+     * @throws IllegalArgumentException if the scene contains a widget, layout or image background which cannot be stored
+     */
+    public static byte[] write(Scene scene) {
+        try {
+            return new SceneWriter(scene).write();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Encodes a scene into a file. An existing file is replaced.
+     *
+     * @param scene the scene
+     * @param path  the target file
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Scene scene, Path path) throws IOException {
+        byte[] data = write(scene);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Creates a scene from encoded data. The position of the buffer is not changed.
+     *
+     * @param data the encoded scene
+     * @return the new scene
+     * @throws IllegalArgumentException if the data is no valid scene
+     */
+    public static Scene read(ByteBuffer data) {
+        return new SceneReader(data).read();
+    }
+
+    /**
+     * Creates a scene from a file. The file is memory mapped instead of copied onto the heap.
+     *
+     * @param path the scene file
+     * @return the new scene
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is no valid scene
+     */
+    public static Scene read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * @param type the widget class name
+     * @return the codec of the widget class
+     * @throws IllegalArgumentException if no codec is registered
+     */
+    @SuppressWarnings("unchecked")
+    static WidgetCodec<AbstractWidget> codec(String type) {
+        WidgetCodec<?> codec = CODECS.get(type);
+        if (codec == null) {
+            throw new IllegalArgumentException("No widget codec registered for " + type);
+        }
+        return (WidgetCodec<AbstractWidget>) codec;
+    }
+}
@@ -0,0 +1,238 @@
+package com.jilou.ui.container.binary;
+
+import com.jilou.ui.container.Scene;
+import com.jilou.ui.container.layout.FlexLayout;
+import com.jilou.ui.container.layout.GridLayout;
+import com.jilou.ui.container.layout.GridTrack;
+import com.jilou.ui.container.layout.Layout;
+import com.jilou.ui.container.layout.Page;
+import com.jilou.ui.enums.WidgetState;
+import com.jilou.ui.enums.css.AlignItems;
+import com.jilou.ui.enums.css.TrackSizing;
+import com.jilou.ui.styles.Style;
+import com.jilou.ui.styles.StyleSheet;
+import com.jilou.ui.widget.AbstractWidget;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates one {@link Scene} from data in the {@link SceneFormat}.
+ * <p>
+ * The widgets are filled with {@link AbstractWidget#restore}, so loading fires no invalidation per property.
+ * The tree is marked dirty once and arranged by the first update of the scene.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+final class SceneReader {
+
+    private final ByteBuffer in;
+
+    private String[] strings;
+    private Style[] styles;
+
+    SceneReader(ByteBuffer data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data cannot be null");
+        }
+        this.in = data.duplicate().order(ByteOrder.BIG_ENDIAN);
+    }
+
+    Scene read() {
+        try {
+            return readScene();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException exception) {
+            throw new IllegalArgumentException("Scene data is truncated or corrupt", exception);
+        }
+    }
+
+    private Scene readScene() {
+        if (in.getInt() != SceneFormat.MAGIC) {
+            throw new IllegalArgumentException("Data is no scene");
+        }
+        short version = in.getShort();
+        if (version != SceneFormat.VERSION) {
+            throw new IllegalArgumentException("Unsupported scene format version " + version);
+        }
+        in.getShort();
+        int sceneWidth = in.getInt();
+        int sceneHeight = in.getInt();
+
+        strings = new String[in.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] data = new byte[in.getInt()];
+            in.get(data);
+            strings[i] = new String(data, StandardCharsets.UTF_8);
+        }
+        styles = new Style[in.getInt()];
+        for (int i = 0; i < styles.length; i++) {
+            styles[i] = StyleCodec.readStyle(in);
+        }
+        Layout layout = readLayout();
+
+        int count = in.getInt();
+        int[] types = ints(count);
+        int[] parents = ints(count);
+        int[] localizedNames = ints(count);
+        int[] names = ints(count);
+        int[] payloads = ints(count);
+        int[] values = ints(count);
+        int[] bases = ints(count);
+        int[] inlines = ints(count);
+        int[] states = ints(count);
+        double[] preferredWidths = doubles(count);
+        double[] preferredHeights = doubles(count);
+        double[] positionsX = doubles(count);
+        double[] positionsY = doubles(count);
+        double[] widths = doubles(count);
+        double[] heights = doubles(count);
+        double[] innerParentsX = doubles(count);
+        double[] innerParentsY = doubles(count);
+
+        AbstractWidget[] widgets = new AbstractWidget[count];
+        StyleSheet[] sheets = new StyleSheet[count];
+        for (int i = 0; i < count; i++) {
+            widgets[i] = SceneFormat.codec(string(types[i])).create(string(localizedNames[i]), string(payloads[i]));
+            sheets[i] = new StyleSheet(styles[bases[i]], styles[values[i]], inlines[i]);
+        }
+
+        int styled = in.getInt();
+        for (int i = 0; i < styled; i++) {
+            AbstractWidget widget = widgets[in.getInt()];
+            int classes = in.getInt();
+            for (int j = 0; j < classes; j++) {
+                widget.addStyleClass(string(in.getInt()));
+            }
+        }
+        int variants = in.getInt();
+        WidgetState[] widgetStates = WidgetState.values();
+        for (int i = 0; i < variants; i++) {
+            StyleSheet sheet = sheets[in.getInt()];
+            WidgetState state = widgetStates[in.get()];
+            Style variant = styles[in.getInt()];
+            sheet.setVariant(state, new StyleSheet(Style.DEFAULT, variant, in.getInt()));
+        }
+
+        for (int i = 0; i < count; i++) {
+            widgets[i].restore(sheets[i], string(names[i]), preferredWidths[i], preferredHeights[i], positionsX[i],
+                    positionsY[i], widths[i], heights[i], innerParentsX[i], innerParentsY[i], states[i]);
+        }
+
+        List<AbstractWidget> roots = link(widgets, parents);
+        int placements = in.getInt();
+        if (placements > 0 && !(layout instanceof GridLayout)) {
+            throw new IllegalArgumentException("Grid placements without a grid layout");
+        }
+        for (int i = 0; i < placements; i++) {
+            AbstractWidget widget = widgets[in.getInt()];
+            ((GridLayout) layout).place(widget, in.getInt(), in.getInt(), in.getInt(), in.getInt());
+        }
+
+        Scene scene = layout == null ? new Scene() : new Scene(layout);
+        scene.setWidth(sceneWidth);
+        scene.setHeight(sceneHeight);
+        scene.addAll(roots);
+        return scene;
+    }
+
+    /**
+     * Attaches every widget to its parent with one call per parent, before the tree is part of a scene.
+     *
+     * @return the top level widgets
+     */
+    private static List<AbstractWidget> link(AbstractWidget[] widgets, int[] parents) {
+        List<AbstractWidget> roots = new ArrayList<>();
+        List<List<AbstractWidget>> children = new ArrayList<>(widgets.length);
+        for (int i = 0; i < widgets.length; i++) {
+            children.add(null);
+            int parent = parents[i];
+            if (parent < 0) {
+                roots.add(widgets[i]);
+                continue;
+            }
+            if (parent >= i) {
+                throw new IllegalArgumentException("Widget " + i + " is stored before its parent " + parent);
+            }
+            List<AbstractWidget> siblings = children.get(parent);
+            if (siblings == null) {
+                siblings = new ArrayList<>();
+                children.set(parent, siblings);
+            }
+            siblings.add(widgets[i]);
+        }
+        for (int i = 0; i < widgets.length; i++) {
+            if (children.get(i) != null) {
+                widgets[i].addChildren(children.get(i));
+            }
+        }
+        return roots;
+    }
+
+    private Layout readLayout() {
+        byte kind = in.get();
+        if (kind == SceneFormat.LAYOUT_NONE) {
+            return null;
+        }
+        int width = in.getInt();
+        int height = in.getInt();
+        boolean bindSizeToScene = in.get() != 0;
+
+        Layout layout = switch (kind) {
+            case SceneFormat.LAYOUT_PAGE -> new Page();
+            case SceneFormat.LAYOUT_FLEX -> new FlexLayout(StyleCodec.readFlex(in));
+            case SceneFormat.LAYOUT_GRID -> {
+                GridLayout grid = new GridLayout();
+                grid.setColumns(readTracks());
+                grid.setRows(readTracks());
+                grid.setColumnGap(in.getDouble());
+                grid.setRowGap(in.getDouble());
+                grid.setAlignItems(StyleCodec.readEnum(in, AlignItems.values()));
+                yield grid;
+            }
+            default -> throw new IllegalArgumentException("Unknown layout kind " + kind);
+        };
+        layout.setWidth(width);
+        layout.setHeight(height);
+        layout.setBindSizeToScene(bindSizeToScene);
+        return layout;
+    }
+
+    private List<GridTrack> readTracks() {
+        int count = in.getInt();
+        List<GridTrack> tracks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TrackSizing sizing = StyleCodec.readEnum(in, TrackSizing.values());
+            double value = in.getDouble();
+            tracks.add(switch (sizing == null ? TrackSizing.AUTO : sizing) {
+                case FIXED -> GridTrack.fixed(value);
+                case AUTO -> GridTrack.auto();
+                case FRACTION -> GridTrack.fr(value);
+            });
+        }
+        return tracks;
+    }
+
+    private int[] ints(int count) {
+        int[] column = new int[count];
+        in.asIntBuffer().get(column);
+        in.position(in.position() + count * Integer.BYTES);
+        return column;
+    }
+
+    private double[] doubles(int count) {
+        double[] column = new double[count];
+        in.asDoubleBuffer().get(column);
+        in.position(in.position() + count * Double.BYTES);
+        return column;
+    }
+
+    private String string(int index) {
+        return index < 0 ? null : strings[index];
+    }
+}
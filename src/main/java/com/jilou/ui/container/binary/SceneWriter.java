@@ -0,0 +1,273 @@
+package com.jilou.ui.container.binary;
+
+import com.jilou.ui.container.Scene;
+import com.jilou.ui.container.layout.FlexLayout;
+import com.jilou.ui.container.layout.GridLayout;
+import com.jilou.ui.container.layout.GridTrack;
+import com.jilou.ui.container.layout.Layout;
+import com.jilou.ui.container.layout.Page;
+import com.jilou.ui.enums.WidgetState;
+import com.jilou.ui.styles.Style;
+import com.jilou.ui.styles.StyleSheet;
+import com.jilou.ui.widget.AbstractWidget;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Writes one {@link Scene} in the {@link SceneFormat}.
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+final class SceneWriter {
+
+    private final Scene scene;
+
+    private final List<AbstractWidget> widgets = new ArrayList<>();
+    private final Map<AbstractWidget, Integer> indices = new IdentityHashMap<>();
+
+    private final List<String> strings = new ArrayList<>();
+    private final Map<String, Integer> stringIndices = new HashMap<>();
+
+    private final List<Style> styles = new ArrayList<>();
+    private final Map<Style, Integer> styleIndices = new HashMap<>();
+
+    SceneWriter(Scene scene) {
+        if (scene == null) {
+            throw new IllegalArgumentException("Scene cannot be null");
+        }
+        this.scene = scene;
+    }
+
+    byte[] write() throws IOException {
+        collect();
+
+        int count = widgets.size();
+        int[] types = new int[count];
+        int[] parents = new int[count];
+        int[] localizedNames = new int[count];
+        int[] names = new int[count];
+        int[] payloads = new int[count];
+        int[] values = new int[count];
+        int[] bases = new int[count];
+        int[] inlines = new int[count];
+        int[] states = new int[count];
+        for (int i = 0; i < count; i++) {
+            AbstractWidget widget = widgets.get(i);
+            String type = widget.getClass().getName();
+            types[i] = string(type);
+            parents[i] = widget.hasParent() ? indices.get(widget.getParent()) : -1;
+            localizedNames[i] = string(widget.getLocalizedName());
+            names[i] = string(widget.getName());
+            payloads[i] = string(SceneFormat.codec(type).payload(widget));
+            StyleSheet sheet = widget.getStyle();
+            values[i] = style(sheet.getValues());
+            bases[i] = style(sheet.getBase());
+            inlines[i] = sheet.getInlineMask();
+            states[i] = widget.getState();
+            for (String styleClass : widget.getStyleClasses()) {
+                string(styleClass);
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + count * 128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(SceneFormat.MAGIC);
+        out.writeShort(SceneFormat.VERSION);
+        out.writeShort(0);
+        out.writeInt(scene.getWidth());
+        out.writeInt(scene.getHeight());
+
+        // the string and style tables are written first, so every value must be collected before
+        List<int[]> variants = collectVariants();
+        writeStrings(out);
+        out.writeInt(styles.size());
+        for (Style style : styles) {
+            StyleCodec.writeStyle(out, style);
+        }
+        writeLayout(out, scene.getRoot());
+
+        out.writeInt(count);
+        for (int[] column : new int[][] {types, parents, localizedNames, names, payloads, values, bases, inlines, states}) {
+            for (int value : column) {
+                out.writeInt(value);
+            }
+        }
+        writeColumn(out, AbstractWidget::getPreferredWidth);
+        writeColumn(out, AbstractWidget::getPreferredHeight);
+        writeColumn(out, AbstractWidget::getPositionX);
+        writeColumn(out, AbstractWidget::getPositionY);
+        writeColumn(out, AbstractWidget::getWidth);
+        writeColumn(out, AbstractWidget::getHeight);
+        writeColumn(out, AbstractWidget::getInnerParentX);
+        writeColumn(out, AbstractWidget::getInnerParentY);
+
+        writeStyleClasses(out);
+        out.writeInt(variants.size());
+        for (int[] variant : variants) {
+            out.writeInt(variant[0]);
+            out.writeByte(variant[1]);
+            out.writeInt(variant[2]);
+            out.writeInt(variant[3]);
+        }
+        writePlacements(out, scene.getRoot());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Collects all widgets in pre-order, so every parent is stored before its children.
+     */
+    private void collect() {
+        Deque<AbstractWidget> stack = new ArrayDeque<>();
+        List<AbstractWidget> roots = scene.getWidgetList();
+        for (int i = roots.size() - 1; i >= 0; i--) {
+            stack.push(roots.get(i));
+        }
+        while (!stack.isEmpty()) {
+            AbstractWidget widget = stack.pop();
+            indices.put(widget, widgets.size());
+            widgets.add(widget);
+            List<AbstractWidget> children = widget.getChildren();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+        }
+    }
+
+    /**
+     * @return the variants of all widgets as {widget, state ordinal, style, mask}
+     */
+    private List<int[]> collectVariants() {
+        List<int[]> variants = new ArrayList<>();
+        for (int i = 0; i < widgets.size(); i++) {
+            StyleSheet sheet = widgets.get(i).getStyle();
+            for (WidgetState state : WidgetState.values()) {
+                Style variant = sheet.getVariant(state);
+                if (variant != null) {
+                    variants.add(new int[] {i, state.ordinal(), style(variant), sheet.getVariantMask(state)});
+                }
+            }
+        }
+        return variants;
+    }
+
+    private void writeStrings(DataOutputStream out) throws IOException {
+        out.writeInt(strings.size());
+        for (String string : strings) {
+            byte[] data = string.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(data.length);
+            out.write(data);
+        }
+    }
+
+    private void writeColumn(DataOutputStream out, ToDoubleFunction<AbstractWidget> column) throws IOException {
+        for (AbstractWidget widget : widgets) {
+            out.writeDouble(column.applyAsDouble(widget));
+        }
+    }
+
+    private void writeStyleClasses(DataOutputStream out) throws IOException {
+        List<AbstractWidget> styled = new ArrayList<>();
+        for (AbstractWidget widget : widgets) {
+            if (!widget.getStyleClasses().isEmpty()) {
+                styled.add(widget);
+            }
+        }
+        out.writeInt(styled.size());
+        for (AbstractWidget widget : styled) {
+            out.writeInt(indices.get(widget));
+            out.writeInt(widget.getStyleClasses().size());
+            for (String styleClass : widget.getStyleClasses()) {
+                out.writeInt(string(styleClass));
+            }
+        }
+    }
+
+    private void writeLayout(DataOutputStream out, Layout layout) throws IOException {
+        if (layout == null) {
+            out.writeByte(SceneFormat.LAYOUT_NONE);
+            return;
+        }
+        byte kind;
+        if (layout instanceof GridLayout) {
+            kind = SceneFormat.LAYOUT_GRID;
+        } else if (layout instanceof FlexLayout) {
+            kind = SceneFormat.LAYOUT_FLEX;
+        } else if (layout.getClass() == Page.class) {
+            kind = SceneFormat.LAYOUT_PAGE;
+        } else {
+            throw new IllegalArgumentException("Unsupported layout type " + layout.getClass().getName());
+        }
+        out.writeByte(kind);
+        out.writeInt(layout.getWidth());
+        out.writeInt(layout.getHeight());
+        out.writeBoolean(layout.isBindSizeToScene());
+
+        if (layout instanceof FlexLayout flexLayout) {
+            StyleCodec.writeFlex(out, flexLayout.getFlex());
+        } else if (layout instanceof GridLayout grid) {
+            writeTracks(out, grid.getColumns());
+            writeTracks(out, grid.getRows());
+            out.writeDouble(grid.getColumnGap());
+            out.writeDouble(grid.getRowGap());
+            StyleCodec.writeEnum(out, grid.getAlignItems());
+        }
+    }
+
+    private static void writeTracks(DataOutputStream out, List<GridTrack> tracks) throws IOException {
+        out.writeInt(tracks.size());
+        for (GridTrack track : tracks) {
+            StyleCodec.writeEnum(out, track.getSizing());
+            out.writeDouble(track.getValue());
+        }
+    }
+
+    private void writePlacements(DataOutputStream out, Layout layout) throws IOException {
+        if (!(layout instanceof GridLayout grid)) {
+            out.writeInt(0);
+            return;
+        }
+        List<int[]> placements = new ArrayList<>();
+        for (AbstractWidget widget : layout.getWidgetList()) {
+            int[] placement = grid.getPlacement(widget);
+            if (placement != null) {
+                placements.add(new int[] {indices.get(widget), placement[0], placement[1], placement[2], placement[3]});
+            }
+        }
+        out.writeInt(placements.size());
+        for (int[] placement : placements) {
+            for (int value : placement) {
+                out.writeInt(value);
+            }
+        }
+    }
+
+    private int string(String value) {
+        if (value == null) {
+            return -1;
+        }
+        return stringIndices.computeIfAbsent(value, key -> {
+            strings.add(key);
+            return strings.size() - 1;
+        });
+    }
+
+    private int style(Style value) {
+        return styleIndices.computeIfAbsent(value, key -> {
+            styles.add(key);
+            return styles.size() - 1;
+        });
+    }
+}
@@ -0,0 +1,193 @@
+package com.jilou.ui.container.binary;
+
+import com.jilou.ui.enums.css.AlignItems;
+import com.jilou.ui.enums.css.Alignment;
+import com.jilou.ui.enums.css.BorderType;
+import com.jilou.ui.enums.css.FlexDirection;
+import com.jilou.ui.enums.css.JustifyContent;
+import com.jilou.ui.styles.Style;
+import com.jilou.ui.styles.StyleCache;
+import com.jilou.ui.styles.types.Background;
+import com.jilou.ui.styles.types.Border;
+import com.jilou.ui.styles.types.DropShadow;
+import com.jilou.ui.styles.types.Flex;
+import com.jilou.ui.styles.types.FlexItem;
+import com.jilou.ui.styles.types.Radius;
+import com.jilou.ui.utils.Color;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes and decodes {@link Style} values for the {@link SceneFormat}.
+ * Decoded values are interned, see {@link StyleCache}.
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+final class StyleCodec {
+
+    private StyleCodec() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static void writeStyle(DataOutput out, Style style) throws IOException {
+        out.writeInt(style.getZIndex());
+        Background background = style.getBackground();
+        if (background != null && background.getImage() != null) {
+            throw new IllegalArgumentException("Backgrounds with an image cannot be stored");
+        }
+        out.writeBoolean(background != null);
+        if (background != null) {
+            writeColor(out, background.getColor());
+        }
+
+        Border border = style.getBorder();
+        out.writeBoolean(border != null);
+        if (border != null) {
+            writeColor(out, border.getColor());
+            out.writeDouble(border.getThickness());
+            writeEnum(out, border.getType());
+        }
+
+        DropShadow shadow = style.getDropShadow();
+        out.writeBoolean(shadow != null);
+        if (shadow != null) {
+            out.writeFloat(shadow.getStrength());
+            out.writeFloat(shadow.getOffsetX());
+            out.writeFloat(shadow.getOffsetY());
+            out.writeFloat(shadow.getOffsetW());
+            out.writeFloat(shadow.getOffsetH());
+            out.writeInt(shadow.getLayer());
+            writeColor(out, shadow.getColor());
+            writeRadius(out, shadow.getRadius());
+        }
+
+        writeRadius(out, style.getBorderRadius());
+        writeEnum(out, style.getAlignment());
+        writeFlex(out, style.getFlex());
+        out.writeInt(style.getCornerSegmentation());
+        writeFlexItem(out, style.getFlexItem());
+    }
+
+    static Style readStyle(ByteBuffer in) {
+        Style.StyleBuilder builder = Style.builder().zIndex(in.getInt());
+        builder.background(in.get() != 0 ? Background.fromColor(readColor(in)) : null);
+
+        Border border = null;
+        if (in.get() != 0) {
+            border = Border.builder()
+                    .color(readColor(in))
+                    .thickness(in.getDouble())
+                    .type(readEnum(in, BorderType.values()))
+                    .build();
+        }
+        builder.border(StyleCache.intern(border));
+
+        DropShadow shadow = null;
+        if (in.get() != 0) {
+            shadow = DropShadow.builder()
+                    .strength(in.getFloat())
+                    .offsetX(in.getFloat())
+                    .offsetY(in.getFloat())
+                    .offsetW(in.getFloat())
+                    .offsetH(in.getFloat())
+                    .layer(in.getInt())
+                    .color(readColor(in))
+                    .radius(readRadius(in))
+                    .build();
+        }
+        builder.dropShadow(StyleCache.intern(shadow));
+
+        return StyleCache.intern(builder
+                .borderRadius(readRadius(in))
+                .alignment(readEnum(in, Alignment.values()))
+                .flex(readFlex(in))
+                .cornerSegmentation(in.getInt())
+                .flexItem(readFlexItem(in))
+                .build());
+    }
+
+    static void writeFlex(DataOutput out, Flex flex) throws IOException {
+        out.writeBoolean(flex != null);
+        if (flex == null) return;
+        writeEnum(out, flex.getDirection());
+        writeEnum(out, flex.getJustifyContent());
+        writeEnum(out, flex.getAlignItems());
+        out.writeDouble(flex.getGap());
+        out.writeDouble(flex.getPadding());
+    }
+
+    static Flex readFlex(ByteBuffer in) {
+        if (in.get() == 0) return null;
+        return StyleCache.intern(Flex.builder()
+                .direction(readEnum(in, FlexDirection.values()))
+                .justifyContent(readEnum(in, JustifyContent.values()))
+                .alignItems(readEnum(in, AlignItems.values()))
+                .gap(in.getDouble())
+                .padding(in.getDouble())
+                .build());
+    }
+
+    static void writeFlexItem(DataOutput out, FlexItem item) throws IOException {
+        out.writeBoolean(item != null);
+        if (item == null) return;
+        out.writeDouble(item.getGrow());
+        out.writeDouble(item.getShrink());
+        out.writeDouble(item.getBasis());
+        writeEnum(out, item.getAlignSelf());
+    }
+
+    static FlexItem readFlexItem(ByteBuffer in) {
+        if (in.get() == 0) return null;
+        return StyleCache.intern(FlexItem.builder()
+                .grow(in.getDouble())
+                .shrink(in.getDouble())
+                .basis(in.getDouble())
+                .alignSelf(readEnum(in, AlignItems.values()))
+                .build());
+    }
+
+    static void writeEnum(DataOutput out, Enum<?> value) throws IOException {
+        out.writeByte(value == null ? -1 : value.ordinal());
+    }
+
+    static <E extends Enum<E>> E readEnum(ByteBuffer in, E[] values) {
+        int ordinal = in.get();
+        if (ordinal < 0) return null;
+        if (ordinal >= values.length) {
+            throw new IllegalArgumentException("Unknown " + values.getClass().getComponentType().getSimpleName()
+                    + " ordinal " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    private static void writeColor(DataOutput out, Color color) throws IOException {
+        out.writeBoolean(color != null);
+        if (color != null) {
+            out.writeInt(color.getAlpha() << 24 | color.getRed() << 16 | color.getGreen() << 8 | color.getBlue());
+        }
+    }
+
+    private static Color readColor(ByteBuffer in) {
+        if (in.get() == 0) return null;
+        int argb = in.getInt();
+        return StyleCache.intern(Color.rgba(argb >> 16 & 0xFF, argb >> 8 & 0xFF, argb & 0xFF, argb >>> 24));
+    }
+
+    private static void writeRadius(DataOutput out, Radius radius) throws IOException {
+        out.writeBoolean(radius != null);
+        if (radius != null) {
+            out.writeDouble(radius.getTopLeft());
+            out.writeDouble(radius.getTopRight());
+            out.writeDouble(radius.getBottomLeft());
+            out.writeDouble(radius.getBottomRight());
+        }
+    }
+
+    private static Radius readRadius(ByteBuffer in) {
+        if (in.get() == 0) return null;
+        return StyleCache.intern(new Radius(in.getDouble(), in.getDouble(), in.getDouble(), in.getDouble()));
+    }
+}
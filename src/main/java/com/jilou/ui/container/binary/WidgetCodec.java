@@ -0,0 +1,37 @@
+package com.jilou.ui.container.binary;
+
+import com.jilou.ui.widget.AbstractWidget;
+
+/**
+ * Creates the widgets of one widget class when a scene is loaded by {@link SceneFormat}.
+ * <p>
+ * The common properties of every widget, like bounds, style and children, are stored by the format itself.
+ * A codec only creates the widget instance and may store one text payload of its own, like the message of
+ * a {@link com.jilou.ui.widget.control.Text}.
+ * </p>
+ *
+ * @param <T> the widget class
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public interface WidgetCodec<T extends AbstractWidget> {
+
+    /**
+     * Creates a new widget.
+     *
+     * @param localizedName the unique localized name of the widget
+     * @param payload       the stored payload, or {@code null}
+     * @return the new widget
+     */
+    T create(String localizedName, String payload);
+
+    /**
+     * Returns the payload which is stored for the given widget.
+     *
+     * @param widget the widget
+     * @return the payload, or {@code null} to store none
+     */
+    default String payload(T widget) {
+        return null;
+    }
+}
@@ -0,0 +1,76 @@
+package com.jilou.ui.container.layout;
+
+import com.jilou.ui.container.Scene;
+import com.jilou.ui.styles.types.Flex;
+import com.jilou.ui.utils.FlexUtils;
+
+/**
+ * A {@link Layout} which arranges the top level widgets of a {@link Scene} like a css flexbox container.
+ * <p>
+ * The widgets are measured and arranged with {@link FlexUtils} only while the layout is dirty, which happens
+ * when the layout size changes or when widgets are added, removed or resized. A static scene costs no
+ * layout work per frame.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public class FlexLayout extends Layout {
+
+    /**
+     * The flex container properties of this layout.
+     */
+    private Flex flex;
+
+    /**
+     * Constructs a new {@code FlexLayout} with the default {@link Flex} properties.
+     */
+    public FlexLayout() {
+        this(null);
+    }
+
+    /**
+     * Constructs a new {@code FlexLayout} with the given container properties.
+     *
+     * @param flex the container properties, {@code null} uses the defaults
+     */
+    public FlexLayout(Flex flex) {
+        super();
+        this.flex = flex == null ? Flex.builder().build() : flex;
+    }
+
+    /**
+     * Arranges the top level widgets if the layout is dirty.
+     * A size bound to the scene is followed here, a changed size marks the layout dirty.
+     */
+    @Override
+    public void update() {
+        setWidth(getWidth());
+        setHeight(getHeight());
+        if (!isDirty()) {
+            return;
+        }
+
+        FlexUtils.arrange(flex, 0, 0, getWidth(), getHeight(), getWidgetList());
+        setDirty(false);
+    }
+
+    /**
+     * Returns the flex container properties of this layout.
+     *
+     * @return the flex container properties
+     */
+    public Flex getFlex() {
+        return flex;
+    }
+
+    /**
+     * Replaces the flex container properties of this layout and marks it dirty.
+     *
+     * @param flex the container properties, {@code null} uses the defaults
+     */
+    public void setFlex(Flex flex) {
+        this.flex = flex == null ? Flex.builder().build() : flex;
+        invalidate();
+    }
+}
@@ -0,0 +1,663 @@
+package com.jilou.ui.container.layout;
+
+import com.jilou.ui.container.Scene;
+import com.jilou.ui.enums.css.AlignItems;
+import com.jilou.ui.enums.css.TrackSizing;
+import com.jilou.ui.widget.AbstractWidget;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link Layout} which arranges the top level widgets of a {@link Scene} in rows and columns,
+ * like a css grid container.
+ * <p>
+ * Every widget occupies a cell, which can span multiple rows and columns, see
+ * {@link #place(AbstractWidget, int, int, int, int)}. Widgets without a cell are placed into the first free cell
+ * in row order, which no other widget covers, missing rows are added as {@link GridTrack#auto()} rows. Tracks can have a fixed size, the size
+ * of their largest single span widget or a fraction of the remaining space.
+ * </p>
+ * <p>
+ * The resolved track sizes and offsets are cached. They are only resolved again when the layout size, the gaps
+ * or the track definitions change, or when the content size of an auto track changes. Adding or resizing a
+ * widget only measures the widgets of its own rows and columns, and if no track size changed only this
+ * widget is arranged.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public class GridLayout extends Layout {
+
+    /**
+     * The column definitions.
+     */
+    private final List<GridTrack> columns = new ArrayList<>();
+
+    /**
+     * The row definitions.
+     */
+    private final List<GridTrack> rows = new ArrayList<>();
+
+    /**
+     * The cell of every placed widget.
+     */
+    private final Map<AbstractWidget, GridCell> cells = new IdentityHashMap<>();
+
+    /**
+     * The single span widgets of every column, used to measure auto columns.
+     */
+    private final List<List<AbstractWidget>> columnMembers = new ArrayList<>();
+
+    /**
+     * The single span widgets of every row, used to measure auto rows.
+     */
+    private final List<List<AbstractWidget>> rowMembers = new ArrayList<>();
+
+    /**
+     * The widgets which must be arranged at the next update.
+     */
+    private final Set<AbstractWidget> pending = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private double[] columnContent = new double[0];
+    private double[] columnSizes = new double[0];
+    private double[] columnOffsets = new double[0];
+    private boolean[] dirtyColumns = new boolean[0];
+
+    private double[] rowContent = new double[0];
+    private double[] rowSizes = new double[0];
+    private double[] rowOffsets = new double[0];
+    private boolean[] dirtyRows = new boolean[0];
+
+    /**
+     * The space between two columns in pixels.
+     */
+    private double columnGap;
+
+    /**
+     * The space between two rows in pixels.
+     */
+    private double rowGap;
+
+    /**
+     * The placement of the widgets inside their cells, on both axes.
+     */
+    private AlignItems alignItems;
+
+    /**
+     * True if the track definitions or gaps changed since the track sizes were resolved.
+     */
+    private boolean tracksChanged;
+
+    /**
+     * The layout size the track sizes were resolved for.
+     */
+    private double resolvedWidth;
+    private double resolvedHeight;
+
+    /**
+     * The amount of widgets which cover every cell, indexed by {@code row * columns + column}.
+     */
+    private int[] occupancy = new int[0];
+
+    /**
+     * The index of the first cell which can be free, cells before it are covered.
+     */
+    private int autoCursor;
+
+    /**
+     * Constructs a new {@code GridLayout} with one fractional column and auto rows.
+     */
+    public GridLayout() {
+        this(1, 0);
+    }
+
+    /**
+     * Constructs a new {@code GridLayout} with evenly sized fractional columns and rows.
+     *
+     * @param columns the amount of columns
+     * @param rows    the amount of rows, more auto rows are added if needed
+     */
+    public GridLayout(int columns, int rows) {
+        super();
+        this.alignItems = AlignItems.STRETCH;
+        this.tracksChanged = true;
+        this.resolvedWidth = -1;
+        this.resolvedHeight = -1;
+        this.setColumns(Collections.nCopies(Math.max(1, columns), GridTrack.fr(1)));
+        this.setRows(Collections.nCopies(Math.max(0, rows), GridTrack.fr(1)));
+    }
+
+    /**
+     * Places a widget into a single cell.
+     *
+     * @param widget the widget to place
+     * @param row    the row index
+     * @param column the column index
+     */
+    public void place(AbstractWidget widget, int row, int column) {
+        place(widget, row, column, 1, 1);
+    }
+
+    /**
+     * Places a widget into a cell which spans the given amount of rows and columns.
+     * <p>
+     * The widget must still be added to the scene, placing it only defines its cell.
+     * Missing rows are added as auto rows.
+     * </p>
+     *
+     * @param widget     the widget to place
+     * @param row        the first row index
+     * @param column     the first column index
+     * @param rowSpan    the amount of spanned rows, at least {@code 1}
+     * @param columnSpan the amount of spanned columns, at least {@code 1}
+     * @throws IllegalArgumentException if the cell is outside the columns or the span is invalid
+     */
+    public void place(AbstractWidget widget, int row, int column, int rowSpan, int columnSpan) {
+        if (widget == null) {
+            return;
+        }
+        if (row < 0 || column < 0 || rowSpan < 1 || columnSpan < 1 || column + columnSpan > columns.size()) {
+            throw new IllegalArgumentException("Invalid grid cell: row " + row + ", column " + column
+                    + ", span " + rowSpan + "x" + columnSpan + " in " + columns.size() + " columns");
+        }
+
+        unplace(widget);
+        ensureRows(row + rowSpan);
+        GridCell cell = new GridCell(row, column, rowSpan, columnSpan);
+        cells.put(widget, cell);
+        link(widget, cell);
+        pending.add(widget);
+        invalidate();
+    }
+
+    /**
+     * Sets the column definitions. All tracks are measured and resolved again.
+     *
+     * @param columns the column definitions, at least one
+     * @throws IllegalArgumentException if no column is given
+     */
+    public void setColumns(List<GridTrack> columns) {
+        if (columns == null || columns.isEmpty()) {
+            throw new IllegalArgumentException("A grid needs at least one column");
+        }
+        this.columns.clear();
+        this.columns.addAll(columns);
+        autoCursor = 0;
+        rebuildTracks();
+    }
+
+    /**
+     * Sets the column definitions. All tracks are measured and resolved again.
+     *
+     * @param columns the column definitions, at least one
+     */
+    public void setColumns(GridTrack... columns) {
+        setColumns(Arrays.asList(columns));
+    }
+
+    /**
+     * Sets the row definitions. All tracks are measured and resolved again.
+     * Missing rows for placed widgets are added as auto rows.
+     *
+     * @param rows the row definitions
+     */
+    public void setRows(List<GridTrack> rows) {
+        this.rows.clear();
+        if (rows != null) {
+            this.rows.addAll(rows);
+        }
+        rebuildTracks();
+    }
+
+    /**
+     * Sets the row definitions. All tracks are measured and resolved again.
+     *
+     * @param rows the row definitions
+     */
+    public void setRows(GridTrack... rows) {
+        setRows(Arrays.asList(rows));
+    }
+
+    /**
+     * Sets the gap between rows and between columns.
+     *
+     * @param gap the gap in pixels
+     */
+    public void setGap(double gap) {
+        setColumnGap(gap);
+        setRowGap(gap);
+    }
+
+    /**
+     * Sets the gap between two columns.
+     *
+     * @param columnGap the gap in pixels, negative values are replaced by {@code 0}
+     */
+    public void setColumnGap(double columnGap) {
+        columnGap = Math.max(0, columnGap);
+        if (this.columnGap != columnGap) {
+            this.columnGap = columnGap;
+            tracksChanged = true;
+            invalidate();
+        }
+    }
+
+    /**
+     * Sets the gap between two rows.
+     *
+     * @param rowGap the gap in pixels, negative values are replaced by {@code 0}
+     */
+    public void setRowGap(double rowGap) {
+        rowGap = Math.max(0, rowGap);
+        if (this.rowGap != rowGap) {
+            this.rowGap = rowGap;
+            tracksChanged = true;
+            invalidate();
+        }
+    }
+
+    /**
+     * Sets the placement of the widgets inside their cells.
+     *
+     * @param alignItems the placement, {@code null} is replaced by {@link AlignItems#STRETCH}
+     */
+    public void setAlignItems(AlignItems alignItems) {
+        this.alignItems = alignItems == null ? AlignItems.STRETCH : alignItems;
+        pending.addAll(cells.keySet());
+        invalidate();
+    }
+
+    /**
+     * @return the placement of the widgets inside their cells.
+     */
+    public AlignItems getAlignItems() {
+        return alignItems;
+    }
+
+    /**
+     * @return the gap between two columns in pixels.
+     */
+    public double getColumnGap() {
+        return columnGap;
+    }
+
+    /**
+     * @return the gap between two rows in pixels.
+     */
+    public double getRowGap() {
+        return rowGap;
+    }
+
+    /**
+     * Returns the cell of a placed widget.
+     *
+     * @param widget the widget
+     * @return the row, column, row span and column span of the cell, or {@code null} if the widget is not placed
+     */
+    public int[] getPlacement(AbstractWidget widget) {
+        GridCell cell = cells.get(widget);
+        return cell == null ? null : new int[] {cell.row, cell.column, cell.rowSpan, cell.columnSpan};
+    }
+
+    /**
+     * @return an unmodifiable view of the column definitions.
+     */
+    public List<GridTrack> getColumns() {
+        return Collections.unmodifiableList(columns);
+    }
+
+    /**
+     * @return an unmodifiable view of the row definitions.
+     */
+    public List<GridTrack> getRows() {
+        return Collections.unmodifiableList(rows);
+    }
+
+    /**
+     * @param column the column index
+     * @return the resolved size of the column, valid after the last {@link #update()}
+     */
+    public double getColumnSize(int column) {
+        return columnSizes[column];
+    }
+
+    /**
+     * @param row the row index
+     * @return the resolved size of the row, valid after the last {@link #update()}
+     */
+    public double getRowSize(int row) {
+        return rowSizes[row];
+    }
+
+    /**
+     * Marks the rows and columns of the widget for measuring and the widget for arranging.
+     *
+     * @param widget the added or changed widget
+     */
+    @Override
+    public void invalidate(AbstractWidget widget) {
+        GridCell cell = cells.get(widget);
+        if (cell != null) {
+            markTracks(cell);
+        }
+        if (widget != null) {
+            pending.add(widget);
+        }
+        invalidate();
+    }
+
+    /**
+     * Drops the cell of the widget and marks its rows and columns for measuring.
+     *
+     * @param widget the removed widget
+     */
+    @Override
+    public void widgetRemoved(AbstractWidget widget) {
+        unplace(widget);
+        pending.remove(widget);
+        invalidate();
+    }
+
+    @Override
+    public void cleanUp() {
+        super.cleanUp();
+        cells.clear();
+        pending.clear();
+        autoCursor = 0;
+        rebuildTracks();
+    }
+
+    /**
+     * Measures the dirty tracks, resolves the track sizes if needed and arranges the pending widgets.
+     * If a track size changed, all widgets are arranged.
+     */
+    @Override
+    public void update() {
+        setWidth(getWidth());
+        setHeight(getHeight());
+        if (!isDirty()) {
+            return;
+        }
+
+        for (AbstractWidget widget : getWidgetList()) {
+            if (!cells.containsKey(widget)) {
+                autoPlace(widget);
+            }
+        }
+
+        boolean columnsMeasured = measure(columns, columnMembers, columnContent, dirtyColumns, true);
+        boolean rowsMeasured = measure(rows, rowMembers, rowContent, dirtyRows, false);
+        boolean resize = tracksChanged || resolvedWidth != getWidth() || resolvedHeight != getHeight();
+
+        boolean changed = false;
+        if (resize || columnsMeasured) {
+            changed = resolve(columns, columnContent, columnSizes, columnOffsets, getWidth(), columnGap);
+        }
+        if (resize || rowsMeasured) {
+            changed |= resolve(rows, rowContent, rowSizes, rowOffsets, getHeight(), rowGap);
+        }
+        tracksChanged = false;
+        resolvedWidth = getWidth();
+        resolvedHeight = getHeight();
+
+        if (changed) {
+            for (Map.Entry<AbstractWidget, GridCell> entry : cells.entrySet()) {
+                arrange(entry.getKey(), entry.getValue());
+            }
+        } else {
+            for (AbstractWidget widget : pending) {
+                GridCell cell = cells.get(widget);
+                if (cell != null) {
+                    arrange(widget, cell);
+                }
+            }
+        }
+        pending.clear();
+        setDirty(false);
+    }
+
+    /**
+     * Places a widget without an explicit cell into the first free cell in row order.
+     */
+    private void autoPlace(AbstractWidget widget) {
+        while (autoCursor < occupancy.length && occupancy[autoCursor] > 0) {
+            autoCursor++;
+        }
+        place(widget, autoCursor / columns.size(), autoCursor % columns.size());
+    }
+
+    /**
+     * Measures the content size of all dirty auto tracks.
+     *
+     * @return true if the content size of an auto track changed
+     */
+    private static boolean measure(List<GridTrack> tracks, List<List<AbstractWidget>> members, double[] content,
+                                   boolean[] dirty, boolean horizontal) {
+        boolean changed = false;
+        for (int i = 0; i < dirty.length; i++) {
+            if (!dirty[i]) {
+                continue;
+            }
+            dirty[i] = false;
+            if (tracks.get(i).getSizing() != TrackSizing.AUTO) {
+                continue;
+            }
+
+            double size = 0;
+            for (AbstractWidget widget : members.get(i)) {
+                if (!widget.isDisplayed()) {
+                    continue;
+                }
+                size = Math.max(size, horizontal ? widget.getMeasuredWidth() : widget.getMeasuredHeight());
+            }
+            if (content[i] != size) {
+                content[i] = size;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Resolves the sizes and offsets of the tracks for the available space.
+     *
+     * @return true if any track size changed
+     */
+    private static boolean resolve(List<GridTrack> tracks, double[] content, double[] sizes, double[] offsets,
+                                   double available, double gap) {
+        int count = tracks.size();
+        double used = count > 1 ? gap * (count - 1) : 0;
+        double fractions = 0;
+        for (int i = 0; i < count; i++) {
+            GridTrack track = tracks.get(i);
+            switch (track.getSizing()) {
+                case FIXED -> used += track.getValue();
+                case AUTO -> used += content[i];
+                case FRACTION -> fractions += track.getValue();
+                default -> throw new IllegalStateException("Unexpected value: " + track.getSizing());
+            }
+        }
+
+        double free = Math.max(0, available - used);
+        boolean changed = false;
+        double offset = 0;
+        for (int i = 0; i < count; i++) {
+            GridTrack track = tracks.get(i);
+            double size = switch (track.getSizing()) {
+                case FIXED -> track.getValue();
+                case AUTO -> content[i];
+                case FRACTION -> fractions > 0 ? free * track.getValue() / fractions : 0;
+            };
+            if (sizes[i] != size || offsets[i] != offset) {
+                sizes[i] = size;
+                offsets[i] = offset;
+                changed = true;
+            }
+            offset += size + gap;
+        }
+        return changed;
+    }
+
+    /**
+     * Assigns the bounds of the cell to the widget.
+     */
+    private void arrange(AbstractWidget widget, GridCell cell) {
+        double x = columnOffsets[cell.column];
+        double y = rowOffsets[cell.row];
+        double width = span(columnSizes, cell.column, cell.columnSpan, columnGap);
+        double height = span(rowSizes, cell.row, cell.rowSpan, rowGap);
+
+        if (alignItems == AlignItems.STRETCH) {
+            widget.setLayoutBounds(x, y, width, height);
+            return;
+        }
+
+        double measuredWidth = Math.min(width, widget.getMeasuredWidth());
+        double measuredHeight = Math.min(height, widget.getMeasuredHeight());
+        double factor = switch (alignItems) {
+            case END -> 1;
+            case CENTER -> 0.5;
+            default -> 0;
+        };
+        widget.setLayoutBounds(x + (width - measuredWidth) * factor, y + (height - measuredHeight) * factor,
+                measuredWidth, measuredHeight);
+    }
+
+    private static double span(double[] sizes, int start, int span, double gap) {
+        double size = gap * (span - 1);
+        for (int i = start; i < start + span; i++) {
+            size += sizes[i];
+        }
+        return size;
+    }
+
+    /**
+     * Removes the widget from its cell, if it has one.
+     */
+    private void unplace(AbstractWidget widget) {
+        GridCell cell = cells.remove(widget);
+        if (cell == null) {
+            return;
+        }
+        if (cell.columnSpan == 1) {
+            columnMembers.get(cell.column).remove(widget);
+        }
+        if (cell.rowSpan == 1) {
+            rowMembers.get(cell.row).remove(widget);
+        }
+        occupy(cell, -1);
+        autoCursor = Math.min(autoCursor, cell.row * columns.size() + cell.column);
+        markTracks(cell);
+    }
+
+    /**
+     * Adds the widget to the member lists of its tracks and marks them for measuring.
+     */
+    private void link(AbstractWidget widget, GridCell cell) {
+        if (cell.columnSpan == 1) {
+            columnMembers.get(cell.column).add(widget);
+        }
+        if (cell.rowSpan == 1) {
+            rowMembers.get(cell.row).add(widget);
+        }
+        occupy(cell, 1);
+        markTracks(cell);
+    }
+
+    /**
+     * Adds the delta to the occupancy of every cell which the cell spans.
+     */
+    private void occupy(GridCell cell, int delta) {
+        for (int row = cell.row; row < cell.row + cell.rowSpan; row++) {
+            int start = row * columns.size() + cell.column;
+            for (int index = start; index < start + cell.columnSpan; index++) {
+                occupancy[index] += delta;
+            }
+        }
+    }
+
+    private void markTracks(GridCell cell) {
+        Arrays.fill(dirtyColumns, cell.column, cell.column + cell.columnSpan, true);
+        Arrays.fill(dirtyRows, cell.row, cell.row + cell.rowSpan, true);
+    }
+
+    /**
+     * Adds auto rows until the grid has at least the given amount of rows.
+     */
+    private void ensureRows(int count) {
+        if (rows.size() >= count) {
+            return;
+        }
+        while (rows.size() < count) {
+            rows.add(GridTrack.auto());
+        }
+        rebuildTracks();
+    }
+
+    /**
+     * Recreates all track caches after the track definitions changed. Cells outside the columns are clamped.
+     */
+    private void rebuildTracks() {
+        int rowCount = rows.size();
+        for (GridCell cell : cells.values()) {
+            cell.columnSpan = Math.min(cell.columnSpan, columns.size());
+            cell.column = Math.min(cell.column, columns.size() - cell.columnSpan);
+            rowCount = Math.max(rowCount, cell.row + cell.rowSpan);
+        }
+        while (rows.size() < rowCount) {
+            rows.add(GridTrack.auto());
+        }
+
+        columnContent = new double[columns.size()];
+        columnSizes = new double[columns.size()];
+        columnOffsets = new double[columns.size()];
+        dirtyColumns = new boolean[columns.size()];
+        rowContent = new double[rows.size()];
+        rowSizes = new double[rows.size()];
+        rowOffsets = new double[rows.size()];
+        dirtyRows = new boolean[rows.size()];
+        Arrays.fill(dirtyColumns, true);
+        Arrays.fill(dirtyRows, true);
+
+        columnMembers.clear();
+        for (int i = 0; i < columns.size(); i++) {
+            columnMembers.add(new ArrayList<>());
+        }
+        rowMembers.clear();
+        for (int i = 0; i < rows.size(); i++) {
+            rowMembers.add(new ArrayList<>());
+        }
+        occupancy = new int[rows.size() * columns.size()];
+        for (Map.Entry<AbstractWidget, GridCell> entry : cells.entrySet()) {
+            link(entry.getKey(), entry.getValue());
+        }
+
+        pending.addAll(cells.keySet());
+        tracksChanged = true;
+        invalidate();
+    }
+
+    /**
+     * The cell of one placed widget.
+     */
+    private static final class GridCell {
+
+        private int row;
+        private int column;
+        private int rowSpan;
+        private int columnSpan;
+
+        private GridCell(int row, int column, int rowSpan, int columnSpan) {
+            this.row = row;
+            this.column = column;
+            this.rowSpan = rowSpan;
+            this.columnSpan = columnSpan;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.jilou.ui.container.layout;
+
+import com.jilou.ui.enums.css.TrackSizing;
+import lombok.Getter;
+
+/**
+ * Represents the size definition of one row or column of a {@link GridLayout}.
+ * Instances are immutable and created by {@link #fixed(double)}, {@link #auto()} and {@link #fr(double)}.
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+public final class GridTrack {
+
+    /**
+     * The shared instance for auto sized tracks.
+     */
+    private static final GridTrack AUTO = new GridTrack(TrackSizing.AUTO, 0);
+
+    /**
+     * The sizing rule of the track.
+     */
+    private final TrackSizing sizing;
+
+    /**
+     * The size in pixels for {@link TrackSizing#FIXED}, the weight for {@link TrackSizing#FRACTION}.
+     */
+    private final double value;
+
+    private GridTrack(TrackSizing sizing, double value) {
+        this.sizing = sizing;
+        this.value = value;
+    }
+
+    /**
+     * Creates a track with a fixed size.
+     *
+     * @param size the size in pixels, negative values are replaced by {@code 0}
+     * @return the track definition
+     */
+    public static GridTrack fixed(double size) {
+        return new GridTrack(TrackSizing.FIXED, Math.max(0, size));
+    }
+
+    /**
+     * @return a track which is as large as its largest single span widget.
+     */
+    public static GridTrack auto() {
+        return AUTO;
+    }
+
+    /**
+     * Creates a fractional track, which receives a share of the remaining space by its weight.
+     *
+     * @param weight the weight of the track, negative values are replaced by {@code 0}
+     * @return the track definition
+     */
+    public static GridTrack fr(double weight) {
+        return new GridTrack(TrackSizing.FRACTION, Math.max(0, weight));
+    }
+}
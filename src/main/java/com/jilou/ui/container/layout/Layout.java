@@ -12,6 +12,10 @@ import java.util.List;
  * Subclasses are responsible for defining how the layout is updated and managing the widgets it contains.
  * The layout provides cleanup functionality to destroy and clear all widgets.
  * </p>
+ * <p>
+ * A layout is marked dirty when its size or its widgets change. Subclasses which compute positions should
+ * only do so while the layout is dirty and mark it clean afterward, see {@link #setDirty(boolean)}.
+ * </p>
  *
  * @since 0.1.0
  * @author Daniel Ramke
@@ -43,12 +47,18 @@ public abstract class Layout {
      */
     private Scene parent;
 
+    /**
+     * True if the widgets of this layout must be arranged again.
+     */
+    private boolean dirty;
+
     /**
      * Constructs a new {@code Layout} instance with an empty widget list.
      */
     protected Layout() {
         widgetList = new ArrayList<>();
         this.parent = null;
+        this.dirty = true;
         this.bindSizeToScene = true;
         this.setWidth(0);
         this.setHeight(0);
@@ -78,6 +88,52 @@ public abstract class Layout {
         }
 
         widgetList.clear();
+        invalidate();
+    }
+
+    /**
+     * Marks this layout as dirty, so its widgets are arranged again at the next {@link #update()}.
+     */
+    public void invalidate() {
+        this.dirty = true;
+    }
+
+    /**
+     * Returns whether the widgets of this layout must be arranged again.
+     *
+     * @return {@code true} if the layout is dirty, {@code false} otherwise.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Marks this layout as dirty because the given widget was added or changed its size.
+     * Subclasses can override this to only update the parts of the layout which depend on the widget.
+     *
+     * @param widget the added or changed widget
+     */
+    public void invalidate(AbstractWidget widget) {
+        invalidate();
+    }
+
+    /**
+     * Marks this layout as dirty because the given widget was removed from it.
+     * Subclasses can override this to drop all state which belongs to the widget.
+     *
+     * @param widget the removed widget
+     */
+    public void widgetRemoved(AbstractWidget widget) {
+        invalidate();
+    }
+
+    /**
+     * Sets the dirty state of this layout. Subclasses clear it after they arranged their widgets.
+     *
+     * @param dirty the new dirty state.
+     */
+    protected void setDirty(boolean dirty) {
+        this.dirty = dirty;
     }
 
     /**
@@ -91,7 +147,10 @@ public abstract class Layout {
         if (bindSizeToScene && hasParent()) {
             width = parent.getWidth();
         }
-        this.width = width;
+        if (this.width != width) {
+            this.width = width;
+            invalidate();
+        }
     }
 
     /**
@@ -114,7 +173,10 @@ public abstract class Layout {
         if (bindSizeToScene && hasParent()) {
             height = parent.getHeight();
         }
-        this.height = height;
+        if (this.height != height) {
+            this.height = height;
+            invalidate();
+        }
     }
 
     /**
@@ -0,0 +1,47 @@
+package com.jilou.ui.enums;
+
+import lombok.Getter;
+
+/**
+ * Classifies the effect of a changed widget or style property, from cheapest to most expensive.
+ * <p>
+ * A change only marks the work it really needs: a paint change only requests a new frame, an order change
+ * additionally sorts the render order of the scene, a layout change additionally arranges the affected
+ * part of the widget tree again.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+public enum Invalidation {
+
+    /**
+     * The change is only visible, like a color. The widget is painted again.
+     */
+    PAINT(1),
+
+    /**
+     * The change affects the stacking order, like the z-index. The scene sorts its render order again.
+     */
+    ORDER(1 << 1),
+
+    /**
+     * The change affects the size or the placement of widgets, like the flex properties.
+     */
+    LAYOUT(1 << 2);
+
+    /**
+     * The bit of this invalidation.
+     */
+    private final int mask;
+
+    /**
+     * Constructs an {@code Invalidation} with the given bit.
+     *
+     * @param mask the bit of the invalidation.
+     */
+    Invalidation(int mask) {
+        this.mask = mask;
+    }
+}
@@ -0,0 +1,74 @@
+package com.jilou.ui.enums;
+
+import lombok.Getter;
+
+/**
+ * Represents the interaction states of a widget, like the css pseudo-classes.
+ * <p>
+ * A widget stores its states as bitmask, every state owns one bit given by {@link #getMask()}.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+public enum WidgetState {
+
+    /**
+     * The mouse is over the widget, css {@code :hover}.
+     */
+    HOVERED(1, "hover"),
+
+    /**
+     * A mouse button is held on the widget, css {@code :active} or {@code :pressed}.
+     */
+    PRESSED(1 << 1, "pressed"),
+
+    /**
+     * The widget has the input focus, css {@code :focus} or {@code :focused}.
+     */
+    FOCUSED(1 << 2, "focus"),
+
+    /**
+     * The widget does not accept input, css {@code :disabled}.
+     */
+    DISABLED(1 << 3, "disabled");
+
+    /**
+     * The bit of this state in the state mask of a widget.
+     */
+    private final int mask;
+
+    /**
+     * The css pseudo-class name of this state.
+     */
+    private final String pseudoClass;
+
+    /**
+     * Constructs a {@code WidgetState} with the given bit and pseudo-class name.
+     *
+     * @param mask the bit of the state.
+     * @param pseudoClass the css pseudo-class name.
+     */
+    WidgetState(int mask, String pseudoClass) {
+        this.mask = mask;
+        this.pseudoClass = pseudoClass;
+    }
+
+    /**
+     * Finds the state of a css pseudo-class. Besides the names of {@link #getPseudoClass()} the aliases
+     * {@code active}, {@code focused} and {@code hovered} are accepted.
+     *
+     * @param pseudoClass the pseudo-class name without colon.
+     * @return the state, or {@code null} if the name is unknown.
+     */
+    public static WidgetState fromPseudoClass(String pseudoClass) {
+        return switch (pseudoClass) {
+            case "hover", "hovered" -> HOVERED;
+            case "pressed", "active" -> PRESSED;
+            case "focus", "focused" -> FOCUSED;
+            case "disabled" -> DISABLED;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,108 @@
+package com.jilou.ui.enums.animation;
+
+import lombok.Getter;
+
+/**
+ * Represents the widget properties which can be animated.
+ * <p>
+ * Every property is stored as up to four float channels, for example the red, green, blue and alpha
+ * component of a color or the four corners of a radius.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+public enum AnimatedProperty {
+
+    /**
+     * The x position of the widget.
+     */
+    POSITION_X(1),
+
+    /**
+     * The y position of the widget.
+     */
+    POSITION_Y(1),
+
+    /**
+     * The x position inside the parent.
+     */
+    INNER_PARENT_X(1),
+
+    /**
+     * The y position inside the parent.
+     */
+    INNER_PARENT_Y(1),
+
+    /**
+     * The width of the widget.
+     */
+    WIDTH(1),
+
+    /**
+     * The height of the widget.
+     */
+    HEIGHT(1),
+
+    /**
+     * The color of the background.
+     */
+    BACKGROUND_COLOR(4),
+
+    /**
+     * The color of the border.
+     */
+    BORDER_COLOR(4),
+
+    /**
+     * The thickness of the border.
+     */
+    BORDER_THICKNESS(1),
+
+    /**
+     * The four corners of the border radius.
+     */
+    BORDER_RADIUS(4),
+
+    /**
+     * The color of the drop shadow.
+     */
+    SHADOW_COLOR(4),
+
+    /**
+     * The strength of the drop shadow.
+     */
+    SHADOW_STRENGTH(1),
+
+    /**
+     * The x offset of the drop shadow.
+     */
+    SHADOW_OFFSET_X(1),
+
+    /**
+     * The y offset of the drop shadow.
+     */
+    SHADOW_OFFSET_Y(1);
+
+    /**
+     * The amount of float channels of the property.
+     */
+    private final int channels;
+
+    /**
+     * Constructs an {@code AnimatedProperty} with the given amount of channels.
+     *
+     * @param channels the amount of float channels.
+     */
+    AnimatedProperty(int channels) {
+        this.channels = channels;
+    }
+
+    /**
+     * @return true if the channels are the red, green, blue and alpha component of a color.
+     */
+    public boolean isColor() {
+        return this == BACKGROUND_COLOR || this == BORDER_COLOR || this == SHADOW_COLOR;
+    }
+}
@@ -0,0 +1,72 @@
+package com.jilou.ui.enums.animation;
+
+/**
+ * Represents the easing curves of an animation, like the css {@code transition-timing-function} property.
+ * <p>
+ * A curve maps the linear progress of an animation to the progress of the animated value.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public enum Easing {
+
+    /**
+     * The value changes with constant speed.
+     */
+    LINEAR,
+
+    /**
+     * The value starts slow and speeds up.
+     */
+    EASE_IN,
+
+    /**
+     * The value starts fast and slows down.
+     */
+    EASE_OUT,
+
+    /**
+     * The value starts slow, speeds up and slows down at the end.
+     */
+    EASE_IN_OUT,
+
+    /**
+     * The value slows down and overshoots the target a little before it settles.
+     */
+    EASE_OUT_BACK;
+
+    /**
+     * The overshoot of {@link #EASE_OUT_BACK}.
+     */
+    private static final float OVERSHOOT = 1.70158f;
+
+    /**
+     * Maps the linear progress to the eased progress.
+     *
+     * @param progress the linear progress from 0 to 1
+     * @return the eased progress, 0 at the start and 1 at the end
+     */
+    public float apply(float progress) {
+        float t = Math.clamp(progress, 0.0f, 1.0f);
+        return switch (this) {
+            case LINEAR -> t;
+            case EASE_IN -> t * t * t;
+            case EASE_OUT -> {
+                float inverse = 1 - t;
+                yield 1 - inverse * inverse * inverse;
+            }
+            case EASE_IN_OUT -> {
+                if (t < 0.5f) {
+                    yield 4 * t * t * t;
+                }
+                float inverse = -2 * t + 2;
+                yield 1 - inverse * inverse * inverse / 2;
+            }
+            case EASE_OUT_BACK -> {
+                float shifted = t - 1;
+                yield 1 + (OVERSHOOT + 1) * shifted * shifted * shifted + OVERSHOOT * shifted * shifted;
+            }
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package com.jilou.ui.enums.chart;
+
+/**
+ * Represents how a chart reduces its points to the resolution of the screen.
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public enum Decimation {
+
+    /**
+     * Draws the smallest and the largest value of every pixel column. No peak is lost, and the values are
+     * read from precomputed block summaries, so the cost depends on the width of the chart, not on the
+     * amount of points.
+     */
+    MIN_MAX,
+
+    /**
+     * Keeps one point per pixel column with the largest-triangle-three-buckets algorithm, which preserves
+     * the visual shape of the line. Every visible point is read once per frame.
+     */
+    LTTB
+}
@@ -0,0 +1,31 @@
+package com.jilou.ui.enums.css;
+
+/**
+ * Represents the placement of children along the cross axis of a flex container,
+ * like the css {@code align-items} and {@code align-self} properties.
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public enum AlignItems {
+
+    /**
+     * Children are placed at the start of the cross axis.
+     */
+    START,
+
+    /**
+     * Children are placed at the end of the cross axis.
+     */
+    END,
+
+    /**
+     * Children are centered on the cross axis.
+     */
+    CENTER,
+
+    /**
+     * Children are stretched to fill the cross axis.
+     */
+    STRETCH
+}
@@ -0,0 +1,54 @@
+package com.jilou.ui.enums.css;
+
+import lombok.Getter;
+
+/**
+ * Represents the main axis of a flex container, like the css {@code flex-direction} property.
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+public enum FlexDirection {
+
+    /**
+     * Children are placed from left to right.
+     */
+    ROW(true, false),
+
+    /**
+     * Children are placed from right to left.
+     */
+    ROW_REVERSE(true, true),
+
+    /**
+     * Children are placed from top to bottom.
+     */
+    COLUMN(false, false),
+
+    /**
+     * Children are placed from bottom to top.
+     */
+    COLUMN_REVERSE(false, true);
+
+    /**
+     * True if the main axis is the horizontal axis.
+     */
+    private final boolean horizontal;
+
+    /**
+     * True if the children are placed in reverse order along the main axis.
+     */
+    private final boolean reverse;
+
+    /**
+     * Constructs a {@code FlexDirection} instance with the specified axis settings.
+     *
+     * @param horizontal true if the main axis is horizontal.
+     * @param reverse true if the main axis is reversed.
+     */
+    FlexDirection(boolean horizontal, boolean reverse) {
+        this.horizontal = horizontal;
+        this.reverse = reverse;
+    }
+}
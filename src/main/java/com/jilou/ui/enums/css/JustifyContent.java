@@ -0,0 +1,41 @@
+package com.jilou.ui.enums.css;
+
+/**
+ * Represents the distribution of free space along the main axis of a flex container,
+ * like the css {@code justify-content} property.
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public enum JustifyContent {
+
+    /**
+     * Children are packed at the start of the main axis.
+     */
+    START,
+
+    /**
+     * Children are packed at the end of the main axis.
+     */
+    END,
+
+    /**
+     * Children are packed in the center of the main axis.
+     */
+    CENTER,
+
+    /**
+     * Free space is placed between the children, the first and last child touch the edges.
+     */
+    SPACE_BETWEEN,
+
+    /**
+     * Free space is placed around every child, the edges receive half of the space between two children.
+     */
+    SPACE_AROUND,
+
+    /**
+     * Free space is distributed evenly between the children and the edges.
+     */
+    SPACE_EVENLY
+}
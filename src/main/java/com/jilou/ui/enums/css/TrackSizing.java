@@ -0,0 +1,26 @@
+package com.jilou.ui.enums.css;
+
+/**
+ * Represents the sizing rule of a grid row or column, like the track sizes of the css
+ * {@code grid-template-columns} and {@code grid-template-rows} properties.
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public enum TrackSizing {
+
+    /**
+     * The track has a fixed size in pixels.
+     */
+    FIXED,
+
+    /**
+     * The track is as large as its largest single span widget.
+     */
+    AUTO,
+
+    /**
+     * The track receives a share of the remaining space, like the css {@code fr} unit.
+     */
+    FRACTION
+}
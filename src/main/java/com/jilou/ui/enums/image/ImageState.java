@@ -0,0 +1,31 @@
+package com.jilou.ui.enums.image;
+
+/**
+ * Represents the loading state of a shared {@link com.jilou.ui.logic.graphics.image.Image}.
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public enum ImageState {
+
+    /**
+     * The image is decoded on a worker thread.
+     */
+    LOADING,
+
+    /**
+     * The image is decoded, its pixels wait for the upload or are uploaded.
+     */
+    READY,
+
+    /**
+     * The image could not be read or decoded.
+     */
+    FAILED,
+
+    /**
+     * The last user released the image, its pixels and textures are freed. It is decoded again when it is
+     * acquired.
+     */
+    UNLOADED
+}
@@ -0,0 +1,520 @@
+package com.jilou.ui.logic.animation;
+
+import com.jilou.ui.enums.animation.AnimatedProperty;
+import com.jilou.ui.enums.animation.Easing;
+import com.jilou.ui.styles.StyleSheet;
+import com.jilou.ui.styles.types.Background;
+import com.jilou.ui.styles.types.Border;
+import com.jilou.ui.styles.types.DropShadow;
+import com.jilou.ui.styles.types.Radius;
+import com.jilou.ui.utils.Color;
+import com.jilou.ui.widget.AbstractWidget;
+
+import java.util.Arrays;
+
+/**
+ * Runs the property animations of one {@link com.jilou.ui.container.Scene}, driven by the frame delta.
+ * <p>
+ * The running animations are stored densely in parallel primitive arrays, so a frame only visits the
+ * active animations and allocates nothing besides the transient style values of the changed properties.
+ * The frames of an animation are not interned, so they neither take the lock of the
+ * {@link com.jilou.ui.styles.StyleCache} nor fill it, only the value of the last frame or of a cancelled
+ * animation is interned, see {@link StyleSheet#settle()}. A finished
+ * animation is removed by moving the last animation into its slot. The start value of an animation is
+ * read from the widget when its delay has passed, so animations can be chained, see {@link Timeline}.
+ * </p>
+ * <p>
+ * Starting an animation of a property which is already animated at an overlapping time replaces that
+ * animation, the new animation starts from the current value. Animations of one property which follow each
+ * other, like the steps of a {@link Timeline}, are kept. Animated style properties count as set explicitly, see
+ * {@link StyleSheet}.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public class Animator {
+
+    /**
+     * The maximum amount of channels of an {@link AnimatedProperty}.
+     */
+    private static final int CHANNELS = 4;
+
+    /**
+     * The initial capacity of the storage arrays.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    private AbstractWidget[] widgets = new AbstractWidget[INITIAL_CAPACITY];
+    private AnimatedProperty[] properties = new AnimatedProperty[INITIAL_CAPACITY];
+    private Easing[] easings = new Easing[INITIAL_CAPACITY];
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private boolean[] started = new boolean[INITIAL_CAPACITY];
+    private float[] delays = new float[INITIAL_CAPACITY];
+    private float[] durations = new float[INITIAL_CAPACITY];
+    private float[] elapsed = new float[INITIAL_CAPACITY];
+    private float[] from = new float[INITIAL_CAPACITY * CHANNELS];
+    private float[] to = new float[INITIAL_CAPACITY * CHANNELS];
+
+    /**
+     * The interpolated channels of the current animation.
+     */
+    private final float[] current = new float[CHANNELS];
+
+    /**
+     * The amount of running animations.
+     */
+    private int count;
+
+    /**
+     * The id of the last started animation.
+     */
+    private int lastId;
+
+    /**
+     * Animates a property with one channel, like a position, to the given value.
+     *
+     * @param widget   the animated widget
+     * @param property the animated property
+     * @param target   the target value
+     * @param duration the duration in seconds
+     * @param easing   the easing curve, {@code null} is linear
+     * @return the id of the animation
+     */
+    public int animate(AbstractWidget widget, AnimatedProperty property, double target, float duration, Easing easing) {
+        return animate(widget, property, target, duration, 0.0f, easing);
+    }
+
+    /**
+     * Animates a property with one channel, like a position, to the given value after a delay.
+     *
+     * @param widget   the animated widget
+     * @param property the animated property
+     * @param target   the target value
+     * @param duration the duration in seconds
+     * @param delay    the delay before the start in seconds
+     * @param easing   the easing curve, {@code null} is linear
+     * @return the id of the animation
+     * @throws IllegalArgumentException if the property has more than one channel
+     */
+    public int animate(AbstractWidget widget, AnimatedProperty property, double target, float duration, float delay, Easing easing) {
+        if (property != null && property.getChannels() != 1) {
+            throw new IllegalArgumentException("Property " + property + " needs " + property.getChannels() + " channels");
+        }
+        float value = (float) target;
+        return schedule(widget, property, value, value, value, value, duration, delay, easing);
+    }
+
+    /**
+     * Animates a color property to the given color.
+     *
+     * @param widget   the animated widget
+     * @param property the animated color property
+     * @param target   the target color
+     * @param duration the duration in seconds
+     * @param easing   the easing curve, {@code null} is linear
+     * @return the id of the animation
+     */
+    public int animate(AbstractWidget widget, AnimatedProperty property, Color target, float duration, Easing easing) {
+        return animate(widget, property, target, duration, 0.0f, easing);
+    }
+
+    /**
+     * Animates a color property to the given color after a delay.
+     *
+     * @param widget   the animated widget
+     * @param property the animated color property
+     * @param target   the target color
+     * @param duration the duration in seconds
+     * @param delay    the delay before the start in seconds
+     * @param easing   the easing curve, {@code null} is linear
+     * @return the id of the animation
+     * @throws IllegalArgumentException if the property is no color or the color is {@code null}
+     */
+    public int animate(AbstractWidget widget, AnimatedProperty property, Color target, float duration, float delay, Easing easing) {
+        if (property == null || !property.isColor()) {
+            throw new IllegalArgumentException("Property " + property + " is no color");
+        }
+        if (target == null) {
+            throw new IllegalArgumentException("Target color cannot be null");
+        }
+        return schedule(widget, property, target.getRed(), target.getGreen(), target.getBlue(), target.getAlpha(),
+                duration, delay, easing);
+    }
+
+    /**
+     * Animates the border radius to the given radius.
+     *
+     * @param widget   the animated widget
+     * @param target   the target radius
+     * @param duration the duration in seconds
+     * @param easing   the easing curve, {@code null} is linear
+     * @return the id of the animation
+     */
+    public int animate(AbstractWidget widget, Radius target, float duration, Easing easing) {
+        return animate(widget, target, duration, 0.0f, easing);
+    }
+
+    /**
+     * Animates the border radius to the given radius after a delay.
+     *
+     * @param widget   the animated widget
+     * @param target   the target radius
+     * @param duration the duration in seconds
+     * @param delay    the delay before the start in seconds
+     * @param easing   the easing curve, {@code null} is linear
+     * @return the id of the animation
+     * @throws IllegalArgumentException if the radius is {@code null}
+     */
+    public int animate(AbstractWidget widget, Radius target, float duration, float delay, Easing easing) {
+        if (target == null) {
+            throw new IllegalArgumentException("Target radius cannot be null");
+        }
+        return schedule(widget, AnimatedProperty.BORDER_RADIUS, (float) target.getTopLeft(), (float) target.getTopRight(),
+                (float) target.getBottomRight(), (float) target.getBottomLeft(), duration, delay, easing);
+    }
+
+    /**
+     * Advances all running animations and removes the finished ones.
+     *
+     * @param delta the time since the last frame in seconds
+     */
+    public void update(float delta) {
+        if (delta < 0) {
+            delta = 0;
+        }
+        int index = 0;
+        while (index < count) {
+            if (advance(index, delta)) {
+                index++;
+            } else {
+                removeAt(index);
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if at least one animation is running or waiting for its delay.
+     */
+    public boolean isRunning() {
+        return count > 0;
+    }
+
+    /**
+     * @return the amount of running animations.
+     */
+    public int getActiveCount() {
+        return count;
+    }
+
+    /**
+     * @param id the id of an animation
+     * @return {@code true} if the animation is still running
+     */
+    public boolean isRunning(int id) {
+        return indexOf(id) >= 0;
+    }
+
+    /**
+     * Stops an animation, the property keeps its current value.
+     *
+     * @param id the id of the animation
+     * @return {@code true} if the animation was running
+     */
+    public boolean cancel(int id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return false;
+        }
+        settle(index);
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Stops all animations of a widget and its children, the properties keep their current values.
+     *
+     * @param widget the widget
+     */
+    public void cancel(AbstractWidget widget) {
+        for (int index = count - 1; index >= 0; index--) {
+            for (AbstractWidget current = widgets[index]; current != null; current = current.getParent()) {
+                if (current == widget) {
+                    settle(index);
+                    removeAt(index);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops all animations.
+     */
+    public void clear() {
+        for (int index = 0; index < count; index++) {
+            settle(index);
+        }
+        Arrays.fill(widgets, 0, count, null);
+        count = 0;
+    }
+
+    /**
+     * Stores a new animation and replaces a running animation of the same property.
+     */
+    private int schedule(AbstractWidget widget, AnimatedProperty property, float c0, float c1, float c2, float c3,
+                         float duration, float delay, Easing easing) {
+        if (widget == null || property == null) {
+            throw new IllegalArgumentException("Widget and property cannot be null");
+        }
+        float start = Math.max(0.0f, delay);
+        float end = start + Math.max(0.0f, duration);
+        for (int index = count - 1; index >= 0; index--) {
+            if (widgets[index] == widget && properties[index] == property && overlaps(index, start, end)) {
+                settle(index);
+                removeAt(index);
+            }
+        }
+        if (count == ids.length) {
+            grow();
+        }
+
+        int index = count++;
+        widgets[index] = widget;
+        properties[index] = property;
+        easings[index] = easing == null ? Easing.LINEAR : easing;
+        ids[index] = ++lastId;
+        started[index] = false;
+        delays[index] = Math.max(0.0f, delay);
+        durations[index] = Math.max(0.0f, duration);
+        elapsed[index] = 0.0f;
+        int channel = index * CHANNELS;
+        to[channel] = c0;
+        to[channel + 1] = c1;
+        to[channel + 2] = c2;
+        to[channel + 3] = c3;
+        return ids[index];
+    }
+
+    /**
+     * Advances one animation and writes its value.
+     *
+     * @return {@code false} if the animation is finished
+     */
+    private boolean advance(int index, float delta) {
+        if (delays[index] > 0) {
+            delays[index] -= delta;
+            if (delays[index] > 0) {
+                return true;
+            }
+            delta = -delays[index];
+            delays[index] = 0;
+        }
+        int channel = index * CHANNELS;
+        if (!started[index]) {
+            read(widgets[index], properties[index], from, channel);
+            started[index] = true;
+        }
+
+        elapsed[index] += delta;
+        float progress = durations[index] <= 0 ? 1.0f : Math.min(1.0f, elapsed[index] / durations[index]);
+        float eased = easings[index].apply(progress);
+        for (int i = 0; i < CHANNELS; i++) {
+            current[i] = from[channel + i] + (to[channel + i] - from[channel + i]) * eased;
+        }
+        write(widgets[index], properties[index], current);
+        if (progress < 1.0f) {
+            return true;
+        }
+        settle(index);
+        return false;
+    }
+
+    /**
+     * Interns the style values which the animation wrote.
+     */
+    private void settle(int index) {
+        if (started[index]) {
+            widgets[index].getStyle().settle();
+        }
+    }
+
+    /**
+     * @return {@code true} if the remaining time of an animation overlaps the given time range from now
+     */
+    private boolean overlaps(int index, float start, float end) {
+        float from = Math.max(0.0f, delays[index]);
+        float to = from + Math.max(0.0f, durations[index] - elapsed[index]);
+        return start < to && from < end || start == from;
+    }
+
+    /**
+     * Moves the last animation into the given slot.
+     */
+    private void removeAt(int index) {
+        int last = --count;
+        if (index != last) {
+            widgets[index] = widgets[last];
+            properties[index] = properties[last];
+            easings[index] = easings[last];
+            ids[index] = ids[last];
+            started[index] = started[last];
+            delays[index] = delays[last];
+            durations[index] = durations[last];
+            elapsed[index] = elapsed[last];
+            System.arraycopy(from, last * CHANNELS, from, index * CHANNELS, CHANNELS);
+            System.arraycopy(to, last * CHANNELS, to, index * CHANNELS, CHANNELS);
+        }
+        widgets[last] = null;
+    }
+
+    private int indexOf(int id) {
+        for (int index = 0; index < count; index++) {
+            if (ids[index] == id) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        widgets = Arrays.copyOf(widgets, capacity);
+        properties = Arrays.copyOf(properties, capacity);
+        easings = Arrays.copyOf(easings, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        started = Arrays.copyOf(started, capacity);
+        delays = Arrays.copyOf(delays, capacity);
+        durations = Arrays.copyOf(durations, capacity);
+        elapsed = Arrays.copyOf(elapsed, capacity);
+        from = Arrays.copyOf(from, capacity * CHANNELS);
+        to = Arrays.copyOf(to, capacity * CHANNELS);
+    }
+
+    /**
+     * Reads the current channels of a property.
+     */
+    private static void read(AbstractWidget widget, AnimatedProperty property, float[] target, int offset) {
+        StyleSheet style = widget.getStyle();
+        switch (property) {
+            case POSITION_X -> target[offset] = (float) widget.getPositionX();
+            case POSITION_Y -> target[offset] = (float) widget.getPositionY();
+            case INNER_PARENT_X -> target[offset] = (float) widget.getInnerParentX();
+            case INNER_PARENT_Y -> target[offset] = (float) widget.getInnerParentY();
+            case WIDTH -> target[offset] = (float) widget.getWidth();
+            case HEIGHT -> target[offset] = (float) widget.getHeight();
+            case BACKGROUND_COLOR -> readColor(style.getBackground() == null ? null : style.getBackground().getColor(), target, offset);
+            case BORDER_COLOR -> readColor(border(style).getColor(), target, offset);
+            case BORDER_THICKNESS -> target[offset] = (float) border(style).getThickness();
+            case BORDER_RADIUS -> {
+                Radius radius = style.getBorderRadius() == null ? new Radius() : style.getBorderRadius();
+                target[offset] = (float) radius.getTopLeft();
+                target[offset + 1] = (float) radius.getTopRight();
+                target[offset + 2] = (float) radius.getBottomRight();
+                target[offset + 3] = (float) radius.getBottomLeft();
+            }
+            case SHADOW_COLOR -> readColor(shadow(style).getColor(), target, offset);
+            case SHADOW_STRENGTH -> target[offset] = shadow(style).getStrength();
+            case SHADOW_OFFSET_X -> target[offset] = shadow(style).getOffsetX();
+            case SHADOW_OFFSET_Y -> target[offset] = shadow(style).getOffsetY();
+        }
+    }
+
+    private static void readColor(Color color, float[] target, int offset) {
+        if (color == null) {
+            color = Color.BLACK;
+        }
+        target[offset] = color.getRed();
+        target[offset + 1] = color.getGreen();
+        target[offset + 2] = color.getBlue();
+        target[offset + 3] = color.getAlpha();
+    }
+
+    /**
+     * Writes the interpolated channels to a property. Style values which did not change are not written,
+     * positions and sizes are passed to their setters every frame.
+     */
+    private static void write(AbstractWidget widget, AnimatedProperty property, float[] value) {
+        StyleSheet style = widget.getStyle();
+        switch (property) {
+            case POSITION_X -> widget.setPositionX(value[0]);
+            case POSITION_Y -> widget.setPositionY(value[0]);
+            case INNER_PARENT_X -> widget.setInnerParentX(value[0]);
+            case INNER_PARENT_Y -> widget.setInnerParentY(value[0]);
+            case WIDTH -> widget.setWidth(value[0]);
+            case HEIGHT -> widget.setHeight(value[0]);
+            case BACKGROUND_COLOR -> {
+                Background background = style.getBackground();
+                Color color = background == null ? null : background.getColor();
+                if (!sameColor(color, value)) {
+                    style.setAnimatedBackground(new Background(toColor(value),
+                            background == null ? null : background.getImage()));
+                }
+            }
+            case BORDER_COLOR -> {
+                Border border = border(style);
+                if (!sameColor(border.getColor(), value)) {
+                    style.setAnimatedBorder(border.toBuilder().color(toColor(value)).build());
+                }
+            }
+            case BORDER_THICKNESS -> {
+                Border border = border(style);
+                if (border.getThickness() != value[0]) {
+                    style.setAnimatedBorder(border.toBuilder().thickness(value[0]).build());
+                }
+            }
+            case BORDER_RADIUS -> {
+                Radius radius = style.getBorderRadius();
+                if (radius == null || radius.getTopLeft() != value[0] || radius.getTopRight() != value[1]
+                        || radius.getBottomRight() != value[2] || radius.getBottomLeft() != value[3]) {
+                    style.setAnimatedBorderRadius(new Radius(value[0], value[1], value[3], value[2]));
+                }
+            }
+            case SHADOW_COLOR -> {
+                DropShadow shadow = shadow(style);
+                if (!sameColor(shadow.getColor(), value)) {
+                    style.setAnimatedDropShadow(shadow.toBuilder().color(toColor(value)).build());
+                }
+            }
+            case SHADOW_STRENGTH -> {
+                DropShadow shadow = shadow(style);
+                if (shadow.getStrength() != value[0]) {
+                    style.setAnimatedDropShadow(shadow.toBuilder().strength(value[0]).build());
+                }
+            }
+            case SHADOW_OFFSET_X -> {
+                DropShadow shadow = shadow(style);
+                if (shadow.getOffsetX() != value[0]) {
+                    style.setAnimatedDropShadow(shadow.toBuilder().offsetX(value[0]).build());
+                }
+            }
+            case SHADOW_OFFSET_Y -> {
+                DropShadow shadow = shadow(style);
+                if (shadow.getOffsetY() != value[0]) {
+                    style.setAnimatedDropShadow(shadow.toBuilder().offsetY(value[0]).build());
+                }
+            }
+        }
+    }
+
+    private static boolean sameColor(Color color, float[] value) {
+        return color != null && color.getRed() == channel(value[0]) && color.getGreen() == channel(value[1])
+                && color.getBlue() == channel(value[2]) && color.getAlpha() == channel(value[3]);
+    }
+
+    private static Color toColor(float[] value) {
+        return Color.rgba(channel(value[0]), channel(value[1]), channel(value[2]), channel(value[3]));
+    }
+
+    private static int channel(float value) {
+        return Math.clamp(Math.round(value), 0, 255);
+    }
+
+    private static Border border(StyleSheet style) {
+        return style.getBorder() == null ? Border.builder().build() : style.getBorder();
+    }
+
+    private static DropShadow shadow(StyleSheet style) {
+        return style.getDropShadow() == null ? DropShadow.builder().build() : style.getDropShadow();
+    }
+}
@@ -0,0 +1,144 @@
+package com.jilou.ui.logic.animation;
+
+import com.jilou.ui.enums.animation.AnimatedProperty;
+import com.jilou.ui.enums.animation.Easing;
+import com.jilou.ui.styles.types.Radius;
+import com.jilou.ui.utils.Color;
+import com.jilou.ui.widget.AbstractWidget;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Describes a sequence of animations which are played together by an {@link Animator}.
+ * <p>
+ * Every animation starts at the current offset of the timeline. {@link #at(float)} moves the offset to an
+ * absolute time and {@link #then()} moves it to the end of the longest animation so far, so animations can
+ * run in parallel or one after another. A timeline only describes the animations and can be played any
+ * number of times.
+ * </p>
+ * <pre>{@code
+ * new Timeline()
+ *         .animate(widget, AnimatedProperty.POSITION_X, 200, 0.3f, Easing.EASE_OUT)
+ *         .animate(widget, AnimatedProperty.BACKGROUND_COLOR, Color.RED, 0.3f, Easing.LINEAR)
+ *         .then()
+ *         .animate(widget, new Radius(12), 0.2f, Easing.EASE_OUT_BACK)
+ *         .play(scene.getAnimator());
+ * }</pre>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public class Timeline {
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * The start time of the next animation in seconds.
+     */
+    private float offset;
+
+    /**
+     * The end time of the longest animation in seconds.
+     */
+    private float duration;
+
+    /**
+     * Moves the start of the following animations to the given time.
+     *
+     * @param offset the time in seconds since the start of the timeline
+     * @return this timeline
+     */
+    public Timeline at(float offset) {
+        this.offset = Math.max(0.0f, offset);
+        return this;
+    }
+
+    /**
+     * Starts the following animations after all previous animations are finished.
+     *
+     * @return this timeline
+     */
+    public Timeline then() {
+        this.offset = duration;
+        return this;
+    }
+
+    /**
+     * Adds an animation of a property with one channel.
+     *
+     * @param widget   the animated widget
+     * @param property the animated property
+     * @param target   the target value
+     * @param duration the duration in seconds
+     * @param easing   the easing curve
+     * @return this timeline
+     */
+    public Timeline animate(AbstractWidget widget, AnimatedProperty property, double target, float duration, Easing easing) {
+        return add(new Entry(widget, property, target, null, null, offset, duration, easing));
+    }
+
+    /**
+     * Adds an animation of a color property.
+     *
+     * @param widget   the animated widget
+     * @param property the animated color property
+     * @param target   the target color
+     * @param duration the duration in seconds
+     * @param easing   the easing curve
+     * @return this timeline
+     */
+    public Timeline animate(AbstractWidget widget, AnimatedProperty property, Color target, float duration, Easing easing) {
+        return add(new Entry(widget, property, 0, target, null, offset, duration, easing));
+    }
+
+    /**
+     * Adds an animation of the border radius.
+     *
+     * @param widget   the animated widget
+     * @param target   the target radius
+     * @param duration the duration in seconds
+     * @param easing   the easing curve
+     * @return this timeline
+     */
+    public Timeline animate(AbstractWidget widget, Radius target, float duration, Easing easing) {
+        return add(new Entry(widget, AnimatedProperty.BORDER_RADIUS, 0, null, target, offset, duration, easing));
+    }
+
+    /**
+     * Starts all animations of this timeline.
+     *
+     * @param animator the animator which runs the animations
+     */
+    public void play(Animator animator) {
+        for (Entry entry : entries) {
+            if (entry.radius() != null) {
+                animator.animate(entry.widget(), entry.radius(), entry.duration(), entry.delay(), entry.easing());
+            } else if (entry.color() != null) {
+                animator.animate(entry.widget(), entry.property(), entry.color(), entry.duration(), entry.delay(), entry.easing());
+            } else {
+                animator.animate(entry.widget(), entry.property(), entry.value(), entry.duration(), entry.delay(), entry.easing());
+            }
+        }
+    }
+
+    /**
+     * @return the time in seconds until all animations are finished.
+     */
+    public float getDuration() {
+        return duration;
+    }
+
+    private Timeline add(Entry entry) {
+        entries.add(entry);
+        duration = Math.max(duration, entry.delay() + Math.max(0.0f, entry.duration()));
+        return this;
+    }
+
+    /**
+     * One animation of the timeline.
+     */
+    private record Entry(AbstractWidget widget, AnimatedProperty property, double value, Color color, Radius radius,
+                         float delay, float duration, Easing easing) {
+    }
+}
@@ -0,0 +1,231 @@
+package com.jilou.ui.logic.binding;
+
+import com.jilou.ui.widget.control.Text;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+
+/**
+ * Binds numeric values which are produced by other threads to widgets, coalesced to one update per frame.
+ * <p>
+ * Every binding owns one slot. Producers call {@link #publish(int, double)} from any thread, which stores the
+ * value into a primitive buffer and sets the dirty bit of the slot, without locking or allocating. The scene
+ * calls {@link #apply()} once per frame, which applies only the latest value of every changed binding in one
+ * batch. Values which are overwritten before the frame are dropped, so the cost of a binding does not depend
+ * on the update rate of its producer. Add the bindings to a scene with
+ * {@link com.jilou.ui.container.Scene#addBindings(Bindings)}.
+ * </p>
+ * <p>
+ * The capacity is fixed, so the buffers are never replaced while producers write into them. Bindings are
+ * created and removed on the thread which owns the scene.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public class Bindings {
+
+    private static final Logger LOGGER = LogManager.getLogger(Bindings.class);
+
+    /**
+     * The latest published value of every slot, as raw double bits.
+     */
+    private final AtomicLongArray values;
+
+    /**
+     * One bit per slot, set if a value was published since the last {@link #apply()}.
+     */
+    private final AtomicLongArray dirty;
+
+    /**
+     * The target of every slot, null for a free slot.
+     */
+    private final DoubleConsumer[] targets;
+
+    /**
+     * The free slots below {@link #size}, used as stack.
+     */
+    private final int[] free;
+    private int freeCount;
+
+    /**
+     * The amount of slots which were used at least once.
+     */
+    private int size;
+
+    /**
+     * True if a value was published since the last {@link #apply()}.
+     */
+    private final AtomicBoolean pending = new AtomicBoolean();
+
+    /**
+     * Called by the first publish after an {@link #apply()}, to request a new frame.
+     */
+    private volatile Runnable wakeUp;
+
+    /**
+     * Creates bindings with a fixed amount of slots.
+     *
+     * @param capacity the maximum amount of bindings
+     */
+    public Bindings(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.values = new AtomicLongArray(capacity);
+        this.dirty = new AtomicLongArray((capacity + 63) >>> 6);
+        this.targets = new DoubleConsumer[capacity];
+        this.free = new int[capacity];
+    }
+
+    /**
+     * Binds a target to a new slot.
+     *
+     * @param target applies a value, called on the thread which owns the scene
+     * @return the slot which producers publish to
+     * @throws IllegalStateException if all slots are in use
+     */
+    public int bind(DoubleConsumer target) {
+        if (target == null) {
+            throw new IllegalArgumentException("Target cannot be null");
+        }
+        int slot;
+        if (freeCount > 0) {
+            slot = free[--freeCount];
+        } else if (size < targets.length) {
+            slot = size++;
+        } else {
+            throw new IllegalStateException("All " + targets.length + " binding slots are in use");
+        }
+        clearDirty(slot);
+        targets[slot] = target;
+        return slot;
+    }
+
+    /**
+     * Binds the message of a text to a new slot.
+     *
+     * @param text   the text
+     * @param format formats a value into the message, called once per frame at most
+     * @return the slot which producers publish to
+     */
+    public int bind(Text text, DoubleFunction<String> format) {
+        if (text == null || format == null) {
+            throw new IllegalArgumentException("Text and format cannot be null");
+        }
+        return bind(value -> text.setMessage(format.apply(value)));
+    }
+
+    /**
+     * Removes a binding, values which are published to its slot afterward are ignored.
+     *
+     * @param slot the slot of the binding
+     */
+    public void unbind(int slot) {
+        if (slot < 0 || slot >= size || targets[slot] == null) {
+            return;
+        }
+        targets[slot] = null;
+        clearDirty(slot);
+        free[freeCount++] = slot;
+    }
+
+    /**
+     * Publishes a value. This can be called from any thread and allocates nothing.
+     *
+     * @param slot  the slot of the binding
+     * @param value the value
+     * @throws IndexOutOfBoundsException if the slot is outside the capacity
+     */
+    public void publish(int slot, double value) {
+        values.set(slot, Double.doubleToRawLongBits(value));
+        int word = slot >>> 6;
+        long bit = 1L << slot;
+        long current = dirty.get(word);
+        while ((current & bit) == 0 && !dirty.weakCompareAndSetVolatile(word, current, current | bit)) {
+            current = dirty.get(word);
+        }
+        if (!pending.get() && pending.compareAndSet(false, true)) {
+            Runnable callback = wakeUp;
+            if (callback != null) {
+                callback.run();
+            }
+        }
+    }
+
+    /**
+     * Applies the latest value of every binding which changed since the last call.
+     * This must run on the thread which owns the scene.
+     *
+     * @return the amount of applied bindings
+     */
+    public int apply() {
+        if (!pending.getAndSet(false)) {
+            return 0;
+        }
+        int count = 0;
+        int words = (size + 63) >>> 6;
+        for (int word = 0; word < words; word++) {
+            long bits = dirty.get(word) == 0 ? 0 : dirty.getAndSet(word, 0);
+            while (bits != 0) {
+                int slot = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                DoubleConsumer target = targets[slot];
+                if (target == null) {
+                    continue;
+                }
+                try {
+                    target.accept(Double.longBitsToDouble(values.get(slot)));
+                } catch (RuntimeException exception) {
+                    LOGGER.error("Binding {} failed", slot, exception);
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param slot the slot of a binding
+     * @return the latest published value of the slot
+     */
+    public double getValue(int slot) {
+        return Double.longBitsToDouble(values.get(slot));
+    }
+
+    /**
+     * @return the amount of bound slots
+     */
+    public int getBoundCount() {
+        return size - freeCount;
+    }
+
+    /**
+     * @return the maximum amount of bindings
+     */
+    public int getCapacity() {
+        return targets.length;
+    }
+
+    /**
+     * Sets the callback which requests a new frame when a value is published, called at most once per frame.
+     *
+     * @param wakeUp the callback, null for none
+     */
+    public void setWakeUp(Runnable wakeUp) {
+        this.wakeUp = wakeUp;
+    }
+
+    private void clearDirty(int slot) {
+        int word = slot >>> 6;
+        long bit = 1L << slot;
+        long current = dirty.get(word);
+        while ((current & bit) != 0 && !dirty.weakCompareAndSetVolatile(word, current, current & ~bit)) {
+            current = dirty.get(word);
+        }
+    }
+}
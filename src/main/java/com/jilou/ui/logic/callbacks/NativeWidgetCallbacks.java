@@ -1,6 +1,8 @@
 package com.jilou.ui.logic.callbacks;
 
+import com.jilou.ui.enums.Invalidation;
 import com.jilou.ui.logic.callbacks.trigger.HoverCallbackI;
+import com.jilou.ui.logic.callbacks.trigger.InvalidationCallbackI;
 import com.jilou.ui.widget.AbstractWidget;
 
 /**
@@ -54,6 +56,26 @@ public final class NativeWidgetCallbacks {
             }
         }
     }
-}
 
+    /**
+     * Handles property changes of widgets by invoking all registered {@link InvalidationCallbackI} listeners.
+     * <p>
+     * The listeners are invoked in the order they were added.
+     * </p>
+     */
+    public static class InvalidationCallback extends WidgetCallback<InvalidationCallbackI> implements InvalidationCallbackI {
 
+        /**
+         * Invoked when a property of a widget changed.
+         *
+         * @param widget       the widget whose property changed
+         * @param invalidation the most expensive effect of the change
+         */
+        @Override
+        public void onInvalidate(AbstractWidget widget, Invalidation invalidation) {
+            for (InvalidationCallbackI listener : listeners) {
+                listener.onInvalidate(widget, invalidation);
+            }
+        }
+    }
+}
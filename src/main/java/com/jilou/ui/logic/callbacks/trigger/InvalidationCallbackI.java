@@ -0,0 +1,29 @@
+package com.jilou.ui.logic.callbacks.trigger;
+
+import com.jilou.ui.enums.Invalidation;
+import com.jilou.ui.widget.AbstractWidget;
+
+/**
+ * Functional interface representing a callback for observing property changes of widgets.
+ * <p>
+ * Implement this interface to react on changes of the geometry or the style of a widget.
+ * The {@link #onInvalidate(AbstractWidget, Invalidation)} method is invoked with the most expensive
+ * effect of every change, after the widget marked the affected work as dirty.
+ * </p>
+ *
+ * @since 0.1.0
+ * @see AbstractWidget
+ * @author Daniel Ramke
+ */
+@FunctionalInterface
+public interface InvalidationCallbackI {
+
+    /**
+     * Invoked when a property of a widget changed.
+     *
+     * @param widget       the widget whose property changed
+     * @param invalidation the most expensive effect of the change
+     */
+    void onInvalidate(AbstractWidget widget, Invalidation invalidation);
+
+}
@@ -5,6 +5,7 @@ import com.jilou.ui.container.LWJGLWindow;
 import com.jilou.ui.container.Scene;
 import com.jilou.ui.logic.AbstractRenderer;
 import com.jilou.ui.widget.AbstractWidget;
+import com.jilou.ui.widget.WidgetStore;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -49,13 +50,27 @@ public abstract class AbstractWidgetRenderer extends AbstractRenderer {
      */
     public abstract void render(List<AbstractWidget> widgets);
 
+    /**
+     * Renders the widgets of a scene from its {@link WidgetStore}.
+     * <p>
+     * Renderers which only need the bounds of the widgets can override this method to read them from the
+     * primitive arrays of the store. By default, the widget list is rendered with {@link #render(List)}.
+     * </p>
+     *
+     * @param store   the render data of the scene
+     * @param widgets the widgets in draw order
+     */
+    public void render(WidgetStore store, List<AbstractWidget> widgets) {
+        render(widgets);
+    }
+
     /**
      * Executes rendering logic for a given native window.
      * <p>
      * This method overrides {@link AbstractRenderer#func(LWJGLWindow)} and provides
      * a specific implementation for windows that are instances of {@link AbstractWindow}.
-     * When such a window is detected, it invokes the {@link #render(List)} method
-     * with an empty list of widgets as a placeholder.
+     * When such a window is detected, it invokes the {@link #render(WidgetStore, List)} method
+     * with the store and the widgets of the active scene.
      * </p>
      *
      * @param nativeWindow the native window being rendered
@@ -65,7 +80,7 @@ public abstract class AbstractWidgetRenderer extends AbstractRenderer {
         if (nativeWindow instanceof AbstractWindow window) {
             Scene scene = window.getActiveScene();
             if(scene != null) {
-                render(scene.getUnpackedWidgetList());
+                render(scene.getStore(), scene.getUnpackedWidgetList());
             }
         }
     }
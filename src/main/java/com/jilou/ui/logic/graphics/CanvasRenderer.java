@@ -0,0 +1,67 @@
+package com.jilou.ui.logic.graphics;
+
+import com.jilou.ui.container.LWJGLWindow;
+import com.jilou.ui.logic.graphics.mapper.CanvasNativeMapper;
+import com.jilou.ui.widget.AbstractWidget;
+import com.jilou.ui.widget.canvas.Canvas;
+
+import java.util.List;
+
+/**
+ * A specialized renderer for {@link Canvas}es.
+ * <p>
+ * Every canvas is drawn from its recorded commands, see {@link CanvasNativeMapper}. The painter of a canvas
+ * is only called when the canvas was invalidated or resized, so unchanged canvases are replayed from their
+ * vertex buffers without running user code.
+ * </p>
+ *
+ * @since 0.1.0
+ * @see AbstractWidgetRenderer
+ * @author Daniel Ramke
+ */
+public class CanvasRenderer extends AbstractWidgetRenderer {
+
+    private CanvasNativeMapper canvasMapper;
+
+    /**
+     * Constructs a new {@code CanvasRenderer} with a default name of {@code null}.
+     */
+    public CanvasRenderer() {
+        super(null);
+    }
+
+    /**
+     * Replays every canvas of the given widgets and deletes the buffers of canvases which are gone.
+     *
+     * @param widgets the list of widgets to render
+     */
+    @Override
+    public void render(List<AbstractWidget> widgets) {
+        for (AbstractWidget widget : widgets) {
+            if (widget instanceof Canvas canvas) {
+                canvasMapper.renderCanvas(canvas);
+            }
+        }
+        canvasMapper.sweep();
+    }
+
+    /**
+     * Creates the mapper, which draws images through the shared image mapper of the window.
+     *
+     * @param nativeWindow the window context for which resources are being preloaded
+     */
+    @Override
+    public void preLoad(LWJGLWindow nativeWindow) {
+        this.canvasMapper = new CanvasNativeMapper(nativeWindow.getImageMapper());
+    }
+
+    /**
+     * Deletes the vertex buffers of all canvases.
+     */
+    @Override
+    public void dispose() {
+        if (canvasMapper != null) {
+            canvasMapper.dispose();
+        }
+    }
+}
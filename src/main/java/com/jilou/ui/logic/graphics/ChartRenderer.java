@@ -0,0 +1,67 @@
+package com.jilou.ui.logic.graphics;
+
+import com.jilou.ui.container.LWJGLWindow;
+import com.jilou.ui.logic.graphics.mapper.ChartNativeMapper;
+import com.jilou.ui.widget.AbstractWidget;
+import com.jilou.ui.widget.chart.LineChart;
+
+import java.util.List;
+
+/**
+ * A specialized renderer for {@link LineChart}s.
+ * <p>
+ * Every chart decimates its points to its width before it is drawn, so the cost of a chart depends on its
+ * width in pixels and not on the amount of points in its series. The vertices are kept in one vertex buffer
+ * per chart, see {@link ChartNativeMapper}.
+ * </p>
+ *
+ * @since 0.1.0
+ * @see AbstractWidgetRenderer
+ * @author Daniel Ramke
+ */
+public class ChartRenderer extends AbstractWidgetRenderer {
+
+    private ChartNativeMapper chartMapper;
+
+    /**
+     * Constructs a new {@code ChartRenderer} with a default name of {@code null}.
+     */
+    public ChartRenderer() {
+        super(null);
+    }
+
+    /**
+     * Draws every chart of the given widgets and deletes the buffers of charts which are gone.
+     *
+     * @param widgets the list of widgets to render
+     */
+    @Override
+    public void render(List<AbstractWidget> widgets) {
+        for (AbstractWidget widget : widgets) {
+            if (widget instanceof LineChart chart) {
+                chartMapper.renderChart(chart);
+            }
+        }
+        chartMapper.sweep();
+    }
+
+    /**
+     * Creates the mapper, the vertex buffers are created when a chart is drawn first.
+     *
+     * @param nativeWindow the window context for which resources are being preloaded
+     */
+    @Override
+    public void preLoad(LWJGLWindow nativeWindow) {
+        this.chartMapper = new ChartNativeMapper();
+    }
+
+    /**
+     * Deletes the vertex buffers of all charts.
+     */
+    @Override
+    public void dispose() {
+        if (chartMapper != null) {
+            chartMapper.dispose();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.jilou.ui.logic.graphics;
+
+import com.jilou.ui.container.LWJGLWindow;
+import com.jilou.ui.logic.graphics.image.Image;
+import com.jilou.ui.logic.graphics.mapper.ImageNativeMapper;
+import com.jilou.ui.styles.types.Background;
+import com.jilou.ui.widget.AbstractWidget;
+import com.jilou.ui.widget.image.ImageView;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A specialized renderer for {@link ImageView}s and image {@link Background}s.
+ * <p>
+ * All images of a frame are collected into one batch and drawn after the widget backgrounds, see
+ * {@link ImageNativeMapper}. A widget with an image background is a user of the image while it draws the
+ * background: the image is acquired when the widget draws it first and released when the widget draws
+ * another background or is no longer drawn.
+ * </p>
+ *
+ * @since 0.1.0
+ * @see AbstractWidgetRenderer
+ * @author Daniel Ramke
+ */
+public class ImageRenderer extends AbstractWidgetRenderer {
+
+    private ImageNativeMapper imageMapper;
+
+    /**
+     * The background image which every widget drew in the last frame.
+     */
+    private final Map<AbstractWidget, Image> backgroundImages = new IdentityHashMap<>();
+    private final Map<AbstractWidget, Image> drawnBackgrounds = new IdentityHashMap<>();
+    private final float[] bounds = new float[4];
+
+    /**
+     * Constructs a new {@code ImageRenderer} with a default name of {@code null}.
+     */
+    public ImageRenderer() {
+        super(null);
+    }
+
+    /**
+     * Draws the background images and image views of the given widgets in one batch.
+     *
+     * @param widgets the list of widgets to render
+     */
+    @Override
+    public void render(List<AbstractWidget> widgets) {
+        imageMapper.releaseUnused();
+        for (AbstractWidget widget : widgets) {
+            Background background = widget.getStyle() == null ? null : widget.getStyle().getBackground();
+            if (background != null && background.getImage() != null) {
+                drawBackground(widget, background.getImage());
+            }
+            if (widget instanceof ImageView view && view.getImageBounds(bounds)) {
+                imageMapper.drawImage(view.getImage(), bounds[0], bounds[1], bounds[2], bounds[3]);
+            }
+        }
+        imageMapper.flush();
+
+        Iterator<Map.Entry<AbstractWidget, Image>> iterator = backgroundImages.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<AbstractWidget, Image> entry = iterator.next();
+            if (drawnBackgrounds.get(entry.getKey()) != entry.getValue()) {
+                entry.getValue().release();
+                iterator.remove();
+            }
+        }
+        drawnBackgrounds.clear();
+    }
+
+    private void drawBackground(AbstractWidget widget, Image image) {
+        drawnBackgrounds.put(widget, image);
+        if (backgroundImages.get(widget) != image) {
+            image.acquire();
+            Image previous = backgroundImages.put(widget, image);
+            if (previous != null) {
+                previous.release();
+            }
+        }
+        imageMapper.drawImage(image, (float) widget.getPositionX(), (float) widget.getPositionY(),
+                (float) (widget.getPositionX() + widget.getWidth()), (float) (widget.getPositionY() + widget.getHeight()));
+    }
+
+    /**
+     * Uses the shared image mapper of the window, see {@link LWJGLWindow#getImageMapper()}.
+     *
+     * @param nativeWindow the window context for which resources are being preloaded
+     */
+    @Override
+    public void preLoad(LWJGLWindow nativeWindow) {
+        this.imageMapper = nativeWindow.getImageMapper();
+    }
+
+    /**
+     * Releases the background images, the textures are owned by the window.
+     */
+    @Override
+    public void dispose() {
+        for (Image image : backgroundImages.values()) {
+            image.release();
+        }
+        backgroundImages.clear();
+    }
+}
@@ -0,0 +1,68 @@
+package com.jilou.ui.logic.graphics;
+
+import com.jilou.ui.container.LWJGLWindow;
+import com.jilou.ui.logic.graphics.mapper.PathNativeMapper;
+import com.jilou.ui.widget.AbstractWidget;
+import com.jilou.ui.widget.shapes.PathShape;
+import org.lwjgl.opengl.GL11;
+
+import java.util.List;
+
+/**
+ * A specialized renderer for {@link PathShape}s.
+ * <p>
+ * The shapes are drawn from cached meshes, see {@link PathNativeMapper}. Nothing is tessellated while drawing
+ * unless a path changed or was scaled by a factor of two.
+ * </p>
+ *
+ * @since 0.1.0
+ * @see AbstractWidgetRenderer
+ * @author Daniel Ramke
+ */
+public class PathRenderer extends AbstractWidgetRenderer {
+
+    private PathNativeMapper pathMapper;
+
+    /**
+     * Constructs a new {@code PathRenderer} with a default name of {@code null}.
+     */
+    public PathRenderer() {
+        super(null);
+    }
+
+    /**
+     * Draws every path shape of the given widgets and deletes the buffers of meshes which are not used.
+     *
+     * @param widgets the list of widgets to render
+     */
+    @Override
+    public void render(List<AbstractWidget> widgets) {
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
+        for (AbstractWidget widget : widgets) {
+            if (widget instanceof PathShape shape) {
+                pathMapper.renderPath(shape);
+            }
+        }
+        pathMapper.sweep();
+    }
+
+    /**
+     * Creates the mapper, the vertex buffers are created when a mesh is drawn first.
+     *
+     * @param nativeWindow the window context for which resources are being preloaded
+     */
+    @Override
+    public void preLoad(LWJGLWindow nativeWindow) {
+        this.pathMapper = new PathNativeMapper();
+    }
+
+    /**
+     * Deletes the vertex buffers of all meshes.
+     */
+    @Override
+    public void dispose() {
+        if (pathMapper != null) {
+            pathMapper.dispose();
+        }
+    }
+}
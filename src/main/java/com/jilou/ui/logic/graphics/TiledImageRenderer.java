@@ -0,0 +1,72 @@
+package com.jilou.ui.logic.graphics;
+
+import com.jilou.ui.container.LWJGLWindow;
+import com.jilou.ui.logic.graphics.mapper.TileNativeMapper;
+import com.jilou.ui.widget.AbstractWidget;
+import com.jilou.ui.widget.image.TiledImage;
+
+import java.util.List;
+
+/**
+ * A specialized renderer for {@link TiledImage}s.
+ * <p>
+ * Every frame uploads a limited amount of decoded tiles per image and draws the visible tiles. If decoded
+ * tiles are left, another frame is requested, so uploads are spread over frames instead of stalling one.
+ * </p>
+ *
+ * @since 0.1.0
+ * @see AbstractWidgetRenderer
+ * @author Daniel Ramke
+ */
+public class TiledImageRenderer extends AbstractWidgetRenderer {
+
+    private TileNativeMapper tileMapper;
+    private LWJGLWindow nativeWindow;
+
+    /**
+     * Constructs a new {@code TiledImageRenderer} with a default name of {@code null}.
+     */
+    public TiledImageRenderer() {
+        super(null);
+    }
+
+    /**
+     * Draws every tiled image of the given widgets and deletes the tiles of images which are gone.
+     *
+     * @param widgets the list of widgets to render
+     */
+    @Override
+    public void render(List<AbstractWidget> widgets) {
+        boolean pending = false;
+        for (AbstractWidget widget : widgets) {
+            if (widget instanceof TiledImage image) {
+                pending |= tileMapper.renderImage(image);
+            }
+        }
+        tileMapper.sweep();
+        if (pending && nativeWindow != null) {
+            nativeWindow.requestRedraw();
+        }
+    }
+
+    /**
+     * Creates the mapper, the textures are created when tiles are decoded.
+     *
+     * @param nativeWindow the window context for which resources are being preloaded
+     */
+    @Override
+    public void preLoad(LWJGLWindow nativeWindow) {
+        this.tileMapper = new TileNativeMapper();
+        this.nativeWindow = nativeWindow;
+    }
+
+    /**
+     * Deletes the textures of all images.
+     */
+    @Override
+    public void dispose() {
+        if (tileMapper != null) {
+            tileMapper.dispose();
+        }
+    }
+}
@@ -3,7 +3,9 @@ package com.jilou.ui.logic.graphics;
 import com.jilou.ui.container.LWJGLWindow;
 import com.jilou.ui.logic.graphics.mapper.BackgroundNativeMapper;
 import com.jilou.ui.logic.graphics.mapper.BorderNativeMapper;
+import com.jilou.ui.styles.StyleSheet;
 import com.jilou.ui.widget.AbstractWidget;
+import com.jilou.ui.widget.WidgetStore;
 import java.util.List;
 
 /**
@@ -57,6 +59,31 @@ public class WidgetBackgroundRenderer extends AbstractWidgetRenderer {
         }
     }
 
+    /**
+     * Renders the backgrounds in the draw order of the store and reads the bounds from its arrays.
+     * Falls back to {@link #render(List)} while the draw order of the store is outdated.
+     *
+     * @param store   the render data of the scene
+     * @param widgets the widgets in draw order
+     */
+    @Override
+    public void render(WidgetStore store, List<AbstractWidget> widgets) {
+        if (!store.isOrderValid()) {
+            render(widgets);
+            return;
+        }
+        for (int i = 0; i < store.getOrderSize(); i++) {
+            int slot = store.getOrderSlot(i);
+            float x = store.getX(slot);
+            float y = store.getY(slot);
+            float width = store.getWidth(slot);
+            float height = store.getHeight(slot);
+            StyleSheet style = store.getWidget(slot).getStyle();
+            backgroundMapper.renderBackground(x, y, width, height, style);
+            borderMapper.renderBorder(x, y, width, height, style);
+        }
+    }
+
     /**
      * Preloads resources for rendering in the given window context.
      * <p>
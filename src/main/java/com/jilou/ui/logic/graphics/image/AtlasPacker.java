@@ -0,0 +1,183 @@
+package com.jilou.ui.logic.graphics.image;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packs small images into square atlas pages with a shelf allocator.
+ * <p>
+ * Every page is filled with shelves from top to bottom, an image is placed on the first shelf which is high
+ * enough and not much higher than the image, otherwise a new shelf is opened. Freed regions are reused for
+ * images which fit into them, and a page whose regions are all freed is emptied. Every region keeps a
+ * border of {@link #PADDING} pixels, so filtering does not bleed neighbours into an image.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public class AtlasPacker {
+
+    /**
+     * The empty border around every region.
+     */
+    public static final int PADDING = 1;
+
+    /**
+     * The width and height of every page.
+     */
+    @Getter
+    private final int pageSize;
+
+    private final List<Page> pages = new ArrayList<>();
+
+    /**
+     * Creates a packer without pages.
+     *
+     * @param pageSize the width and height of every page
+     */
+    public AtlasPacker(int pageSize) {
+        if (pageSize <= PADDING * 2) {
+            throw new IllegalArgumentException("Page size is too small");
+        }
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Allocates a region, a new page is added if no page has space.
+     *
+     * @param width  the width of the image
+     * @param height the height of the image
+     * @return the region of the image
+     * @throws IllegalArgumentException if the image does not fit into a page
+     */
+    public Region allocate(int width, int height) {
+        int slotWidth = width + PADDING * 2;
+        int slotHeight = height + PADDING * 2;
+        if (width <= 0 || height <= 0 || slotWidth > pageSize || slotHeight > pageSize) {
+            throw new IllegalArgumentException("Image of " + width + "x" + height + " does not fit into a page");
+        }
+        for (int index = 0; index < pages.size(); index++) {
+            Region region = pages.get(index).allocate(index, slotWidth, slotHeight);
+            if (region != null) {
+                return region;
+            }
+        }
+        Page page = new Page();
+        pages.add(page);
+        return page.allocate(pages.size() - 1, slotWidth, slotHeight);
+    }
+
+    /**
+     * Frees a region, it can be reused by the next allocations.
+     *
+     * @param region a region of this packer
+     */
+    public void free(Region region) {
+        if (region == null || region.page() >= pages.size()) {
+            return;
+        }
+        pages.get(region.page()).free(region);
+    }
+
+    /**
+     * @return the amount of pages
+     */
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * @param page a page index
+     * @return the amount of regions in the page
+     */
+    public int getRegionCount(int page) {
+        return pages.get(page).regions;
+    }
+
+    /**
+     * The place of an image in the atlas.
+     *
+     * @param page       the page index
+     * @param x          the left edge of the image in the page
+     * @param y          the top edge of the image in the page
+     * @param width      the width of the image
+     * @param height     the height of the image
+     * @param slotWidth  the allocated width including the padding
+     * @param slotHeight the allocated height including the padding
+     */
+    public record Region(int page, int x, int y, int width, int height, int slotWidth, int slotHeight) {
+    }
+
+    /**
+     * One shelf of a page.
+     */
+    private static final class Shelf {
+
+        private final int y;
+        private final int height;
+        private int x;
+
+        private Shelf(int y, int height) {
+            this.y = y;
+            this.height = height;
+        }
+    }
+
+    /**
+     * One page with its shelves and freed regions.
+     */
+    private final class Page {
+
+        private final List<Shelf> shelves = new ArrayList<>();
+        private final List<Region> freed = new ArrayList<>();
+        private int nextShelf;
+        private int regions;
+
+        private Region allocate(int index, int slotWidth, int slotHeight) {
+            for (int i = 0; i < freed.size(); i++) {
+                Region slot = freed.get(i);
+                if (slot.slotWidth() >= slotWidth && slot.slotHeight() >= slotHeight
+                        && slot.slotHeight() <= slotHeight * 2) {
+                    freed.remove(i);
+                    return place(index, slot.x() - PADDING, slot.y() - PADDING, slotWidth, slotHeight,
+                            slot.slotWidth(), slot.slotHeight());
+                }
+            }
+            for (Shelf shelf : shelves) {
+                if (shelf.height >= slotHeight && shelf.height <= slotHeight * 2 && shelf.x + slotWidth <= pageSize) {
+                    Region region = place(index, shelf.x, shelf.y, slotWidth, slotHeight, slotWidth, shelf.height);
+                    shelf.x += slotWidth;
+                    return region;
+                }
+            }
+            if (nextShelf + slotHeight > pageSize) {
+                return null;
+            }
+            Shelf shelf = new Shelf(nextShelf, slotHeight);
+            shelves.add(shelf);
+            nextShelf += slotHeight;
+            shelf.x = slotWidth;
+            return place(index, 0, shelf.y, slotWidth, slotHeight, slotWidth, slotHeight);
+        }
+
+        private Region place(int index, int x, int y, int slotWidth, int slotHeight, int keptWidth, int keptHeight) {
+            regions++;
+            return new Region(index, x + PADDING, y + PADDING, slotWidth - PADDING * 2, slotHeight - PADDING * 2,
+                    keptWidth, keptHeight);
+        }
+
+        private void free(Region region) {
+            regions--;
+            if (regions <= 0) {
+                regions = 0;
+                shelves.clear();
+                freed.clear();
+                nextShelf = 0;
+                return;
+            }
+            freed.add(region);
+        }
+    }
+}
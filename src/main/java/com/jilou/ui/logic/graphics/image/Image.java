@@ -0,0 +1,249 @@
+package com.jilou.ui.logic.graphics.image;
+
+import com.jilou.ui.enums.image.ImageState;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.lwjgl.stb.STBImage;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * A decoded image which is shared by all widgets that show the same content.
+ * <p>
+ * Images are created by {@link Images}, which decodes them on a worker thread and returns the existing image
+ * for equal content. Widgets {@link #acquire()} an image while they show it and {@link #release()} it when they
+ * are destroyed. The decoded pixels are kept until every renderer which was subscribed to {@link Images} when
+ * they were decoded uploaded them, see {@link #upload(Consumer)}, a renderer which comes later decodes its own
+ * copy with {@link #decodeCopy()}. When the last user releases the image, the renderers free its texture space;
+ * acquiring it again decodes it again.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+public final class Image {
+
+    /**
+     * The hash of the encoded content, equal content has an equal hash.
+     */
+    private final String hash;
+
+    /**
+     * The file of the image, null if it was loaded from memory.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Path path;
+
+    /**
+     * The encoded content, null if it was loaded from a file.
+     */
+    @Getter(AccessLevel.NONE)
+    private final byte[] encoded;
+
+    private volatile int width;
+    private volatile int height;
+    private volatile ImageState state = ImageState.LOADING;
+
+    /**
+     * The decoded pixels until every renderer uploaded them, freed as well when the image is collected.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Decoded decoded = new Decoded();
+
+    /**
+     * Completed when the current decoding finished.
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile CompletableFuture<Image> ready = new CompletableFuture<>();
+
+    /**
+     * The amount of users, guarded by {@link Images}.
+     */
+    @Getter(AccessLevel.NONE)
+    int users;
+
+    Image(String hash, Path path, byte[] encoded) {
+        this.hash = hash;
+        this.path = path;
+        this.encoded = encoded;
+        Images.CLEANER.register(this, decoded::free);
+    }
+
+    /**
+     * Registers a user of this image. An unloaded image is decoded again.
+     */
+    public void acquire() {
+        Images.acquire(this);
+    }
+
+    /**
+     * Removes a user of this image. The renderer frees the image when the last user is removed.
+     */
+    public void release() {
+        Images.release(this);
+    }
+
+    /**
+     * @return the amount of users
+     */
+    public int getUsers() {
+        return Images.users(this);
+    }
+
+    /**
+     * @return a future which completes when the image is decoded, or exceptionally if decoding failed
+     */
+    public CompletableFuture<Image> whenReady() {
+        return ready;
+    }
+
+    /**
+     * Passes the decoded pixels to a renderer for the upload. The pixels are freed once every renderer which
+     * was subscribed when they were decoded uploaded them, they must not be used after the call.
+     *
+     * @param upload uploads the pixels
+     * @return {@code true} if the pixels were passed, false if they are not decoded or all uploads are done
+     */
+    public boolean upload(Consumer<Pixels> upload) {
+        return decoded.upload(upload);
+    }
+
+    /**
+     * Decodes a copy of the pixels on the executor of {@link Images}, for a renderer which was subscribed after
+     * the pixels were decoded. The caller frees the copy.
+     *
+     * @return a future which completes with the copy, or exceptionally if the content cannot be read
+     */
+    public CompletableFuture<Pixels> decodeCopy() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return decodePixels(encoded != null ? encoded : Files.readAllBytes(path));
+            } catch (IOException exception) {
+                throw new CompletionException(exception);
+            }
+        }, Images.getExecutor());
+    }
+
+    /**
+     * Decodes the content on the calling thread.
+     *
+     * @param content the encoded content, null to read it from the source of this image
+     * @param uploads the amount of renderers which upload the pixels
+     */
+    void decode(byte[] content, int uploads) {
+        try {
+            byte[] bytes = content != null ? content : encoded != null ? encoded : Files.readAllBytes(path);
+            Pixels pixels = decodePixels(bytes);
+            this.width = pixels.width();
+            this.height = pixels.height();
+            decoded.set(pixels, uploads);
+            this.state = ImageState.READY;
+            ready.complete(this);
+        } catch (IOException exception) {
+            this.state = ImageState.FAILED;
+            ready.completeExceptionally(exception);
+        }
+    }
+
+    /**
+     * Frees the pixels which are not uploaded yet and prepares the image to be decoded again.
+     */
+    void unload() {
+        decoded.free();
+        if (state != ImageState.LOADING) {
+            this.state = ImageState.UNLOADED;
+            this.ready = new CompletableFuture<>();
+        }
+    }
+
+    /**
+     * Marks the image as decoding again.
+     */
+    void reload() {
+        this.state = ImageState.LOADING;
+    }
+
+    private static Pixels decodePixels(byte[] bytes) throws IOException {
+        ByteBuffer buffer = MemoryUtil.memAlloc(bytes.length);
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            buffer.put(bytes).flip();
+            IntBuffer width = stack.mallocInt(1);
+            IntBuffer height = stack.mallocInt(1);
+            IntBuffer channels = stack.mallocInt(1);
+            ByteBuffer data = STBImage.stbi_load_from_memory(buffer, width, height, channels, 4);
+            if (data == null) {
+                throw new IOException("Cannot decode image: " + STBImage.stbi_failure_reason());
+            }
+            return new Pixels(width.get(0), height.get(0), data, () -> STBImage.stbi_image_free(data));
+        } finally {
+            MemoryUtil.memFree(buffer);
+        }
+    }
+
+    /**
+     * The decoded pixels and the amount of renderers which did not upload them yet. This does not reference
+     * the image, so it frees the pixels of a collected image.
+     */
+    private static final class Decoded {
+
+        private Pixels pixels;
+        private int uploads;
+
+        synchronized void set(Pixels pixels, int uploads) {
+            free();
+            this.pixels = pixels;
+            this.uploads = uploads;
+        }
+
+        synchronized boolean upload(Consumer<Pixels> upload) {
+            if (pixels == null) {
+                return false;
+            }
+            try {
+                upload.accept(pixels);
+            } finally {
+                if (--uploads <= 0) {
+                    free();
+                }
+            }
+            return true;
+        }
+
+        synchronized void free() {
+            if (pixels != null) {
+                pixels.free();
+                pixels = null;
+            }
+        }
+    }
+
+    /**
+     * The decoded RGBA pixels of an image, row by row without padding.
+     *
+     * @param width   the width in pixels
+     * @param height  the height in pixels
+     * @param data    four bytes per pixel
+     * @param release frees the native memory of the pixels
+     */
+    public record Pixels(int width, int height, ByteBuffer data, Runnable release) {
+
+        /**
+         * Frees the pixels, they must not be used afterward.
+         */
+        public void free() {
+            if (release != null) {
+                release.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.jilou.ui.logic.graphics.image;
+
+import com.jilou.ui.enums.image.ImageState;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Loads {@link Image}s on a worker thread and shares them by content.
+ * <p>
+ * The encoded content is read and hashed on the worker. If an image with the same hash is already known, it
+ * is returned instead of decoding the content again, so a hundred widgets which show the same icon share one
+ * image and one place in the texture atlas. An image which loses its last user frees its decoded pixels and is
+ * added to the release queue of every renderer, see {@link #subscribe()}, so every renderer which uploaded it
+ * frees its texture space. Images are held weakly until they are acquired, so an image which is loaded but never
+ * shown is forgotten and its pixels are freed when it is collected.
+ * </p>
+ *
+ * <p>
+ * This class cannot be instantiated.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public final class Images {
+
+    /**
+     * Frees the pixels of collected images.
+     */
+    static final Cleaner CLEANER = Cleaner.create();
+
+    /**
+     * The known images by content hash, also used as lock for the users of all images.
+     */
+    private static final Map<String, Entry> images = new HashMap<>();
+
+    /**
+     * Receives the entries of collected images, which are removed from {@link #images}.
+     */
+    private static final ReferenceQueue<Image> collected = new ReferenceQueue<>();
+
+    /**
+     * The release queues of the renderers, every queue receives every image which lost its last user.
+     */
+    private static final List<Queue<Image>> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Reads and decodes the images.
+     */
+    private static volatile Executor executor = ForkJoinPool.commonPool();
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     * @throws IllegalStateException if an attempt is made to instantiate the class
+     */
+    private Images() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Loads an image file in any format stb_image decodes.
+     *
+     * @param path the file
+     * @return a future which completes with the decoded, possibly shared image
+     */
+    public static CompletableFuture<Image> load(Path path) {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return intern(Files.readAllBytes(path), path);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }, executor).thenCompose(Image::whenReady);
+    }
+
+    /**
+     * Loads an encoded image from memory.
+     *
+     * @param encoded the encoded content, which must not be changed afterward
+     * @return a future which completes with the decoded, possibly shared image
+     */
+    public static CompletableFuture<Image> load(byte[] encoded) {
+        if (encoded == null) {
+            throw new IllegalArgumentException("Content cannot be null");
+        }
+        return CompletableFuture.supplyAsync(() -> intern(encoded, null), executor).thenCompose(Image::whenReady);
+    }
+
+    /**
+     * @param executor reads and decodes the images, the common fork/join pool by default
+     */
+    public static void setExecutor(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        Images.executor = executor;
+    }
+
+    /**
+     * @return the executor which reads and decodes the images
+     */
+    static Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Creates a release queue, which receives every image that loses its last user from now on. A renderer
+     * polls its queue once per frame and frees the texture space of every image whose
+     * {@link Image#getUsers()} is still zero.
+     *
+     * @return the new queue
+     */
+    public static Queue<Image> subscribe() {
+        Queue<Image> queue = new ConcurrentLinkedQueue<>();
+        subscribers.add(queue);
+        return queue;
+    }
+
+    /**
+     * Removes a release queue, it receives no more images.
+     *
+     * @param queue the queue of {@link #subscribe()}
+     */
+    public static void unsubscribe(Queue<Image> queue) {
+        subscribers.remove(queue);
+    }
+
+    /**
+     * @return the amount of known images which were not collected yet
+     */
+    public static int getImageCount() {
+        synchronized (images) {
+            expunge();
+            return images.size();
+        }
+    }
+
+    /**
+     * Returns the known image with the same content or decodes a new one, called on the worker.
+     */
+    private static Image intern(byte[] content, Path path) {
+        String hash = hash(content);
+        Image image;
+        synchronized (images) {
+            expunge();
+            image = get(hash);
+            if (image != null) {
+                return image;
+            }
+            image = new Image(hash, path, path == null ? content : null);
+            images.put(hash, new Entry(image));
+        }
+        image.decode(content, subscribers.size());
+        if (image.getState() == ImageState.FAILED) {
+            synchronized (images) {
+                remove(image);
+            }
+        }
+        return image;
+    }
+
+    static void acquire(Image image) {
+        boolean reload;
+        synchronized (images) {
+            reload = image.users++ == 0 && image.getState() == ImageState.UNLOADED;
+            if (reload) {
+                image.reload();
+                if (get(image.getHash()) == null) {
+                    images.put(image.getHash(), new Entry(image));
+                }
+            }
+        }
+        if (reload) {
+            executor.execute(() -> {
+                image.decode(null, subscribers.size());
+                synchronized (images) {
+                    if (image.users > 0) {
+                        return;
+                    }
+                    image.unload();
+                }
+                publishReleased(image);
+            });
+        }
+    }
+
+    static void release(Image image) {
+        synchronized (images) {
+            if (image.users == 0) {
+                return;
+            }
+            if (--image.users > 0) {
+                return;
+            }
+            remove(image);
+            image.unload();
+        }
+        publishReleased(image);
+    }
+
+    /**
+     * @return the known image with the hash, null if there is none or it was collected, guarded by the map
+     */
+    private static Image get(String hash) {
+        Entry entry = images.get(hash);
+        return entry == null ? null : entry.get();
+    }
+
+    /**
+     * Removes the entries of collected images, guarded by the map.
+     */
+    private static void expunge() {
+        Reference<? extends Image> reference;
+        while ((reference = collected.poll()) != null) {
+            Entry entry = (Entry) reference;
+            images.remove(entry.hash, entry);
+        }
+    }
+
+    /**
+     * Forgets an image, guarded by the map.
+     */
+    private static void remove(Image image) {
+        if (get(image.getHash()) == image) {
+            images.remove(image.getHash());
+        }
+    }
+
+    private static void publishReleased(Image image) {
+        for (Queue<Image> queue : subscribers) {
+            queue.add(image);
+        }
+    }
+
+    static int users(Image image) {
+        synchronized (images) {
+            return image.users;
+        }
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+    /**
+     * A weakly held image and its hash.
+     */
+    private static final class Entry extends WeakReference<Image> {
+
+        private final String hash;
+
+        private Entry(Image image) {
+            super(image, collected);
+            this.hash = image.getHash();
+        }
+    }
+}
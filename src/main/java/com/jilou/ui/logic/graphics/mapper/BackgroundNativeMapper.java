@@ -34,7 +34,8 @@ public class BackgroundNativeMapper {
 
     /**
      * Renders a background with the specified position, dimensions, and style.
-     * If the background color is not specified in the style, a random color is generated.
+     * If the background color is not specified in the style, a random color is generated,
+     * unless the background has an image, which is drawn by the {@link ImageNativeMapper}.
      *
      * @param x      The x-coordinate of the background's position.
      * @param y      The y-coordinate of the background's position.
@@ -44,6 +45,10 @@ public class BackgroundNativeMapper {
      */
     public void renderBackground(float x, float y, float width, float height, StyleSheet sheet) {
         Background background = sheet.getBackground();
+        if (background != null && background.getColor() == null && background.getImage() != null) {
+            renderShadow(x, y, width, height, sheet);
+            return;
+        }
         if (background == null || background.getColor() == null) {
             background = Background.fromColor(Color.randomRGB());
         }
@@ -0,0 +1,186 @@
+package com.jilou.ui.logic.graphics.mapper;
+
+import com.jilou.ui.widget.canvas.Canvas;
+import com.jilou.ui.widget.canvas.CommandList;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+
+import java.nio.FloatBuffer;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * The {@code CanvasNativeMapper} class replays the recorded commands of {@link Canvas}es.
+ * <p>
+ * The triangles of every canvas are uploaded into its own vertex buffer when the canvas recorded new commands,
+ * and every run of triangles is drawn with one draw call, so a canvas with thousands of rectangles costs no
+ * more calls per frame than one with a single rectangle. Paths and texts are drawn by the
+ * {@link PathNativeMapper} and {@link TextNativeMapper} of this mapper, images by the shared
+ * {@link ImageNativeMapper} of the window, so an image is uploaded once for canvases and image views. Buffers of
+ * canvases which were not drawn in a frame are deleted by {@link #sweep()}.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public class CanvasNativeMapper {
+
+    private static final int STRIDE = CommandList.FLOATS_PER_VERTEX * Float.BYTES;
+
+    private final Map<CommandList, CanvasBuffer> buffers = new IdentityHashMap<>();
+    private final PathNativeMapper pathMapper = new PathNativeMapper();
+    private final TextNativeMapper textMapper = new TextNativeMapper();
+    private final ImageNativeMapper imageMapper;
+    private FloatBuffer scratch = BufferUtils.createFloatBuffer(1024);
+    private long frame;
+
+    /**
+     * Creates a mapper.
+     *
+     * @param imageMapper the image mapper of the window, whose atlas is shared with the other image renderers
+     */
+    public CanvasNativeMapper(ImageNativeMapper imageMapper) {
+        if (imageMapper == null) {
+            throw new IllegalArgumentException("Image mapper cannot be null");
+        }
+        this.imageMapper = imageMapper;
+    }
+
+    /**
+     * Replays the commands of a canvas, the canvas records them first if it was invalidated.
+     *
+     * @param canvas the canvas to draw
+     */
+    public void renderCanvas(Canvas canvas) {
+        if (canvas == null) return;
+
+        CommandList commands = canvas.getCommands();
+        if (commands.getCommandCount() == 0) return;
+
+        CanvasBuffer buffer = buffers.computeIfAbsent(commands, key -> new CanvasBuffer(GL15.glGenBuffers()));
+        buffer.frame = frame;
+        upload(commands, buffer);
+
+        GL11.glPushMatrix();
+        GL11.glTranslatef((float) canvas.getPositionX(), (float) canvas.getPositionY(), 0);
+        for (int i = 0; i < commands.getCommandCount(); i++) {
+            int first = commands.getFirst(i);
+            int count = commands.getCount(i);
+            switch (commands.getOpcode(i)) {
+                case CommandList.TRIANGLES -> drawTriangles(buffer, first, count);
+                case CommandList.PATH -> drawPaths(commands, first, count);
+                case CommandList.TEXT -> drawTexts(commands, first, count);
+                case CommandList.IMAGE -> drawImages(commands, first, count);
+                default -> throw new IllegalStateException("Unknown canvas opcode " + commands.getOpcode(i));
+            }
+        }
+        GL11.glPopMatrix();
+        GL11.glColor4f(1, 1, 1, 1);
+    }
+
+    private void drawTriangles(CanvasBuffer buffer, int first, int count) {
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, buffer.id);
+        GL11.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+        GL11.glEnableClientState(GL11.GL_COLOR_ARRAY);
+        GL11.glVertexPointer(2, GL11.GL_FLOAT, STRIDE, 0L);
+        GL11.glColorPointer(4, GL11.GL_FLOAT, STRIDE, 2L * Float.BYTES);
+        GL11.glDrawArrays(GL11.GL_TRIANGLES, first, count);
+        GL11.glDisableClientState(GL11.GL_COLOR_ARRAY);
+        GL11.glDisableClientState(GL11.GL_VERTEX_ARRAY);
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+    }
+
+    private void drawPaths(CommandList commands, int first, int count) {
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
+        for (int i = first; i < first + count; i++) {
+            CommandList.PathCommand path = (CommandList.PathCommand) commands.getRecord(i);
+            pathMapper.renderMesh(path.mesh(), path.x(), path.y(), path.scale(), path.fillColor(), path.strokeColor());
+        }
+    }
+
+    private void drawTexts(CommandList commands, int first, int count) {
+        for (int i = first; i < first + count; i++) {
+            CommandList.TextCommand text = (CommandList.TextCommand) commands.getRecord(i);
+            if (!text.font().isTest()) {
+                text.font().nativeLoadBuffers();
+            }
+            GL11.glColor4f(text.color().getRedPercent(), text.color().getGreenPercent(),
+                    text.color().getBluePercent(), text.color().getAlphaPercent());
+            textMapper.renderText(text.font(), text.text(), text.x(), text.y());
+        }
+    }
+
+    private void drawImages(CommandList commands, int first, int count) {
+        for (int i = first; i < first + count; i++) {
+            CommandList.ImageCommand image = (CommandList.ImageCommand) commands.getRecord(i);
+            imageMapper.drawImage(image.image(), image.x0(), image.y0(), image.x1(), image.y1());
+        }
+        imageMapper.flush();
+    }
+
+    /**
+     * Uploads the vertices if the canvas recorded since the last upload.
+     */
+    private void upload(CommandList commands, CanvasBuffer buffer) {
+        if (buffer.version == commands.getVersion() && buffer.uploaded) return;
+
+        int floats = commands.getVertexCount() * CommandList.FLOATS_PER_VERTEX;
+        if (scratch.capacity() < floats) {
+            scratch = BufferUtils.createFloatBuffer(Math.max(floats, scratch.capacity() * 2));
+        }
+        scratch.clear();
+        scratch.put(commands.getVertices(), 0, floats).flip();
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, buffer.id);
+        GL15.glBufferData(GL15.GL_ARRAY_BUFFER, scratch, GL15.GL_STATIC_DRAW);
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+        buffer.version = commands.getVersion();
+        buffer.uploaded = true;
+    }
+
+    /**
+     * Deletes the buffers of all canvases which were not drawn since the last call, frees the images which
+     * are no longer recorded and starts a new frame.
+     */
+    public void sweep() {
+        Iterator<CanvasBuffer> iterator = buffers.values().iterator();
+        while (iterator.hasNext()) {
+            CanvasBuffer buffer = iterator.next();
+            if (buffer.frame != frame) {
+                GL15.glDeleteBuffers(buffer.id);
+                iterator.remove();
+            }
+        }
+        pathMapper.sweep();
+        imageMapper.releaseUnused();
+        frame++;
+    }
+
+    /**
+     * Deletes all buffers, the textures of the shared image mapper are kept.
+     */
+    public void dispose() {
+        for (CanvasBuffer buffer : buffers.values()) {
+            GL15.glDeleteBuffers(buffer.id);
+        }
+        buffers.clear();
+        pathMapper.dispose();
+    }
+
+    /**
+     * The vertex buffer of one canvas and the version of its commands.
+     */
+    private static final class CanvasBuffer {
+
+        private final int id;
+        private int version;
+        private boolean uploaded;
+        private long frame;
+
+        private CanvasBuffer(int id) {
+            this.id = id;
+        }
+    }
+}
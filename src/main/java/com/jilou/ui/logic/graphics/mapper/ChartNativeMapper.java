@@ -0,0 +1,135 @@
+package com.jilou.ui.logic.graphics.mapper;
+
+import com.jilou.ui.utils.Color;
+import com.jilou.ui.widget.chart.LineChart;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+
+import java.nio.FloatBuffer;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * The {@code ChartNativeMapper} class draws {@link LineChart}s from vertex buffers.
+ * <p>
+ * Every chart owns one vertex buffer. The buffer is only allocated again if the vertices of the chart do not
+ * fit into it, otherwise only the range which changed since the last frame is uploaded. Buffers of charts
+ * which were not drawn in a frame are deleted by {@link #sweep()}.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public class ChartNativeMapper {
+
+    private final Map<LineChart, ChartBuffer> buffers = new IdentityHashMap<>();
+    private FloatBuffer scratch = BufferUtils.createFloatBuffer(1024);
+    private long frame;
+
+    /**
+     * Uploads the changed vertices of the chart and draws its area and line.
+     *
+     * @param chart the chart to draw
+     */
+    public void renderChart(LineChart chart) {
+        if (chart == null) return;
+
+        chart.prepareVertices();
+        ChartBuffer buffer = buffers.computeIfAbsent(chart, key -> new ChartBuffer(GL15.glGenBuffers()));
+        buffer.frame = frame;
+        upload(chart, buffer);
+
+        int lines = chart.getLineVertexCount();
+        int fills = chart.getFillVertexCount();
+        if (lines == 0) return;
+
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, buffer.id);
+        GL11.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+        GL11.glVertexPointer(2, GL11.GL_FLOAT, 0, 0L);
+        if (fills > 0 && chart.getFillColor() != null) {
+            setColor(chart.getFillColor());
+            GL11.glDrawArrays(GL11.GL_TRIANGLE_STRIP, lines, fills);
+        }
+        setColor(chart.getLineColor());
+        GL11.glDrawArrays(GL11.GL_LINE_STRIP, 0, lines);
+        GL11.glDisableClientState(GL11.GL_VERTEX_ARRAY);
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+    }
+
+    /**
+     * Deletes the buffers of all charts which were not drawn since the last call and starts a new frame.
+     */
+    public void sweep() {
+        Iterator<ChartBuffer> iterator = buffers.values().iterator();
+        while (iterator.hasNext()) {
+            ChartBuffer buffer = iterator.next();
+            if (buffer.frame != frame) {
+                GL15.glDeleteBuffers(buffer.id);
+                iterator.remove();
+            }
+        }
+        frame++;
+    }
+
+    /**
+     * Deletes all buffers.
+     */
+    public void dispose() {
+        for (ChartBuffer buffer : buffers.values()) {
+            GL15.glDeleteBuffers(buffer.id);
+        }
+        buffers.clear();
+    }
+
+    /**
+     * Allocates the buffer again if the vertices grew beyond it, otherwise uploads the dirty range only.
+     */
+    private void upload(LineChart chart, ChartBuffer buffer) {
+        int size = (chart.getLineVertexCount() + chart.getFillVertexCount()) * 2;
+        float[] vertices = chart.getVertices();
+        if (size > buffer.capacity) {
+            int capacity = Math.max(size, buffer.capacity * 2);
+            GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, buffer.id);
+            GL15.glBufferData(GL15.GL_ARRAY_BUFFER, (long) capacity * Float.BYTES, GL15.GL_DYNAMIC_DRAW);
+            GL15.glBufferSubData(GL15.GL_ARRAY_BUFFER, 0, fill(vertices, 0, size));
+            buffer.capacity = capacity;
+        } else if (chart.getDirtyStart() < chart.getDirtyEnd()) {
+            int start = chart.getDirtyStart();
+            int end = Math.min(chart.getDirtyEnd(), size);
+            GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, buffer.id);
+            GL15.glBufferSubData(GL15.GL_ARRAY_BUFFER, (long) start * Float.BYTES, fill(vertices, start, end));
+        }
+        chart.clearDirty();
+    }
+
+    private FloatBuffer fill(float[] vertices, int start, int end) {
+        int length = end - start;
+        if (scratch.capacity() < length) {
+            scratch = BufferUtils.createFloatBuffer(Math.max(length, scratch.capacity() * 2));
+        }
+        scratch.clear();
+        scratch.put(vertices, start, length);
+        scratch.flip();
+        return scratch;
+    }
+
+    private static void setColor(Color color) {
+        GL11.glColor4f(color.getRedPercent(), color.getGreenPercent(), color.getBluePercent(), color.getAlphaPercent());
+    }
+
+    /**
+     * The vertex buffer of one chart.
+     */
+    private static final class ChartBuffer {
+
+        private final int id;
+        private int capacity;
+        private long frame;
+
+        private ChartBuffer(int id) {
+            this.id = id;
+        }
+    }
+}
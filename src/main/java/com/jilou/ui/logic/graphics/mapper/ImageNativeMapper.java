@@ -0,0 +1,298 @@
+package com.jilou.ui.logic.graphics.mapper;
+
+import com.jilou.ui.enums.image.ImageState;
+import com.jilou.ui.logic.graphics.image.AtlasPacker;
+import com.jilou.ui.logic.graphics.image.Image;
+import com.jilou.ui.logic.graphics.image.Images;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code ImageNativeMapper} class uploads {@link Image}s and draws them in batches.
+ * <p>
+ * Images up to {@link #ATLAS_IMAGE_SIZE} pixels are packed into shared atlas pages, larger images get their
+ * own texture. Every image is uploaded once per mapper, when it is drawn first. Drawn images are collected as quads and
+ * drawn by {@link #flush()} with one draw call per run of quads with the same texture, so a toolbar of icons
+ * from one atlas page costs one draw call. The texture space of images which lost their last user is freed
+ * at the start of every frame by {@link #releaseUnused()}.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public class ImageNativeMapper {
+
+    /**
+     * The width and height of an atlas page.
+     */
+    public static final int ATLAS_PAGE_SIZE = 2048;
+
+    /**
+     * The largest width or height of an image which is packed into the atlas.
+     */
+    public static final int ATLAS_IMAGE_SIZE = 256;
+
+    private static final int FLOATS_PER_VERTEX = 4;
+
+    private final AtlasPacker packer = new AtlasPacker(ATLAS_PAGE_SIZE);
+    private final List<Integer> pages = new ArrayList<>();
+    private final Map<Image, Placement> placements = new IdentityHashMap<>();
+
+    /**
+     * The images which lost their last user, see {@link Images#subscribe()}.
+     */
+    private final Queue<Image> released = Images.subscribe();
+
+    /**
+     * The images which were drawn while decoding, the wake up is registered once per image.
+     */
+    private final Set<Image> waiting = ConcurrentHashMap.newKeySet();
+    private final Runnable wakeUp;
+
+    /**
+     * The copies of pixels which are decoded for this mapper, see {@link #placeCopy(Image)}.
+     */
+    private final Map<Image, CompletableFuture<Image.Pixels>> copies = new IdentityHashMap<>();
+
+    private FloatBuffer vertices = BufferUtils.createFloatBuffer(FLOATS_PER_VERTEX * 4 * 64);
+    private final List<int[]> runs = new ArrayList<>();
+
+    /**
+     * Creates a mapper.
+     *
+     * @param wakeUp requests a new frame when an image which was drawn while decoding is ready
+     */
+    public ImageNativeMapper(Runnable wakeUp) {
+        this.wakeUp = wakeUp;
+    }
+
+    /**
+     * Adds an image to the current batch, it is uploaded if it is drawn the first time.
+     *
+     * @param image the image
+     * @param x0    the left edge
+     * @param y0    the top edge
+     * @param x1    the right edge
+     * @param y1    the bottom edge
+     * @return {@code true} if the image was added, false if it is not decoded yet
+     */
+    public boolean drawImage(Image image, float x0, float y0, float x1, float y1) {
+        if (image == null) return false;
+
+        Placement placement = place(image);
+        if (placement == null) {
+            if (image.getState() == ImageState.LOADING && waiting.add(image)) {
+                image.whenReady().whenComplete((result, error) -> {
+                    waiting.remove(image);
+                    wakeUp.run();
+                });
+            }
+            return false;
+        }
+        ensureCapacity(FLOATS_PER_VERTEX * 4);
+        vertices.put(x0).put(y0).put(placement.u0).put(placement.v0);
+        vertices.put(x1).put(y0).put(placement.u1).put(placement.v0);
+        vertices.put(x1).put(y1).put(placement.u1).put(placement.v1);
+        vertices.put(x0).put(y1).put(placement.u0).put(placement.v1);
+
+        int[] run = runs.isEmpty() ? null : runs.get(runs.size() - 1);
+        if (run == null || run[0] != placement.texture) {
+            runs.add(new int[]{placement.texture, vertices.position() / FLOATS_PER_VERTEX - 4, 4});
+        } else {
+            run[2] += 4;
+        }
+        return true;
+    }
+
+    /**
+     * Draws all images of the current batch and starts a new batch.
+     */
+    public void flush() {
+        if (runs.isEmpty()) return;
+
+        int count = vertices.position();
+        GL11.glColor4f(1, 1, 1, 1);
+        GL11.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+        GL11.glEnableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+        vertices.position(0).limit(count);
+        GL11.glVertexPointer(2, GL11.GL_FLOAT, FLOATS_PER_VERTEX * Float.BYTES, vertices);
+        vertices.position(2);
+        GL11.glTexCoordPointer(2, GL11.GL_FLOAT, FLOATS_PER_VERTEX * Float.BYTES, vertices);
+        for (int[] run : runs) {
+            GL11.glBindTexture(GL11.GL_TEXTURE_2D, run[0]);
+            GL11.glDrawArrays(GL11.GL_QUADS, run[1], run[2]);
+        }
+        GL11.glDisableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+        GL11.glDisableClientState(GL11.GL_VERTEX_ARRAY);
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
+        vertices.clear();
+        runs.clear();
+    }
+
+    /**
+     * Frees the texture space of all images which lost their last user since the last call and were not
+     * acquired again in the meantime.
+     */
+    public void releaseUnused() {
+        Image image;
+        while ((image = released.poll()) != null) {
+            if (image.getUsers() > 0) {
+                continue;
+            }
+            CompletableFuture<Image.Pixels> copy = copies.remove(image);
+            if (copy != null) {
+                copy.thenAccept(Image.Pixels::free);
+            }
+            if (!placements.containsKey(image)) {
+                continue;
+            }
+            Placement placement = placements.remove(image);
+            if (placement.region != null) {
+                packer.free(placement.region);
+            } else {
+                GL11.glDeleteTextures(placement.texture);
+            }
+        }
+    }
+
+    /**
+     * Deletes all textures and stops receiving released images.
+     */
+    public void dispose() {
+        Images.unsubscribe(released);
+        released.clear();
+        for (CompletableFuture<Image.Pixels> copy : copies.values()) {
+            copy.thenAccept(Image.Pixels::free);
+        }
+        copies.clear();
+        for (Placement placement : placements.values()) {
+            if (placement.region == null) {
+                GL11.glDeleteTextures(placement.texture);
+            }
+        }
+        for (int page : pages) {
+            GL11.glDeleteTextures(page);
+        }
+        placements.clear();
+        pages.clear();
+    }
+
+    /**
+     * Returns the placement of an image and uploads it on its first use.
+     */
+    private Placement place(Image image) {
+        Placement placement = placements.get(image);
+        if (placement != null || image.getState() != ImageState.READY) {
+            return placement;
+        }
+        if (image.upload(pixels -> placements.put(image, upload(pixels)))) {
+            return placements.get(image);
+        }
+        return placeCopy(image);
+    }
+
+    /**
+     * Uploads a copy of the pixels of an image whose shared pixels were decoded before this mapper subscribed.
+     * The copy is decoded in the background, the image is drawn from the frame after it is ready.
+     */
+    private Placement placeCopy(Image image) {
+        CompletableFuture<Image.Pixels> copy = copies.get(image);
+        if (copy == null) {
+            copies.put(image, image.decodeCopy().whenComplete((pixels, error) -> wakeUp.run()));
+            return null;
+        }
+        if (!copy.isDone()) {
+            return null;
+        }
+        copies.remove(image);
+        if (copy.isCompletedExceptionally()) {
+            return null;
+        }
+        Image.Pixels pixels = copy.join();
+        try {
+            Placement placement = upload(pixels);
+            placements.put(image, placement);
+            return placement;
+        } finally {
+            pixels.free();
+        }
+    }
+
+    private Placement upload(Image.Pixels pixels) {
+        return pixels.width() <= ATLAS_IMAGE_SIZE && pixels.height() <= ATLAS_IMAGE_SIZE
+                ? uploadToAtlas(pixels)
+                : uploadToTexture(pixels);
+    }
+
+    private Placement uploadToAtlas(Image.Pixels pixels) {
+        AtlasPacker.Region region = packer.allocate(pixels.width(), pixels.height());
+        while (pages.size() <= region.page()) {
+            pages.add(createTexture(ATLAS_PAGE_SIZE, ATLAS_PAGE_SIZE, null));
+        }
+        int texture = pages.get(region.page());
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, texture);
+        GL11.glTexSubImage2D(GL11.GL_TEXTURE_2D, 0, region.x(), region.y(), pixels.width(), pixels.height(),
+                GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, pixels.data());
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
+        float size = ATLAS_PAGE_SIZE;
+        return new Placement(texture, region, region.x() / size, region.y() / size,
+                (region.x() + region.width()) / size, (region.y() + region.height()) / size);
+    }
+
+    private Placement uploadToTexture(Image.Pixels pixels) {
+        int texture = createTexture(pixels.width(), pixels.height(), pixels.data());
+        return new Placement(texture, null, 0, 0, 1, 1);
+    }
+
+    /**
+     * Creates a texture, an atlas page is cleared to transparent so the padding of the regions is empty.
+     */
+    private static int createTexture(int width, int height, ByteBuffer data) {
+        ByteBuffer clear = data == null ? MemoryUtil.memCalloc(width * height * 4) : null;
+        try {
+            int texture = GL11.glGenTextures();
+            GL11.glBindTexture(GL11.GL_TEXTURE_2D, texture);
+            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_LINEAR);
+            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_LINEAR);
+            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_S, GL12.GL_CLAMP_TO_EDGE);
+            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_T, GL12.GL_CLAMP_TO_EDGE);
+            GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA8, width, height, 0,
+                    GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, data != null ? data : clear);
+            GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
+            return texture;
+        } finally {
+            if (clear != null) {
+                MemoryUtil.memFree(clear);
+            }
+        }
+    }
+
+    private void ensureCapacity(int floats) {
+        if (vertices.remaining() >= floats) {
+            return;
+        }
+        FloatBuffer larger = BufferUtils.createFloatBuffer(Math.max(vertices.capacity() * 2, vertices.position() + floats));
+        vertices.flip();
+        larger.put(vertices);
+        vertices = larger;
+    }
+
+    /**
+     * Where an image is stored on the GPU.
+     */
+    private record Placement(int texture, AtlasPacker.Region region, float u0, float v0, float u1, float v1) {
+    }
+}
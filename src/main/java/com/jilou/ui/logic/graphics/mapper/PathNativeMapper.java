@@ -0,0 +1,160 @@
+package com.jilou.ui.logic.graphics.mapper;
+
+import com.jilou.ui.logic.graphics.tessellation.PathMesh;
+import com.jilou.ui.utils.Color;
+import com.jilou.ui.widget.shapes.PathShape;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+
+import java.nio.FloatBuffer;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * The {@code PathNativeMapper} class draws {@link PathShape}s from shared vertex buffers.
+ * <p>
+ * Every {@link PathMesh} is uploaded once into its own vertex buffer, which is used by all shapes with that
+ * mesh, and drawn with a transform to the bounds of the shape. The inside of the path is found with the
+ * stencil buffer: the fill fans invert the stencil, so every covered pixel with an odd count is inside,
+ * and the cover quad draws the fill color there and clears the stencil again. Buffers of meshes which were
+ * not drawn in a frame are deleted by {@link #sweep()}.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public class PathNativeMapper {
+
+    private final Map<PathMesh, MeshBuffer> buffers = new IdentityHashMap<>();
+    private long frame;
+    private boolean stencilCleared;
+
+    /**
+     * Draws the fill and the stroke of a shape.
+     *
+     * @param shape the shape to draw
+     */
+    public void renderPath(PathShape shape) {
+        if (shape == null) return;
+
+        PathMesh mesh = shape.getMesh();
+        if (mesh == null) return;
+
+        renderMesh(mesh, (float) shape.getOriginX(), (float) shape.getOriginY(), (float) shape.getScale(),
+                shape.getFillColor(), shape.getStrokeColor());
+    }
+
+    /**
+     * Draws the fill and the stroke of a mesh.
+     *
+     * @param mesh        the mesh
+     * @param originX     the screen x of path x 0
+     * @param originY     the screen y of path y 0
+     * @param scale       the screen pixels per path unit
+     * @param fillColor   the fill color, null for no fill
+     * @param strokeColor the stroke color, null for no stroke
+     */
+    public void renderMesh(PathMesh mesh, float originX, float originY, float scale, Color fillColor, Color strokeColor) {
+        if (mesh == null) return;
+
+        MeshBuffer buffer = buffers.computeIfAbsent(mesh, PathNativeMapper::upload);
+        buffer.frame = frame;
+
+        GL11.glPushMatrix();
+        GL11.glTranslatef(originX, originY, 0);
+        GL11.glScalef(scale, scale, 1);
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, buffer.id);
+        GL11.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+        GL11.glVertexPointer(2, GL11.GL_FLOAT, 0, 0L);
+
+        if (fillColor != null && mesh.getFillVertexCount() > 0) {
+            fill(mesh, fillColor);
+        }
+        if (strokeColor != null && mesh.getStrokeVertexCount() > 0) {
+            setColor(strokeColor);
+            GL11.glDrawArrays(GL11.GL_TRIANGLES, mesh.getStrokeStart(), mesh.getStrokeVertexCount());
+        }
+
+        GL11.glDisableClientState(GL11.GL_VERTEX_ARRAY);
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+        GL11.glPopMatrix();
+    }
+
+    /**
+     * Marks the fill of the path in the stencil buffer and covers it with the color.
+     */
+    private void fill(PathMesh mesh, Color color) {
+        if (!stencilCleared) {
+            GL11.glClearStencil(0);
+            GL11.glClear(GL11.GL_STENCIL_BUFFER_BIT);
+            stencilCleared = true;
+        }
+        GL11.glEnable(GL11.GL_STENCIL_TEST);
+        GL11.glColorMask(false, false, false, false);
+        GL11.glStencilFunc(GL11.GL_ALWAYS, 0, 1);
+        GL11.glStencilOp(GL11.GL_KEEP, GL11.GL_KEEP, GL11.GL_INVERT);
+        GL11.glDrawArrays(GL11.GL_TRIANGLES, 0, mesh.getFillVertexCount());
+
+        GL11.glColorMask(true, true, true, true);
+        GL11.glStencilFunc(GL11.GL_NOTEQUAL, 0, 1);
+        GL11.glStencilOp(GL11.GL_ZERO, GL11.GL_ZERO, GL11.GL_ZERO);
+        setColor(color);
+        GL11.glDrawArrays(GL11.GL_TRIANGLES, mesh.getCoverStart(), 6);
+        GL11.glDisable(GL11.GL_STENCIL_TEST);
+    }
+
+    /**
+     * Deletes the buffers of all meshes which were not drawn since the last call and starts a new frame.
+     */
+    public void sweep() {
+        Iterator<MeshBuffer> iterator = buffers.values().iterator();
+        while (iterator.hasNext()) {
+            MeshBuffer buffer = iterator.next();
+            if (buffer.frame != frame) {
+                GL15.glDeleteBuffers(buffer.id);
+                iterator.remove();
+            }
+        }
+        frame++;
+        stencilCleared = false;
+    }
+
+    /**
+     * Deletes all buffers.
+     */
+    public void dispose() {
+        for (MeshBuffer buffer : buffers.values()) {
+            GL15.glDeleteBuffers(buffer.id);
+        }
+        buffers.clear();
+    }
+
+    private static MeshBuffer upload(PathMesh mesh) {
+        FloatBuffer data = BufferUtils.createFloatBuffer(mesh.getVertices().length);
+        data.put(mesh.getVertices()).flip();
+        MeshBuffer buffer = new MeshBuffer(GL15.glGenBuffers());
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, buffer.id);
+        GL15.glBufferData(GL15.GL_ARRAY_BUFFER, data, GL15.GL_STATIC_DRAW);
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+        return buffer;
+    }
+
+    private static void setColor(Color color) {
+        GL11.glColor4f(color.getRedPercent(), color.getGreenPercent(), color.getBluePercent(), color.getAlphaPercent());
+    }
+
+    /**
+     * The vertex buffer of one mesh.
+     */
+    private static final class MeshBuffer {
+
+        private final int id;
+        private long frame;
+
+        private MeshBuffer(int id) {
+            this.id = id;
+        }
+    }
+}
@@ -17,11 +17,10 @@ public class TextNativeMapper {
     private final Logger logger = LogManager.getLogger(TextNativeMapper.class);
 
     public void renderText(Text text) {
-        Font font = text.getFont();
-        double x = text.getPositionX();
-        double y = text.getPositionY();
-        String toRenderText = text.getMessage();
+        renderText(text.getFont(), text.getMessage(), text.getPositionX(), text.getPositionY());
+    }
 
+    public void renderText(Font font, String toRenderText, double x, double y) {
         STBTTBakedChar.Buffer charData = font.getFace("Regular").getChars();
         if(charData == null) {
             return;
@@ -0,0 +1,130 @@
+package com.jilou.ui.logic.graphics.mapper;
+
+import com.jilou.ui.widget.image.TileCache;
+import com.jilou.ui.widget.image.TilePixels;
+import com.jilou.ui.widget.image.TiledImage;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL21;
+
+import java.nio.ByteBuffer;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * The {@code TileNativeMapper} class uploads and draws the tiles of {@link TiledImage}s.
+ * <p>
+ * Tiles are uploaded through a pixel buffer object: the pixels are copied into the mapped buffer, which is
+ * orphaned for every tile, and the texture is filled from the buffer, so the driver copies them without
+ * blocking the frame. The tiles of images which were not drawn in a frame are deleted by {@link #sweep()}.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public class TileNativeMapper implements TileCache.TileUploader {
+
+    private final Map<TiledImage, Long> drawn = new IdentityHashMap<>();
+    private int pixelBuffer;
+    private long frame;
+
+    /**
+     * Uploads decoded tiles of the image and draws its visible tiles.
+     *
+     * @param image the image to draw
+     * @return {@code true} if decoded tiles still wait for their upload
+     */
+    public boolean renderImage(TiledImage image) {
+        if (image == null) return false;
+
+        drawn.put(image, frame);
+        TileCache cache = image.getCache();
+        cache.upload(this, image.getUploadsPerFrame());
+
+        GL11.glColor4f(1, 1, 1, 1);
+        for (TiledImage.TilePlacement tile : image.prepareTiles()) {
+            GL11.glBindTexture(GL11.GL_TEXTURE_2D, tile.texture());
+            GL11.glBegin(GL11.GL_QUADS);
+            GL11.glTexCoord2f(tile.u0(), tile.v0());
+            GL11.glVertex2f(tile.x0(), tile.y0());
+            GL11.glTexCoord2f(tile.u1(), tile.v0());
+            GL11.glVertex2f(tile.x1(), tile.y0());
+            GL11.glTexCoord2f(tile.u1(), tile.v1());
+            GL11.glVertex2f(tile.x1(), tile.y1());
+            GL11.glTexCoord2f(tile.u0(), tile.v1());
+            GL11.glVertex2f(tile.x0(), tile.y1());
+            GL11.glEnd();
+        }
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
+        return cache.hasDecoded();
+    }
+
+    /**
+     * Deletes the tiles of all images which were not drawn since the last call and starts a new frame.
+     */
+    public void sweep() {
+        Iterator<Map.Entry<TiledImage, Long>> iterator = drawn.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<TiledImage, Long> entry = iterator.next();
+            if (entry.getValue() != frame) {
+                entry.getKey().getCache().release(this);
+                iterator.remove();
+            }
+        }
+        frame++;
+    }
+
+    /**
+     * Deletes all tiles and the pixel buffer.
+     */
+    public void dispose() {
+        for (TiledImage image : drawn.keySet()) {
+            image.getCache().release(this);
+        }
+        drawn.clear();
+        if (pixelBuffer != 0) {
+            GL15.glDeleteBuffers(pixelBuffer);
+            pixelBuffer = 0;
+        }
+    }
+
+    @Override
+    public int upload(TilePixels pixels) {
+        if (pixelBuffer == 0) {
+            pixelBuffer = GL15.glGenBuffers();
+        }
+        long bytes = pixels.getBytes();
+        GL15.glBindBuffer(GL21.GL_PIXEL_UNPACK_BUFFER, pixelBuffer);
+        GL15.glBufferData(GL21.GL_PIXEL_UNPACK_BUFFER, bytes, GL15.GL_STREAM_DRAW);
+        ByteBuffer mapped = GL15.glMapBuffer(GL21.GL_PIXEL_UNPACK_BUFFER, GL15.GL_WRITE_ONLY, bytes, null);
+        if (mapped != null) {
+            mapped.put(pixels.pixels().duplicate().clear().limit((int) bytes));
+            GL15.glUnmapBuffer(GL21.GL_PIXEL_UNPACK_BUFFER);
+        }
+
+        int texture = GL11.glGenTextures();
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, texture);
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_LINEAR);
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_LINEAR);
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_S, GL12.GL_CLAMP_TO_EDGE);
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_T, GL12.GL_CLAMP_TO_EDGE);
+        if (mapped != null) {
+            GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA8, pixels.width(), pixels.height(), 0,
+                    GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, 0L);
+            GL15.glBindBuffer(GL21.GL_PIXEL_UNPACK_BUFFER, 0);
+        } else {
+            GL15.glBindBuffer(GL21.GL_PIXEL_UNPACK_BUFFER, 0);
+            GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA8, pixels.width(), pixels.height(), 0,
+                    GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, pixels.pixels());
+        }
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
+        return texture;
+    }
+
+    @Override
+    public void delete(int texture) {
+        GL11.glDeleteTextures(texture);
+    }
+}
@@ -0,0 +1,56 @@
+package com.jilou.ui.logic.graphics.tessellation;
+
+import lombok.Getter;
+
+/**
+ * The triangles of a tessellated {@link com.jilou.ui.widget.shapes.VectorPath}, in the units of the path.
+ * <p>
+ * The vertices are x and y pairs in three consecutive parts: the fill fans of all contours, which are drawn into
+ * the stencil buffer to find the inside with the even-odd rule, the six vertices of the cover quad, which is
+ * drawn where the stencil is set, and the stroke triangles. A mesh is immutable and shared by all widgets which
+ * show an equal path at the same detail level.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+public final class PathMesh {
+
+    private final float[] vertices;
+    private final int fillVertexCount;
+    private final int strokeVertexCount;
+
+    /**
+     * The largest distance between the curves and their line segments, in path units.
+     */
+    private final double tolerance;
+
+    PathMesh(float[] vertices, int fillVertexCount, int strokeVertexCount, double tolerance) {
+        this.vertices = vertices;
+        this.fillVertexCount = fillVertexCount;
+        this.strokeVertexCount = strokeVertexCount;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * @return the first vertex of the cover quad
+     */
+    public int getCoverStart() {
+        return fillVertexCount;
+    }
+
+    /**
+     * @return the first vertex of the stroke
+     */
+    public int getStrokeStart() {
+        return fillVertexCount + 6;
+    }
+
+    /**
+     * @return the amount of vertices of all parts
+     */
+    public int getVertexCount() {
+        return vertices.length / 2;
+    }
+}
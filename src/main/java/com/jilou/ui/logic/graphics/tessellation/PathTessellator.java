@@ -0,0 +1,308 @@
+package com.jilou.ui.logic.graphics.tessellation;
+
+import com.jilou.ui.widget.shapes.VectorPath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Turns {@link VectorPath}s into {@link PathMesh}es and shares the meshes of equal paths.
+ * <p>
+ * Curves are flattened into line segments whose distance to the curve stays below a tolerance. The tolerance
+ * depends on the detail level, which is the power of two of the scale a path is drawn with, so a mesh is
+ * only tessellated again when the scale of a path changes by a factor of two. Meshes are cached per path,
+ * level and stroke width. The cache holds the paths weakly, the meshes of a path which is no longer used
+ * are removed by the garbage collector.
+ * </p>
+ *
+ * <p>
+ * This class cannot be instantiated.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public final class PathTessellator {
+
+    /**
+     * The largest distance between a curve and its segments on the screen, in pixels.
+     */
+    public static final double SCREEN_TOLERANCE = 0.25;
+
+    private static final int MAX_LEVEL = 16;
+
+    private static final Map<VectorPath, Map<MeshKey, PathMesh>> meshes = new WeakHashMap<>();
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     * @throws IllegalStateException if an attempt is made to instantiate the class
+     */
+    private PathTessellator() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @param scale the screen pixels per path unit
+     * @return the detail level of the scale
+     */
+    public static int level(double scale) {
+        if (!(scale > 0)) {
+            return -MAX_LEVEL;
+        }
+        int level = Math.getExponent(scale);
+        return Math.max(-MAX_LEVEL, Math.min(MAX_LEVEL, level));
+    }
+
+    /**
+     * Returns the shared mesh of a path, it is tessellated on the first request.
+     *
+     * @param path        the path
+     * @param level       the detail level, see {@link #level(double)}
+     * @param strokeWidth the stroke width in path units, zero or less for no stroke
+     * @return the mesh
+     */
+    public static PathMesh mesh(VectorPath path, int level, float strokeWidth) {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        MeshKey key = new MeshKey(level, Math.max(0, strokeWidth));
+        synchronized (meshes) {
+            PathMesh mesh = meshes.computeIfAbsent(path, ignored -> new HashMap<>()).get(key);
+            if (mesh != null) {
+                return mesh;
+            }
+        }
+        PathMesh mesh = tessellate(path, SCREEN_TOLERANCE / Math.scalb(1.0, level), key.strokeWidth());
+        synchronized (meshes) {
+            PathMesh existing = meshes.computeIfAbsent(path, ignored -> new HashMap<>()).putIfAbsent(key, mesh);
+            return existing != null ? existing : mesh;
+        }
+    }
+
+    /**
+     * @return the amount of cached meshes
+     */
+    public static int getCachedMeshCount() {
+        synchronized (meshes) {
+            int count = 0;
+            for (Map<MeshKey, PathMesh> levels : meshes.values()) {
+                count += levels.size();
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Tessellates a path without the cache.
+     *
+     * @param path        the path
+     * @param tolerance   the largest distance between a curve and its segments, in path units
+     * @param strokeWidth the stroke width in path units, zero for no stroke
+     * @return the new mesh
+     */
+    public static PathMesh tessellate(VectorPath path, double tolerance, float strokeWidth) {
+        List<Contour> contours = flatten(path, tolerance);
+        FloatList vertices = new FloatList();
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        for (Contour contour : contours) {
+            float[] points = contour.points.values;
+            int count = contour.points.size / 2;
+            for (int i = 1; i + 1 < count; i++) {
+                vertices.add(points[0], points[1]);
+                vertices.add(points[i * 2], points[i * 2 + 1]);
+                vertices.add(points[i * 2 + 2], points[i * 2 + 3]);
+            }
+            for (int i = 0; i < count; i++) {
+                minX = Math.min(minX, points[i * 2]);
+                minY = Math.min(minY, points[i * 2 + 1]);
+                maxX = Math.max(maxX, points[i * 2]);
+                maxY = Math.max(maxY, points[i * 2 + 1]);
+            }
+        }
+        int fill = vertices.size / 2;
+        if (fill == 0) {
+            minX = minY = maxX = maxY = 0;
+        }
+        vertices.add(minX, minY);
+        vertices.add(maxX, minY);
+        vertices.add(maxX, maxY);
+        vertices.add(minX, minY);
+        vertices.add(maxX, maxY);
+        vertices.add(minX, maxY);
+
+        if (strokeWidth > 0) {
+            for (Contour contour : contours) {
+                stroke(contour, strokeWidth / 2, vertices);
+            }
+        }
+        int stroke = vertices.size / 2 - fill - 6;
+        return new PathMesh(Arrays.copyOf(vertices.values, vertices.size), fill, stroke, tolerance);
+    }
+
+    /**
+     * Flattens all contours of a path into polylines.
+     */
+    private static List<Contour> flatten(VectorPath path, double tolerance) {
+        List<Contour> contours = new ArrayList<>();
+        Contour contour = null;
+        int point = 0;
+        float x = 0;
+        float y = 0;
+        for (int i = 0; i < path.getVerbCount(); i++) {
+            byte verb = path.getVerb(i);
+            if (verb == VectorPath.MOVE) {
+                contour = new Contour();
+                contours.add(contour);
+                x = path.getPoint(point++);
+                y = path.getPoint(point++);
+                contour.points.add(x, y);
+            } else if (verb == VectorPath.CLOSE) {
+                if (contour != null) {
+                    contour.closed = true;
+                }
+            } else if (contour != null) {
+                int degree = verb == VectorPath.LINE ? 1 : verb == VectorPath.QUAD ? 2 : 3;
+                float[] control = new float[(degree + 1) * 2];
+                control[0] = x;
+                control[1] = y;
+                for (int c = 2; c < control.length; c++) {
+                    control[c] = path.getPoint(point++);
+                }
+                flattenCurve(control, degree, tolerance, contour.points);
+                x = control[control.length - 2];
+                y = control[control.length - 1];
+            }
+        }
+        return contours;
+    }
+
+    /**
+     * Adds the segments of a Bézier curve without its start point. The amount of segments follows Wang's
+     * formula, which bounds the distance to the curve by the tolerance.
+     */
+    private static void flattenCurve(float[] control, int degree, double tolerance, FloatList out) {
+        int segments = 1;
+        if (degree > 1) {
+            double largest = 0;
+            for (int i = 0; i + 2 <= degree; i++) {
+                double dx = control[i * 2] - 2 * control[i * 2 + 2] + control[i * 2 + 4];
+                double dy = control[i * 2 + 1] - 2 * control[i * 2 + 3] + control[i * 2 + 5];
+                largest = Math.max(largest, Math.hypot(dx, dy));
+            }
+            double factor = degree * (degree - 1) / 8.0;
+            segments = Math.max(1, (int) Math.ceil(Math.sqrt(factor * largest / tolerance)));
+            segments = Math.min(segments, 1024);
+        }
+        for (int s = 1; s <= segments; s++) {
+            double t = (double) s / segments;
+            double u = 1 - t;
+            double px;
+            double py;
+            if (degree == 1) {
+                px = u * control[0] + t * control[2];
+                py = u * control[1] + t * control[3];
+            } else if (degree == 2) {
+                px = u * u * control[0] + 2 * u * t * control[2] + t * t * control[4];
+                py = u * u * control[1] + 2 * u * t * control[3] + t * t * control[5];
+            } else {
+                px = u * u * u * control[0] + 3 * u * u * t * control[2] + 3 * u * t * t * control[4] + t * t * t * control[6];
+                py = u * u * u * control[1] + 3 * u * u * t * control[3] + 3 * u * t * t * control[5] + t * t * t * control[7];
+            }
+            out.add((float) px, (float) py);
+        }
+    }
+
+    /**
+     * Adds a quad per segment and a bevel per joint of a contour.
+     */
+    private static void stroke(Contour contour, float half, FloatList out) {
+        float[] p = contour.points.values;
+        int count = contour.points.size / 2;
+        int segments = contour.closed ? count : count - 1;
+        float previousNx = 0;
+        float previousNy = 0;
+        float firstNx = 0;
+        float firstNy = 0;
+        for (int s = 0; s < segments; s++) {
+            int a = s;
+            int b = (s + 1) % count;
+            float dx = p[b * 2] - p[a * 2];
+            float dy = p[b * 2 + 1] - p[a * 2 + 1];
+            float length = (float) Math.hypot(dx, dy);
+            if (length == 0) {
+                continue;
+            }
+            float nx = -dy / length * half;
+            float ny = dx / length * half;
+            float ax = p[a * 2];
+            float ay = p[a * 2 + 1];
+            float bx = p[b * 2];
+            float by = p[b * 2 + 1];
+            out.add(ax + nx, ay + ny);
+            out.add(bx + nx, by + ny);
+            out.add(bx - nx, by - ny);
+            out.add(ax + nx, ay + ny);
+            out.add(bx - nx, by - ny);
+            out.add(ax - nx, ay - ny);
+            if (s == 0) {
+                firstNx = nx;
+                firstNy = ny;
+            } else {
+                bevel(ax, ay, previousNx, previousNy, nx, ny, out);
+            }
+            previousNx = nx;
+            previousNy = ny;
+        }
+        if (contour.closed && count > 2) {
+            bevel(p[0], p[1], previousNx, previousNy, firstNx, firstNy, out);
+        }
+    }
+
+    private static void bevel(float x, float y, float fromNx, float fromNy, float toNx, float toNy, FloatList out) {
+        out.add(x, y);
+        out.add(x + fromNx, y + fromNy);
+        out.add(x + toNx, y + toNy);
+        out.add(x, y);
+        out.add(x - fromNx, y - fromNy);
+        out.add(x - toNx, y - toNy);
+    }
+
+    /**
+     * The cache key of a mesh of one path.
+     */
+    private record MeshKey(int level, float strokeWidth) {
+    }
+
+    /**
+     * One flattened contour.
+     */
+    private static final class Contour {
+
+        private final FloatList points = new FloatList();
+        private boolean closed;
+    }
+
+    /**
+     * A growable list of floats.
+     */
+    private static final class FloatList {
+
+        private float[] values = new float[64];
+        private int size;
+
+        private void add(float x, float y) {
+            if (size + 2 > values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[size++] = x;
+            values[size++] = y;
+        }
+    }
+}
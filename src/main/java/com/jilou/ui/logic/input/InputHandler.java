@@ -0,0 +1,208 @@
+package com.jilou.ui.logic.input;
+
+import com.jilou.ui.container.LWJGLWindow;
+import com.jilou.ui.enums.io.Action;
+import lombok.Getter;
+
+import java.lang.invoke.VarHandle;
+
+/**
+ * Collects the input of one {@link LWJGLWindow} and publishes it once per frame.
+ * <p>
+ * The GLFW callbacks of the window only write primitive event records into an {@link InputQueue}.
+ * At the start of every frame the window thread calls {@link #poll()}, which drains the queue into a
+ * working {@link InputState} and copies it into the frame snapshot of the window thread, which
+ * {@link #getKeyBoard()} and {@link #getMouse()} read. The frame snapshot only changes in {@link #poll()},
+ * so all queries of one frame see the same state.
+ * </p>
+ * <p>
+ * Other threads copy the last completed frame into their own {@link InputState} with
+ * {@link #snapshot(InputState)} and query it through {@link InputState#getKeyBoard()} and
+ * {@link InputState#getMouse()}. The published state is guarded by a sequence counter: a copy which
+ * overlapped a {@link #poll()} is repeated, so a snapshot is never torn, no matter how long a reader keeps it.
+ * </p>
+ * <p>
+ * Nothing on this path allocates: events, snapshots and the drain sink are created once per window.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public class InputHandler {
+
+    /**
+     * The queue which is filled by the GLFW callbacks.
+     */
+    @Getter
+    private final InputQueue queue;
+
+    private final InputState working = new InputState();
+    private final InputState frame = new InputState();
+    private final InputState published = new InputState();
+    private final InputQueue.InputSink sink = this::apply;
+
+    /**
+     * Odd while {@link #poll()} writes the published state, increased by two with every frame.
+     */
+    private volatile long sequence;
+
+    /**
+     * Constructs a new {@code InputHandler} with a queue of the default capacity.
+     */
+    public InputHandler() {
+        this(new InputQueue());
+    }
+
+    /**
+     * Constructs a new {@code InputHandler} which reads from the given queue.
+     *
+     * @param queue the queue which is filled by the window callbacks
+     */
+    public InputHandler(InputQueue queue) {
+        this.queue = queue;
+    }
+
+    /**
+     * Drains all queued events and publishes the new frame snapshot.
+     * This must be called once per frame from the window thread.
+     */
+    public void poll() {
+        working.beginFrame();
+        queue.drain(sink);
+        frame.copyFrom(working);
+
+        long next = sequence + 1;
+        sequence = next;
+        VarHandle.storeStoreFence();
+        published.copyFrom(working);
+        sequence = next + 1;
+    }
+
+    /**
+     * Copies the state of the last completed frame. This can be called from any thread, the copy is
+     * repeated if the window thread published a new frame meanwhile.
+     *
+     * @param target the state to copy into, owned by the calling thread
+     * @return the target
+     */
+    public InputState snapshot(InputState target) {
+        if (target == null) {
+            throw new IllegalArgumentException("Target cannot be null");
+        }
+        while (true) {
+            long before = sequence;
+            if ((before & 1L) == 0L) {
+                target.copyFrom(published);
+                VarHandle.loadLoadFence();
+                if (sequence == before) {
+                    return target;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * @return the keyboard view of the current frame, which must only be used on the window thread.
+     */
+    public KeyBoard getKeyBoard() {
+        return frame.getKeyBoard();
+    }
+
+    /**
+     * @return the mouse view of the current frame, which must only be used on the window thread.
+     */
+    public Mouse getMouse() {
+        return frame.getMouse();
+    }
+
+    /**
+     * Key callback which can be registered at a GLFW key callback chain.
+     *
+     * @param windowID the window which control the callback.
+     * @param key the key which is pressed.
+     * @param scancode the scancode of the keyboard.
+     * @param action the action of the typing like RELEASE or PRESSED.
+     * @param mods the mods define if it CTRL + A or something.
+     */
+    public void keyCallback(long windowID, int key, int scancode, int action, int mods) {
+        queue.offer(InputQueue.TYPE_KEY, key, action, mods, 0.0D, 0.0D);
+    }
+
+    /**
+     * Mouse button callback which can be registered at a GLFW mouse button callback chain.
+     *
+     * @param windowID the window which control the callback.
+     * @param button the button code which was detected.
+     * @param action the action of the typing like RELEASE or PRESSED.
+     * @param mods the mods define if it CTRL + A or something.
+     */
+    public void mouseButtonCallback(long windowID, int button, int action, int mods) {
+        queue.offer(InputQueue.TYPE_MOUSE_BUTTON, button, action, mods, 0.0D, 0.0D);
+    }
+
+    /**
+     * Cursor position callback which can be registered at a GLFW cursor position callback chain.
+     *
+     * @param windowID the window which control the callback.
+     * @param positionX the screen x location.
+     * @param positionY the screen y location.
+     */
+    public void positionCallback(long windowID, double positionX, double positionY) {
+        queue.offer(InputQueue.TYPE_CURSOR, 0, 0, 0, positionX, positionY);
+    }
+
+    /**
+     * Scroll callback which can be registered at a GLFW scroll callback chain.
+     *
+     * @param windowID the window which control the callback.
+     * @param offsetX the scroll x offset.
+     * @param offsetY the scroll y offset.
+     */
+    public void scrollCallback(long windowID, double offsetX, double offsetY) {
+        queue.offer(InputQueue.TYPE_SCROLL, 0, 0, 0, offsetX, offsetY);
+    }
+
+    /**
+     * Cursor enter callback which can be registered at a GLFW cursor enter callback chain.
+     *
+     * @param windowID the window which control the callback.
+     * @param entered the state is true if the mouse entered the window border.
+     */
+    public void enteredCallback(long windowID, boolean entered) {
+        queue.offer(InputQueue.TYPE_ENTER, 0, entered ? 1 : 0, 0, 0.0D, 0.0D);
+    }
+
+    /**
+     * Applies one drained event to the working snapshot.
+     */
+    private void apply(int type, int code, int action, int modifiers, double x, double y) {
+        switch (type) {
+            case InputQueue.TYPE_KEY -> {
+                if (action == Action.PRESS.getCode()) {
+                    working.pressKey(code);
+                } else if (action == Action.RELEASE.getCode()) {
+                    working.releaseKey(code);
+                }
+            }
+            case InputQueue.TYPE_MOUSE_BUTTON -> {
+                if (action == Action.PRESS.getCode()) {
+                    working.pressButton(code);
+                } else if (action == Action.RELEASE.getCode()) {
+                    working.releaseButton(code);
+                }
+            }
+            case InputQueue.TYPE_CURSOR -> {
+                working.positionX = x;
+                working.positionY = y;
+                working.dragging = working.buttonsDown != 0;
+            }
+            case InputQueue.TYPE_SCROLL -> {
+                working.scrollX += x;
+                working.scrollY += y;
+            }
+            case InputQueue.TYPE_ENTER -> working.entered = action != 0;
+            default -> { /* unknown events are ignored */ }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.jilou.ui.logic.input;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A single-producer/single-consumer ring buffer for raw input events.
+ * <p>
+ * Each event is stored as a primitive record spread over parallel arrays (type, code, action, mods and
+ * two coordinates), so offering and draining events never allocates. The producer is the GLFW callback
+ * chain of one window, the consumer is the {@link InputHandler} of the same window which drains the queue
+ * once per frame.
+ * </p>
+ * <p>
+ * If the consumer falls behind and the buffer is full, new events are dropped and counted instead of
+ * overwriting unread events. The count can be read with {@link #getDropped()}.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public class InputQueue {
+
+    /**
+     * Event type of key events. {@code code} is the key, {@code action} the GLFW action.
+     */
+    public static final int TYPE_KEY = 0;
+
+    /**
+     * Event type of mouse button events. {@code code} is the button, {@code action} the GLFW action.
+     */
+    public static final int TYPE_MOUSE_BUTTON = 1;
+
+    /**
+     * Event type of cursor movements. {@code x} and {@code y} store the new cursor position.
+     */
+    public static final int TYPE_CURSOR = 2;
+
+    /**
+     * Event type of scroll events. {@code x} and {@code y} store the scroll offsets.
+     */
+    public static final int TYPE_SCROLL = 3;
+
+    /**
+     * Event type of cursor enter and leave events. {@code action} is {@code 1} for entered, {@code 0} for left.
+     */
+    public static final int TYPE_ENTER = 4;
+
+    /**
+     * The default capacity used by {@link #InputQueue()}.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final int mask;
+
+    private final int[] types;
+    private final int[] codes;
+    private final int[] actions;
+    private final int[] mods;
+    private final double[] valuesX;
+    private final double[] valuesY;
+
+    /**
+     * The next sequence the consumer will read. Only written by the consumer.
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * The next sequence the producer will write. Only written by the producer.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Amount of events which were dropped because the queue was full. Only written by the producer.
+     */
+    private volatile long dropped;
+
+    /**
+     * Constructs a new {@code InputQueue} with the {@link #DEFAULT_CAPACITY}.
+     */
+    public InputQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new {@code InputQueue}. The capacity is rounded up to the next power of two.
+     *
+     * @param capacity the minimum amount of events the queue can hold
+     * @throws IllegalArgumentException if the capacity is smaller than 1
+     */
+    public InputQueue(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be greater than 0 but was " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.types = new int[size];
+        this.codes = new int[size];
+        this.actions = new int[size];
+        this.mods = new int[size];
+        this.valuesX = new double[size];
+        this.valuesY = new double[size];
+    }
+
+    /**
+     * Offers a new event to the queue. Must only be called from the producer thread.
+     *
+     * @param type the event type, one of the {@code TYPE_*} constants
+     * @param code the key or button code
+     * @param action the GLFW action
+     * @param modifiers the GLFW modifier bits
+     * @param x the first coordinate
+     * @param y the second coordinate
+     * @return {@code true} if the event was stored, {@code false} if the queue was full
+     */
+    public boolean offer(int type, int code, int action, int modifiers, double x, double y) {
+        long write = tail.get();
+        if (write - head.get() > mask) {
+            dropped++;
+            return false;
+        }
+        int index = (int) write & mask;
+        types[index] = type;
+        codes[index] = code;
+        actions[index] = action;
+        mods[index] = modifiers;
+        valuesX[index] = x;
+        valuesY[index] = y;
+        tail.lazySet(write + 1);
+        return true;
+    }
+
+    /**
+     * Drains all currently available events into the given sink. Must only be called from the consumer thread.
+     *
+     * @param sink the receiver of the events
+     * @return the amount of drained events
+     */
+    public int drain(InputSink sink) {
+        long read = head.get();
+        long available = tail.get();
+        int count = 0;
+        while (read < available) {
+            int index = (int) read & mask;
+            sink.accept(types[index], codes[index], actions[index], mods[index], valuesX[index], valuesY[index]);
+            read++;
+            count++;
+        }
+        head.lazySet(read);
+        return count;
+    }
+
+    /**
+     * @return the amount of events which are waiting to be drained.
+     */
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    /**
+     * @return the maximum amount of events this queue can hold.
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return the amount of events which were dropped because the queue was full.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Receiver of drained events. The parameters are the same as in {@link #offer(int, int, int, int, double, double)}.
+     */
+    @FunctionalInterface
+    public interface InputSink {
+
+        /**
+         * Called once for each drained event.
+         *
+         * @param type the event type, one of the {@code TYPE_*} constants
+         * @param code the key or button code
+         * @param action the GLFW action
+         * @param modifiers the GLFW modifier bits
+         * @param x the first coordinate
+         * @param y the second coordinate
+         */
+        void accept(int type, int code, int action, int modifiers, double x, double y);
+    }
+}
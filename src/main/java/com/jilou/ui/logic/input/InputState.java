@@ -0,0 +1,229 @@
+package com.jilou.ui.logic.input;
+
+import org.lwjgl.glfw.GLFW;
+
+/**
+ * A snapshot of the keyboard and mouse state of one window for one frame.
+ * <p>
+ * Keys and mouse buttons are stored in bitsets. Next to the held state, every snapshot stores which
+ * keys and buttons were pressed or released during the frame, so a press and release between two frames
+ * is never lost. All fields are primitives or preallocated arrays, copying a snapshot does not allocate.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public class InputState {
+
+    /**
+     * Amount of key codes which can be tracked, {@link GLFW#GLFW_KEY_LAST} included.
+     */
+    public static final int KEY_COUNT = GLFW.GLFW_KEY_LAST + 1;
+
+    /**
+     * Amount of mouse buttons which can be tracked, {@link GLFW#GLFW_MOUSE_BUTTON_LAST} included.
+     */
+    public static final int BUTTON_COUNT = GLFW.GLFW_MOUSE_BUTTON_LAST + 1;
+
+    private static final int KEY_WORDS = (KEY_COUNT + 63) >>> 6;
+
+    final long[] keysDown = new long[KEY_WORDS];
+    final long[] keysPressed = new long[KEY_WORDS];
+    final long[] keysReleased = new long[KEY_WORDS];
+
+    int buttonsDown;
+    int buttonsPressed;
+    int buttonsReleased;
+
+    double positionX;
+    double positionY;
+    double lastX;
+    double lastY;
+    double scrollX;
+    double scrollY;
+
+    boolean dragging;
+    boolean entered;
+
+    long frame;
+
+    private final KeyBoard keyBoard = new KeyBoard(this);
+    private final Mouse mouse = new Mouse(this);
+
+    /**
+     * Clears all per frame information (pressed, released, scroll) and remembers the current cursor
+     * position as the last position. Held keys and buttons are kept.
+     */
+    void beginFrame() {
+        for (int i = 0; i < KEY_WORDS; i++) {
+            keysPressed[i] = 0L;
+            keysReleased[i] = 0L;
+        }
+        buttonsPressed = 0;
+        buttonsReleased = 0;
+        scrollX = 0.0D;
+        scrollY = 0.0D;
+        lastX = positionX;
+        lastY = positionY;
+        frame++;
+    }
+
+    /**
+     * Copies all values of the other snapshot into this one.
+     *
+     * @param other the snapshot to copy from
+     */
+    void copyFrom(InputState other) {
+        System.arraycopy(other.keysDown, 0, keysDown, 0, KEY_WORDS);
+        System.arraycopy(other.keysPressed, 0, keysPressed, 0, KEY_WORDS);
+        System.arraycopy(other.keysReleased, 0, keysReleased, 0, KEY_WORDS);
+        buttonsDown = other.buttonsDown;
+        buttonsPressed = other.buttonsPressed;
+        buttonsReleased = other.buttonsReleased;
+        positionX = other.positionX;
+        positionY = other.positionY;
+        lastX = other.lastX;
+        lastY = other.lastY;
+        scrollX = other.scrollX;
+        scrollY = other.scrollY;
+        dragging = other.dragging;
+        entered = other.entered;
+        frame = other.frame;
+    }
+
+    /**
+     * Marks a key as held and pressed in this frame.
+     *
+     * @param key the GLFW key code
+     */
+    void pressKey(int key) {
+        if (key < 0 || key >= KEY_COUNT) {
+            return;
+        }
+        keysDown[key >>> 6] |= 1L << key;
+        keysPressed[key >>> 6] |= 1L << key;
+    }
+
+    /**
+     * Marks a key as not held anymore and released in this frame.
+     *
+     * @param key the GLFW key code
+     */
+    void releaseKey(int key) {
+        if (key < 0 || key >= KEY_COUNT) {
+            return;
+        }
+        keysDown[key >>> 6] &= ~(1L << key);
+        keysReleased[key >>> 6] |= 1L << key;
+    }
+
+    /**
+     * Marks a mouse button as held and pressed in this frame.
+     *
+     * @param button the GLFW mouse button code
+     */
+    void pressButton(int button) {
+        if (button < 0 || button >= BUTTON_COUNT) {
+            return;
+        }
+        buttonsDown |= 1 << button;
+        buttonsPressed |= 1 << button;
+    }
+
+    /**
+     * Marks a mouse button as not held anymore and released in this frame.
+     *
+     * @param button the GLFW mouse button code
+     */
+    void releaseButton(int button) {
+        if (button < 0 || button >= BUTTON_COUNT) {
+            return;
+        }
+        buttonsDown &= ~(1 << button);
+        buttonsReleased |= 1 << button;
+        dragging = false;
+    }
+
+    /**
+     * @param key the GLFW key code
+     * @return {@code true} if the key is held.
+     */
+    public boolean isKeyDown(int key) {
+        return test(keysDown, key);
+    }
+
+    /**
+     * @param key the GLFW key code
+     * @return {@code true} if the key was pressed during the frame of this snapshot.
+     */
+    public boolean isKeyPressed(int key) {
+        return test(keysPressed, key);
+    }
+
+    /**
+     * @param key the GLFW key code
+     * @return {@code true} if the key was released during the frame of this snapshot.
+     */
+    public boolean isKeyReleased(int key) {
+        return test(keysReleased, key);
+    }
+
+    /**
+     * @param button the GLFW mouse button code
+     * @return {@code true} if the button is held.
+     */
+    public boolean isButtonDown(int button) {
+        return test(buttonsDown, button);
+    }
+
+    /**
+     * @param button the GLFW mouse button code
+     * @return {@code true} if the button was pressed during the frame of this snapshot.
+     */
+    public boolean isButtonPressed(int button) {
+        return test(buttonsPressed, button);
+    }
+
+    /**
+     * @param button the GLFW mouse button code
+     * @return {@code true} if the button was released during the frame of this snapshot.
+     */
+    public boolean isButtonReleased(int button) {
+        return test(buttonsReleased, button);
+    }
+
+    /**
+     * @return the keyboard view of this snapshot.
+     */
+    public KeyBoard getKeyBoard() {
+        return keyBoard;
+    }
+
+    /**
+     * @return the mouse view of this snapshot.
+     */
+    public Mouse getMouse() {
+        return mouse;
+    }
+
+    /**
+     * @return the frame number of this snapshot, increased by one every frame.
+     */
+    public long getFrame() {
+        return frame;
+    }
+
+    private static boolean test(long[] bits, int key) {
+        if (key < 0 || key >= KEY_COUNT) {
+            return false;
+        }
+        return (bits[key >>> 6] & (1L << key)) != 0L;
+    }
+
+    private static boolean test(int bits, int button) {
+        if (button < 0 || button >= BUTTON_COUNT) {
+            return false;
+        }
+        return (bits & (1 << button)) != 0;
+    }
+}
@@ -1,89 +1,83 @@
 package com.jilou.ui.logic.input;
 
-import com.jilou.ui.enums.io.Action;
 import com.jilou.ui.enums.io.Input;
 
 /**
  * This class is used for interact with keyboard.
  * This is important for interact with windows or components.
+ * <p>
+ * Every {@link InputState} owns one {@code KeyBoard} view, so all queries of a view read the same frame. The
+ * view of {@link InputHandler#getKeyBoard()} is used on the window thread, other threads query the view of
+ * their own {@link InputHandler#snapshot(InputState)}.
+ * </p>
  *
  * @since 0.1.0
  * @author Daniel Ramke
  */
 public class KeyBoard {
 
-    private static KeyBoard instance;
+    private final InputState state;
 
-    private final boolean[] keys;
-    private boolean wait;
+    /**
+     * Creates the keyboard view of the given state.
+     * @param state the state which is queried.
+     */
+    KeyBoard(InputState state) {
+        this.state = state;
+    }
 
     /**
-     * @return this class as static object.
+     * @return if shift pressed or not.
      */
-    private static KeyBoard get() {
-        if(instance == null) {
-            instance = new KeyBoard();
-        }
-        return instance;
+    public boolean isShiftPressed() {
+        return state.isKeyDown(Input.SHIFT_LEFT.getCode()) || state.isKeyDown(Input.SHIFT_RIGHT.getCode());
     }
 
     /**
-     * Is a private constructor to generate the static get function.
+     * @return is control pressed or not.
      */
-    private KeyBoard() {
-        this.keys = new boolean[350];
-        this.wait = false;
+    public boolean isControlPressed() {
+        return state.isKeyDown(Input.CONTROL_LEFT.getCode()) || state.isKeyDown(Input.CONTROL_RIGHT.getCode());
     }
 
     /**
-     * This is an input callback.
-     * @param windowID the window witch control the callback.
-     * @param key the key witch is pressed.
-     * @param scancode the scancode of the keyboard.
-     * @param action the action of the typing like RELEASE or PRESSED.
-     * @param mods the mods define if it CTRL + A or something.
+     * @return is alt pressed or not.
      */
-    public static void callback(long windowID, int key, int scancode, int action, int mods) {
-        if(action == Action.PRESS.getCode()) {
-            if(!(get().wait)) {
-                get().keys[key] = true;
-            }
-            get().wait = true;
-        } else if(action == Action.RELEASE.getCode()) {
-            get().keys[key] = false;
-            get().wait = false;
-        }
+    public boolean isAltPressed() {
+        return state.isKeyDown(Input.ALT_LEFT.getCode()) || state.isKeyDown(Input.ALT_RIGHT.getCode());
     }
 
     /**
-     * @return if shift pressed or not.
+     * This method set a trigger for a key of the keyboard.
+     * @param input the input type witch was detected.
+     * @return the state of the key, true if it is held.
      */
-    public static boolean isShiftPressed() {
-        return input(Input.SHIFT_LEFT) | input(Input.SHIFT_RIGHT);
+    public boolean input(Input input) {
+        return isDown(input);
     }
 
     /**
-     * @return is control pressed or not.
+     * @param input the key to check.
+     * @return true if the key is held.
      */
-    public static boolean isControlPressed() {
-        return input(Input.CONTROL_LEFT) | input(Input.CONTROL_RIGHT);
+    public boolean isDown(Input input) {
+        return state.isKeyDown(input.getCode());
     }
 
     /**
-     * @return is alt pressed or not.
+     * @param input the key to check.
+     * @return true if the key was pressed in the last frame.
      */
-    public static boolean isAltPressed() {
-        return input(Input.ALT_LEFT) | input(Input.ALT_RIGHT);
+    public boolean isPressed(Input input) {
+        return state.isKeyPressed(input.getCode());
     }
 
     /**
-     * This method set a trigger for a key of the keyboard.
-     * @param input the input type witch was detected.
-     * @return the state of the key, true if it pressed.
+     * @param input the key to check.
+     * @return true if the key was released in the last frame.
      */
-    public static boolean input(Input input) {
-        return get().keys[input.getCode()];
+    public boolean isReleased(Input input) {
+        return state.isKeyReleased(input.getCode());
     }
 
 }
-
@@ -1,10 +1,15 @@
 package com.jilou.ui.logic.input;
 
-import com.jilou.ui.enums.io.Action;
+import com.jilou.ui.enums.io.Input;
 
 /**
  * This class allowed the interaction with mouse.
  * The mouse can be used for interact with window and components.
+ * <p>
+ * Every {@link InputState} owns one {@code Mouse} view, so all queries of a view read the same frame. The
+ * view of {@link InputHandler#getMouse()} is used on the window thread, other threads query the view of
+ * their own {@link InputHandler#snapshot(InputState)}.
+ * </p>
  *
  * @since 0.1.0
  * @author Daniel Ramke
@@ -12,180 +17,108 @@ import com.jilou.ui.enums.io.Action;
 @SuppressWarnings("unused")
 public class Mouse {
 
-    private static Mouse instance;
-
-    private double scrollX;
-
-    private double scrollY;
-
-    private double positionX, lastX;
-
-    private double positionY, lastY;
-
-    private final boolean[] buttons;
-
-    private boolean dragging;
-
-    private boolean entered;
-
-    /**
-     * @return this class as static object.
-     */
-    private static Mouse get() {
-        if(instance == null) {
-            instance = new Mouse();
-        }
-        return instance;
-    }
-
-    /**
-     * Is a private constructor to generate the static get function.
-     */
-    private Mouse() {
-        this.scrollX = 0.0D;
-        this.scrollY = 0.0D;
-        this.positionX = 0.0D;
-        this.positionY = 0.0D;
-        this.lastX = 0.0D;
-        this.lastY = 0.0D;
-        this.buttons = new boolean[3];
-        this.dragging = false;
-        this.entered = false;
-    }
-
-    /**
-     * This is a position callback.
-     * @param windowID the window witch is control this callback.
-     * @param positionX the screen x location.
-     * @param positionY the screen y location.
-     */
-    public static void positionCallback(long windowID, double positionX, double positionY) {
-        get().lastX = get().positionX;
-        get().lastY = get().positionY;
-        get().positionX = positionX;
-        get().positionY = positionY;
-        get().dragging = get().buttons[0] | get().buttons[1] | get().buttons[2];
-    }
+    private final InputState state;
 
     /**
-     * This is a mouse entered callback.
-     * @param windowID the window witch is control the callback.
-     * @param entered the state is true if the mouse entered the window border.
+     * Creates the mouse view of the given state.
+     * @param state the state which is queried.
      */
-    public static void enteredCallback(long windowID, boolean entered) {
-        get().entered = entered;
+    Mouse(InputState state) {
+        this.state = state;
     }
 
     /**
-     * This is a scroll callback.
-     * @param windowID the window witch is control the callback.
-     * @param offsetX the scroll x position.
-     * @param offsetY the scroll y position.
+     * @return the screen x position.
      */
-    public static void scrollCallback(long windowID, double offsetX, double offsetY) {
-        get().scrollX = offsetX;
-        get().scrollY = offsetY;
+    public float getPositionX() {
+        return (float) state.positionX;
     }
 
     /**
-     * This is a click callback.
-     * @param windowID the window witch is control the callback.
-     * @param button the button code witch was detected.
-     * @param action the action of the typing like RELEASE or PRESSED.
-     * @param mods the mods define if it CTRL + A or something.
+     * @return the screen y position.
      */
-    public static void callback(long windowID, int button, int action, int mods) {
-        if(action == Action.PRESS.getCode()) {
-            if(button < get().buttons.length) {
-                get().buttons[button] = true;
-            }
-        } else if(action == Action.RELEASE.getCode()) {
-            if(button < get().buttons.length) {
-                get().buttons[button] = false;
-                get().dragging = false;
-            }
-        }
+    public float getPositionY() {
+        return (float) state.positionY;
     }
 
     /**
-     * This method reset the complete mouse handler.
+     * @return the screen x position at the start of the last frame.
      */
-    public static void reset() {
-        get().scrollX = 0.0D;
-        get().scrollY = 0.0D;
-        get().lastX = get().positionX;
-        get().lastY = get().positionY;
+    public float getLastX() {
+        return (float) state.lastX;
     }
 
     /**
-     * @return the screen x position.
+     * @return the screen y position at the start of the last frame.
      */
-    public static float getPositionX() {
-        return (float) get().positionX;
+    public float getLastY() {
+        return (float) state.lastY;
     }
 
     /**
-     * @return the screen y position.
+     * @return the deference screen x position.
      */
-    public static float getPositionY() {
-        return (float) get().positionY;
+    public float getDeferenceX() {
+        return (float) (state.lastX - state.positionX);
     }
 
     /**
-     * @return the last screen x position.
+     * @return the deference screen y position.
      */
-    public static float getLastX() {
-        return (float) get().lastX;
+    public float getDeferenceY() {
+        return (float) (state.lastY - state.positionY);
     }
 
     /**
-     * @return the last screen y position.
+     * @return the scroll x offset of the last frame.
      */
-    public static float getLastY() {
-        return (float) get().lastY;
+    public float getScrollX() {
+        return (float) state.scrollX;
     }
 
     /**
-     * @return the deference screen x position.
+     * @return the scroll y offset of the last frame.
      */
-    public static float getDeferenceX() {
-        return (float) (get().lastX - get().positionX);
+    public float getScrollY() {
+        return (float) state.scrollY;
     }
 
     /**
-     * @return the deference screen y position.
+     * @return if the mouse dragging or not.
      */
-    public static float getDeferenceY() {
-        return (float) (get().lastY - get().positionY);
+    public boolean isDragging() {
+        return state.dragging;
     }
 
     /**
-     * @return the scroll x position.
+     * @return the state of mouse entered or exiting.
      */
-    public static float getScrollX() {
-        return (float) get().scrollX;
+    public boolean isEnteredStage() {
+        return state.entered;
     }
 
     /**
-     * @return the scroll y position.
+     * @param input the mouse button to check.
+     * @return true if the button is held.
      */
-    public static float getScrollY() {
-        return (float) get().scrollY;
+    public boolean isDown(Input input) {
+        return state.isButtonDown(input.getCode());
     }
 
     /**
-     * @return if the mouse dragging or not.
+     * @param input the mouse button to check.
+     * @return true if the button was pressed in the last frame.
      */
-    public static boolean isDragging() {
-        return get().dragging;
+    public boolean isPressed(Input input) {
+        return state.isButtonPressed(input.getCode());
     }
 
     /**
-     * @return the state of mouse entered or exiting.
+     * @param input the mouse button to check.
+     * @return true if the button was released in the last frame.
      */
-    public static boolean isEnteredStage() {
-        return get().entered;
+    public boolean isReleased(Input input) {
+        return state.isButtonReleased(input.getCode());
     }
 
 }
-
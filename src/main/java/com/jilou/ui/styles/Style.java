@@ -0,0 +1,117 @@
+package com.jilou.ui.styles;
+
+import com.jilou.ui.enums.css.Alignment;
+import com.jilou.ui.styles.types.Background;
+import com.jilou.ui.styles.types.Border;
+import com.jilou.ui.styles.types.DropShadow;
+import com.jilou.ui.styles.types.Flex;
+import com.jilou.ui.styles.types.FlexItem;
+import com.jilou.ui.styles.types.Radius;
+import com.jilou.ui.utils.Color;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * The {@code Style} class is the immutable set of style properties behind a {@link StyleSheet}.
+ * <p>
+ * Styles are interned by the {@link StyleCache}, so all widgets with equal properties share one instance.
+ * The default values are shared constants as well, a widget with the default style therefore costs no
+ * style memory besides its {@link StyleSheet} handle.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+@Builder(toBuilder = true)
+public final class Style {
+
+    /**
+     * The shared default background.
+     */
+    private static final Background DEFAULT_BACKGROUND = Background.fromColor(Color.ORANGE);
+
+    /**
+     * The shared default border.
+     */
+    private static final Border DEFAULT_BORDER = StyleCache.intern(Border.builder().build());
+
+    /**
+     * The shared default drop shadow.
+     */
+    private static final DropShadow DEFAULT_DROP_SHADOW = StyleCache.intern(DropShadow.builder()
+            .color(StyleCache.intern(Color.rgba(0, 0, 0, 0.3)))
+            .offsetW(10).offsetH(10).offsetX(0).offsetY(0).layer(0).radius(null).strength(0.1f).build());
+
+    /**
+     * The shared default border radius.
+     */
+    private static final Radius DEFAULT_RADIUS = StyleCache.intern(new Radius(0));
+
+    /**
+     * The z-index determines the stacking order of the element. Higher values are drawn on top of lower values.
+     * Default is 0.
+     */
+    @Builder.Default
+    private final int zIndex = 0;
+
+    /**
+     * The background of the element. This includes the color or other background properties.
+     * Default is an orange background.
+     */
+    @Builder.Default
+    private final Background background = DEFAULT_BACKGROUND;
+
+    /**
+     * The border of the element. Default is the border of {@code Border.builder().build()}.
+     */
+    @Builder.Default
+    private final Border border = DEFAULT_BORDER;
+
+    /**
+     * The drop shadow properties for the element. It includes the shadow color, offsets, layers, and strength.
+     * Default values are set for a semi-transparent black shadow with 10px offsets and 0 layers.
+     */
+    @Builder.Default
+    private final DropShadow dropShadow = DEFAULT_DROP_SHADOW;
+
+    /**
+     * The border radius of the element. This defines the roundness of the corners.
+     * Default radius is 0 pixels.
+     */
+    @Builder.Default
+    private final Radius borderRadius = DEFAULT_RADIUS;
+
+    /**
+     * The alignment content or justify content from css value.
+     * Default it is {@link Alignment#NOTHING} which means set the child anywhere in the parent container.
+     */
+    @Builder.Default
+    private final Alignment alignment = Alignment.NOTHING;
+
+    /**
+     * The flexbox properties of the element, {@code null} if the element is no flex container.
+     */
+    @Builder.Default
+    private final Flex flex = null;
+
+    /**
+     * The properties of the element inside a flex parent, {@code null} for the defaults of {@link FlexItem}.
+     */
+    @Builder.Default
+    private final FlexItem flexItem = null;
+
+    /**
+     * The number of segments used to render the corners. This controls the smoothness of the rounded corners.
+     * Default is set to 128 segments.
+     */
+    @Builder.Default
+    private final int cornerSegmentation = 128;
+
+    /**
+     * The shared style with all default values.
+     */
+    public static final Style DEFAULT = StyleCache.intern(Style.builder().build());
+}
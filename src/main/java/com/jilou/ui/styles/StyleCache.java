@@ -0,0 +1,102 @@
+package com.jilou.ui.styles;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+
+/**
+ * Interns immutable style values, so equal values are shared by all widgets.
+ * <p>
+ * The cache holds its entries weakly: a value which is no longer used by any style is removed by the garbage
+ * collector. All interned types must be immutable and implement {@code equals} and {@code hashCode}.
+ * {@link #report()} shows how many distinct instances of every type are alive.
+ * </p>
+ *
+ * <p>
+ * This class cannot be instantiated.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public final class StyleCache {
+
+    private static final Logger logger = LogManager.getLogger(StyleCache.class);
+
+    /**
+     * The canonical instance of every interned value, held weakly on both sides.
+     */
+    private static final Map<Object, WeakReference<Object>> values = new WeakHashMap<>();
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     * @throws IllegalStateException if an attempt is made to instantiate the class
+     */
+    private StyleCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Returns the canonical instance which is equal to the given value.
+     * If no equal value is interned yet, the given value becomes the canonical instance.
+     *
+     * @param value the immutable value to intern, can be null
+     * @param <T> the type of the value
+     * @return the canonical instance, or {@code null} if the value was {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public static synchronized <T> T intern(T value) {
+        if (value == null) {
+            return null;
+        }
+        WeakReference<Object> reference = values.get(value);
+        Object canonical = reference == null ? null : reference.get();
+        if (canonical != null) {
+            return (T) canonical;
+        }
+        values.put(value, new WeakReference<>(value));
+        return value;
+    }
+
+    /**
+     * Counts the distinct interned instances which are still alive, by simple class name.
+     *
+     * @return the amount of distinct instances per type, sorted by type name
+     */
+    public static synchronized Map<String, Integer> countDistinct() {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (Object value : values.keySet()) {
+            if (value != null) {
+                counts.merge(value.getClass().getSimpleName(), 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Builds a memory report of the interned style values.
+     *
+     * @return a readable report with the distinct instance count of every type
+     */
+    public static String report() {
+        Map<String, Integer> counts = countDistinct();
+        StringBuilder builder = new StringBuilder("Style cache: ");
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            builder.append(entry.getKey()).append('=').append(entry.getValue()).append(", ");
+            total += entry.getValue();
+        }
+        return builder.append("total=").append(total).toString();
+    }
+
+    /**
+     * Writes the {@link #report()} to the log.
+     */
+    public static void logReport() {
+        logger.info(report());
+    }
+}
@@ -0,0 +1,23 @@
+package com.jilou.ui.styles;
+
+/**
+ * Functional interface for observing the active properties of a {@link StyleSheet}.
+ * <p>
+ * The listener is called after a setter, a css cascade, a variant or a state switch changed at least
+ * one active property. It is not called if the new value equals the old one.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@FunctionalInterface
+public interface StyleListener {
+
+    /**
+     * Invoked when active properties of a sheet changed.
+     *
+     * @param sheet   the changed sheet
+     * @param changed the {@link StyleProperty} bits of all changed properties
+     */
+    void styleChanged(StyleSheet sheet, int changed);
+}
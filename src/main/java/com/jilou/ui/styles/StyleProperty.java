@@ -0,0 +1,104 @@
+package com.jilou.ui.styles;
+
+import com.jilou.ui.enums.Invalidation;
+import lombok.Getter;
+
+/**
+ * Represents the properties of a {@link Style}, every property owns one bit given by {@link #getMask()}.
+ * <p>
+ * A {@link StyleSheet} uses the bits to remember which properties were set explicitly by code, those
+ * properties are not replaced by a css cascade. Every property is classified by the {@link Invalidation}
+ * its changes cause.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+public enum StyleProperty {
+
+    /**
+     * The z-index of the element.
+     */
+    Z_INDEX(Invalidation.ORDER),
+
+    /**
+     * The background of the element.
+     */
+    BACKGROUND(Invalidation.PAINT),
+
+    /**
+     * The border of the element.
+     */
+    BORDER(Invalidation.PAINT),
+
+    /**
+     * The drop shadow of the element.
+     */
+    DROP_SHADOW(Invalidation.PAINT),
+
+    /**
+     * The border radius of the element.
+     */
+    BORDER_RADIUS(Invalidation.PAINT),
+
+    /**
+     * The alignment of the children.
+     */
+    ALIGNMENT(Invalidation.LAYOUT),
+
+    /**
+     * The flexbox properties of the element.
+     */
+    FLEX(Invalidation.LAYOUT),
+
+    /**
+     * The number of corner segments.
+     */
+    CORNER_SEGMENTATION(Invalidation.PAINT),
+
+    /**
+     * The properties of the element inside a flex parent.
+     */
+    FLEX_ITEM(Invalidation.LAYOUT);
+
+    /**
+     * All properties, cached to avoid the copy of {@link #values()}.
+     */
+    private static final StyleProperty[] VALUES = values();
+
+    /**
+     * The bit of this property.
+     */
+    private final int mask = 1 << ordinal();
+
+    /**
+     * The effect of a change of this property.
+     */
+    private final Invalidation invalidation;
+
+    /**
+     * Constructs a {@code StyleProperty} with the effect of its changes.
+     *
+     * @param invalidation the effect of a change.
+     */
+    StyleProperty(Invalidation invalidation) {
+        this.invalidation = invalidation;
+    }
+
+    /**
+     * Combines the effects of all given properties.
+     *
+     * @param properties the {@link StyleProperty} bits
+     * @return the {@link Invalidation} bits of all effects
+     */
+    public static int invalidations(int properties) {
+        int invalidations = 0;
+        for (StyleProperty property : VALUES) {
+            if ((properties & property.mask) != 0) {
+                invalidations |= property.invalidation.getMask();
+            }
+        }
+        return invalidations;
+    }
+}
@@ -4,73 +4,753 @@ import com.jilou.ui.styles.types.Background;
 import com.jilou.ui.styles.types.Border;
 import com.jilou.ui.styles.types.Radius;
 import com.jilou.ui.styles.types.DropShadow;
-import com.jilou.ui.utils.Color;
+import com.jilou.ui.styles.types.Flex;
+import com.jilou.ui.styles.types.FlexItem;
+import com.jilou.ui.enums.WidgetState;
 import com.jilou.ui.enums.css.Alignment;
-import lombok.Builder;
-import lombok.Getter;
-import lombok.Setter;
+
+import java.util.Arrays;
 
 /**
  * The {@code StyleSheet} class represents a collection of style properties for rendering graphical elements,
  * such as background, shadows, border radius, and corner segmentation. It allows easy configuration
  * and customization of visual elements through a builder pattern.
+ * <p>
+ * A {@code StyleSheet} is a small copy-on-write handle: the properties live in an immutable, interned
+ * {@link Style} which is shared with every other sheet that has equal properties. A setter never changes
+ * the shared {@code Style}, it replaces the reference of this sheet with the interned {@code Style} which
+ * contains the changed property. All values passed to the setters and to the builder are interned by the
+ * {@link StyleCache} as well.
+ * </p>
+ * <p>
+ * The sheet also remembers its base properties, which are the defaults of the widget type, and which
+ * properties were set explicitly by code. A css cascade, see {@link #applyCascade(int, Style)}, only replaces
+ * properties which were not set explicitly, properties without a matching declaration fall back to the base.
+ * </p>
+ * <p>
+ * A sheet can hold variants for the {@link WidgetState}'s of its widget, see
+ * {@link #setVariant(WidgetState, StyleSheet)}. The getters return the properties of the active states.
+ * The resolved style of every state combination is interned and cached, so switching the active states
+ * with {@link #setActiveState(int)} only swaps a reference.
+ * </p>
+ * <p>
+ * The owner of the sheet observes it through a {@link StyleListener}, which receives the bits of every
+ * changed active property.
+ * </p>
+ * <p>
+ * The frames of an animation are set with the {@code setAnimated} setters, which store the value without
+ * interning it, so an animation frame neither takes the lock of the {@link StyleCache} nor fills it with
+ * values which are shown once. {@link #settle()} or a regular setter interns the properties again.
+ * </p>
  *
  * @since 0.1.0
  * @author Daniel Ramke
  */
-@Getter
-@Setter
-@Builder
 public class StyleSheet {
 
     /**
-     * The z-index determines the stacking order of the element. Higher values are drawn on top of lower values.
-     * Default is 0.
+     * The shared immutable properties of this sheet.
      */
-    @Builder.Default
-    private int zIndex = 0;
+    private Style values;
 
     /**
-     * The background of the element. This includes the color or other background properties.
-     * Default is a white background.
+     * The shared base properties, which are used for properties without a css declaration.
      */
-    @Builder.Default
-    private Background background = Background.fromColor(Color.ORANGE);
+    private Style base;
 
     /**
-     * The border of the element. This build the default widget border by calling {@code Border.builder().build()}.
+     * The {@link StyleProperty} bits of all properties which were set explicitly by code.
      */
-    @Builder.Default
-    private Border border = Border.builder().build();
+    private int inline;
 
     /**
-     * The drop shadow properties for the element. It includes the shadow color, offsets, layers, and strength.
-     * Default values are set for a semi-transparent black shadow with 10px offsets and 8 layers.
+     * The overridden properties of the variants by {@link WidgetState} ordinal, null without variants.
      */
-    @Builder.Default
-    private DropShadow dropShadow = DropShadow.builder()
-            .color(Color.rgba(0, 0, 0, 0.3))
-            .offsetW(10).offsetH(10).offsetX(0).offsetY(0).layer(0).radius(null).strength(0.1f).build();
+    private Style[] variants;
 
     /**
-     * The border radius of the element. This defines the roundness of the corners.
-     * Default radius is set to 5.0 pixels.
+     * The {@link StyleProperty} bits of the overridden properties of every variant by {@link WidgetState} ordinal.
      */
-    @Builder.Default
-    private Radius borderRadius = new Radius(0);
+    private int[] variantMasks;
 
     /**
-     * The alignment content or justify content from css value.
-     * Default it is {@link Alignment#NOTHING} which means set the child anywhere in the parent container.
+     * The resolved style of every state combination by state bitmask, null entries are not resolved yet.
      */
-    @Builder.Default
-    private Alignment alignment = Alignment.NOTHING;
+    private Style[] resolved;
 
     /**
-     * The number of segments used to render the corners. This controls the smoothness of the rounded corners.
-     * Default is set to 128 segments.
+     * The active {@link WidgetState} bits.
      */
-    @Builder.Default
-    private int cornerSegmentation = 128;
-}
+    private int activeState;
+
+    /**
+     * The properties of the active states, which are returned by the getters.
+     */
+    private Style active;
+
+    /**
+     * True if {@link #values} holds animation frames which are not interned, see {@link #settle()}.
+     */
+    private boolean animating;
+
+    /**
+     * The observer of the active properties, null if nobody observes this sheet.
+     */
+    private StyleListener listener;
+
+    /**
+     * Constructs a new {@code StyleSheet} with the default properties.
+     */
+    public StyleSheet() {
+        this(Style.DEFAULT);
+    }
+
+    /**
+     * Constructs a new {@code StyleSheet} with the given base properties.
+     *
+     * @param values the base properties, {@code null} uses the defaults
+     */
+    public StyleSheet(Style values) {
+        this.values = values == null ? Style.DEFAULT : StyleCache.intern(values);
+        this.base = this.values;
+        this.inline = 0;
+        this.active = this.values;
+    }
+
+    /**
+     * Constructs a new {@code StyleSheet} from stored properties, like a loaded scene.
+     *
+     * @param base   the base properties, {@code null} uses the defaults
+     * @param values the current properties, {@code null} uses the base properties
+     * @param inline the {@link StyleProperty} bits of all properties which were set explicitly
+     */
+    public StyleSheet(Style base, Style values, int inline) {
+        this(base);
+        if (values != null) {
+            this.values = StyleCache.intern(values);
+            this.active = this.values;
+        }
+        this.inline = inline;
+    }
+
+    /**
+     * @return a new builder for a {@code StyleSheet}.
+     */
+    public static StyleSheetBuilder builder() {
+        return new StyleSheetBuilder();
+    }
+
+    /**
+     * Creates a new sheet which shares the properties of this sheet. This costs no copy of the properties.
+     *
+     * @return the new sheet
+     */
+    public StyleSheet copy() {
+        StyleSheet copy = new StyleSheet(base);
+        copy.values = values;
+        copy.animating = animating;
+        copy.inline = inline;
+        copy.active = active;
+        copy.activeState = activeState;
+        if (variants != null) {
+            copy.variants = variants.clone();
+            copy.variantMasks = variantMasks.clone();
+            copy.resolved = resolved.clone();
+        }
+        return copy;
+    }
+
+    /**
+     * @return the shared immutable properties of this sheet without any state variant.
+     */
+    public Style getValues() {
+        return values;
+    }
+
+    /**
+     * Replaces all properties of this sheet by new base properties. No property counts as set explicitly afterward.
+     *
+     * @param values the new base properties, {@code null} uses the defaults
+     */
+    public void setValues(Style values) {
+        this.values = values == null ? Style.DEFAULT : StyleCache.intern(values);
+        this.base = this.values;
+        this.inline = 0;
+        if (resolved != null) {
+            Arrays.fill(resolved, null);
+        }
+        refresh();
+    }
+
+    /**
+     * @return the shared base properties of this sheet.
+     */
+    public Style getBase() {
+        return base;
+    }
+
+    /**
+     * @return the {@link StyleProperty} bits of all properties which were set explicitly by code.
+     */
+    public int getInlineMask() {
+        return inline;
+    }
+
+    /**
+     * Applies the result of a css cascade to all properties which were not set explicitly.
+     * <p>
+     * Properties contained in {@code mask} take the value of {@code cascaded}, all others take the value of the
+     * base properties.
+     * </p>
+     *
+     * @param mask     the {@link StyleProperty} bits of all properties which were declared by the cascade
+     * @param cascaded the cascaded values
+     * @return the {@link StyleProperty} bits of all properties whose value changed
+     */
+    public int applyCascade(int mask, Style cascaded) {
+        Style.StyleBuilder builder = values.toBuilder();
+        overlay(builder, ~inline & ~mask, base);
+        overlay(builder, ~inline & mask, cascaded);
+
+        return write(builder);
+    }
+
+    /**
+     * Sets the variant of a state. The properties which were set explicitly on the variant, by its setters
+     * or its builder, override the properties of this sheet while the state is active. If several states
+     * with variants are active, the variant of the state with the higher bit wins, so {@code DISABLED}
+     * overrides {@code FOCUSED}, which overrides {@code PRESSED}, which overrides {@code HOVERED}.
+     *
+     * @param state   the state
+     * @param variant the variant, {@code null} removes the variant
+     */
+    public void setVariant(WidgetState state, StyleSheet variant) {
+        if (state == null) return;
+        if (variants == null) {
+            if (variant == null) return;
+            int states = WidgetState.values().length;
+            variants = new Style[states];
+            variantMasks = new int[states];
+            resolved = new Style[1 << states];
+        }
+        variants[state.ordinal()] = variant == null ? null : variant.getValues();
+        variantMasks[state.ordinal()] = variant == null ? 0 : variant.getInlineMask();
+        Arrays.fill(resolved, null);
+        refresh();
+    }
+
+    /**
+     * @param state the state
+     * @return the overridden properties of the variant of the state, or {@code null} without variant
+     */
+    public Style getVariant(WidgetState state) {
+        return variants == null || state == null ? null : variants[state.ordinal()];
+    }
+
+    /**
+     * @param state the state
+     * @return the {@link StyleProperty} bits of the properties the variant of the state overrides
+     */
+    public int getVariantMask(WidgetState state) {
+        return variantMasks == null || state == null ? 0 : variantMasks[state.ordinal()];
+    }
+
+    /**
+     * @return the active {@link WidgetState} bits.
+     */
+    public int getActiveState() {
+        return activeState;
+    }
+
+    /**
+     * Activates the variants of the given states. After the first use of a state combination this
+     * allocates nothing, the resolved style is cached.
+     *
+     * @param state the {@link WidgetState} bits of all active states
+     * @return the {@link StyleProperty} bits of all properties whose active value changed
+     */
+    public int setActiveState(int state) {
+        if (activeState == state) {
+            return 0;
+        }
+        this.activeState = state;
+        return refresh();
+    }
+
+    /**
+     * @return the observer of the active properties, or {@code null}.
+     */
+    public StyleListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Sets the observer of the active properties, a sheet has at most one observer.
+     *
+     * @param listener the observer, {@code null} removes it
+     */
+    public void setListener(StyleListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @return the shared immutable properties of the active states.
+     */
+    public Style getActive() {
+        return active;
+    }
+
+    /**
+     * Picks the properties of the active states, resolving the state combination on first use.
+     * The listener is notified if the active properties changed.
+     *
+     * @return the {@link StyleProperty} bits of all changed active properties
+     */
+    private int refresh() {
+        Style previous = active;
+        this.active = resolve();
+        if (previous == active) {
+            return 0;
+        }
+        int changed = difference(previous, active);
+        if (listener != null && changed != 0) {
+            listener.styleChanged(this, changed);
+        }
+        return changed;
+    }
+
+    /**
+     * @return the properties of the active states.
+     */
+    private Style resolve() {
+        if (variants == null || activeState == 0) {
+            return values;
+        }
+        int key = activeState & (resolved.length - 1);
+        Style style = resolved[key];
+        if (style == null) {
+            style = values;
+            for (WidgetState state : WidgetState.values()) {
+                Style variant = variants[state.ordinal()];
+                if ((key & state.getMask()) != 0 && variant != null) {
+                    Style.StyleBuilder builder = style.toBuilder();
+                    overlay(builder, variantMasks[state.ordinal()], variant);
+                    style = animating ? builder.build() : StyleCache.intern(builder.build());
+                }
+            }
+            resolved[key] = style;
+        }
+        return style;
+    }
+
+    /**
+     * Compares two styles property by property.
+     *
+     * @param first  the first style
+     * @param second the second style
+     * @return the {@link StyleProperty} bits of all properties with different values
+     */
+    public static int difference(Style first, Style second) {
+        int mask = 0;
+        if (first.getZIndex() != second.getZIndex()) mask |= StyleProperty.Z_INDEX.getMask();
+        if (first.getBackground() != second.getBackground()) mask |= StyleProperty.BACKGROUND.getMask();
+        if (first.getBorder() != second.getBorder()) mask |= StyleProperty.BORDER.getMask();
+        if (first.getDropShadow() != second.getDropShadow()) mask |= StyleProperty.DROP_SHADOW.getMask();
+        if (first.getBorderRadius() != second.getBorderRadius()) mask |= StyleProperty.BORDER_RADIUS.getMask();
+        if (first.getAlignment() != second.getAlignment()) mask |= StyleProperty.ALIGNMENT.getMask();
+        if (first.getFlex() != second.getFlex()) mask |= StyleProperty.FLEX.getMask();
+        if (first.getFlexItem() != second.getFlexItem()) mask |= StyleProperty.FLEX_ITEM.getMask();
+        if (first.getCornerSegmentation() != second.getCornerSegmentation()) mask |= StyleProperty.CORNER_SEGMENTATION.getMask();
+        return mask;
+    }
+
+    /**
+     * Copies the properties contained in the mask from the source to the builder.
+     */
+    private static void overlay(Style.StyleBuilder builder, int mask, Style source) {
+        if (has(mask, StyleProperty.Z_INDEX)) builder.zIndex(source.getZIndex());
+        if (has(mask, StyleProperty.BACKGROUND)) builder.background(source.getBackground());
+        if (has(mask, StyleProperty.BORDER)) builder.border(source.getBorder());
+        if (has(mask, StyleProperty.DROP_SHADOW)) builder.dropShadow(source.getDropShadow());
+        if (has(mask, StyleProperty.BORDER_RADIUS)) builder.borderRadius(source.getBorderRadius());
+        if (has(mask, StyleProperty.ALIGNMENT)) builder.alignment(source.getAlignment());
+        if (has(mask, StyleProperty.FLEX)) builder.flex(source.getFlex());
+        if (has(mask, StyleProperty.FLEX_ITEM)) builder.flexItem(source.getFlexItem());
+        if (has(mask, StyleProperty.CORNER_SEGMENTATION)) builder.cornerSegmentation(source.getCornerSegmentation());
+    }
+
+    private static boolean has(int mask, StyleProperty property) {
+        return (mask & property.getMask()) != 0;
+    }
+
+    /**
+     * @return the z-index, higher values are drawn on top of lower values.
+     */
+    public int getZIndex() {
+        return active.getZIndex();
+    }
+
+    /**
+     * @return the background of the element.
+     */
+    public Background getBackground() {
+        return active.getBackground();
+    }
 
+    /**
+     * @return the border of the element.
+     */
+    public Border getBorder() {
+        return active.getBorder();
+    }
+
+    /**
+     * @return the drop shadow of the element.
+     */
+    public DropShadow getDropShadow() {
+        return active.getDropShadow();
+    }
+
+    /**
+     * @return the border radius of the element.
+     */
+    public Radius getBorderRadius() {
+        return active.getBorderRadius();
+    }
+
+    /**
+     * @return the alignment of the children.
+     */
+    public Alignment getAlignment() {
+        return active.getAlignment();
+    }
+
+    /**
+     * @return the flexbox properties, or {@code null} if the element is no flex container.
+     */
+    public Flex getFlex() {
+        return active.getFlex();
+    }
+
+    /**
+     * @return the properties inside a flex parent, or {@code null} for the defaults of {@link FlexItem}.
+     */
+    public FlexItem getFlexItem() {
+        return active.getFlexItem();
+    }
+
+    /**
+     * @return the number of segments used to render the corners.
+     */
+    public int getCornerSegmentation() {
+        return active.getCornerSegmentation();
+    }
+
+    /**
+     * @param zIndex the new z-index
+     */
+    public void setZIndex(int zIndex) {
+        inline |= StyleProperty.Z_INDEX.getMask();
+        if (values.getZIndex() != zIndex) {
+            write(values.toBuilder().zIndex(zIndex));
+        }
+    }
+
+    /**
+     * @param background the new background
+     */
+    public void setBackground(Background background) {
+        background = StyleCache.intern(background);
+        inline |= StyleProperty.BACKGROUND.getMask();
+        if (values.getBackground() != background) {
+            write(values.toBuilder().background(background));
+        }
+    }
+
+    /**
+     * @param border the new border
+     */
+    public void setBorder(Border border) {
+        border = StyleCache.intern(border);
+        inline |= StyleProperty.BORDER.getMask();
+        if (values.getBorder() != border) {
+            write(values.toBuilder().border(border));
+        }
+    }
+
+    /**
+     * @param dropShadow the new drop shadow
+     */
+    public void setDropShadow(DropShadow dropShadow) {
+        dropShadow = StyleCache.intern(dropShadow);
+        inline |= StyleProperty.DROP_SHADOW.getMask();
+        if (values.getDropShadow() != dropShadow) {
+            write(values.toBuilder().dropShadow(dropShadow));
+        }
+    }
+
+    /**
+     * @param borderRadius the new border radius
+     */
+    public void setBorderRadius(Radius borderRadius) {
+        borderRadius = StyleCache.intern(borderRadius);
+        inline |= StyleProperty.BORDER_RADIUS.getMask();
+        if (values.getBorderRadius() != borderRadius) {
+            write(values.toBuilder().borderRadius(borderRadius));
+        }
+    }
+
+    /**
+     * Sets one frame of an animated background, which is not interned.
+     *
+     * @param background the background of the frame
+     */
+    public void setAnimatedBackground(Background background) {
+        inline |= StyleProperty.BACKGROUND.getMask();
+        if (values.getBackground() != background) {
+            writeAnimated(values.toBuilder().background(background));
+        }
+    }
+
+    /**
+     * Sets one frame of an animated border, which is not interned.
+     *
+     * @param border the border of the frame
+     */
+    public void setAnimatedBorder(Border border) {
+        inline |= StyleProperty.BORDER.getMask();
+        if (values.getBorder() != border) {
+            writeAnimated(values.toBuilder().border(border));
+        }
+    }
+
+    /**
+     * Sets one frame of an animated drop shadow, which is not interned.
+     *
+     * @param dropShadow the drop shadow of the frame
+     */
+    public void setAnimatedDropShadow(DropShadow dropShadow) {
+        inline |= StyleProperty.DROP_SHADOW.getMask();
+        if (values.getDropShadow() != dropShadow) {
+            writeAnimated(values.toBuilder().dropShadow(dropShadow));
+        }
+    }
+
+    /**
+     * Sets one frame of an animated border radius, which is not interned.
+     *
+     * @param borderRadius the border radius of the frame
+     */
+    public void setAnimatedBorderRadius(Radius borderRadius) {
+        inline |= StyleProperty.BORDER_RADIUS.getMask();
+        if (values.getBorderRadius() != borderRadius) {
+            writeAnimated(values.toBuilder().borderRadius(borderRadius));
+        }
+    }
+
+    /**
+     * Interns the properties which were set by the {@code setAnimated} setters, so this sheet shares its
+     * style again. Call this when an animation stops before its last frame.
+     */
+    public void settle() {
+        if (!animating) {
+            return;
+        }
+        Background background = values.getBackground();
+        Border border = values.getBorder();
+        DropShadow dropShadow = values.getDropShadow();
+        write(values.toBuilder()
+                .background(background == null ? null : StyleCache.intern(
+                        new Background(StyleCache.intern(background.getColor()), background.getImage())))
+                .border(border == null ? null : StyleCache.intern(
+                        border.toBuilder().color(StyleCache.intern(border.getColor())).build()))
+                .dropShadow(dropShadow == null ? null : StyleCache.intern(
+                        dropShadow.toBuilder().color(StyleCache.intern(dropShadow.getColor())).build()))
+                .borderRadius(StyleCache.intern(values.getBorderRadius())));
+    }
+
+    /**
+     * @param alignment the new alignment of the children
+     */
+    public void setAlignment(Alignment alignment) {
+        inline |= StyleProperty.ALIGNMENT.getMask();
+        if (values.getAlignment() != alignment) {
+            write(values.toBuilder().alignment(alignment));
+        }
+    }
+
+    /**
+     * @param flex the new flexbox properties, {@code null} if the element is no flex container
+     */
+    public void setFlex(Flex flex) {
+        flex = StyleCache.intern(flex);
+        inline |= StyleProperty.FLEX.getMask();
+        if (values.getFlex() != flex) {
+            write(values.toBuilder().flex(flex));
+        }
+    }
+
+    /**
+     * @param flexItem the new properties inside a flex parent, {@code null} for the defaults
+     */
+    public void setFlexItem(FlexItem flexItem) {
+        flexItem = StyleCache.intern(flexItem);
+        inline |= StyleProperty.FLEX_ITEM.getMask();
+        if (values.getFlexItem() != flexItem) {
+            write(values.toBuilder().flexItem(flexItem));
+        }
+    }
+
+    /**
+     * @param cornerSegmentation the new number of corner segments
+     */
+    public void setCornerSegmentation(int cornerSegmentation) {
+        inline |= StyleProperty.CORNER_SEGMENTATION.getMask();
+        if (values.getCornerSegmentation() != cornerSegmentation) {
+            write(values.toBuilder().cornerSegmentation(cornerSegmentation));
+        }
+    }
+
+    /**
+     * Replaces the shared properties by the interned result of the builder.
+     *
+     * @return the {@link StyleProperty} bits of all changed active properties
+     */
+    private int write(Style.StyleBuilder builder) {
+        Style next = StyleCache.intern(builder.build());
+        this.animating = false;
+        if (next == values) {
+            return 0;
+        }
+        this.values = next;
+        if (resolved != null) {
+            Arrays.fill(resolved, null);
+        }
+        return refresh();
+    }
+
+    /**
+     * Replaces the properties by the result of the builder without interning it, for an animation frame.
+     */
+    private void writeAnimated(Style.StyleBuilder builder) {
+        this.values = builder.build();
+        this.animating = true;
+        if (resolved != null) {
+            Arrays.fill(resolved, null);
+        }
+        refresh();
+    }
+
+    /**
+     * The builder of a {@code StyleSheet}. Every property which is not set keeps its shared default value.
+     */
+    public static class StyleSheetBuilder {
+
+        private final Style.StyleBuilder builder = Style.builder();
+        private int inline;
+
+        private StyleSheetBuilder() {
+        }
+
+        /**
+         * @param zIndex the z-index
+         * @return this builder
+         */
+        public StyleSheetBuilder zIndex(int zIndex) {
+            builder.zIndex(zIndex);
+            inline |= StyleProperty.Z_INDEX.getMask();
+            return this;
+        }
+
+        /**
+         * @param background the background
+         * @return this builder
+         */
+        public StyleSheetBuilder background(Background background) {
+            builder.background(StyleCache.intern(background));
+            inline |= StyleProperty.BACKGROUND.getMask();
+            return this;
+        }
+
+        /**
+         * @param border the border
+         * @return this builder
+         */
+        public StyleSheetBuilder border(Border border) {
+            builder.border(StyleCache.intern(border));
+            inline |= StyleProperty.BORDER.getMask();
+            return this;
+        }
+
+        /**
+         * @param dropShadow the drop shadow
+         * @return this builder
+         */
+        public StyleSheetBuilder dropShadow(DropShadow dropShadow) {
+            builder.dropShadow(StyleCache.intern(dropShadow));
+            inline |= StyleProperty.DROP_SHADOW.getMask();
+            return this;
+        }
+
+        /**
+         * @param borderRadius the border radius
+         * @return this builder
+         */
+        public StyleSheetBuilder borderRadius(Radius borderRadius) {
+            builder.borderRadius(StyleCache.intern(borderRadius));
+            inline |= StyleProperty.BORDER_RADIUS.getMask();
+            return this;
+        }
+
+        /**
+         * @param alignment the alignment of the children
+         * @return this builder
+         */
+        public StyleSheetBuilder alignment(Alignment alignment) {
+            builder.alignment(alignment);
+            inline |= StyleProperty.ALIGNMENT.getMask();
+            return this;
+        }
+
+        /**
+         * @param flex the flexbox properties
+         * @return this builder
+         */
+        public StyleSheetBuilder flex(Flex flex) {
+            builder.flex(StyleCache.intern(flex));
+            inline |= StyleProperty.FLEX.getMask();
+            return this;
+        }
+
+        /**
+         * @param flexItem the properties inside a flex parent
+         * @return this builder
+         */
+        public StyleSheetBuilder flexItem(FlexItem flexItem) {
+            builder.flexItem(StyleCache.intern(flexItem));
+            inline |= StyleProperty.FLEX_ITEM.getMask();
+            return this;
+        }
+
+        /**
+         * @param cornerSegmentation the number of corner segments
+         * @return this builder
+         */
+        public StyleSheetBuilder cornerSegmentation(int cornerSegmentation) {
+            builder.cornerSegmentation(cornerSegmentation);
+            inline |= StyleProperty.CORNER_SEGMENTATION.getMask();
+            return this;
+        }
+
+        /**
+         * @return the new {@code StyleSheet} with the interned properties of this builder. The properties which
+         * were set on this builder count as set explicitly.
+         */
+        public StyleSheet build() {
+            StyleSheet sheet = new StyleSheet(builder.build());
+            sheet.base = Style.DEFAULT;
+            sheet.inline = inline;
+            return sheet;
+        }
+    }
+}
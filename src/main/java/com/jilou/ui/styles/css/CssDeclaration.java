@@ -0,0 +1,66 @@
+package com.jilou.ui.styles.css;
+
+import com.jilou.ui.styles.Style;
+import com.jilou.ui.styles.StyleProperty;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Represents one parsed css declaration, like {@code border-color: #FF0000}.
+ * <p>
+ * A declaration changes exactly one {@link StyleProperty}. Declarations of a part of a property, like the
+ * color of the border, keep the other parts of the current value.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+public final class CssDeclaration {
+
+    /**
+     * The property which is changed by this declaration.
+     */
+    private final StyleProperty property;
+
+    /**
+     * The source text of the declaration.
+     */
+    private final String text;
+
+    /**
+     * Produces the changed style from the current style.
+     */
+    @Getter(AccessLevel.NONE)
+    private final UnaryOperator<Style> operator;
+
+    /**
+     * Constructs a new {@code CssDeclaration}.
+     *
+     * @param property the changed property
+     * @param text     the source text
+     * @param operator produces the changed style from the current style
+     */
+    CssDeclaration(StyleProperty property, String text, UnaryOperator<Style> operator) {
+        this.property = property;
+        this.text = text;
+        this.operator = operator;
+    }
+
+    /**
+     * Applies this declaration to the given style.
+     *
+     * @param style the current style
+     * @return the changed style
+     */
+    public Style apply(Style style) {
+        return operator.apply(style);
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -0,0 +1,538 @@
+package com.jilou.ui.styles.css;
+
+import com.jilou.ui.enums.WidgetState;
+import com.jilou.ui.enums.css.AlignItems;
+import com.jilou.ui.enums.css.Alignment;
+import com.jilou.ui.enums.css.BorderType;
+import com.jilou.ui.enums.css.FlexDirection;
+import com.jilou.ui.enums.css.JustifyContent;
+import com.jilou.ui.styles.Style;
+import com.jilou.ui.styles.StyleProperty;
+import com.jilou.ui.styles.types.Background;
+import com.jilou.ui.styles.types.Border;
+import com.jilou.ui.styles.types.DropShadow;
+import com.jilou.ui.styles.types.Flex;
+import com.jilou.ui.styles.types.FlexItem;
+import com.jilou.ui.styles.types.Radius;
+import com.jilou.ui.utils.Color;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Parses the css-like style language of Jilou into {@link CssRule}'s.
+ * <p>
+ * A source is a list of rules {@code selector, selector { property: value; ... }}, comments use
+ * {@code /* ... *}{@code /}. Selectors are described at {@link CssSelector}. Supported properties:
+ * </p>
+ * <ul>
+ *     <li>{@code z-index}, {@code alignment}, {@code corner-segmentation}</li>
+ *     <li>{@code background}, {@code background-color}</li>
+ *     <li>{@code border} (width, style and color in any order), {@code border-color}, {@code border-width},
+ *     {@code border-style}</li>
+ *     <li>{@code border-radius} with one, two (top and bottom) or four values</li>
+ *     <li>{@code shadow-color}, {@code shadow-strength}, {@code shadow-layer}, {@code shadow-offset-x},
+ *     {@code shadow-offset-y}, {@code shadow-offset-w}, {@code shadow-offset-h}</li>
+ *     <li>{@code display} ({@code flex} or {@code block}), {@code flex-direction}, {@code justify-content},
+ *     {@code align-items}, {@code gap}, {@code padding}</li>
+ *     <li>{@code flex-grow}, {@code flex-shrink}, {@code flex-basis}, {@code align-self}, which do not make the
+ *     element a flex container</li>
+ * </ul>
+ * <p>
+ * Colors are written as {@code #RRGGBB}, {@code #RRGGBBAA}, {@code rgb(r, g, b)}, {@code rgba(r, g, b, a)}
+ * with an alpha from 0 to 1, or by the name of a {@link Color} constant, like {@code alice-blue}.
+ * Lengths may use the {@code px} suffix. Unknown properties and invalid values are logged and skipped,
+ * a malformed rule throws an {@link IllegalArgumentException}.
+ * </p>
+ *
+ * <p>
+ * This class cannot be instantiated.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public final class CssParser {
+
+    private static final Logger logger = LogManager.getLogger(CssParser.class);
+
+    /**
+     * The {@link Color} constants by their name in lower case without separators.
+     */
+    private static final Map<String, Color> NAMED_COLORS = namedColors();
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     * @throws IllegalStateException if an attempt is made to instantiate the class
+     */
+    private CssParser() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Parses the given source into rules, one rule per selector in source order.
+     *
+     * @param source the css source, {@code null} is treated as empty
+     * @return the parsed rules
+     * @throws IllegalArgumentException if a rule or selector is malformed
+     */
+    public static List<CssRule> parse(String source) {
+        List<CssRule> rules = new ArrayList<>();
+        if (source == null) {
+            return rules;
+        }
+        String text = stripComments(source);
+        int position = 0;
+        while (true) {
+            int open = text.indexOf('{', position);
+            if (open < 0) {
+                if (!text.substring(position).isBlank()) {
+                    throw new IllegalArgumentException("Expected '{' after: " + text.substring(position).trim());
+                }
+                return rules;
+            }
+            int close = text.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Missing '}' for rule: " + text.substring(position, open).trim());
+            }
+            String selectors = text.substring(position, open).trim();
+            if (selectors.isEmpty() || selectors.indexOf('}') >= 0) {
+                throw new IllegalArgumentException("Missing selector before '{' at " + open);
+            }
+            List<CssDeclaration> declarations = parseDeclarations(text.substring(open + 1, close));
+            for (String selector : selectors.split(",")) {
+                rules.add(new CssRule(parseSelector(selector.trim()), declarations, rules.size()));
+            }
+            position = close + 1;
+        }
+    }
+
+    /**
+     * Parses a single selector.
+     *
+     * @param text the selector text, like {@code Rectangle > .toolbar Text:hover}
+     * @return the parsed selector
+     * @throws IllegalArgumentException if the selector is malformed
+     */
+    public static CssSelector parseSelector(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Empty selector");
+        }
+        String[] tokens = text.replace(">", " > ").trim().split("\\s+");
+        List<CssSelector.Compound> compounds = new ArrayList<>(tokens.length);
+        boolean child = false;
+        for (String token : tokens) {
+            if (token.equals(">")) {
+                if (compounds.isEmpty() || child) {
+                    throw new IllegalArgumentException("Misplaced '>' in selector: " + text);
+                }
+                child = true;
+                continue;
+            }
+            compounds.add(parseCompound(token, child, text));
+            child = false;
+        }
+        if (child) {
+            throw new IllegalArgumentException("Selector ends with '>': " + text);
+        }
+        return new CssSelector(compounds, text);
+    }
+
+    /**
+     * Parses one compound like {@code Rectangle#save.primary:hover}.
+     */
+    private static CssSelector.Compound parseCompound(String token, boolean child, String selector) {
+        String type = null;
+        String name = null;
+        List<String> classes = new ArrayList<>(2);
+        int stateMask = 0;
+
+        int index = 0;
+        if (token.charAt(0) == '*') {
+            index = 1;
+        } else if (isIdentifier(token.charAt(0))) {
+            index = identifierEnd(token, 0);
+            type = token.substring(0, index);
+        }
+        while (index < token.length()) {
+            char prefix = token.charAt(index);
+            int end = identifierEnd(token, index + 1);
+            if (end == index + 1) {
+                throw new IllegalArgumentException("Invalid selector: " + selector);
+            }
+            String identifier = token.substring(index + 1, end);
+            switch (prefix) {
+                case '#' -> name = identifier;
+                case '.' -> classes.add(identifier);
+                case ':' -> {
+                    WidgetState state = WidgetState.fromPseudoClass(identifier.toLowerCase(Locale.ROOT));
+                    if (state == null) {
+                        throw new IllegalArgumentException("Unknown pseudo-class :" + identifier + " in selector: " + selector);
+                    }
+                    stateMask |= state.getMask();
+                }
+                default -> throw new IllegalArgumentException("Invalid selector: " + selector);
+            }
+            index = end;
+        }
+        return new CssSelector.Compound(type, name, classes.toArray(String[]::new), stateMask, child);
+    }
+
+    private static boolean isIdentifier(char c) {
+        return Character.isLetterOrDigit(c) || c == '-' || c == '_';
+    }
+
+    private static int identifierEnd(String token, int start) {
+        int end = start;
+        while (end < token.length() && isIdentifier(token.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Parses the body of a rule, invalid declarations are logged and skipped.
+     */
+    private static List<CssDeclaration> parseDeclarations(String body) {
+        List<CssDeclaration> declarations = new ArrayList<>();
+        for (String entry : body.split(";")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int colon = entry.indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("Missing ':' in declaration: " + entry.trim());
+            }
+            String property = entry.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = entry.substring(colon + 1).trim();
+            try {
+                CssDeclaration declaration = parseDeclaration(property, value);
+                if (declaration == null) {
+                    logger.warn("Unknown css property: [ {} ]", property);
+                } else {
+                    declarations.add(declaration);
+                }
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid css value for [ {} ]: [ {} ]", property, value);
+            }
+        }
+        return declarations;
+    }
+
+    /**
+     * Parses one declaration.
+     *
+     * @return the declaration, or {@code null} if the property is unknown
+     * @throws IllegalArgumentException if the value is invalid
+     */
+    private static CssDeclaration parseDeclaration(String property, String value) {
+        String text = property + ": " + value;
+        return switch (property) {
+            case "z-index" -> {
+                int zIndex = Integer.parseInt(value);
+                yield declaration(StyleProperty.Z_INDEX, text, style -> style.toBuilder().zIndex(zIndex).build());
+            }
+            case "corner-segmentation" -> {
+                int segments = Integer.parseInt(value);
+                yield declaration(StyleProperty.CORNER_SEGMENTATION, text, style -> style.toBuilder().cornerSegmentation(segments).build());
+            }
+            case "alignment" -> {
+                Alignment alignment = parseEnum(Alignment.class, value);
+                yield declaration(StyleProperty.ALIGNMENT, text, style -> style.toBuilder().alignment(alignment).build());
+            }
+            case "background", "background-color" -> {
+                Background background = Background.fromColor(parseColor(value));
+                yield declaration(StyleProperty.BACKGROUND, text, style -> style.toBuilder().background(background).build());
+            }
+            case "border" -> border(text, parseBorder(value));
+            case "border-color" -> {
+                Color color = parseColor(value);
+                yield border(text, border -> border.color(color));
+            }
+            case "border-width" -> {
+                double thickness = parseLength(value);
+                yield border(text, border -> border.thickness(thickness));
+            }
+            case "border-style" -> {
+                BorderType type = parseEnum(BorderType.class, value);
+                yield border(text, border -> border.type(type));
+            }
+            case "border-radius" -> {
+                Radius radius = parseRadius(value);
+                yield declaration(StyleProperty.BORDER_RADIUS, text, style -> style.toBuilder().borderRadius(radius).build());
+            }
+            case "shadow-color" -> {
+                Color color = parseColor(value);
+                yield shadow(text, shadow -> shadow.color(color));
+            }
+            case "shadow-strength" -> {
+                float strength = (float) parseNumber(value);
+                yield shadow(text, shadow -> shadow.strength(strength));
+            }
+            case "shadow-layer" -> {
+                int layer = Integer.parseInt(value);
+                yield shadow(text, shadow -> shadow.layer(layer));
+            }
+            case "shadow-offset-x" -> {
+                float offset = (float) parseLength(value);
+                yield shadow(text, shadow -> shadow.offsetX(offset));
+            }
+            case "shadow-offset-y" -> {
+                float offset = (float) parseLength(value);
+                yield shadow(text, shadow -> shadow.offsetY(offset));
+            }
+            case "shadow-offset-w" -> {
+                float offset = (float) parseLength(value);
+                yield shadow(text, shadow -> shadow.offsetW(offset));
+            }
+            case "shadow-offset-h" -> {
+                float offset = (float) parseLength(value);
+                yield shadow(text, shadow -> shadow.offsetH(offset));
+            }
+            case "display" -> switch (value.toLowerCase(Locale.ROOT)) {
+                case "flex" -> flex(text, flex -> flex);
+                case "block" -> declaration(StyleProperty.FLEX, text, style -> style.toBuilder().flex(null).build());
+                default -> throw new IllegalArgumentException("Unknown display: " + value);
+            };
+            case "flex-direction" -> {
+                FlexDirection direction = parseEnum(FlexDirection.class, value);
+                yield flex(text, flex -> flex.direction(direction));
+            }
+            case "justify-content" -> {
+                JustifyContent justifyContent = parseEnum(JustifyContent.class, value);
+                yield flex(text, flex -> flex.justifyContent(justifyContent));
+            }
+            case "align-items" -> {
+                AlignItems alignItems = parseEnum(AlignItems.class, value);
+                yield flex(text, flex -> flex.alignItems(alignItems));
+            }
+            case "align-self" -> {
+                AlignItems alignSelf = value.equalsIgnoreCase("auto") ? null : parseEnum(AlignItems.class, value);
+                yield flexItem(text, item -> item.alignSelf(alignSelf));
+            }
+            case "gap" -> {
+                double gap = parseLength(value);
+                yield flex(text, flex -> flex.gap(gap));
+            }
+            case "padding" -> {
+                double padding = parseLength(value);
+                yield flex(text, flex -> flex.padding(padding));
+            }
+            case "flex-grow" -> {
+                double grow = parseNumber(value);
+                yield flexItem(text, item -> item.grow(grow));
+            }
+            case "flex-shrink" -> {
+                double shrink = parseNumber(value);
+                yield flexItem(text, item -> item.shrink(shrink));
+            }
+            case "flex-basis" -> {
+                double basis = value.equalsIgnoreCase("auto") ? 0 : parseLength(value);
+                yield flexItem(text, item -> item.basis(basis));
+            }
+            default -> null;
+        };
+    }
+
+    private static CssDeclaration declaration(StyleProperty property, String text, UnaryOperator<Style> operator) {
+        return new CssDeclaration(property, text, operator);
+    }
+
+    private static CssDeclaration border(String text, UnaryOperator<Border.BorderBuilder> change) {
+        return declaration(StyleProperty.BORDER, text, style -> {
+            Border border = style.getBorder();
+            Border.BorderBuilder builder = border == null ? Border.builder() : border.toBuilder();
+            return style.toBuilder().border(change.apply(builder).build()).build();
+        });
+    }
+
+    private static CssDeclaration shadow(String text, UnaryOperator<DropShadow.DropShadowBuilder> change) {
+        return declaration(StyleProperty.DROP_SHADOW, text, style -> {
+            DropShadow shadow = style.getDropShadow();
+            DropShadow.DropShadowBuilder builder = shadow == null ? DropShadow.builder() : shadow.toBuilder();
+            return style.toBuilder().dropShadow(change.apply(builder).build()).build();
+        });
+    }
+
+    private static CssDeclaration flex(String text, UnaryOperator<Flex.FlexBuilder> change) {
+        return declaration(StyleProperty.FLEX, text, style -> {
+            Flex flex = style.getFlex();
+            Flex.FlexBuilder builder = flex == null ? Flex.builder() : flex.toBuilder();
+            return style.toBuilder().flex(change.apply(builder).build()).build();
+        });
+    }
+
+    private static CssDeclaration flexItem(String text, UnaryOperator<FlexItem.FlexItemBuilder> change) {
+        return declaration(StyleProperty.FLEX_ITEM, text, style -> {
+            FlexItem item = style.getFlexItem();
+            FlexItem.FlexItemBuilder builder = item == null ? FlexItem.builder() : item.toBuilder();
+            return style.toBuilder().flexItem(change.apply(builder).build()).build();
+        });
+    }
+
+    /**
+     * Parses the shorthand {@code border: <width> <style> <color>}, every part is optional.
+     */
+    private static UnaryOperator<Border.BorderBuilder> parseBorder(String value) {
+        Double thickness = null;
+        BorderType type = null;
+        Color color = null;
+        for (String part : splitValues(value)) {
+            if (Character.isDigit(part.charAt(0)) || part.charAt(0) == '.') {
+                thickness = parseLength(part);
+            } else if (type == null && isEnumConstant(BorderType.class, part)) {
+                type = parseEnum(BorderType.class, part);
+            } else {
+                color = parseColor(part);
+            }
+        }
+        Border border = Border.builder().build();
+        double finalThickness = thickness == null ? border.getThickness() : thickness;
+        BorderType finalType = type == null ? border.getType() : type;
+        Color finalColor = color == null ? border.getColor() : color;
+        return builder -> builder.thickness(finalThickness).type(finalType).color(finalColor);
+    }
+
+    /**
+     * Parses one, two (top and bottom) or four (top-left, top-right, bottom-right, bottom-left) radius values.
+     */
+    private static Radius parseRadius(String value) {
+        List<String> parts = splitValues(value);
+        return switch (parts.size()) {
+            case 1 -> new Radius(parseLength(parts.get(0)));
+            case 2 -> new Radius(parseLength(parts.get(0)), parseLength(parts.get(1)));
+            case 4 -> new Radius(parseLength(parts.get(0)), parseLength(parts.get(1)),
+                    parseLength(parts.get(3)), parseLength(parts.get(2)));
+            default -> throw new IllegalArgumentException("Invalid border-radius: " + value);
+        };
+    }
+
+    /**
+     * Parses a color in hexadecimal, functional or named notation.
+     *
+     * @param value the color text
+     * @return the color
+     * @throws IllegalArgumentException if the color is unknown
+     */
+    public static Color parseColor(String value) {
+        String text = value.trim().toLowerCase(Locale.ROOT);
+        if (text.startsWith("#")) {
+            if (text.length() != 7 && text.length() != 9) {
+                throw new IllegalArgumentException("Invalid hexadecimal color: " + value);
+            }
+            Integer.parseUnsignedInt(text.substring(1), 16);
+            return Color.hexadecimal(text);
+        }
+        if (text.startsWith("rgb(") || text.startsWith("rgba(")) {
+            if (!text.endsWith(")")) {
+                throw new IllegalArgumentException("Invalid color: " + value);
+            }
+            String[] parts = text.substring(text.indexOf('(') + 1, text.length() - 1).split(",");
+            if (parts.length != 3 && parts.length != 4) {
+                throw new IllegalArgumentException("Invalid color: " + value);
+            }
+            int alpha = parts.length == 4 ? (int) Math.round(Double.parseDouble(parts[3].trim()) * 255) : 255;
+            return Color.rgba(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()),
+                    Integer.parseInt(parts[2].trim()), alpha);
+        }
+        Color color = NAMED_COLORS.get(text.replace("-", "").replace("_", ""));
+        if (color == null) {
+            throw new IllegalArgumentException("Unknown color: " + value);
+        }
+        return color;
+    }
+
+    private static double parseLength(String value) {
+        String text = value.trim().toLowerCase(Locale.ROOT);
+        if (text.endsWith("px")) {
+            text = text.substring(0, text.length() - 2).trim();
+        }
+        return Double.parseDouble(text);
+    }
+
+    private static double parseNumber(String value) {
+        return Double.parseDouble(value.trim());
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+
+    private static <E extends Enum<E>> boolean isEnumConstant(Class<E> type, String value) {
+        try {
+            parseEnum(type, value);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Splits a value at whitespace, whitespace inside parentheses is kept.
+     */
+    private static List<String> splitValues(String value) {
+        List<String> parts = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int depth = 0;
+        for (char c : value.trim().toCharArray()) {
+            if (c == '(') depth++;
+            if (c == ')') depth--;
+            if (Character.isWhitespace(c) && depth == 0) {
+                if (!current.isEmpty()) {
+                    parts.add(current.toString());
+                    current.setLength(0);
+                }
+            } else {
+                current.append(c);
+            }
+        }
+        if (!current.isEmpty()) {
+            parts.add(current.toString());
+        }
+        if (parts.isEmpty()) {
+            throw new IllegalArgumentException("Empty value");
+        }
+        return parts;
+    }
+
+    private static String stripComments(String source) {
+        StringBuilder builder = new StringBuilder(source.length());
+        int position = 0;
+        while (position < source.length()) {
+            int start = source.indexOf("/*", position);
+            if (start < 0) {
+                builder.append(source, position, source.length());
+                break;
+            }
+            builder.append(source, position, start);
+            int end = source.indexOf("*/", start + 2);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed comment at " + start);
+            }
+            position = end + 2;
+        }
+        return builder.toString();
+    }
+
+    private static Map<String, Color> namedColors() {
+        Map<String, Color> colors = new HashMap<>();
+        for (Field field : Color.class.getFields()) {
+            if (field.getType() == Color.class && Modifier.isStatic(field.getModifiers())) {
+                try {
+                    colors.put(field.getName().replace("_", "").toLowerCase(Locale.ROOT), (Color) field.get(null));
+                } catch (IllegalAccessException e) {
+                    logger.error("Cannot read color constant [ {} ]", field.getName(), e);
+                }
+            }
+        }
+        return colors;
+    }
+}
@@ -0,0 +1,26 @@
+package com.jilou.ui.styles.css;
+
+import java.util.List;
+
+/**
+ * Represents one selector of a parsed css rule with its declarations.
+ * <p>
+ * A rule with a selector list, like {@code .a, .b { ... }}, is split into one {@code CssRule} per selector.
+ * The order is the position in the source and decides between rules with equal specificity.
+ * </p>
+ *
+ * @param selector     the selector of the rule
+ * @param declarations the declarations in source order
+ * @param order        the position of the rule in the source
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public record CssRule(CssSelector selector, List<CssDeclaration> declarations, int order) {
+
+    /**
+     * Constructs a new {@code CssRule} with an unmodifiable copy of the declarations.
+     */
+    public CssRule {
+        declarations = List.copyOf(declarations);
+    }
+}
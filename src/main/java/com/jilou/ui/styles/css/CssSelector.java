@@ -0,0 +1,128 @@
+package com.jilou.ui.styles.css;
+
+import com.jilou.ui.widget.AbstractWidget;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Represents a parsed css selector, like {@code Rectangle > .toolbar Text#save:hover}.
+ * <p>
+ * A selector is a chain of compounds joined by descendant (whitespace) or child ({@code >}) combinators.
+ * A compound matches a widget by its type (the simple class name, or {@code *}), its localized name
+ * ({@code #name}), its style classes ({@code .class}) and its states ({@code :hover}).
+ * The selector is matched from right to left, so most widgets are rejected by the first compound.
+ * Ancestors are the parent widgets, the {@link com.jilou.ui.container.layout.Layout} of a scene is not part
+ * of the chain, so a type selector never matches a layout.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+public final class CssSelector {
+
+    /**
+     * The compounds of the selector from left to right.
+     */
+    private final List<Compound> compounds;
+
+    /**
+     * The specificity of the selector, names weigh more than classes and states, which weigh more than types.
+     */
+    private final int specificity;
+
+    /**
+     * The source text of the selector.
+     */
+    private final String text;
+
+    /**
+     * Constructs a new {@code CssSelector} from its compounds.
+     *
+     * @param compounds the compounds from left to right, must not be empty
+     * @param text      the source text
+     */
+    CssSelector(List<Compound> compounds, String text) {
+        this.compounds = List.copyOf(compounds);
+        this.text = text;
+        int names = 0;
+        int classes = 0;
+        int types = 0;
+        for (Compound compound : compounds) {
+            if (compound.name() != null) names++;
+            classes += compound.classes().length + Integer.bitCount(compound.stateMask());
+            if (compound.type() != null) types++;
+        }
+        this.specificity = names * 10000 + classes * 100 + types;
+    }
+
+    /**
+     * @return the rightmost compound, which is used to index the selector.
+     */
+    public Compound getKey() {
+        return compounds.getLast();
+    }
+
+    /**
+     * Checks if the given widget matches this selector.
+     *
+     * @param widget the widget to check
+     * @return {@code true} if the widget matches
+     */
+    public boolean matches(AbstractWidget widget) {
+        return matches(compounds.size() - 1, widget);
+    }
+
+    private boolean matches(int index, AbstractWidget widget) {
+        Compound compound = compounds.get(index);
+        if (!compound.matches(widget)) {
+            return false;
+        }
+        if (index == 0) {
+            return true;
+        }
+        if (compound.child()) {
+            return widget.getParent() != null && matches(index - 1, widget.getParent());
+        }
+        for (AbstractWidget ancestor = widget.getParent(); ancestor != null; ancestor = ancestor.getParent()) {
+            if (matches(index - 1, ancestor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    /**
+     * One compound of a selector.
+     *
+     * @param type      the simple class name of the widget in lower case, {@code null} matches any type
+     * @param name      the localized name of the widget, {@code null} matches any name
+     * @param classes   the style classes the widget must have
+     * @param stateMask the {@link com.jilou.ui.enums.WidgetState} bits the widget must have
+     * @param child     {@code true} if the compound to the left must be the parent instead of any ancestor
+     */
+    public record Compound(String type, String name, String[] classes, int stateMask, boolean child) {
+
+        /**
+         * Checks if the given widget matches this compound alone.
+         *
+         * @param widget the widget to check
+         * @return {@code true} if the widget matches
+         */
+        public boolean matches(AbstractWidget widget) {
+            if ((widget.getState() & stateMask) != stateMask) return false;
+            if (name != null && !name.equals(widget.getLocalizedName())) return false;
+            if (type != null && !type.equalsIgnoreCase(widget.getWidgetName())) return false;
+            for (String styleClass : classes) {
+                if (!widget.hasStyleClass(styleClass)) return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.jilou.ui.styles.css;
+
+import com.jilou.ui.styles.Style;
+import com.jilou.ui.styles.StyleCache;
+import com.jilou.ui.styles.StyleSheet;
+import com.jilou.ui.widget.AbstractWidget;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A parsed css style sheet which computes the css style of widgets.
+ * <p>
+ * Every rule is indexed once by the rightmost compound of its selector: by name if it has one, else by
+ * its first class, else by its type, else as universal rule. A widget therefore only tests the rules of
+ * its own name, classes and type, instead of every rule.
+ * </p>
+ * <p>
+ * The cascade result is cached by the matched rules and the base style of the widget. Widgets with the
+ * same matches share one interned {@link Style}, so computing the style of a list of equal widgets only
+ * runs the declarations once. The widgets decide when their style is computed again, see
+ * {@link AbstractWidget#invalidateStyle()}.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public final class CssSheet {
+
+    /**
+     * A sheet without rules. Applying it resets every widget to its base style.
+     */
+    public static final CssSheet EMPTY = new CssSheet(List.of());
+
+    private static final Comparator<CssRule> CASCADE_ORDER = Comparator
+            .comparingInt((CssRule rule) -> rule.selector().getSpecificity())
+            .thenComparingInt(CssRule::order);
+
+    /**
+     * All rules of this sheet in source order.
+     */
+    @Getter
+    private final List<CssRule> rules;
+
+    private final Map<String, List<CssRule>> byName = new HashMap<>();
+    private final Map<String, List<CssRule>> byClass = new HashMap<>();
+    private final Map<String, List<CssRule>> byType = new HashMap<>();
+    private final List<CssRule> universal = new ArrayList<>();
+
+    /**
+     * True if any selector depends on a {@link com.jilou.ui.enums.WidgetState}.
+     */
+    @Getter
+    private final boolean stateDependent;
+
+    /**
+     * The computed cascade results by matched rules and base style.
+     */
+    private final Map<MatchKey, Computed> computed = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new {@code CssSheet} and indexes the given rules.
+     *
+     * @param rules the rules in source order
+     */
+    public CssSheet(List<CssRule> rules) {
+        this.rules = List.copyOf(rules);
+        boolean states = false;
+        for (CssRule rule : this.rules) {
+            for (CssSelector.Compound compound : rule.selector().getCompounds()) {
+                states |= compound.stateMask() != 0;
+            }
+            CssSelector.Compound key = rule.selector().getKey();
+            if (key.name() != null) {
+                byName.computeIfAbsent(key.name(), name -> new ArrayList<>()).add(rule);
+            } else if (key.classes().length > 0) {
+                byClass.computeIfAbsent(key.classes()[0], name -> new ArrayList<>()).add(rule);
+            } else if (key.type() != null) {
+                byType.computeIfAbsent(key.type().toLowerCase(Locale.ROOT), name -> new ArrayList<>()).add(rule);
+            } else {
+                universal.add(rule);
+            }
+        }
+        this.stateDependent = states;
+    }
+
+    /**
+     * Parses a css source into a sheet.
+     *
+     * @param source the css source
+     * @return the parsed sheet
+     * @throws IllegalArgumentException if the source is malformed
+     * @see CssParser
+     */
+    public static CssSheet parse(String source) {
+        return new CssSheet(CssParser.parse(source));
+    }
+
+    /**
+     * Finds all rules which match the given widget, in cascade order.
+     *
+     * @param widget the widget
+     * @return the matching rules, the last rule wins
+     */
+    public List<CssRule> match(AbstractWidget widget) {
+        List<CssRule> matched = new ArrayList<>();
+        collect(universal, widget, matched);
+        collect(byType.get(widget.getWidgetName().toLowerCase(Locale.ROOT)), widget, matched);
+        collect(byName.get(widget.getLocalizedName()), widget, matched);
+        for (String styleClass : widget.getStyleClasses()) {
+            collect(byClass.get(styleClass), widget, matched);
+        }
+        matched.sort(CASCADE_ORDER);
+        return matched;
+    }
+
+    /**
+     * Computes the css style of the given widget and applies it to its {@link StyleSheet}.
+     * Properties which were set explicitly on the sheet are kept.
+     *
+     * @param widget the widget
+     * @return the {@link com.jilou.ui.styles.StyleProperty} bits of all properties whose value changed
+     */
+    public int apply(AbstractWidget widget) {
+        StyleSheet sheet = widget.getStyle();
+        List<CssRule> matched = rules.isEmpty() ? List.of() : match(widget);
+        int[] orders = new int[matched.size()];
+        for (int i = 0; i < orders.length; i++) {
+            orders[i] = matched.get(i).order();
+        }
+        Computed result = computed.computeIfAbsent(new MatchKey(sheet.getBase(), orders), key -> compute(key.base(), matched));
+        return sheet.applyCascade(result.mask(), result.style());
+    }
+
+    /**
+     * @return the amount of distinct cached cascade results.
+     */
+    public int getCachedCount() {
+        return computed.size();
+    }
+
+    private static void collect(List<CssRule> candidates, AbstractWidget widget, List<CssRule> matched) {
+        if (candidates == null) return;
+        for (CssRule rule : candidates) {
+            if (rule.selector().matches(widget)) {
+                matched.add(rule);
+            }
+        }
+    }
+
+    private static Computed compute(Style base, List<CssRule> matched) {
+        Style style = base;
+        int mask = 0;
+        for (CssRule rule : matched) {
+            for (CssDeclaration declaration : rule.declarations()) {
+                style = declaration.apply(style);
+                mask |= declaration.getProperty().getMask();
+            }
+        }
+        style = style.toBuilder()
+                .background(StyleCache.intern(style.getBackground()))
+                .border(StyleCache.intern(style.getBorder()))
+                .dropShadow(StyleCache.intern(style.getDropShadow()))
+                .borderRadius(StyleCache.intern(style.getBorderRadius()))
+                .flex(StyleCache.intern(style.getFlex()))
+                .flexItem(StyleCache.intern(style.getFlexItem()))
+                .build();
+        return new Computed(mask, StyleCache.intern(style));
+    }
+
+    /**
+     * The key of a cached cascade result.
+     */
+    private record MatchKey(Style base, int[] orders) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof MatchKey key && key.base == base && Arrays.equals(key.orders, orders);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(base) + Arrays.hashCode(orders);
+        }
+    }
+
+    /**
+     * A cached cascade result.
+     *
+     * @param mask  the declared properties
+     * @param style the cascaded style
+     */
+    private record Computed(int mask, Style style) {
+    }
+}
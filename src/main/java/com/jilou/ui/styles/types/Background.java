@@ -1,24 +1,32 @@
 package com.jilou.ui.styles.types;
 
+import com.jilou.ui.logic.graphics.image.Image;
+import com.jilou.ui.styles.StyleCache;
 import com.jilou.ui.utils.Color;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.Setter;
 
 /**
  * The {@code Background} class represents the background of a graphical element.
- * It contains a {@link Color} that defines the appearance of the background.
+ * It contains a {@link Color} and an optional {@link Image} which is stretched over the element on top of the color.
+ * Backgrounds are immutable and can be shared by any amount of styles.
  *
  * @since 0.1.0
  * @author Daniel Ramke
  */
-@Setter
 @Getter
+@EqualsAndHashCode
 public class Background {
 
     /**
      * The color of the background. It controls the visual appearance of the background in a graphical context.
      */
-    private Color color;
+    private final Color color;
+
+    /**
+     * The image of the background, null for a color only background.
+     */
+    private final Image image;
 
     /**
      * Constructor for the {@code Background} class, which sets the background color.
@@ -26,17 +34,40 @@ public class Background {
      * @param color The color of the background.
      */
     public Background(Color color) {
+        this(color, null);
+    }
+
+    /**
+     * Constructor for the {@code Background} class, which sets the background color and image.
+     *
+     * @param color The color of the background, null to draw the image only.
+     * @param image The image of the background, null to draw the color only.
+     */
+    public Background(Color color, Image image) {
         this.color = color;
+        this.image = image;
     }
 
     /**
-     * Static method to create a new {@code Background} with the specified {@link Color}.
+     * Static method to get the shared {@code Background} with the specified {@link Color}.
+     * Equal backgrounds are interned by the {@link StyleCache}, so no new object is kept per call.
      *
      * @param color The color of the background.
-     * @return A new {@code Background} object with the specified color.
+     * @return The shared {@code Background} object with the specified color.
      */
     public static Background fromColor(Color color) {
-        return new Background(color);
+        return StyleCache.intern(new Background(StyleCache.intern(color)));
+    }
+
+    /**
+     * Static method to get the shared {@code Background} with the specified {@link Image} and no color.
+     * The image is acquired by every widget which draws the background and released when it stops drawing it.
+     *
+     * @param image The image of the background.
+     * @return The shared {@code Background} object with the specified image.
+     */
+    public static Background fromImage(Image image) {
+        return StyleCache.intern(new Background(null, image));
     }
 
 }
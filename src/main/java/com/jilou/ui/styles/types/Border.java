@@ -3,20 +3,21 @@ package com.jilou.ui.styles.types;
 import com.jilou.ui.enums.css.BorderType;
 import com.jilou.ui.utils.Color;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.Setter;
 
 /**
  * Represents a customizable border with properties such as color, thickness, and type.
- * This class uses the Lombok annotations {@code @Getter}, {@code @Setter}, and {@code @Builder}
- * to reduce boilerplate code for getters, setters, and builder pattern implementation.
+ * This class uses the Lombok annotations {@code @Getter}, {@code @EqualsAndHashCode}, and {@code @Builder}
+ * to reduce boilerplate code for getters, value equality, and builder pattern implementation.
+ * Borders are immutable and can be shared by any amount of styles.
  *
  * @since 0.1.0
  * @author Daniel Ramke
  */
 @Getter
-@Setter
-@Builder
+@EqualsAndHashCode
+@Builder(toBuilder = true)
 public class Border {
 
     /**
@@ -2,20 +2,21 @@ package com.jilou.ui.styles.types;
 
 import com.jilou.ui.utils.Color;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.Setter;
 
 /**
  * The {@code DropShadow} class represents the shadow effect applied to graphical elements. It includes properties
  * such as strength, offset, color, layer depth, and radius to customize how the shadow appears around an element.
  * This class uses a builder pattern for easy instantiation and customization.
+ * Drop shadows are immutable and can be shared by any amount of styles.
  *
  * @since 0.1.0
  * @author Daniel Ramke
  */
 @Getter
-@Setter
-@Builder
+@EqualsAndHashCode
+@Builder(toBuilder = true)
 public class DropShadow {
 
     /**
@@ -83,19 +84,6 @@ public class DropShadow {
      */
     private Radius radius;
 
-    /**
-     * Sets the layer value with constraints. If the provided layer value is outside the allowed range,
-     * it is clamped to a default value of 2.
-     *
-     * @param layer The layer value to be set. It must be between {@link #MIN_LAYER} and {@link #MAX_LAYER}.
-     */
-    public void setLayer(int layer) {
-        if(layer < MIN_LAYER || layer > MAX_LAYER) {
-            layer = 2;
-        }
-        this.layer = layer;
-    }
-
     /**
      * The builder class for {@code DropShadow}. It provides a custom method for setting the {@code layer} field with constraints.
      *
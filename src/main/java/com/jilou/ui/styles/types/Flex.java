@@ -0,0 +1,61 @@
+package com.jilou.ui.styles.types;
+
+import com.jilou.ui.enums.css.AlignItems;
+import com.jilou.ui.enums.css.FlexDirection;
+import com.jilou.ui.enums.css.JustifyContent;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Represents the flexbox container properties of a widget, which are used when the widget arranges its own
+ * children. The properties of a widget inside a flex parent are a {@link FlexItem}.
+ * <p>
+ * This class uses the Lombok annotations {@code @Getter}, {@code @EqualsAndHashCode}, and {@code @Builder}
+ * to reduce boilerplate code for getters, value equality, and builder pattern implementation.
+ * Flex properties are immutable and can be shared by any amount of styles.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+@EqualsAndHashCode
+@Builder(toBuilder = true)
+public class Flex {
+
+    /**
+     * The main axis of the container.
+     * Default value: {@code FlexDirection.ROW}.
+     */
+    @Builder.Default
+    private FlexDirection direction = FlexDirection.ROW;
+
+    /**
+     * The distribution of free space along the main axis.
+     * Default value: {@code JustifyContent.START}.
+     */
+    @Builder.Default
+    private JustifyContent justifyContent = JustifyContent.START;
+
+    /**
+     * The placement of the children along the cross axis.
+     * Default value: {@code AlignItems.START}.
+     */
+    @Builder.Default
+    private AlignItems alignItems = AlignItems.START;
+
+    /**
+     * The space between two children along the main axis in pixels.
+     * Default value: {@code 0}.
+     */
+    @Builder.Default
+    private double gap = 0;
+
+    /**
+     * The inner space between the container edges and its children in pixels.
+     * Default value: {@code 0}.
+     */
+    @Builder.Default
+    private double padding = 0;
+}
@@ -0,0 +1,52 @@
+package com.jilou.ui.styles.types;
+
+import com.jilou.ui.enums.css.AlignItems;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Represents the properties of a widget which is arranged by a flex parent.
+ * <p>
+ * The item properties are separate from the container properties of {@link Flex}, so a widget which grows
+ * inside its parent does not become a flex container for its own children. Flex item properties are immutable
+ * and can be shared by any amount of styles.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+@EqualsAndHashCode
+@Builder(toBuilder = true)
+public class FlexItem {
+
+    /**
+     * The share of positive free space this widget receives inside a flex parent.
+     * Default value: {@code 0}.
+     */
+    @Builder.Default
+    private double grow = 0;
+
+    /**
+     * The share of negative free space this widget gives up inside a flex parent.
+     * Default value: {@code 1}.
+     */
+    @Builder.Default
+    private double shrink = 1;
+
+    /**
+     * The initial main size of this widget inside a flex parent. Values {@code <= 0} mean auto,
+     * the measured size of the widget is used instead.
+     * Default value: {@code 0}.
+     */
+    @Builder.Default
+    private double basis = 0;
+
+    /**
+     * Overrides the {@code alignItems} of the flex parent for this widget, {@code null} means inherit.
+     * Default value: {@code null}.
+     */
+    @Builder.Default
+    private AlignItems alignSelf = null;
+}
@@ -55,7 +55,7 @@ public final class AlignmentUtils {
         StyleSheet parentSheet = parent.getStyle();
 
         for (AbstractWidget child : children) {
-            if (child.getLocalizedName().equals(parent.getLocalizedName())) {
+            if (!child.isDisplayed() || child.getLocalizedName().equals(parent.getLocalizedName())) {
                 continue;
             }
 
@@ -8,6 +8,10 @@ import java.util.Random;
 /**
  * The Color class provides utilities to manage and manipulate colors in various formats such as RGB, HSB, hexadecimal, and more.
  * It includes methods for converting between color models and blending or modifying colors.
+ * <p>
+ * Colors are immutable, so the same instance can be shared by any amount of styles. Two colors are equal
+ * if their primitive values are equal. The hexadecimal and HSB representations are only computed on demand.
+ * </p>
  */
 @SuppressWarnings("unused")
 public class Color {
@@ -15,21 +19,29 @@ public class Color {
     private static final Logger logger = LogManager.getLogger(Color.class);
     private static final Random random = new Random();
 
-    private int red;
-    private int green;
-    private int blue;
-    private int alpha;
+    private final int red;
+    private final int green;
+    private final int blue;
+    private final int alpha;
 
-    private int primitive;
-    private float[] hsb;
-    private String hexadecimal;
+    private final int primitive;
+    /**
+     * Computed on demand. The fields are volatile, so a color which is shared between threads never shows a
+     * partly written array.
+     */
+    private volatile float[] hsb;
+    private volatile String hexadecimal;
 
     /**
      * Creates a Color instance from a 32-bit integer representation.
      * @param primitive The 32-bit integer color value.
      */
     public Color(int primitive) {
-        set(primitive);
+        this.primitive = primitive;
+        this.red = (primitive >> 16) & 0xFF;
+        this.green = (primitive >> 8) & 0xFF;
+        this.blue = primitive & 0xFF;
+        this.alpha = (primitive >> 24) & 0xFF;
     }
 
     /**
@@ -37,7 +49,7 @@ public class Color {
      * @param hexadecimal The hexadecimal color string (e.g., "#RRGGBBAA").
      */
     public Color(String hexadecimal) {
-        setHexadecimal(hexadecimal);
+        this(parseHexadecimal(hexadecimal));
     }
 
     /**
@@ -47,7 +59,7 @@ public class Color {
      * @param brightness The brightness component (0.0 to 1.0).
      */
     public Color(float hue, float saturation, float brightness) {
-        convertHsbToRgb(hue, saturation, brightness);
+        this(convertHsbToRgb(hue, saturation, brightness));
     }
 
     /**
@@ -89,7 +101,7 @@ public class Color {
      * @param alpha The alpha component (0 to 255).
      */
     public Color(int red, int green, int blue, int alpha) {
-        set(red, green, blue, alpha);
+        this(generatePrimitive(clamp(red), clamp(green), clamp(blue), clamp(alpha)));
     }
 
     /**
@@ -101,72 +113,41 @@ public class Color {
     }
 
     /**
-     * Sets the color using RGBA values.
-     * @param red The red component (0 to 255).
-     * @param green The green component (0 to 255).
-     * @param blue The blue component (0 to 255).
-     * @param alpha The alpha component (0 to 255).
-     */
-    public void set(int red, int green, int blue, int alpha) {
-        this.red = clamp(red);
-        this.green = clamp(green);
-        this.blue = clamp(blue);
-        this.alpha = clamp(alpha);
-        generatePrimitive();
-        updateHexadecimal();
-        updateHsb();
-    }
-
-    /**
-     * Sets the color using a 32-bit integer representation.
-     * @param primitive The 32-bit integer color value.
-     */
-    public void set(int primitive) {
-        this.primitive = primitive;
-        this.red = (primitive >> 16) & 0xFF;
-        this.green = (primitive >> 8) & 0xFF;
-        this.blue = primitive & 0xFF;
-        this.alpha = (primitive >> 24) & 0xFF;
-        updateHexadecimal();
-        updateHsb();
-    }
-
-    /**
-     * Sets the color using a hexadecimal string.
+     * Parses a hexadecimal string, invalid strings are logged and parsed as opaque black.
      * @param hexadecimal The hexadecimal color string (e.g., "#RRGGBBAA" or "#RRGGBB").
+     * @return The 32-bit integer color value.
      */
-    public void setHexadecimal(String hexadecimal) {
+    private static int parseHexadecimal(String hexadecimal) {
         if (!hexadecimal.startsWith("#")) {
             hexadecimal = "#" + hexadecimal;
         }
 
         try {
             if (hexadecimal.length() == 9) {
-                set(
+                return generatePrimitive(
                         Integer.parseInt(hexadecimal.substring(1, 3), 16),
                         Integer.parseInt(hexadecimal.substring(3, 5), 16),
                         Integer.parseInt(hexadecimal.substring(5, 7), 16),
                         Integer.parseInt(hexadecimal.substring(7, 9), 16)
                 );
             } else if (hexadecimal.length() == 7) {
-                set(
+                return generatePrimitive(
                         Integer.parseInt(hexadecimal.substring(1, 3), 16),
                         Integer.parseInt(hexadecimal.substring(3, 5), 16),
                         Integer.parseInt(hexadecimal.substring(5, 7), 16),
                         255
                 );
-            } else {
-                logger.error("Invalid hexadecimal format: [ {} ]", hexadecimal);
-                set(0, 0, 0, 255);
             }
+            logger.error("Invalid hexadecimal format: [ {} ]", hexadecimal);
         } catch (NumberFormatException e) {
             logger.error("Error parsing hexadecimal: [ {} ]", hexadecimal, e);
-            set(0, 0, 0, 255);
         }
+        return generatePrimitive(0, 0, 0, 255);
     }
 
     /**
      * Converts the current RGB color to its hexadecimal representation with alpha included.
+     * This is only done on the first call of {@link #getHexadecimal()}.
      */
     private void updateHexadecimal() {
         this.hexadecimal = String.format("#%02X%02X%02X%02X", red, green, blue, alpha);
@@ -182,6 +163,7 @@ public class Color {
 
     /**
      * Converts the current RGB color to HSB values and updates the internal HSB array.
+     * This is only done on the first call of {@link #getHsb()}.
      */
     private void updateHsb() {
         float r = red / 255.0f;
@@ -210,13 +192,14 @@ public class Color {
     }
 
     /**
-     * Converts HSB (Hue, Saturation, Brightness) values to RGB (Red, Green, Blue) and updates the color.
+     * Converts HSB (Hue, Saturation, Brightness) values to RGB (Red, Green, Blue).
      *
      * @param hue        The hue component (0.0 to 1.0), representing the color type (e.g., red, green, blue).
      * @param saturation The saturation component (0.0 to 1.0), representing the intensity of the color.
      * @param brightness The brightness component (0.0 to 1.0), representing the lightness of the color.
+     * @return The 32-bit integer color value.
      */
-    public void convertHsbToRgb(float hue, float saturation, float brightness) {
+    private static int convertHsbToRgb(float hue, float saturation, float brightness) {
         int redBit;
         int greenBit;
         int blueBit;
@@ -268,15 +251,16 @@ public class Color {
                 }
             }
         }
-        this.set((redBit << 16), (greenBit << 8), (blueBit), 0xff000000);
+        return 0xFF000000 | (redBit << 16) | (greenBit << 8) | blueBit;
     }
 
 
     /**
-     * Generates the 32-bit integer representation of the current RGBA color.
+     * Generates the 32-bit integer representation of an RGBA color.
+     * @return The 32-bit integer color value.
      */
-    private void generatePrimitive() {
-        this.primitive = ((alpha & 0xFF) << 24) | ((red & 0xFF) << 16) | ((green & 0xFF) << 8) | (blue & 0xFF);
+    private static int generatePrimitive(int red, int green, int blue, int alpha) {
+        return ((alpha & 0xFF) << 24) | ((red & 0xFF) << 16) | ((green & 0xFF) << 8) | (blue & 0xFF);
     }
 
     /**
@@ -407,7 +391,12 @@ public class Color {
      *         represent the red, green, and blue components in hexadecimal notation.
      */
     public String getHexadecimal() {
-        return hexadecimal;
+        String value = hexadecimal;
+        if (value == null) {
+            updateHexadecimal();
+            value = hexadecimal;
+        }
+        return value;
     }
 
     /**
@@ -419,7 +408,24 @@ public class Color {
      *         [2] = Brightness (0 to 1).
      */
     public float[] getHsb() {
-        return hsb;
+        float[] value = hsb;
+        if (value == null) {
+            updateHsb();
+            value = hsb;
+        }
+        return value.clone();
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (!(object instanceof Color color)) return false;
+        return primitive == color.primitive;
+    }
+
+    @Override
+    public int hashCode() {
+        return primitive;
     }
 
     /* ############################################################################################
@@ -0,0 +1,199 @@
+package com.jilou.ui.utils;
+
+import com.jilou.ui.enums.css.AlignItems;
+import com.jilou.ui.enums.css.FlexDirection;
+import com.jilou.ui.styles.types.Flex;
+import com.jilou.ui.styles.types.FlexItem;
+import com.jilou.ui.widget.AbstractWidget;
+
+import java.util.List;
+
+/**
+ * Utility class for the measure and arrange passes of flexbox containers.
+ * <p>
+ * The measure pass computes the content size of a container from the cached measured sizes of its children,
+ * see {@link AbstractWidget#measure()}. The arrange pass distributes the available main axis space between
+ * the children by the {@code grow}, {@code shrink} and {@code basis} values of their {@link FlexItem}, applies the
+ * {@code justifyContent} and {@code alignItems} rules and assigns the final bounds with
+ * {@link AbstractWidget#setLayoutBounds(double, double, double, double)}.
+ * Both passes work in place and allocate nothing.
+ * </p>
+ *
+ * <p>
+ * This class cannot be instantiated.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public final class FlexUtils {
+
+    /**
+     * The default {@code shrink} value of children without own flex properties.
+     */
+    private static final double DEFAULT_SHRINK = 1;
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     * @throws IllegalStateException if an attempt is made to instantiate the class
+     */
+    private FlexUtils() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Computes the content size of a flex container along one axis.
+     * <p>
+     * Along the main axis this is the sum of the child bases plus gaps, along the cross axis it is the largest
+     * measured child. The padding of the container is included on both sides.
+     * </p>
+     *
+     * @param flex       the flex properties of the container
+     * @param children   the children of the container
+     * @param horizontal {@code true} to measure the width, {@code false} to measure the height
+     * @return the content size in pixels
+     */
+    public static double measureContent(Flex flex, List<AbstractWidget> children, boolean horizontal) {
+        if (flex == null || children == null) return 0;
+
+        boolean mainAxis = flex.getDirection().isHorizontal() == horizontal;
+        double size = 0;
+        int count = 0;
+        for (int i = 0; i < children.size(); i++) {
+            AbstractWidget child = children.get(i);
+            if (!child.isDisplayed()) continue;
+            count++;
+            if (mainAxis) {
+                size += basis(child, horizontal);
+            } else {
+                size = Math.max(size, measured(child, horizontal));
+            }
+        }
+        if (mainAxis && count > 1) {
+            size += flex.getGap() * (count - 1);
+        }
+        return size + flex.getPadding() * 2;
+    }
+
+    /**
+     * Arranges the children of a flex container inside the given bounds.
+     *
+     * @param flex     the flex properties of the container
+     * @param x        the x position of the container
+     * @param y        the y position of the container
+     * @param width    the width of the container
+     * @param height   the height of the container
+     * @param children the children to arrange
+     */
+    public static void arrange(Flex flex, double x, double y, double width, double height, List<AbstractWidget> children) {
+        if (flex == null || children == null) return;
+
+        FlexDirection direction = flex.getDirection();
+        boolean horizontal = direction.isHorizontal();
+        double padding = flex.getPadding();
+        double innerMain = Math.max(0, (horizontal ? width : height) - padding * 2);
+        double innerCross = Math.max(0, (horizontal ? height : width) - padding * 2);
+        int count = 0;
+        double totalBase = 0;
+        double totalGrow = 0;
+        double totalShrink = 0;
+        for (int i = 0; i < children.size(); i++) {
+            AbstractWidget child = children.get(i);
+            if (!child.isDisplayed()) continue;
+            count++;
+            double base = basis(child, horizontal);
+            totalBase += base;
+            totalGrow += grow(child);
+            totalShrink += shrink(child) * base;
+        }
+        if (count == 0) return;
+
+        double gaps = count > 1 ? flex.getGap() * (count - 1) : 0;
+        double free = innerMain - totalBase - gaps;
+        boolean growing = free > 0 && totalGrow > 0;
+        boolean shrinking = free < 0 && totalShrink > 0;
+        double remaining = growing || shrinking ? 0 : Math.max(0, free);
+
+        double lead = 0;
+        double between = flex.getGap();
+        switch (flex.getJustifyContent()) {
+            case START -> lead = 0;
+            case END -> lead = free < 0 && !shrinking ? free : remaining;
+            case CENTER -> lead = (free < 0 && !shrinking ? free : remaining) / 2;
+            case SPACE_BETWEEN -> between += count > 1 ? remaining / (count - 1) : 0;
+            case SPACE_AROUND -> {
+                between += remaining / count;
+                lead = remaining / count / 2;
+            }
+            case SPACE_EVENLY -> {
+                between += remaining / (count + 1);
+                lead = remaining / (count + 1);
+            }
+            default -> throw new IllegalStateException("Unexpected value: " + flex.getJustifyContent());
+        }
+
+        double cursor = lead;
+        for (int i = 0; i < children.size(); i++) {
+            AbstractWidget child = children.get(i);
+            if (!child.isDisplayed()) continue;
+            double base = basis(child, horizontal);
+            double main = base;
+            if (growing) {
+                main += free * grow(child) / totalGrow;
+            } else if (shrinking) {
+                main += free * shrink(child) * base / totalShrink;
+            }
+            main = Math.max(0, main);
+
+            AlignItems align = alignSelf(child, flex);
+            double cross = align == AlignItems.STRETCH ? innerCross : measured(child, !horizontal);
+            double crossPosition = switch (align) {
+                case END -> innerCross - cross;
+                case CENTER -> (innerCross - cross) / 2;
+                default -> 0;
+            };
+
+            double mainPosition = direction.isReverse() ? innerMain - cursor - main : cursor;
+            cursor += main + between;
+
+            if (horizontal) {
+                child.setLayoutBounds(x + padding + mainPosition, y + padding + crossPosition, main, cross);
+            } else {
+                child.setLayoutBounds(x + padding + crossPosition, y + padding + mainPosition, cross, main);
+            }
+        }
+    }
+
+    /**
+     * @return the flex basis of the child along the given axis, which is its measured size when no basis is set.
+     */
+    private static double basis(AbstractWidget child, boolean horizontal) {
+        FlexItem item = child.getStyle().getFlexItem();
+        if (item != null && item.getBasis() > 0) {
+            return item.getBasis();
+        }
+        return measured(child, horizontal);
+    }
+
+    private static double measured(AbstractWidget child, boolean horizontal) {
+        return horizontal ? child.getMeasuredWidth() : child.getMeasuredHeight();
+    }
+
+    private static double grow(AbstractWidget child) {
+        FlexItem item = child.getStyle().getFlexItem();
+        return item == null ? 0 : Math.max(0, item.getGrow());
+    }
+
+    private static double shrink(AbstractWidget child) {
+        FlexItem item = child.getStyle().getFlexItem();
+        return item == null ? DEFAULT_SHRINK : Math.max(0, item.getShrink());
+    }
+
+    private static AlignItems alignSelf(AbstractWidget child, Flex container) {
+        FlexItem item = child.getStyle().getFlexItem();
+        if (item != null && item.getAlignSelf() != null) {
+            return item.getAlignSelf();
+        }
+        return container.getAlignItems();
+    }
+}
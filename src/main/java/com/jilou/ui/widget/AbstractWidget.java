@@ -1,18 +1,34 @@
 package com.jilou.ui.widget;
 
+import com.jilou.ui.ApplicationFactory;
+import com.jilou.ui.container.Scene;
 import com.jilou.ui.logic.Renderer;
 import com.jilou.ui.logic.callbacks.NativeWidgetCallbacks.*;
 import com.jilou.ui.logic.callbacks.trigger.HoverCallbackI;
+import com.jilou.ui.logic.callbacks.trigger.InvalidationCallbackI;
 import com.jilou.ui.logic.graphics.WidgetBackgroundRenderer;
+import com.jilou.ui.enums.Invalidation;
+import com.jilou.ui.enums.WidgetState;
+import com.jilou.ui.styles.StyleProperty;
 import com.jilou.ui.styles.StyleSheet;
+import com.jilou.ui.styles.css.CssSheet;
+import com.jilou.ui.styles.types.Flex;
 import com.jilou.ui.utils.AlignmentUtils;
+import com.jilou.ui.utils.FlexUtils;
 import com.jilou.ui.enums.css.Alignment;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Represents an abstract base class for widgets in the application.
@@ -20,6 +36,31 @@ import java.util.List;
  * Each widget has properties such as dimensions, position, and a localized name.
  * It also supports managing child widgets for hierarchical relationships.
  * </p>
+ * <p>
+ * The placement of the children is cached. A widget only arranges its children again after it was
+ * invalidated by a size, style, position or child list change, see {@link #invalidateLayout()} and
+ * {@link #invalidateArrange()}. Clean subtrees are skipped entirely by {@link #update()}.
+ * </p>
+ * <p>
+ * The css style of a widget is computed from its type, name, style classes and state, see {@link CssSheet}.
+ * It is cached as well and only computed again for widgets whose classes or state changed, and for their
+ * descendants, see {@link #invalidateStyle()}.
+ * </p>
+ * <p>
+ * Geometry and style properties are observable. Every change is classified by its {@link Invalidation}
+ * and only marks the work it needs: a paint-only change requests a new frame, a z-index change sorts the
+ * render order, a layout change arranges the affected part of the tree. Listeners registered with
+ * {@link #onInvalidate(InvalidationCallbackI)} are notified of every property change.
+ * </p>
+ * <p>
+ * A widget can be hidden without removing it from the scene, see {@link #setVisible(boolean)} and
+ * {@link #setDisplayed(boolean)}. A hidden subtree is not updated, drawn or hit, but keeps its cached
+ * layout, so showing it again is cheap.
+ * </p>
+ * <p>
+ * Widgets are not thread-safe. While a widget belongs to a scene, it is changed and read by the thread which
+ * owns the scene, other threads wrap their access in {@link Scene#post(Runnable)}.
+ * </p>
  *
  * @since 0.1.0
  * @author Daniel Ramke
@@ -32,6 +73,25 @@ public abstract class AbstractWidget {
      */
     private final List<AbstractWidget> children = new ArrayList<>();
 
+    /**
+     * The children of this widget indexed by their localized name.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, AbstractWidget> childIndex = new HashMap<>();
+
+    /**
+     * The {@link Scene} this widget is attached to, default null.
+     * It is maintained by the {@link WidgetRegistry} of the scene.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private Scene scene;
+
+    /**
+     * The slot of this widget in the {@link WidgetStore} of its scene, {@code -1} if it is not attached.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private int storeSlot = -1;
+
     /**
      * The widget parent, default null.
      */
@@ -58,80 +118,570 @@ public abstract class AbstractWidget {
      */
     private double height;
 
+    /**
+     * The width which was requested by {@link #setWidth(double)}. A layout can assign another width
+     * to the widget, but it always starts from this value.
+     */
+    private double preferredWidth;
+
+    /**
+     * The height which was requested by {@link #setHeight(double)}. A layout can assign another height
+     * to the widget, but it always starts from this value.
+     */
+    private double preferredHeight;
+
+    /**
+     * The cached measured width, valid as long as the widget is not invalidated.
+     */
+    private double measuredWidth;
+
+    /**
+     * The cached measured height, valid as long as the widget is not invalidated.
+     */
+    private double measuredHeight;
+
     /**
      * The X-coordinate position of the widget.
      */
-    @Setter
     private double positionX;
 
     /**
      * The Y-coordinate position of the widget.
      */
-    @Setter
     private double positionY;
 
     /**
      * The X-coordinate position inner parent x position and his width.
      * Only worked if the parent used the {@link Alignment#NOTHING}
      */
-    @Setter
     private double innerParentX;
 
     /**
      * The Y-coordinate position inner parent y position and his height.
      * Only worked if the parent used the {@link Alignment#NOTHING}
      */
-    @Setter
     private double innerParentY;
 
+    /**
+     * True if the cached measured size is outdated.
+     */
+    private boolean measureDirty = true;
+
+    /**
+     * True if the children of this widget must be arranged again.
+     */
+    private boolean layoutDirty = true;
+
+    /**
+     * True if this widget or any of its descendants must be arranged again.
+     */
+    private boolean subtreeDirty = true;
+
+    /**
+     * The amount of widgets in the subtree of this widget, including itself.
+     */
+    private int subtreeSize = 1;
+
+    /**
+     * True if this widget and its subtree are drawn. An invisible widget keeps its place in the layout.
+     */
+    private boolean visible = true;
+
+    /**
+     * True if this widget takes part in the layout of its parent, like the css {@code display} property.
+     */
+    private boolean displayed = true;
+
     /**
      * The {@link StyleSheet} of the widget.
      */
     private StyleSheet style;
 
     /**
-     * The hovered state as simple {@code boolean}.
+     * The css style classes of this widget, created on first use.
      */
-    private boolean hovered;
+    @Getter(AccessLevel.NONE)
+    private Set<String> styleClasses;
+
+    /**
+     * The active {@link WidgetState} bits of this widget.
+     */
+    private int state;
+
+    /**
+     * True if the css style of this widget must be computed again.
+     */
+    private boolean styleDirty = true;
+
+    /**
+     * True if the css style of this widget or any of its descendants must be computed again.
+     */
+    private boolean styleSubtreeDirty = true;
 
     /**
      * Callback for detect hover state for this {@code AbstractWidget}.
      */
     private HoverCallback hoverCallback;
 
+    /**
+     * Callback for observing property changes of this {@code AbstractWidget}, created on first use.
+     */
+    @Getter(AccessLevel.NONE)
+    private InvalidationCallback invalidationCallback;
+
     /**
      * Constructs a new {@code AbstractWidget} with the specified localized name.
+     * If the name is {@code null} a unique name is generated from the class name and a widget id.
      *
      * @param localizedName the unique localized name of the widget
      */
     protected AbstractWidget(String localizedName) {
+        if (localizedName == null) {
+            localizedName = getClass().getSimpleName() + "-" + ApplicationFactory.giveNextWidgetID();
+        }
         this.localizedName = localizedName;
         this.parent = null;
         this.name = getClass().getSimpleName();
         this.width = 0;
         this.height = 0;
+        this.preferredWidth = 0;
+        this.preferredHeight = 0;
         this.positionX = 0;
         this.positionY = 0;
         this.innerParentX = 0;
         this.innerParentY = 0;
         this.setStyle(null);
-        this.hovered = false;
         this.loadCallbacks();
     }
 
     /**
      * Function for updating this {@code AbstractWidget}. This is needed for update all
      * children of this object.
+     * <p>
+     * The children are only arranged if this widget was invalidated, and only dirty subtrees are visited.
+     * Children are arranged by {@link FlexUtils} if the style has {@link Flex} properties, otherwise by
+     * {@link AlignmentUtils}. Large child subtrees are updated in parallel, see {@link LayoutTask}.
+     * </p>
      */
     public void update() {
-        if(hasChildren()) {
+        if (!subtreeDirty || !isDrawn()) {
+            return;
+        }
+
+        if (layoutDirty) {
+            arrangeChildren();
+            layoutDirty = false;
+        }
+        subtreeDirty = false;
+
+        LayoutTask.update(children, subtreeSize - 1);
+    }
+
+    /**
+     * Assigns the bounds of the children. This is called by {@link #update()} if the widget was invalidated.
+     * Subclasses which place their children themselves override this.
+     */
+    protected void arrangeChildren() {
+        if (!hasChildren()) {
+            return;
+        }
+        Flex flex = style.getFlex();
+        if (flex != null) {
+            FlexUtils.arrange(flex, positionX, positionY, width, height, children);
+        } else {
             AlignmentUtils.updateAlignment(this, children);
-            for (AbstractWidget child : children) {
-                child.update();
+        }
+    }
+
+    /**
+     * Computes the css style of all invalidated widgets in the subtree of this widget.
+     * <p>
+     * A widget whose classes or state changed is computed together with all of its descendants, because
+     * descendant and child selectors can depend on it. Clean subtrees are skipped.
+     * </p>
+     *
+     * @param css the style sheet to apply, {@code null} applies no rules
+     */
+    public void updateStyle(CssSheet css) {
+        updateStyle(css == null ? CssSheet.EMPTY : css, false);
+    }
+
+    /**
+     * Computes the css style of this widget if it is invalidated or forced, then visits the children.
+     */
+    private void updateStyle(CssSheet css, boolean force) {
+        if (!force && !styleSubtreeDirty) {
+            return;
+        }
+        force |= styleDirty;
+        if (force) {
+            css.apply(this);
+        }
+        styleDirty = false;
+        styleSubtreeDirty = false;
+
+        for (AbstractWidget child : children) {
+            child.updateStyle(css, force);
+        }
+    }
+
+    /**
+     * Observes the {@link StyleSheet} of this widget and invalidates the work the changed properties need.
+     *
+     * @param sheet   the changed sheet
+     * @param changed the {@link StyleProperty} bits of the changed properties
+     */
+    private void styleChanged(StyleSheet sheet, int changed) {
+        if (sheet != style) {
+            return;
+        }
+        syncStore();
+        int invalidations = StyleProperty.invalidations(changed);
+        if ((invalidations & Invalidation.ORDER.getMask()) != 0) {
+            invalidate(Invalidation.ORDER);
+        }
+        if ((invalidations & Invalidation.LAYOUT.getMask()) != 0) {
+            propertyChanged(Invalidation.LAYOUT);
+        } else if ((invalidations & Invalidation.ORDER.getMask()) != 0) {
+            notifyInvalidation(Invalidation.ORDER);
+        } else {
+            propertyChanged(Invalidation.PAINT);
+        }
+    }
+
+    /**
+     * Marks the work which is needed for a change with the given effect.
+     * <p>
+     * A layout change arranges this widget and its parent again, an order change sorts the render order of
+     * the scene. Every change requests a new frame from the scene.
+     * </p>
+     *
+     * @param invalidation the effect of the change
+     */
+    public void invalidate(Invalidation invalidation) {
+        if (invalidation == null) return;
+        switch (invalidation) {
+            case LAYOUT -> invalidateLayout();
+            case ORDER -> {
+                if (scene != null) scene.invalidateOrder();
             }
+            case PAINT -> {
+                if (scene != null) scene.invalidatePaint();
+            }
+        }
+    }
+
+    /**
+     * Marks the work which is needed for a property change and notifies the invalidation listeners.
+     * Subclasses call this after changing a property which is not part of the {@link StyleSheet}.
+     *
+     * @param invalidation the effect of the change
+     */
+    protected void propertyChanged(Invalidation invalidation) {
+        invalidate(invalidation);
+        notifyInvalidation(invalidation);
+    }
+
+    /**
+     * Writes the render data of this widget through to the {@link WidgetStore} of its scene.
+     */
+    private void syncStore() {
+        if (storeSlot >= 0 && scene != null) {
+            scene.getStore().sync(this);
+        }
+    }
+
+    /**
+     * Notifies the invalidation listeners, if there are any.
+     */
+    private void notifyInvalidation(Invalidation invalidation) {
+        if (invalidationCallback != null) {
+            invalidationCallback.onInvalidate(this, invalidation);
+        }
+    }
+
+    /**
+     * Adds a new listener which is notified of every property change of this widget.
+     *
+     * @param invalidationCallbackI the listener to add
+     */
+    public void onInvalidate(InvalidationCallbackI invalidationCallbackI) {
+        if (invalidationCallback == null) {
+            invalidationCallback = new InvalidationCallback();
+        }
+        invalidationCallback.add(invalidationCallbackI);
+    }
+
+    /**
+     * Marks the css style of this widget and its descendants as outdated.
+     */
+    public void invalidateStyle() {
+        styleDirty = true;
+        styleSubtreeDirty = true;
+        AbstractWidget widget = parent;
+        while (widget != null && !widget.styleSubtreeDirty) {
+            widget.styleSubtreeDirty = true;
+            widget = widget.parent;
+        }
+    }
+
+    /**
+     * Checks if the given state is active.
+     *
+     * @param state the state to check
+     * @return {@code true} if the state is active
+     */
+    public boolean hasState(WidgetState state) {
+        return state != null && (this.state & state.getMask()) != 0;
+    }
+
+    /**
+     * @return {@code true} if the mouse is over this widget.
+     */
+    public boolean isHovered() {
+        return hasState(WidgetState.HOVERED);
+    }
+
+    /**
+     * Activates or deactivates a state.
+     * <p>
+     * The {@link StyleSheet} switches to the precomputed variant of the new states, see
+     * {@link StyleSheet#setVariant(WidgetState, StyleSheet)}, which allocates nothing. The css style is only
+     * invalidated if the css sheet of the scene has state selectors, or if the widget has no scene yet.
+     * </p>
+     *
+     * @param state  the state to change
+     * @param active {@code true} to activate the state
+     */
+    public void setState(WidgetState state, boolean active) {
+        if (state == null) return;
+        int next = active ? this.state | state.getMask() : this.state & ~state.getMask();
+        if (next == this.state) {
+            return;
+        }
+        this.state = next;
+        style.setActiveState(next);
+        syncStore();
+        if (scene == null || (scene.getCss() != null && scene.getCss().isStateDependent())) {
+            invalidateStyle();
         }
     }
 
+    /**
+     * Adds a css style class to this widget.
+     *
+     * @param styleClass the class name without dot
+     */
+    public void addStyleClass(String styleClass) {
+        if (styleClass == null || styleClass.isBlank()) return;
+        if (styleClasses == null) {
+            styleClasses = new LinkedHashSet<>(4);
+        }
+        if (styleClasses.add(styleClass)) {
+            invalidateStyle();
+        }
+    }
+
+    /**
+     * Removes a css style class from this widget.
+     *
+     * @param styleClass the class name without dot
+     */
+    public void removeStyleClass(String styleClass) {
+        if (styleClasses != null && styleClasses.remove(styleClass)) {
+            invalidateStyle();
+        }
+    }
+
+    /**
+     * Checks if this widget has the given css style class.
+     *
+     * @param styleClass the class name without dot
+     * @return {@code true} if the class is present
+     */
+    public boolean hasStyleClass(String styleClass) {
+        return styleClasses != null && styleClasses.contains(styleClass);
+    }
+
+    /**
+     * @return an unmodifiable view of the css style classes of this widget.
+     */
+    public Set<String> getStyleClasses() {
+        return styleClasses == null ? Collections.emptySet() : Collections.unmodifiableSet(styleClasses);
+    }
+
+    /**
+     * Measures the widget if its cached measured size is outdated.
+     * <p>
+     * The measured size is the preferred size. A flex container without a preferred size on an axis
+     * is measured from its children instead.
+     * </p>
+     */
+    public void measure() {
+        if (!measureDirty) {
+            return;
+        }
+        Flex flex = style.getFlex();
+        boolean content = flex != null && hasChildren();
+        this.measuredWidth = preferredWidth > 0 || !content ? preferredWidth : FlexUtils.measureContent(flex, children, true);
+        this.measuredHeight = preferredHeight > 0 || !content ? preferredHeight : FlexUtils.measureContent(flex, children, false);
+        this.measureDirty = false;
+    }
+
+    /**
+     * @return the measured width, the widget is measured first if needed.
+     */
+    public double getMeasuredWidth() {
+        measure();
+        return measuredWidth;
+    }
+
+    /**
+     * @return the measured height, the widget is measured first if needed.
+     */
+    public double getMeasuredHeight() {
+        measure();
+        return measuredHeight;
+    }
+
+    /**
+     * Marks the size of this widget as changed.
+     * <p>
+     * The measured size is dropped, the children are arranged again and the parent is notified, because
+     * its arrangement depends on the size of this widget. Call this after changing style properties
+     * which affect the layout, like the alignment or flex properties.
+     * </p>
+     */
+    public void invalidateLayout() {
+        measureDirty = true;
+        invalidateArrange();
+
+        if (parent != null) {
+            if (parent.isContentSized()) {
+                parent.invalidateLayout();
+            } else {
+                parent.invalidateArrange();
+            }
+        } else if (scene != null) {
+            scene.invalidateLayout(this);
+        }
+    }
+
+    /**
+     * Marks the children of this widget for a new arrangement, the size of this widget is unchanged.
+     */
+    public void invalidateArrange() {
+        layoutDirty = true;
+        markSubtreeDirty(this);
+    }
+
+    /**
+     * Marks the given widget and its ancestors as containing layout work, up to the first already marked one.
+     */
+    private static void markSubtreeDirty(AbstractWidget widget) {
+        while (!widget.subtreeDirty) {
+            widget.subtreeDirty = true;
+            if (widget.parent == null) {
+                if (widget.scene != null) {
+                    widget.scene.invalidatePaint();
+                }
+                return;
+            }
+            widget = widget.parent;
+        }
+    }
+
+    /**
+     * Shows or hides this widget and its subtree. An invisible widget still takes its place in the layout
+     * of its parent, but it is not updated, drawn or hit.
+     *
+     * @param visible {@code true} to show the widget
+     */
+    public void setVisible(boolean visible) {
+        if (this.visible == visible) {
+            return;
+        }
+        this.visible = visible;
+        visibilityChanged();
+        propertyChanged(Invalidation.ORDER);
+    }
+
+    /**
+     * Adds this widget to the layout of its parent or removes it, like the css {@code display: none}.
+     * A widget which is not displayed takes no space and is not updated, drawn or hit.
+     *
+     * @param displayed {@code true} to add the widget to the layout
+     */
+    public void setDisplayed(boolean displayed) {
+        if (this.displayed == displayed) {
+            return;
+        }
+        this.displayed = displayed;
+        visibilityChanged();
+        invalidateLayout();
+        propertyChanged(Invalidation.ORDER);
+    }
+
+    /**
+     * @return {@code true} if this widget is visible and displayed, its ancestors are not checked.
+     */
+    public boolean isDrawn() {
+        return visible && displayed;
+    }
+
+    /**
+     * @return {@code true} if this widget and all of its ancestors are drawn.
+     */
+    public boolean isShowing() {
+        AbstractWidget widget = this;
+        while (widget != null) {
+            if (!widget.isDrawn()) {
+                return false;
+            }
+            widget = widget.parent;
+        }
+        return true;
+    }
+
+    /**
+     * Layout work which was skipped while the subtree was hidden is picked up again after it is shown.
+     */
+    private void visibilityChanged() {
+        if (isDrawn() && subtreeDirty && parent != null) {
+            markSubtreeDirty(parent);
+        }
+    }
+
+    /**
+     * Assigns the bounds which are computed by a layout. Unlike {@link #setWidth(double)} and
+     * {@link #setHeight(double)} this does not change the preferred size of the widget.
+     *
+     * @param x      the x position
+     * @param y      the y position
+     * @param width  the assigned width
+     * @param height the assigned height
+     */
+    public void setLayoutBounds(double x, double y, double width, double height) {
+        width = Math.max(0, width);
+        height = Math.max(0, height);
+        if (positionX == x && positionY == y && this.width == width && this.height == height) {
+            return;
+        }
+        this.positionX = x;
+        this.positionY = y;
+        this.width = width;
+        this.height = height;
+        syncStore();
+        invalidateArrange();
+    }
+
+    /**
+     * @return true if this is a flex container which takes at least one of its sizes from its children.
+     */
+    private boolean isContentSized() {
+        return style.getFlex() != null && (preferredWidth <= 0 || preferredHeight <= 0);
+    }
+
     /**
      * Cleans up resources associated with the widget. This method must be implemented by subclasses.
      */
@@ -179,62 +729,313 @@ public abstract class AbstractWidget {
         this.setPositionY(y);
     }
 
+    /**
+     * Sets the x position of the widget. The children are arranged again if the position changed.
+     *
+     * @param positionX the new x position
+     */
+    public void setPositionX(double positionX) {
+        if (this.positionX == positionX) {
+            return;
+        }
+        this.positionX = positionX;
+        syncStore();
+        invalidateArrange();
+        notifyInvalidation(Invalidation.LAYOUT);
+    }
+
+    /**
+     * Sets the y position of the widget. The children are arranged again if the position changed.
+     *
+     * @param positionY the new y position
+     */
+    public void setPositionY(double positionY) {
+        if (this.positionY == positionY) {
+            return;
+        }
+        this.positionY = positionY;
+        syncStore();
+        invalidateArrange();
+        notifyInvalidation(Invalidation.LAYOUT);
+    }
+
+    /**
+     * Sets the x position inside the parent. Only worked if the parent used the {@link Alignment#NOTHING}.
+     *
+     * @param innerParentX the new x position inside the parent
+     */
+    public void setInnerParentX(double innerParentX) {
+        if (this.innerParentX == innerParentX) {
+            return;
+        }
+        this.innerParentX = innerParentX;
+        if (parent != null) {
+            parent.invalidateArrange();
+        }
+        notifyInvalidation(Invalidation.LAYOUT);
+    }
+
+    /**
+     * Sets the y position inside the parent. Only worked if the parent used the {@link Alignment#NOTHING}.
+     *
+     * @param innerParentY the new y position inside the parent
+     */
+    public void setInnerParentY(double innerParentY) {
+        if (this.innerParentY == innerParentY) {
+            return;
+        }
+        this.innerParentY = innerParentY;
+        if (parent != null) {
+            parent.invalidateArrange();
+        }
+        notifyInvalidation(Invalidation.LAYOUT);
+    }
+
     /**
      * Sets the width of the widget. The width cannot be negative.
+     * The value is used as preferred width and as current width.
      *
      * @param width the new width of the widget in pixels
      */
     public void setWidth(double width) {
-        this.width = Math.max(0, width);
+        width = Math.max(0, width);
+        if (this.preferredWidth == width && this.width == width) {
+            return;
+        }
+        this.preferredWidth = width;
+        this.width = width;
+        syncStore();
+        propertyChanged(Invalidation.LAYOUT);
     }
 
     /**
      * Sets the height of the widget. The height cannot be negative.
+     * The value is used as preferred height and as current height.
      *
      * @param height the new height of the widget in pixels
      */
     public void setHeight(double height) {
+        height = Math.max(0, height);
+        if (this.preferredHeight == height && this.height == height) {
+            return;
+        }
+        this.preferredHeight = height;
+        this.height = height;
+        syncStore();
+        propertyChanged(Invalidation.LAYOUT);
+    }
+
+    /**
+     * Sets the stored properties of a widget which is not part of a tree yet, for loaders which create many
+     * widgets at once. Unlike the setters this fires no invalidation, store sync or listener per property, the
+     * widget is marked dirty once and is arranged and styled by the first update of its scene.
+     *
+     * @param style           the style sheet, null for a sheet with the shared default properties
+     * @param name            the display name, null or blank for the class name
+     * @param preferredWidth  the preferred width
+     * @param preferredHeight the preferred height
+     * @param x               the x position
+     * @param y               the y position
+     * @param width           the current width
+     * @param height          the current height
+     * @param innerParentX    the x position inside the parent
+     * @param innerParentY    the y position inside the parent
+     * @param state           the {@link WidgetState} bits of the active states
+     * @throws IllegalStateException if the widget has a parent or a scene
+     */
+    public void restore(StyleSheet style, String name, double preferredWidth, double preferredHeight, double x,
+                        double y, double width, double height, double innerParentX, double innerParentY, int state) {
+        if (parent != null || scene != null) {
+            throw new IllegalStateException("Widget [ " + localizedName + " ] is already part of a tree");
+        }
+        if (style == null) {
+            style = new StyleSheet();
+        }
+        if (this.style != style) {
+            this.style.setListener(null);
+        }
+        this.style = style;
+        this.name = name == null || name.isBlank() ? getWidgetName() : name;
+        this.preferredWidth = Math.max(0, preferredWidth);
+        this.preferredHeight = Math.max(0, preferredHeight);
+        this.positionX = x;
+        this.positionY = y;
+        this.width = Math.max(0, width);
         this.height = Math.max(0, height);
+        this.innerParentX = innerParentX;
+        this.innerParentY = innerParentY;
+        this.state = state;
+        style.setActiveState(state);
+        style.setListener(this::styleChanged);
+
+        this.measureDirty = true;
+        this.layoutDirty = true;
+        this.subtreeDirty = true;
+        this.styleDirty = true;
+        this.styleSubtreeDirty = true;
     }
 
     /**
      * Set the current {@link StyleSheet} for this widget. It has impact to the {@link WidgetBackgroundRenderer}.
-     * @param style new style can be null but is replaced than by {@code StyleSheet.builder().build()}
+     * @param style new style can be null but is replaced than by a sheet with the shared default properties
      */
     public void setStyle(StyleSheet style) {
         if(style == null) {
-            style = StyleSheet.builder().build();
+            style = new StyleSheet();
+        }
+        if (this.style != null && this.style != style) {
+            this.style.setListener(null);
         }
         this.style = style;
+        style.setActiveState(state);
+        style.setListener(this::styleChanged);
+        syncStore();
+        invalidate(Invalidation.ORDER);
+        propertyChanged(Invalidation.LAYOUT);
+        invalidateStyle();
     }
 
     /**
      * Adds a child widget to this widget's list of children.
+     * <p>
+     * If this widget is attached to a {@link Scene}, the child and all of its descendants are
+     * registered at the scene as well.
+     * </p>
      *
      * @param child the child widget to add
+     * @throws IllegalArgumentException if a localized name of the child tree is already used in the scene
      */
     public void addChild(AbstractWidget child) {
-        if (child == null) return;
-        if (hasChild(child)) return;
+        if (scene != null) {
+            scene.getRegistry().checkNames(child);
+        }
+        if (!attachChild(child)) return;
 
-        if(child.hasParent()) {
-            child.getParent().removeChild(child);
+        if (scene != null) {
+            scene.getRegistry().register(child);
+        }
+    }
+
+    /**
+     * Adds all given widgets to this widget's list of children.
+     * <p>
+     * Unlike calling {@link #addChild(AbstractWidget)} for every widget, the scene index is updated
+     * and the scene order is invalidated only once for the whole collection.
+     * </p>
+     *
+     * @param children the child widgets to add
+     * @throws IllegalArgumentException if a localized name of the child trees is already used in the scene
+     */
+    public void addChildren(Collection<? extends AbstractWidget> children) {
+        if (children == null || children.isEmpty()) return;
+        if (scene != null) {
+            scene.getRegistry().checkNames(children);
+        }
+
+        List<AbstractWidget> attached = new ArrayList<>(children.size());
+        for (AbstractWidget child : children) {
+            if (attachChild(child)) {
+                attached.add(child);
+            }
+        }
+
+        if (scene != null) {
+            scene.getRegistry().registerAll(attached);
         }
-        child.setParent(this);
-        children.add(child);
     }
 
     /**
      * Removes a child widget from this widget's list of children.
+     * If this widget is attached to a {@link Scene}, the child is unregistered from it.
      *
      * @param child the child widget to remove
      */
     public void removeChild(AbstractWidget child) {
         if (child == null) return;
-        if (!hasChild(child)) return;
+        if (childIndex.get(child.getLocalizedName()) != child) return;
 
         child.setParent(null);
         children.remove(child);
+        childIndex.remove(child.getLocalizedName());
+        resizeSubtree(-child.subtreeSize);
+        invalidateLayout();
+
+        if (scene != null) {
+            scene.getRegistry().unregister(child);
+        }
+    }
+
+    /**
+     * Puts the children of this widget into the given order. The children stay attached, so their
+     * registration, caches and animations are kept.
+     *
+     * @param order all children of this widget in their new order
+     * @throws IllegalArgumentException if the order does not contain every child exactly once
+     */
+    public void reorderChildren(List<AbstractWidget> order) {
+        if (!isChildOrder(order)) {
+            throw new IllegalArgumentException("Order must contain every child of " + localizedName + " exactly once");
+        }
+        if (children.equals(order)) {
+            return;
+        }
+        List<AbstractWidget> copy = new ArrayList<>(order);
+        children.clear();
+        children.addAll(copy);
+        invalidateArrange();
+        if (scene != null) {
+            scene.invalidateOrder();
+        }
+    }
+
+    /**
+     * @return {@code true} if the order contains every child of this widget exactly once.
+     */
+    private boolean isChildOrder(List<AbstractWidget> order) {
+        if (order == null || order.size() != children.size()) {
+            return false;
+        }
+        Set<AbstractWidget> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (AbstractWidget widget : order) {
+            if (widget == null || childIndex.get(widget.getLocalizedName()) != widget || !seen.add(widget)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Links the child to this widget without touching the scene index.
+     * A child which is still attached to another parent or to a scene is detached first.
+     *
+     * @param child the child widget to link
+     * @return {@code true} if the child was linked, {@code false} if it was {@code null} or already present
+     */
+    private boolean attachChild(AbstractWidget child) {
+        if (child == null || child == this) return false;
+        if (hasChild(child)) return false;
+
+        if (child.hasParent()) {
+            child.getParent().removeChild(child);
+        } else if (child.getScene() != null) {
+            child.getScene().detach(child);
+        }
+        child.setParent(this);
+        children.add(child);
+        childIndex.put(child.getLocalizedName(), child);
+        resizeSubtree(child.subtreeSize);
+        invalidateLayout();
+        child.invalidateStyle();
+        return true;
+    }
+
+    /**
+     * Adds the given delta to the subtree size of this widget and all of its ancestors.
+     */
+    private void resizeSubtree(int delta) {
+        for (AbstractWidget widget = this; widget != null; widget = widget.parent) {
+            widget.subtreeSize += delta;
+        }
     }
 
     /**
@@ -293,13 +1094,8 @@ public abstract class AbstractWidget {
      * @return the matching child widget, or {@code null} if no match is found.
      */
     public AbstractWidget getChild(String localizedName) {
-        AbstractWidget child = null;
-        for (AbstractWidget c : children) {
-            if (c.getLocalizedName().equals(localizedName)) {
-                child = c;
-            }
-        }
-        return child;
+        if (localizedName == null) return null;
+        return childIndex.get(localizedName);
     }
 
     /**
@@ -323,14 +1119,14 @@ public abstract class AbstractWidget {
      * Additional listeners can still be added via {@link #onHover(HoverCallbackI)}.
      * </p>
      * <p>
-     * The default hover callback updates the internal {@code hovered} state
+     * The default hover callback updates the {@link WidgetState#HOVERED} state
      * of the widget based on the hover event.
      * </p>
      */
     private void loadCallbacks() {
         this.hoverCallback = new HoverCallback();
         this.hoverCallback.add((widget, hover) -> {
-            hovered = hover;
+            setState(WidgetState.HOVERED, hover);
         });
     }
 
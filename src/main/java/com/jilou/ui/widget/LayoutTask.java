@@ -0,0 +1,114 @@
+package com.jilou.ui.widget;
+
+import com.jilou.ui.container.Scene;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A fork/join task which updates the layout of independent widget subtrees in parallel.
+ * <p>
+ * Sibling subtrees have no layout dependencies on each other once their parent has assigned their bounds:
+ * arranging a subtree only writes to widgets inside of it. {@link #update(List, int)} therefore updates every
+ * dirty sibling whose subtree has at least {@link #PARALLEL_THRESHOLD} widgets as own task of the common
+ * {@link ForkJoinPool}, smaller siblings are updated inline by the current thread. Trees below the threshold
+ * never leave the calling thread.
+ * </p>
+ * <p>
+ * The calling window thread blocks in {@link ForkJoinPool#invoke(ForkJoinTask)} until all tasks are done.
+ * Joining a task happens-before the return of {@code invoke}, so all bounds written by worker threads are
+ * visible to the window thread when it renders the frame.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public class LayoutTask extends RecursiveAction {
+
+    /**
+     * The minimum amount of widgets in a subtree before it is updated as own task.
+     */
+    public static final int PARALLEL_THRESHOLD = 256;
+
+    /**
+     * The widget to update, or {@code null} if this task updates {@link #widgets}.
+     */
+    private final transient AbstractWidget widget;
+
+    /**
+     * The sibling widgets to update, or {@code null} if this task updates {@link #widget}.
+     */
+    private final transient List<AbstractWidget> widgets;
+
+    private LayoutTask(AbstractWidget widget, List<AbstractWidget> widgets) {
+        this.widget = widget;
+        this.widgets = widgets;
+    }
+
+    /**
+     * Updates the given sibling widgets, in parallel if the combined subtrees are large enough.
+     * <p>
+     * This is used by {@link AbstractWidget#update()} for its children and by the {@link Scene} for the
+     * top level widgets.
+     * </p>
+     *
+     * @param widgets the sibling widgets to update
+     * @param size    the combined amount of widgets in all sibling subtrees
+     */
+    public static void update(List<AbstractWidget> widgets, int size) {
+        if (widgets == null || widgets.isEmpty()) {
+            return;
+        }
+
+        if (size < PARALLEL_THRESHOLD) {
+            for (AbstractWidget widget : widgets) {
+                widget.update();
+            }
+        } else if (ForkJoinTask.inForkJoinPool()) {
+            updateSiblings(widgets);
+        } else {
+            ForkJoinPool.commonPool().invoke(new LayoutTask(null, widgets));
+        }
+    }
+
+    @Override
+    protected void compute() {
+        if (widget != null) {
+            widget.update();
+        } else {
+            updateSiblings(widgets);
+        }
+    }
+
+    /**
+     * Forks every large dirty sibling, updates the small ones inline and joins the forked tasks.
+     */
+    private static void updateSiblings(List<AbstractWidget> widgets) {
+        List<LayoutTask> forked = null;
+        for (AbstractWidget current : widgets) {
+            if (current.isSubtreeDirty() && current.isDrawn() && current.getSubtreeSize() >= PARALLEL_THRESHOLD) {
+                if (forked == null) {
+                    forked = new ArrayList<>();
+                }
+                LayoutTask task = new LayoutTask(current, null);
+                task.fork();
+                forked.add(task);
+            }
+        }
+
+        for (AbstractWidget current : widgets) {
+            if (current.getSubtreeSize() < PARALLEL_THRESHOLD) {
+                current.update();
+            }
+        }
+
+        if (forked != null) {
+            for (int i = forked.size() - 1; i >= 0; i--) {
+                forked.get(i).join();
+            }
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.jilou.ui.widget;
+
+import com.jilou.ui.container.Scene;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A hash index of all {@link AbstractWidget}'s which are attached to one {@link Scene}.
+ * <p>
+ * The registry indexes every widget of the scene tree by its localized name, top level widgets and all of
+ * their descendants. The identity of a widget is tracked by its scene reference, which is set when the widget
+ * is registered and cleared when it is unregistered. Lookups by name and by identity are therefore
+ * {@code O(1)}, independent of the amount of widgets in the scene.
+ * </p>
+ * <p>
+ * The registry is maintained by the {@link Scene} and by {@link AbstractWidget#addChild(AbstractWidget)} and
+ * {@link AbstractWidget#removeChild(AbstractWidget)}, so reparenting a widget keeps the index up to date.
+ * Registered widgets also own a slot in the {@link WidgetStore} of the scene.
+ * </p>
+ * <p>
+ * The registry is not synchronized, it is only used by the thread which owns the scene, see
+ * {@link Scene#isOwnerThread()}.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public class WidgetRegistry {
+
+    /**
+     * The scene which owns this registry.
+     */
+    private final Scene scene;
+
+    /**
+     * All registered widgets by their localized name.
+     */
+    private final Map<String, AbstractWidget> widgets = new HashMap<>();
+
+    /**
+     * Constructs a new empty {@code WidgetRegistry} for the given scene.
+     *
+     * @param scene the scene which owns this registry
+     */
+    public WidgetRegistry(Scene scene) {
+        this.scene = scene;
+    }
+
+    /**
+     * Registers the given widget and all of its descendants.
+     *
+     * @param widget the widget to register, {@code null} is ignored
+     * @throws IllegalArgumentException if a localized name of the tree is already used by another widget
+     */
+    public void register(AbstractWidget widget) {
+        if (widget == null) {
+            return;
+        }
+        checkNames(widget);
+        Deque<AbstractWidget> stack = new ArrayDeque<>();
+        stack.push(widget);
+        registerTree(stack);
+        scene.invalidateOrder();
+    }
+
+    /**
+     * Registers all given widgets and their descendants with a single order invalidation of the scene.
+     *
+     * @param widgets the widgets to register
+     * @throws IllegalArgumentException if a localized name of the trees is already used by another widget
+     */
+    public void registerAll(Collection<? extends AbstractWidget> widgets) {
+        if (widgets == null || widgets.isEmpty()) {
+            return;
+        }
+        checkNames(widgets);
+        Deque<AbstractWidget> stack = new ArrayDeque<>(widgets.size());
+        for (AbstractWidget widget : widgets) {
+            if (widget != null) {
+                stack.push(widget);
+            }
+        }
+        registerTree(stack);
+        scene.invalidateOrder();
+    }
+
+    /**
+     * Checks that the given widget and its descendants can be registered, because no other widget uses one of
+     * their localized names. The register methods check this as well, callers which change the widget tree
+     * before registering call this first, so a failed registration leaves the tree untouched.
+     *
+     * @param widget the widget to check, {@code null} is ignored
+     * @throws IllegalArgumentException if a localized name of the tree is already used by another widget
+     */
+    public void checkNames(AbstractWidget widget) {
+        if (widget != null) {
+            checkNames(List.of(widget));
+        }
+    }
+
+    /**
+     * Checks that the given widgets and their descendants can be registered, see {@link #checkNames(AbstractWidget)}.
+     *
+     * @param widgets the widgets to check
+     * @throws IllegalArgumentException if a localized name of the trees is already used by another widget
+     */
+    public void checkNames(Collection<? extends AbstractWidget> widgets) {
+        if (widgets == null || widgets.isEmpty()) {
+            return;
+        }
+        Map<String, AbstractWidget> added = new HashMap<>();
+        Deque<AbstractWidget> stack = new ArrayDeque<>(widgets.size());
+        for (AbstractWidget widget : widgets) {
+            if (widget != null) {
+                stack.push(widget);
+            }
+        }
+        while (!stack.isEmpty()) {
+            AbstractWidget current = stack.pop();
+            String name = current.getLocalizedName();
+            AbstractWidget registered = this.widgets.get(name);
+            AbstractWidget previous = added.putIfAbsent(name, current);
+            if (registered != null && registered != current || previous != null && previous != current) {
+                throw new IllegalArgumentException("Localized name is already used in the scene: " + name);
+            }
+            pushChildren(stack, current);
+        }
+    }
+
+    /**
+     * Unregisters the given widget and all of its descendants.
+     *
+     * @param widget the widget to unregister, {@code null} is ignored
+     */
+    public void unregister(AbstractWidget widget) {
+        if (widget == null) {
+            return;
+        }
+        Deque<AbstractWidget> stack = new ArrayDeque<>();
+        stack.push(widget);
+        while (!stack.isEmpty()) {
+            AbstractWidget current = stack.pop();
+            if (current.getScene() == scene) {
+                widgets.remove(current.getLocalizedName(), current);
+                scene.getStore().release(current);
+                current.setScene(null);
+            }
+            pushChildren(stack, current);
+        }
+        scene.invalidateOrder();
+    }
+
+    /**
+     * Removes all widgets from the index and clears their scene reference.
+     */
+    public void clear() {
+        for (AbstractWidget widget : widgets.values()) {
+            if (widget.getScene() == scene) {
+                widget.setScene(null);
+            }
+        }
+        widgets.clear();
+        scene.getStore().clear();
+        scene.invalidateOrder();
+    }
+
+    /**
+     * Retrieves a registered widget by its localized name.
+     *
+     * @param localizedName the localized name of the widget
+     * @return the widget, or {@code null} if no widget with this name is registered
+     */
+    public AbstractWidget get(String localizedName) {
+        if (localizedName == null) {
+            return null;
+        }
+        return widgets.get(localizedName);
+    }
+
+    /**
+     * Checks if a widget with the given localized name is registered.
+     *
+     * @param localizedName the localized name of the widget
+     * @return {@code true} if a widget with this name is registered, {@code false} otherwise
+     */
+    public boolean contains(String localizedName) {
+        return get(localizedName) != null;
+    }
+
+    /**
+     * Checks if exactly this widget instance is registered.
+     *
+     * @param widget the widget to check
+     * @return {@code true} if the widget is attached to the scene of this registry, {@code false} otherwise
+     */
+    public boolean contains(AbstractWidget widget) {
+        return widget != null && widget.getScene() == scene;
+    }
+
+    /**
+     * @return the amount of registered widgets.
+     */
+    public int size() {
+        return widgets.size();
+    }
+
+    private void registerTree(Deque<AbstractWidget> stack) {
+        while (!stack.isEmpty()) {
+            AbstractWidget current = stack.pop();
+            current.setScene(scene);
+            widgets.put(current.getLocalizedName(), current);
+            scene.getStore().allocate(current);
+            pushChildren(stack, current);
+        }
+    }
+
+    private static void pushChildren(Deque<AbstractWidget> stack, AbstractWidget widget) {
+        List<AbstractWidget> children = widget.getChildren();
+        for (int i = children.size() - 1; i >= 0; i--) {
+            stack.push(children.get(i));
+        }
+    }
+}
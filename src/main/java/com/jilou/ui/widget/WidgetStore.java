@@ -0,0 +1,311 @@
+package com.jilou.ui.widget;
+
+import com.jilou.ui.styles.StyleSheet;
+import com.jilou.ui.styles.types.Background;
+import com.jilou.ui.utils.Color;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A data oriented copy of the render data of all {@link AbstractWidget}'s of one {@link com.jilou.ui.container.Scene}.
+ * <p>
+ * Every registered widget owns one slot of the store. The bounds, z-index, state flags and packed background
+ * color of the widget are kept in parallel primitive arrays at this slot, so passes over all widgets, like
+ * hit-testing or drawing, read contiguous memory instead of following widget references. The slots are kept dense: a released slot is filled with the last slot.
+ * </p>
+ * <p>
+ * The widgets stay the owner of their values. Every setter of a widget writes the changed values through to
+ * its slot, see {@link AbstractWidget#getStoreSlot()}. The draw order of the scene is stored as a list of
+ * slots and rebuilt together with the render order of the scene.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public class WidgetStore {
+
+    /**
+     * The initial capacity of the storage arrays.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    private AbstractWidget[] widgets = new AbstractWidget[INITIAL_CAPACITY];
+    private float[] x = new float[INITIAL_CAPACITY];
+    private float[] y = new float[INITIAL_CAPACITY];
+    private float[] width = new float[INITIAL_CAPACITY];
+    private float[] height = new float[INITIAL_CAPACITY];
+    private int[] zIndex = new int[INITIAL_CAPACITY];
+    private int[] flags = new int[INITIAL_CAPACITY];
+    private int[] background = new int[INITIAL_CAPACITY];
+
+    /**
+     * The slots in draw order, the last slot is drawn on top.
+     */
+    private int[] order = new int[INITIAL_CAPACITY];
+
+    /**
+     * The amount of used slots.
+     */
+    private int size;
+
+    /**
+     * The amount of slots in {@link #order}.
+     */
+    private int orderSize;
+
+    /**
+     * {@code false} if slots were added or released since the draw order was set.
+     */
+    private boolean orderValid;
+
+    /**
+     * Assigns a slot to the given widget and copies its values.
+     *
+     * @param widget the widget
+     * @return the slot of the widget
+     */
+    public int allocate(AbstractWidget widget) {
+        if (widget.getStoreSlot() >= 0 && widget.getStoreSlot() < size && widgets[widget.getStoreSlot()] == widget) {
+            return widget.getStoreSlot();
+        }
+        if (size == widgets.length) {
+            grow();
+        }
+        int slot = size++;
+        widgets[slot] = widget;
+        widget.setStoreSlot(slot);
+        sync(widget);
+        orderValid = false;
+        return slot;
+    }
+
+    /**
+     * Releases the slot of the given widget. The last slot is moved into the released slot.
+     *
+     * @param widget the widget
+     */
+    public void release(AbstractWidget widget) {
+        int slot = widget.getStoreSlot();
+        if (slot < 0 || slot >= size || widgets[slot] != widget) {
+            return;
+        }
+        int last = --size;
+        if (slot != last) {
+            AbstractWidget moved = widgets[last];
+            widgets[slot] = moved;
+            x[slot] = x[last];
+            y[slot] = y[last];
+            width[slot] = width[last];
+            height[slot] = height[last];
+            zIndex[slot] = zIndex[last];
+            flags[slot] = flags[last];
+            background[slot] = background[last];
+            moved.setStoreSlot(slot);
+        }
+        widgets[last] = null;
+        widget.setStoreSlot(-1);
+        orderValid = false;
+    }
+
+    /**
+     * Releases all slots.
+     */
+    public void clear() {
+        for (int slot = 0; slot < size; slot++) {
+            widgets[slot].setStoreSlot(-1);
+        }
+        Arrays.fill(widgets, 0, size, null);
+        size = 0;
+        orderSize = 0;
+        orderValid = false;
+    }
+
+    /**
+     * Copies all values of the given widget into its slot.
+     *
+     * @param widget the widget, ignored if it has no slot
+     */
+    public void sync(AbstractWidget widget) {
+        int slot = widget.getStoreSlot();
+        if (slot < 0 || slot >= size || widgets[slot] != widget) {
+            return;
+        }
+        x[slot] = (float) widget.getPositionX();
+        y[slot] = (float) widget.getPositionY();
+        width[slot] = (float) widget.getWidth();
+        height[slot] = (float) widget.getHeight();
+        flags[slot] = widget.getState();
+        StyleSheet style = widget.getStyle();
+        zIndex[slot] = style.getZIndex();
+        Background fill = style.getBackground();
+        background[slot] = fill == null ? 0 : pack(fill.getColor());
+    }
+
+    /**
+     * Sets the draw order from the given widgets. Widgets without a slot are skipped.
+     *
+     * @param ordered the widgets in draw order
+     */
+    public void setOrder(List<AbstractWidget> ordered) {
+        if (order.length < ordered.size()) {
+            order = new int[Math.max(ordered.size(), order.length * 2)];
+        }
+        int count = 0;
+        for (AbstractWidget widget : ordered) {
+            int slot = widget.getStoreSlot();
+            if (slot >= 0 && slot < size && widgets[slot] == widget) {
+                order[count++] = slot;
+            }
+        }
+        orderSize = count;
+        orderValid = true;
+    }
+
+    /**
+     * Finds the topmost widget at the given point.
+     * <p>
+     * The draw order is walked backwards. If the order is outdated the widget with the highest z-index wins.
+     * </p>
+     *
+     * @param pointX the x coordinate
+     * @param pointY the y coordinate
+     * @return the topmost widget at the point, or {@code null}
+     */
+    public AbstractWidget hitTest(double pointX, double pointY) {
+        float px = (float) pointX;
+        float py = (float) pointY;
+        if (orderValid) {
+            for (int i = orderSize - 1; i >= 0; i--) {
+                int slot = order[i];
+                if (contains(slot, px, py)) {
+                    return widgets[slot];
+                }
+            }
+            return null;
+        }
+        int found = -1;
+        for (int slot = 0; slot < size; slot++) {
+            if (contains(slot, px, py) && widgets[slot].isShowing() && (found < 0 || zIndex[slot] >= zIndex[found])) {
+                found = slot;
+            }
+        }
+        return found < 0 ? null : widgets[found];
+    }
+
+    /**
+     * @return the amount of used slots.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} if the draw order matches the current slots.
+     */
+    public boolean isOrderValid() {
+        return orderValid;
+    }
+
+    /**
+     * @return the amount of slots in the draw order.
+     */
+    public int getOrderSize() {
+        return orderSize;
+    }
+
+    /**
+     * @param index the position in the draw order
+     * @return the slot at this position
+     */
+    public int getOrderSlot(int index) {
+        return order[index];
+    }
+
+    /**
+     * @param slot the slot
+     * @return the widget which owns the slot
+     */
+    public AbstractWidget getWidget(int slot) {
+        return widgets[slot];
+    }
+
+    /**
+     * @param slot the slot
+     * @return the x position of the widget
+     */
+    public float getX(int slot) {
+        return x[slot];
+    }
+
+    /**
+     * @param slot the slot
+     * @return the y position of the widget
+     */
+    public float getY(int slot) {
+        return y[slot];
+    }
+
+    /**
+     * @param slot the slot
+     * @return the width of the widget
+     */
+    public float getWidth(int slot) {
+        return width[slot];
+    }
+
+    /**
+     * @param slot the slot
+     * @return the height of the widget
+     */
+    public float getHeight(int slot) {
+        return height[slot];
+    }
+
+    /**
+     * @param slot the slot
+     * @return the z-index of the widget
+     */
+    public int getZIndex(int slot) {
+        return zIndex[slot];
+    }
+
+    /**
+     * @param slot the slot
+     * @return the {@link com.jilou.ui.enums.WidgetState} bits of the widget
+     */
+    public int getFlags(int slot) {
+        return flags[slot];
+    }
+
+    /**
+     * @param slot the slot
+     * @return the background color packed as {@code 0xAARRGGBB}, {@code 0} if there is no background
+     */
+    public int getBackground(int slot) {
+        return background[slot];
+    }
+
+    private boolean contains(int slot, float px, float py) {
+        return px >= x[slot] && px <= x[slot] + width[slot] && py >= y[slot] && py <= y[slot] + height[slot];
+    }
+
+    private static int pack(Color color) {
+        if (color == null) {
+            return 0;
+        }
+        return color.getAlpha() << 24 | color.getRed() << 16 | color.getGreen() << 8 | color.getBlue();
+    }
+
+    private void grow() {
+        int capacity = widgets.length * 2;
+        widgets = Arrays.copyOf(widgets, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        zIndex = Arrays.copyOf(zIndex, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        background = Arrays.copyOf(background, capacity);
+    }
+}
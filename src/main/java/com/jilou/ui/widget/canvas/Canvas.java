@@ -0,0 +1,124 @@
+package com.jilou.ui.widget.canvas;
+
+import com.jilou.ui.enums.Invalidation;
+import com.jilou.ui.widget.AbstractWidget;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * A widget which draws whatever its {@link Painter} draws, for example a diagram, a game board or a preview.
+ * <p>
+ * The painter is not called every frame. Its drawing calls are recorded once into a {@link CommandList},
+ * which the renderer uploads and replays every frame with a few draw calls. The painter is only called again
+ * after {@link #invalidateCanvas()} or when the size of the canvas changed, so a canvas which does not change
+ * costs no Java code per frame. Moving the canvas does not record again, the commands are relative to its
+ * top left corner.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+public class Canvas extends AbstractWidget {
+
+    /**
+     * Records the content, null for an empty canvas.
+     */
+    private Painter painter;
+
+    /**
+     * The recorded commands.
+     */
+    @Getter(AccessLevel.NONE)
+    private final CommandList commands = new CommandList();
+
+    /**
+     * True if the commands are recorded for the current painter and size.
+     */
+    @Getter(AccessLevel.NONE)
+    private boolean recorded;
+    @Getter(AccessLevel.NONE)
+    private double recordedWidth;
+    @Getter(AccessLevel.NONE)
+    private double recordedHeight;
+
+    /**
+     * Creates an empty canvas.
+     *
+     * @param localizedName the unique localized name, null for a generated one
+     */
+    public Canvas(String localizedName) {
+        super(localizedName);
+    }
+
+    /**
+     * Creates a canvas.
+     *
+     * @param localizedName the unique localized name, null for a generated one
+     * @param painter       records the content
+     */
+    public Canvas(String localizedName, Painter painter) {
+        super(localizedName);
+        this.painter = painter;
+    }
+
+    /**
+     * @param painter records the content, null for an empty canvas
+     */
+    public void setPainter(Painter painter) {
+        this.painter = painter;
+        invalidateCanvas();
+    }
+
+    /**
+     * Drops the recorded commands, the painter is called again before the next frame.
+     * Call this after the state which the painter draws changed.
+     */
+    public void invalidateCanvas() {
+        this.recorded = false;
+        propertyChanged(Invalidation.PAINT);
+    }
+
+    /**
+     * Returns the recorded commands. The painter is called first if the canvas was invalidated or resized
+     * since the last recording.
+     *
+     * @return the commands, relative to the top left corner of the canvas
+     */
+    public CommandList getCommands() {
+        if (!recorded || recordedWidth != getWidth() || recordedHeight != getHeight()) {
+            record();
+        }
+        return commands;
+    }
+
+    private void record() {
+        commands.clear();
+        this.recorded = true;
+        this.recordedWidth = getWidth();
+        this.recordedHeight = getHeight();
+        if (painter != null && getWidth() > 0 && getHeight() > 0) {
+            painter.paint(new DrawContext(commands), getWidth(), getHeight());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        commands.clear();
+        this.recorded = false;
+    }
+
+    /**
+     * Draws the content of a {@link Canvas} through a {@link DrawContext}.
+     */
+    @FunctionalInterface
+    public interface Painter {
+
+        /**
+         * @param context records the drawing calls
+         * @param width   the width of the canvas
+         * @param height  the height of the canvas
+         */
+        void paint(DrawContext context, double width, double height);
+    }
+}
@@ -0,0 +1,218 @@
+package com.jilou.ui.widget.canvas;
+
+import com.jilou.ui.logic.graphics.font.Font;
+import com.jilou.ui.logic.graphics.image.Image;
+import com.jilou.ui.logic.graphics.tessellation.PathMesh;
+import com.jilou.ui.utils.Color;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The recorded drawing commands of a {@link Canvas}, in a compact form which is replayed every frame.
+ * <p>
+ * Rectangles and lines are stored as colored triangles in one float array, {@link #FLOATS_PER_VERTEX} floats
+ * per vertex, so a renderer uploads them once and draws them without calling back into Java per shape.
+ * Paths, texts and images are stored as command records. Every command is three ints, its opcode, its first
+ * vertex or record and its count, and consecutive commands of the same opcode are merged into one, so a run
+ * of rectangles is one draw call. All coordinates are relative to the top left corner of the canvas.
+ * </p>
+ * <p>
+ * Recorded images are acquired and released again when the list is cleared.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public final class CommandList {
+
+    /**
+     * Draws {@code count} colored triangle vertices starting at vertex {@code first}.
+     */
+    public static final int TRIANGLES = 0;
+
+    /**
+     * Draws {@code count} {@link PathCommand}s starting at record {@code first}.
+     */
+    public static final int PATH = 1;
+
+    /**
+     * Draws {@code count} {@link TextCommand}s starting at record {@code first}.
+     */
+    public static final int TEXT = 2;
+
+    /**
+     * Draws {@code count} {@link ImageCommand}s starting at record {@code first}.
+     */
+    public static final int IMAGE = 3;
+
+    /**
+     * The floats of one vertex: x, y, red, green, blue and alpha.
+     */
+    public static final int FLOATS_PER_VERTEX = 6;
+
+    private float[] vertices = new float[FLOATS_PER_VERTEX * 96];
+    private int[] commands = new int[3 * 16];
+
+    /**
+     * The amount of vertices.
+     */
+    @Getter
+    private int vertexCount;
+
+    /**
+     * The amount of commands.
+     */
+    @Getter
+    private int commandCount;
+
+    private final List<Object> records = new ArrayList<>();
+
+    /**
+     * Increased by every {@link #clear()}, so a renderer uploads the vertices again.
+     */
+    @Getter
+    private int version;
+
+    /**
+     * Removes all commands and releases the recorded images.
+     */
+    public void clear() {
+        for (Object record : records) {
+            if (record instanceof ImageCommand command) {
+                command.image().release();
+            }
+        }
+        records.clear();
+        vertexCount = 0;
+        commandCount = 0;
+        version++;
+    }
+
+    /**
+     * @return the vertices, only the first {@link #getVertexCount()} vertices are used
+     */
+    public float[] getVertices() {
+        return vertices;
+    }
+
+    /**
+     * @param index the command index
+     * @return the opcode of the command
+     */
+    public int getOpcode(int index) {
+        return commands[index * 3];
+    }
+
+    /**
+     * @param index the command index
+     * @return the first vertex or record of the command
+     */
+    public int getFirst(int index) {
+        return commands[index * 3 + 1];
+    }
+
+    /**
+     * @param index the command index
+     * @return the amount of vertices or records of the command
+     */
+    public int getCount(int index) {
+        return commands[index * 3 + 2];
+    }
+
+    /**
+     * @param index the record index
+     * @return the record, a {@link PathCommand}, {@link TextCommand} or {@link ImageCommand}
+     */
+    public Object getRecord(int index) {
+        return records.get(index);
+    }
+
+    void addTriangle(float x0, float y0, float x1, float y1, float x2, float y2, Color color) {
+        float red = color.getRedPercent();
+        float green = color.getGreenPercent();
+        float blue = color.getBluePercent();
+        float alpha = color.getAlphaPercent();
+        if (vertices.length < (vertexCount + 3) * FLOATS_PER_VERTEX) {
+            vertices = Arrays.copyOf(vertices, vertices.length * 2);
+        }
+        putVertex(x0, y0, red, green, blue, alpha);
+        putVertex(x1, y1, red, green, blue, alpha);
+        putVertex(x2, y2, red, green, blue, alpha);
+        append(TRIANGLES, vertexCount - 3, 3);
+    }
+
+    void addRecord(int opcode, Object record) {
+        if (record instanceof ImageCommand command) {
+            command.image().acquire();
+        }
+        records.add(record);
+        append(opcode, records.size() - 1, 1);
+    }
+
+    private void putVertex(float x, float y, float red, float green, float blue, float alpha) {
+        int offset = vertexCount++ * FLOATS_PER_VERTEX;
+        vertices[offset] = x;
+        vertices[offset + 1] = y;
+        vertices[offset + 2] = red;
+        vertices[offset + 3] = green;
+        vertices[offset + 4] = blue;
+        vertices[offset + 5] = alpha;
+    }
+
+    /**
+     * Extends the last command if it has the same opcode, otherwise adds a new command.
+     */
+    private void append(int opcode, int first, int count) {
+        if (commandCount > 0 && getOpcode(commandCount - 1) == opcode) {
+            commands[(commandCount - 1) * 3 + 2] += count;
+            return;
+        }
+        if (commands.length < (commandCount + 1) * 3) {
+            commands = Arrays.copyOf(commands, commands.length * 2);
+        }
+        int offset = commandCount++ * 3;
+        commands[offset] = opcode;
+        commands[offset + 1] = first;
+        commands[offset + 2] = count;
+    }
+
+    /**
+     * A path, drawn from its cached mesh.
+     *
+     * @param mesh        the mesh
+     * @param x           the x of path x 0
+     * @param y           the y of path y 0
+     * @param scale       the pixels per path unit
+     * @param fillColor   the fill color, null for no fill
+     * @param strokeColor the stroke color, null for no stroke
+     */
+    public record PathCommand(PathMesh mesh, float x, float y, float scale, Color fillColor, Color strokeColor) {
+    }
+
+    /**
+     * A line of text.
+     *
+     * @param font  the font
+     * @param text  the text
+     * @param x     the left edge
+     * @param y     the baseline
+     * @param color the color
+     */
+    public record TextCommand(Font font, String text, float x, float y, Color color) {
+    }
+
+    /**
+     * An image, stretched into a rectangle.
+     *
+     * @param image the image
+     * @param x0    the left edge
+     * @param y0    the top edge
+     * @param x1    the right edge
+     * @param y1    the bottom edge
+     */
+    public record ImageCommand(Image image, float x0, float y0, float x1, float y1) {
+    }
+}
@@ -0,0 +1,173 @@
+package com.jilou.ui.widget.canvas;
+
+import com.jilou.ui.logic.graphics.font.Font;
+import com.jilou.ui.logic.graphics.image.Image;
+import com.jilou.ui.logic.graphics.tessellation.PathMesh;
+import com.jilou.ui.logic.graphics.tessellation.PathTessellator;
+import com.jilou.ui.utils.Color;
+import com.jilou.ui.widget.shapes.VectorPath;
+import lombok.Getter;
+
+/**
+ * The drawing API which a {@link Canvas.Painter} uses. Nothing is drawn immediately, every call is recorded
+ * into the {@link CommandList} of the canvas. Coordinates are pixels relative to the top left corner of the
+ * canvas.
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+public final class DrawContext {
+
+    private final CommandList commands;
+
+    /**
+     * The color of the following shapes and texts.
+     */
+    private Color color = Color.BLACK;
+
+    /**
+     * The width of the following lines and outlines in pixels.
+     */
+    private float lineWidth = 1;
+
+    /**
+     * The font of the following texts.
+     */
+    private Font font = Font.FALLBACK;
+
+    DrawContext(CommandList commands) {
+        this.commands = commands;
+    }
+
+    /**
+     * @param color the color of the following shapes and texts, null for black
+     */
+    public void setColor(Color color) {
+        this.color = color == null ? Color.BLACK : color;
+    }
+
+    /**
+     * @param lineWidth the width of the following lines and outlines in pixels
+     */
+    public void setLineWidth(float lineWidth) {
+        if (lineWidth <= 0) {
+            throw new IllegalArgumentException("Line width must be positive");
+        }
+        this.lineWidth = lineWidth;
+    }
+
+    /**
+     * @param font the font of the following texts, null for the fallback font
+     */
+    public void setFont(Font font) {
+        this.font = font == null ? Font.FALLBACK : font;
+    }
+
+    /**
+     * @param x      the left edge
+     * @param y      the top edge
+     * @param width  the width
+     * @param height the height
+     */
+    public void fillRect(float x, float y, float width, float height) {
+        if (width <= 0 || height <= 0) return;
+
+        commands.addTriangle(x, y, x + width, y, x + width, y + height, color);
+        commands.addTriangle(x, y, x + width, y + height, x, y + height, color);
+    }
+
+    /**
+     * Draws the outline of a rectangle inside its bounds.
+     *
+     * @param x      the left edge
+     * @param y      the top edge
+     * @param width  the width
+     * @param height the height
+     */
+    public void strokeRect(float x, float y, float width, float height) {
+        float line = Math.min(lineWidth, Math.min(width, height) / 2);
+        if (line <= 0) return;
+
+        fillRect(x, y, width, line);
+        fillRect(x, y + height - line, width, line);
+        fillRect(x, y + line, line, height - line * 2);
+        fillRect(x + width - line, y + line, line, height - line * 2);
+    }
+
+    /**
+     * @param x0 the start x
+     * @param y0 the start y
+     * @param x1 the end x
+     * @param y1 the end y
+     */
+    public void drawLine(float x0, float y0, float x1, float y1) {
+        float dx = x1 - x0;
+        float dy = y1 - y0;
+        float length = (float) Math.sqrt(dx * dx + dy * dy);
+        if (length == 0) return;
+
+        float nx = -dy / length * lineWidth / 2;
+        float ny = dx / length * lineWidth / 2;
+        commands.addTriangle(x0 + nx, y0 + ny, x1 + nx, y1 + ny, x1 - nx, y1 - ny, color);
+        commands.addTriangle(x0 + nx, y0 + ny, x1 - nx, y1 - ny, x0 - nx, y0 - ny, color);
+    }
+
+    /**
+     * Fills a path with the current color. The path is tessellated for the scale, equal paths share the mesh.
+     *
+     * @param path  the path
+     * @param x     the x of path x 0
+     * @param y     the y of path y 0
+     * @param scale the pixels per path unit
+     */
+    public void fillPath(VectorPath path, float x, float y, float scale) {
+        addPath(path, x, y, scale, color, null);
+    }
+
+    /**
+     * Strokes a path with the current color and line width.
+     *
+     * @param path  the path
+     * @param x     the x of path x 0
+     * @param y     the y of path y 0
+     * @param scale the pixels per path unit
+     */
+    public void strokePath(VectorPath path, float x, float y, float scale) {
+        addPath(path, x, y, scale, null, color);
+    }
+
+    /**
+     * @param text the text
+     * @param x    the left edge
+     * @param y    the baseline
+     */
+    public void drawText(String text, float x, float y) {
+        if (text == null || text.isEmpty()) return;
+
+        commands.addRecord(CommandList.TEXT, new CommandList.TextCommand(font, text, x, y, color));
+    }
+
+    /**
+     * Draws an image, which is used by the canvas until it records again.
+     *
+     * @param image  the image
+     * @param x      the left edge
+     * @param y      the top edge
+     * @param width  the width
+     * @param height the height
+     */
+    public void drawImage(Image image, float x, float y, float width, float height) {
+        if (image == null || width <= 0 || height <= 0) return;
+
+        commands.addRecord(CommandList.IMAGE, new CommandList.ImageCommand(image, x, y, x + width, y + height));
+    }
+
+    private void addPath(VectorPath path, float x, float y, float scale, Color fillColor, Color strokeColor) {
+        if (path == null || scale <= 0) return;
+
+        PathMesh mesh = PathTessellator.mesh(path, PathTessellator.level(scale),
+                strokeColor == null ? 0 : lineWidth / scale);
+        commands.addRecord(CommandList.PATH, new CommandList.PathCommand(mesh, x, y, scale, fillColor, strokeColor));
+    }
+}
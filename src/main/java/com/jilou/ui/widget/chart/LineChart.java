@@ -0,0 +1,463 @@
+package com.jilou.ui.widget.chart;
+
+import com.jilou.ui.container.Scene;
+import com.jilou.ui.enums.Invalidation;
+import com.jilou.ui.enums.chart.Decimation;
+import com.jilou.ui.utils.Color;
+import com.jilou.ui.widget.AbstractWidget;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * A line or area chart of a {@link TimeSeries} which producer threads append to.
+ * <p>
+ * The chart never draws more than a few vertices per pixel column. Before every frame the visible points are
+ * decimated to the width of the chart with the selected {@link Decimation}, so the drawing cost depends on
+ * the width in pixels and not on the amount of points. The vertices are kept in one array, lines first and
+ * the area below them second, and the range which changed since the last upload is tracked, so a renderer
+ * only uploads the changed part. Appending to the series wakes up the window of the chart.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+public class LineChart extends AbstractWidget {
+
+    /**
+     * The shown series, null for none.
+     */
+    private TimeSeries series;
+
+    /**
+     * Reduces the visible points to the width of the chart.
+     */
+    private Decimation decimation = Decimation.MIN_MAX;
+
+    /**
+     * The shown time span which ends at the newest point, zero or less to show all points.
+     */
+    private double window;
+
+    /**
+     * The value at the bottom of the chart, {@link Double#NaN} to use the smallest visible value.
+     */
+    private double minValue = Double.NaN;
+
+    /**
+     * The value at the top of the chart, {@link Double#NaN} to use the largest visible value.
+     */
+    private double maxValue = Double.NaN;
+
+    /**
+     * The color of the line.
+     */
+    private Color lineColor = Color.BLUE;
+
+    /**
+     * The color of the area below the line, null to draw the line only.
+     */
+    private Color fillColor;
+
+    @Getter(AccessLevel.NONE)
+    private MinMaxIndex index;
+
+    /**
+     * The x and y of the line vertices followed by the area vertices.
+     */
+    @Getter(AccessLevel.NONE)
+    private float[] vertices = new float[0];
+
+    /**
+     * The vertices of the previous frame, reused for the next frame.
+     */
+    @Getter(AccessLevel.NONE)
+    private float[] previous = new float[0];
+
+    /**
+     * The amount of line vertices, drawn as line strip.
+     */
+    private int lineVertexCount;
+
+    /**
+     * The amount of area vertices after the line vertices, drawn as triangle strip.
+     */
+    private int fillVertexCount;
+
+    /**
+     * The range of floats in {@link #getVertices()} which changed since {@link #clearDirty()}, empty if
+     * the start is not below the end.
+     */
+    private int dirtyStart;
+    private int dirtyEnd;
+
+    /**
+     * True if a property changed since the last {@link #prepareVertices()}.
+     */
+    @Getter(AccessLevel.NONE)
+    private boolean geometryChanged = true;
+
+    @Getter(AccessLevel.NONE)
+    private double preparedX = Double.NaN;
+    @Getter(AccessLevel.NONE)
+    private double preparedY = Double.NaN;
+    @Getter(AccessLevel.NONE)
+    private double preparedWidth = Double.NaN;
+    @Getter(AccessLevel.NONE)
+    private double preparedHeight = Double.NaN;
+
+    @Getter(AccessLevel.NONE)
+    private final float[] range = new float[2];
+
+    /**
+     * The decimated points before they are mapped to pixels, reused between frames.
+     */
+    @Getter(AccessLevel.NONE)
+    private double[] pointX = new double[0];
+    @Getter(AccessLevel.NONE)
+    private float[] pointLow = new float[0];
+    @Getter(AccessLevel.NONE)
+    private float[] pointHigh = new float[0];
+
+    /**
+     * Creates a chart without series.
+     *
+     * @param localizedName the unique localized name, null for a generated one
+     */
+    public LineChart(String localizedName) {
+        super(localizedName);
+    }
+
+    /**
+     * Sets the shown series. Appending to the series requests a new frame from the window of the chart.
+     *
+     * @param series the series, null for none
+     */
+    public void setSeries(TimeSeries series) {
+        if (this.series == series) {
+            return;
+        }
+        if (this.series != null) {
+            this.series.setWakeUp(null);
+        }
+        this.series = series;
+        this.index = series == null ? null : new MinMaxIndex(series);
+        if (series != null) {
+            series.setWakeUp(this::requestFrame);
+        }
+        changed();
+    }
+
+    /**
+     * @param decimation reduces the visible points to the width of the chart
+     */
+    public void setDecimation(Decimation decimation) {
+        if (decimation == null) {
+            throw new IllegalArgumentException("Decimation cannot be null");
+        }
+        this.decimation = decimation;
+        changed();
+    }
+
+    /**
+     * @param window the shown time span which ends at the newest point, zero or less to show all points
+     */
+    public void setWindow(double window) {
+        this.window = window;
+        changed();
+    }
+
+    /**
+     * Sets the shown value range. {@link Double#NaN} uses the smallest or largest visible value.
+     *
+     * @param minValue the value at the bottom
+     * @param maxValue the value at the top
+     */
+    public void setValueRange(double minValue, double maxValue) {
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+        changed();
+    }
+
+    /**
+     * @param lineColor the color of the line
+     */
+    public void setLineColor(Color lineColor) {
+        this.lineColor = lineColor == null ? Color.BLUE : lineColor;
+        propertyChanged(Invalidation.PAINT);
+    }
+
+    /**
+     * @param fillColor the color of the area below the line, null to draw the line only
+     */
+    public void setFillColor(Color fillColor) {
+        this.fillColor = fillColor;
+        changed();
+    }
+
+    /**
+     * Computes the vertices for the current bounds and points, if the series or a property changed since the
+     * last call. Renderers call this once per frame.
+     *
+     * @return {@code true} if the vertices were computed again
+     */
+    public boolean prepareVertices() {
+        boolean appended = series != null && series.consumeChanged();
+        boolean moved = preparedX != getPositionX() || preparedY != getPositionY()
+                || preparedWidth != getWidth() || preparedHeight != getHeight();
+        if (!appended && !moved && !geometryChanged) {
+            return false;
+        }
+        geometryChanged = false;
+        preparedX = getPositionX();
+        preparedY = getPositionY();
+        preparedWidth = getWidth();
+        preparedHeight = getHeight();
+
+        int count = series == null ? 0 : decimate();
+        writeVertices(count);
+        return true;
+    }
+
+    /**
+     * @return the x and y of {@link #getLineVertexCount()} line vertices followed by
+     * {@link #getFillVertexCount()} area vertices, the array can be longer
+     */
+    public float[] getVertices() {
+        return vertices;
+    }
+
+    /**
+     * Marks all vertices as uploaded.
+     */
+    public void clearDirty() {
+        dirtyStart = 0;
+        dirtyEnd = 0;
+    }
+
+    /**
+     * Reduces the visible points into {@link #pointX}, {@link #pointLow} and {@link #pointHigh}.
+     *
+     * @return the amount of decimated points
+     */
+    private int decimate() {
+        index.update();
+        long end = series.getEnd();
+        long start = series.getStart();
+        if (end <= start) {
+            return 0;
+        }
+        double last = series.getTime(end - 1);
+        long first = window > 0 ? series.indexOf(last - window, start, end) : start;
+        double from = window > 0 ? last - window : series.getTime(first);
+        int columns = Math.max(1, (int) Math.ceil(getWidth()));
+        ensurePoints(columns);
+        return decimation == Decimation.LTTB
+                ? lttb(first, end, columns)
+                : minMax(first, end, from, Math.max(last - from, Double.MIN_NORMAL), columns);
+    }
+
+    /**
+     * Splits the points into one bucket per pixel column and keeps the smallest and largest value of each.
+     */
+    private int minMax(long first, long end, double from, double span, int columns) {
+        int count = 0;
+        long bucketStart = first;
+        for (int column = 0; column < columns && bucketStart < end; column++) {
+            long bucketEnd = column == columns - 1
+                    ? end
+                    : series.indexOf(from + span * (column + 1) / columns, bucketStart, end);
+            if (bucketEnd > bucketStart) {
+                index.range(bucketStart, bucketEnd, range);
+                pointX[count] = column + 0.5;
+                pointLow[count] = range[0];
+                pointHigh[count] = range[1];
+                count++;
+            }
+            bucketStart = bucketEnd;
+        }
+        return count;
+    }
+
+    /**
+     * Selects one point per pixel column with largest triangle three buckets, which keeps the visual shape.
+     */
+    private int lttb(long first, long end, int columns) {
+        long total = end - first;
+        double startTime = series.getTime(first);
+        double scale = columns / Math.max(series.getTime(end - 1) - startTime, Double.MIN_NORMAL);
+        if (total <= columns || columns < 3) {
+            int count = (int) Math.min(total, columns);
+            for (int i = 0; i < count; i++) {
+                long point = count == total ? first + i : first + i * (total - 1) / Math.max(1, count - 1);
+                setPoint(i, (series.getTime(point) - startTime) * scale, series.getValue(point));
+            }
+            return count;
+        }
+
+        double bucketSize = (double) (total - 2) / (columns - 2);
+        long selected = first;
+        setPoint(0, 0, series.getValue(first));
+        for (int bucket = 0; bucket < columns - 2; bucket++) {
+            long nextStart = first + 1 + (long) ((bucket + 1) * bucketSize);
+            long nextEnd = Math.min(end, first + 1 + (long) ((bucket + 2) * bucketSize));
+            if (bucket == columns - 3) {
+                nextStart = end - 1;
+                nextEnd = end;
+            }
+            double averageTime = 0;
+            double averageValue = 0;
+            for (long i = nextStart; i < nextEnd; i++) {
+                averageTime += series.getTime(i);
+                averageValue += series.getValue(i);
+            }
+            long nextCount = Math.max(1, nextEnd - nextStart);
+            averageTime /= nextCount;
+            averageValue /= nextCount;
+
+            double selectedTime = series.getTime(selected);
+            double selectedValue = series.getValue(selected);
+            long bucketStart = first + 1 + (long) (bucket * bucketSize);
+            long bucketEnd = first + 1 + (long) ((bucket + 1) * bucketSize);
+            double largest = -1;
+            long next = bucketStart;
+            for (long i = bucketStart; i < bucketEnd; i++) {
+                double area = Math.abs((selectedTime - averageTime) * (series.getValue(i) - selectedValue)
+                        - (selectedTime - series.getTime(i)) * (averageValue - selectedValue));
+                if (area > largest) {
+                    largest = area;
+                    next = i;
+                }
+            }
+            selected = next;
+            setPoint(bucket + 1, (series.getTime(selected) - startTime) * scale, series.getValue(selected));
+        }
+        setPoint(columns - 1, (series.getTime(end - 1) - startTime) * scale, series.getValue(end - 1));
+        return columns;
+    }
+
+    private void setPoint(int point, double x, float value) {
+        pointX[point] = x;
+        pointLow[point] = value;
+        pointHigh[point] = value;
+    }
+
+    /**
+     * Maps the decimated points to pixels and writes the line and area vertices, the changed range is
+     * added to the dirty range.
+     */
+    private void writeVertices(int count) {
+        double low = minValue;
+        double high = maxValue;
+        if (Double.isNaN(low) || Double.isNaN(high)) {
+            double smallest = Double.POSITIVE_INFINITY;
+            double largest = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                smallest = Math.min(smallest, pointLow[i]);
+                largest = Math.max(largest, pointHigh[i]);
+            }
+            low = Double.isNaN(low) ? smallest : low;
+            high = Double.isNaN(high) ? largest : high;
+        }
+        if (!(high > low)) {
+            low -= 1;
+            high += 1;
+        }
+
+        boolean pairs = decimation == Decimation.MIN_MAX;
+        int lines = pairs ? count * 2 : count;
+        int fills = fillColor == null ? 0 : count * 2;
+        int size = (lines + fills) * 2;
+        if (previous.length < size) {
+            previous = new float[Math.max(size, previous.length * 2)];
+        }
+        float[] next = previous;
+        double x = getPositionX();
+        double bottom = getPositionY() + getHeight();
+        double scale = getHeight() / (high - low);
+
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            float pixelX = (float) (x + pointX[i]);
+            float top = (float) (bottom - (pointHigh[i] - low) * scale);
+            next[offset++] = pixelX;
+            next[offset++] = top;
+            if (pairs) {
+                next[offset++] = pixelX;
+                next[offset++] = (float) (bottom - (pointLow[i] - low) * scale);
+            }
+        }
+        for (int i = 0; i < fills / 2; i++) {
+            float pixelX = (float) (x + pointX[i]);
+            next[offset++] = pixelX;
+            next[offset++] = (float) (bottom - (pointHigh[i] - low) * scale);
+            next[offset++] = pixelX;
+            next[offset++] = (float) bottom;
+        }
+
+        markChanged(next, size);
+        this.previous = vertices;
+        this.vertices = next;
+        this.lineVertexCount = lines;
+        this.fillVertexCount = fills;
+    }
+
+    /**
+     * Adds the floats which differ from the current vertices to the dirty range.
+     */
+    private void markChanged(float[] next, int size) {
+        int used = (lineVertexCount + fillVertexCount) * 2;
+        int common = Math.min(size, used);
+        int first = 0;
+        while (first < common && next[first] == vertices[first]) {
+            first++;
+        }
+        int last = size;
+        if (size == used) {
+            while (last > first && next[last - 1] == vertices[last - 1]) {
+                last--;
+            }
+        }
+        if (first >= last) {
+            return;
+        }
+        if (dirtyStart >= dirtyEnd) {
+            dirtyStart = first;
+            dirtyEnd = last;
+        } else {
+            dirtyStart = Math.min(dirtyStart, first);
+            dirtyEnd = Math.max(dirtyEnd, last);
+        }
+        dirtyEnd = Math.min(dirtyEnd, size);
+    }
+
+    private void ensurePoints(int count) {
+        if (pointX.length < count) {
+            pointX = new double[count];
+            pointLow = new float[count];
+            pointHigh = new float[count];
+        }
+    }
+
+    private void changed() {
+        geometryChanged = true;
+        propertyChanged(Invalidation.PAINT);
+    }
+
+    /**
+     * Wakes up the window, called by producer threads.
+     */
+    private void requestFrame() {
+        Scene scene = getScene();
+        if (scene != null && scene.getContainer() != null) {
+            scene.getContainer().requestRedraw();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (series != null) {
+            series.setWakeUp(null);
+        }
+    }
+}
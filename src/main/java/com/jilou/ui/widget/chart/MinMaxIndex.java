@@ -0,0 +1,99 @@
+package com.jilou.ui.widget.chart;
+
+import java.util.Arrays;
+
+/**
+ * The smallest and largest value of every block of {@link #BLOCK} points of a {@link TimeSeries}.
+ * <p>
+ * The summaries are updated with the points appended since the last update only. A range query reads the
+ * summaries of all blocks inside the range and the single points at its edges, so it costs about
+ * {@code range / BLOCK + 2 * BLOCK} reads instead of one read per point. The index is used by one thread.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+final class MinMaxIndex {
+
+    /**
+     * The amount of points summarized by one block.
+     */
+    static final int BLOCK = 256;
+
+    private final TimeSeries series;
+
+    private final float[] blockMin;
+    private final float[] blockMax;
+
+    /**
+     * The logical index of the first point of every summary, -1 for none. A summary belongs to the block
+     * with this start, older blocks which used the same entry are overwritten.
+     */
+    private final long[] blockStart;
+
+    /**
+     * The logical index after the last summarized point.
+     */
+    private long consumed;
+
+    MinMaxIndex(TimeSeries series) {
+        this.series = series;
+        int entries = series.getCapacity() / BLOCK + 2;
+        this.blockMin = new float[entries];
+        this.blockMax = new float[entries];
+        this.blockStart = new long[entries];
+        Arrays.fill(blockStart, -1);
+    }
+
+    /**
+     * Adds the points which were published since the last update to the summaries.
+     */
+    void update() {
+        long end = series.getEnd();
+        long index = Math.max(consumed, series.getStart());
+        for (; index < end; index++) {
+            long start = index - index % BLOCK;
+            int entry = (int) ((index / BLOCK) % blockStart.length);
+            float value = series.getValue(index);
+            if (blockStart[entry] != start) {
+                blockStart[entry] = start;
+                blockMin[entry] = value;
+                blockMax[entry] = value;
+            } else {
+                blockMin[entry] = Math.min(blockMin[entry], value);
+                blockMax[entry] = Math.max(blockMax[entry], value);
+            }
+        }
+        consumed = Math.max(consumed, end);
+    }
+
+    /**
+     * Computes the smallest and largest value of a range of readable points.
+     *
+     * @param from   the first logical index
+     * @param to     the logical index after the last point
+     * @param result receives the smallest value at index 0 and the largest at index 1
+     */
+    void range(long from, long to, float[] result) {
+        float min = Float.POSITIVE_INFINITY;
+        float max = Float.NEGATIVE_INFINITY;
+        long index = from;
+        while (index < to) {
+            if (index % BLOCK == 0 && index + BLOCK <= to && index + BLOCK <= consumed) {
+                int entry = (int) ((index / BLOCK) % blockStart.length);
+                if (blockStart[entry] == index) {
+                    min = Math.min(min, blockMin[entry]);
+                    max = Math.max(max, blockMax[entry]);
+                    index += BLOCK;
+                    continue;
+                }
+            }
+            float value = series.getValue(index);
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            index++;
+        }
+        result[0] = min;
+        result[1] = max;
+    }
+}
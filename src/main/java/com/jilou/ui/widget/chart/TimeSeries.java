@@ -0,0 +1,236 @@
+package com.jilou.ui.widget.chart;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A ring buffer of time and value pairs, which producer threads append to while a chart reads it.
+ * <p>
+ * Points are stored in two primitive arrays. Every point has a logical index which counts all appended
+ * points, the oldest points are overwritten once the capacity is reached. Appending reserves indices with
+ * one atomic increment, writes the point and stamps its slot with its index. The end of the readable points
+ * is advanced over every stamped slot by whichever producer finds it first, so a producer never waits for a
+ * slower producer, points are only readable once all earlier points are written. The times must not
+ * decrease in index order.
+ * </p>
+ * <p>
+ * Readers do not lock the producers out. {@link #getStart()} keeps a margin of {@link #getMargin()} points
+ * to the slots which producers write next, so a reader sees consistent points as long as fewer points than
+ * the margin are appended while it reads. A reader which is overtaken by more points reads newer values for
+ * its oldest points, which a chart draws for one frame.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public class TimeSeries {
+
+    private final double[] times;
+    private final float[] values;
+
+    /**
+     * The amount of reserved indices, including points which are still written.
+     */
+    private final AtomicLong reserved = new AtomicLong();
+
+    /**
+     * The amount of published points, every point below this index is completely written.
+     */
+    private final AtomicLong published = new AtomicLong();
+
+    /**
+     * The logical index of the newest point which was completely written into every slot, -1 for none.
+     */
+    private final AtomicLongArray stamps;
+
+    /**
+     * The amount of the oldest stored points which readers skip, see {@link #getStart()}.
+     */
+    private final int margin;
+
+    /**
+     * True if points were published since the last {@link #consumeChanged()}.
+     */
+    private final AtomicBoolean changed = new AtomicBoolean();
+
+    /**
+     * Called by the first append after {@link #consumeChanged()}, to request a new frame.
+     */
+    private volatile Runnable wakeUp;
+
+    /**
+     * Creates a series.
+     *
+     * @param capacity the maximum amount of stored points
+     */
+    public TimeSeries(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.times = new double[capacity];
+        this.values = new float[capacity];
+        this.margin = capacity / 8;
+        long[] empty = new long[capacity];
+        Arrays.fill(empty, -1);
+        this.stamps = new AtomicLongArray(empty);
+    }
+
+    /**
+     * Appends one point. This can be called from any thread and allocates nothing.
+     *
+     * @param time  the time of the point, not before the previous point
+     * @param value the value
+     */
+    public void append(double time, double value) {
+        long index = reserved.getAndIncrement();
+        int slot = (int) (index % times.length);
+        times[slot] = time;
+        values[slot] = (float) value;
+        stamp(slot, index);
+        publish();
+    }
+
+    /**
+     * Appends many points at once. This can be called from any thread and allocates nothing.
+     *
+     * @param times  the times, not before the previous point
+     * @param values the values
+     * @param offset the first point in the arrays
+     * @param length the amount of points
+     */
+    public void append(double[] times, double[] values, int offset, int length) {
+        if (length <= 0) {
+            return;
+        }
+        long index = reserved.getAndAdd(length);
+        for (int i = 0; i < length; i++) {
+            int slot = (int) ((index + i) % this.times.length);
+            this.times[slot] = times[offset + i];
+            this.values[slot] = (float) values[offset + i];
+            stamp(slot, index + i);
+        }
+        publish();
+    }
+
+    /**
+     * Marks a slot as written. A producer which was overtaken by a whole capacity keeps the newer stamp.
+     */
+    private void stamp(int slot, long index) {
+        long current = stamps.get(slot);
+        while (current < index && !stamps.compareAndSet(slot, current, index)) {
+            current = stamps.get(slot);
+        }
+    }
+
+    /**
+     * Advances the end of the readable points over every written slot. A producer which finds an earlier
+     * point not written yet returns, the producer of that point advances the end when it is written.
+     */
+    private void publish() {
+        boolean advanced = false;
+        long end = published.get();
+        while (stamps.get((int) (end % times.length)) >= end) {
+            if (published.compareAndSet(end, end + 1)) {
+                advanced = true;
+            }
+            end = published.get();
+        }
+        if (!advanced) {
+            return;
+        }
+        if (!changed.get() && changed.compareAndSet(false, true)) {
+            Runnable callback = wakeUp;
+            if (callback != null) {
+                callback.run();
+            }
+        }
+    }
+
+    /**
+     * @return the logical index after the newest published point
+     */
+    public long getEnd() {
+        return published.get();
+    }
+
+    /**
+     * The oldest point which readers use. It keeps {@link #getMargin()} points to the slots which producers
+     * write next, points below this index can change at any time.
+     *
+     * @return the logical index of the oldest readable point
+     */
+    public long getStart() {
+        long end = published.get();
+        return Math.min(end, Math.max(0, reserved.get() - times.length + margin));
+    }
+
+    /**
+     * @return the amount of points which can be appended while a reader reads from {@link #getStart()}
+     */
+    public int getMargin() {
+        return margin;
+    }
+
+    /**
+     * @return the maximum amount of stored points
+     */
+    public int getCapacity() {
+        return times.length;
+    }
+
+    /**
+     * @param index the logical index of a readable point
+     * @return the time of the point
+     */
+    public double getTime(long index) {
+        return times[(int) (index % times.length)];
+    }
+
+    /**
+     * @param index the logical index of a readable point
+     * @return the value of the point
+     */
+    public float getValue(long index) {
+        return values[(int) (index % values.length)];
+    }
+
+    /**
+     * Finds the first point at or after a time with a binary search.
+     *
+     * @param time  the time
+     * @param start the first logical index to search
+     * @param end   the logical index after the last point to search
+     * @return the logical index of the first point with a time not before the given time, {@code end} if none
+     */
+    public long indexOf(double time, long start, long end) {
+        long low = start;
+        long high = end;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (getTime(mid) < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return {@code true} if points were published since the last call
+     */
+    public boolean consumeChanged() {
+        return changed.getAndSet(false);
+    }
+
+    /**
+     * Sets the callback which requests a new frame when points are appended, called at most once per frame.
+     *
+     * @param wakeUp the callback, null for none
+     */
+    public void setWakeUp(Runnable wakeUp) {
+        this.wakeUp = wakeUp;
+    }
+}
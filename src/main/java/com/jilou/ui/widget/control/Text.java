@@ -1,6 +1,9 @@
 package com.jilou.ui.widget.control;
 
+import com.jilou.ui.enums.Invalidation;
 import com.jilou.ui.logic.graphics.font.Font;
+import com.jilou.ui.styles.Style;
+import com.jilou.ui.styles.StyleSheet;
 import com.jilou.ui.styles.types.Background;
 import com.jilou.ui.styles.types.Border;
 import com.jilou.ui.utils.Color;
@@ -10,18 +13,26 @@ import lombok.Getter;
 @Getter
 public class Text extends AbstractWidget {
 
+    private static final Style DEFAULT_STYLE = Style.builder()
+            .background(Background.fromColor(Color.WHITE))
+            .border(Border.builder().thickness(1).build())
+            .build();
+
     private String message;
     private Font font;
 
     public Text(String message) {
-        super(null);
+        this(null, message);
+    }
+
+    public Text(String localizedName, String message) {
+        super(localizedName);
         this.message = message == null ? "" : message;
         this.font = Font.FALLBACK;
         this.setHeight(20.0);
         this.setWidth(80.0);
 
-        this.getStyle().setBackground(Background.fromColor(Color.WHITE));
-        this.getStyle().setBorder(Border.builder().thickness(1).build());
+        this.setStyle(new StyleSheet(DEFAULT_STYLE));
     }
 
     public Text() {
@@ -31,11 +42,14 @@ public class Text extends AbstractWidget {
     public void setFont(Font font) {
         if(font == null) this.font = Font.FALLBACK;
         else this.font = font;
+        propertyChanged(Invalidation.PAINT);
     }
 
     public void setMessage(String message) {
         if(message == null) message = "";
+        if (message.equals(this.message)) return;
         this.message = message;
+        propertyChanged(Invalidation.PAINT);
     }
 
     @Override
@@ -0,0 +1,302 @@
+package com.jilou.ui.widget.control;
+
+import com.jilou.ui.widget.AbstractWidget;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A scrolling list which shows a large amount of items with a small, fixed amount of cell widgets.
+ * <p>
+ * Only enough cells to fill the viewport plus {@link #getBuffer()} rows above and below are created, they are
+ * the children of the list. When the list is scrolled, the cells which leave the viewport are bound to the
+ * items which enter it, so the amount of widgets in the scene, the render order and hit-testing do not
+ * depend on the amount of items. Item {@code i} is always shown by cell {@code i % cellCount}, so scrolling
+ * by one row binds one cell. All rows have the same height.
+ * </p>
+ * <p>
+ * The items are read through {@link List#get(int)} only for bound rows, so a lazy list can provide
+ * millions of items. Scrolling is applied with the next layout pass, see {@link #setScrollOffset(double)}.
+ * Buffered rows which lie outside the list are bound but hidden. Cells are not clipped, so the partly shown
+ * rows at the edges can overlap the bounds of the list.
+ * </p>
+ *
+ * @param <T> the item type
+ * @param <C> the cell widget type
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+public class VirtualList<T, C extends AbstractWidget> extends AbstractWidget {
+
+    /**
+     * The default amount of extra rows above and below the viewport.
+     */
+    public static final int DEFAULT_BUFFER = 2;
+
+    /**
+     * Creates a new cell widget.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Supplier<? extends C> cellFactory;
+
+    /**
+     * Shows an item in a cell.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Binder<? super T, ? super C> binder;
+
+    /**
+     * The shown items.
+     */
+    private List<? extends T> items = List.of();
+
+    /**
+     * The height of every row in pixels.
+     */
+    private double itemHeight;
+
+    /**
+     * The amount of extra rows which are bound above and below the viewport.
+     */
+    private int buffer = DEFAULT_BUFFER;
+
+    /**
+     * The distance between the top of the first item and the top of the list.
+     */
+    private double scrollOffset;
+
+    /**
+     * The cells, item {@code i} is shown by cell {@code i % cells.size()}.
+     */
+    @Getter(AccessLevel.NONE)
+    private final List<C> cells = new ArrayList<>();
+
+    /**
+     * The index of the item which is bound to every cell, -1 if the cell is unbound.
+     */
+    @Getter(AccessLevel.NONE)
+    private int[] boundIndices = new int[0];
+
+    /**
+     * The index of the first bound item.
+     */
+    private int firstIndex;
+
+    /**
+     * Creates a virtual list.
+     *
+     * @param localizedName the unique localized name, null for a generated one
+     * @param itemHeight    the height of every row
+     * @param cellFactory   creates a new cell
+     * @param binder        shows an item in a cell
+     */
+    public VirtualList(String localizedName, double itemHeight, Supplier<? extends C> cellFactory,
+                       Binder<? super T, ? super C> binder) {
+        super(localizedName);
+        if (cellFactory == null || binder == null) {
+            throw new IllegalArgumentException("Cell factory and binder cannot be null");
+        }
+        if (itemHeight <= 0) {
+            throw new IllegalArgumentException("Item height must be positive");
+        }
+        this.itemHeight = itemHeight;
+        this.cellFactory = cellFactory;
+        this.binder = binder;
+    }
+
+    /**
+     * Sets the shown items, all cells are bound again.
+     *
+     * @param items the items, null for none
+     */
+    public void setItems(List<? extends T> items) {
+        this.items = items == null ? List.of() : items;
+        itemsChanged();
+    }
+
+    /**
+     * Binds all cells again, call this after items of the current list changed.
+     */
+    public void itemsChanged() {
+        Arrays.fill(boundIndices, -1);
+        this.scrollOffset = clampOffset(scrollOffset);
+        invalidateArrange();
+    }
+
+    /**
+     * @param itemHeight the height of every row in pixels
+     */
+    public void setItemHeight(double itemHeight) {
+        if (itemHeight <= 0) {
+            throw new IllegalArgumentException("Item height must be positive");
+        }
+        this.itemHeight = itemHeight;
+        invalidateArrange();
+    }
+
+    /**
+     * @param buffer the amount of extra rows which are bound above and below the viewport
+     */
+    public void setBuffer(int buffer) {
+        this.buffer = Math.max(0, buffer);
+        invalidateArrange();
+    }
+
+    /**
+     * Scrolls the list. The offset is clamped to the content, the cells are bound with the next layout pass.
+     *
+     * @param scrollOffset the distance between the top of the first item and the top of the list
+     */
+    public void setScrollOffset(double scrollOffset) {
+        scrollOffset = clampOffset(scrollOffset);
+        if (this.scrollOffset == scrollOffset) {
+            return;
+        }
+        this.scrollOffset = scrollOffset;
+        invalidateArrange();
+    }
+
+    /**
+     * @param delta the distance to scroll, positive scrolls down
+     */
+    public void scrollBy(double delta) {
+        setScrollOffset(scrollOffset + delta);
+    }
+
+    /**
+     * Scrolls the item with the given index to the top of the list.
+     *
+     * @param index the item index
+     */
+    public void scrollTo(int index) {
+        setScrollOffset(index * itemHeight);
+    }
+
+    /**
+     * @return the height of all items together
+     */
+    public double getContentHeight() {
+        return items.size() * itemHeight;
+    }
+
+    /**
+     * @return the largest scroll offset
+     */
+    public double getMaxScrollOffset() {
+        return Math.max(0, getContentHeight() - getHeight());
+    }
+
+    /**
+     * @return the cells in creation order, which is not the order of the items
+     */
+    public List<C> getCells() {
+        return Collections.unmodifiableList(cells);
+    }
+
+    /**
+     * @param cell a cell of this list
+     * @return the index of the item which is bound to the cell, -1 if it is unbound
+     */
+    public int getBoundIndex(C cell) {
+        int slot = cells.indexOf(cell);
+        return slot < 0 ? -1 : boundIndices[slot];
+    }
+
+    /**
+     * Creates missing cells, binds the cells of the rows in the viewport and places them below each other.
+     * Cells without item and cells which lie fully above or below the list are hidden.
+     */
+    @Override
+    protected void arrangeChildren() {
+        ensureCells();
+        int count = cells.size();
+        if (count == 0) {
+            return;
+        }
+        int size = items.size();
+        double offset = clampOffset(scrollOffset);
+        int first = Math.max(0, (int) Math.floor(offset / itemHeight) - buffer);
+        first = Math.min(first, Math.max(0, size - count));
+        this.firstIndex = first;
+
+        for (int index = first; index < first + count; index++) {
+            int slot = index % count;
+            C cell = cells.get(slot);
+            if (index >= size) {
+                boundIndices[slot] = -1;
+                cell.setVisible(false);
+                continue;
+            }
+            if (boundIndices[slot] != index) {
+                binder.bind(cell, items.get(index), index);
+                boundIndices[slot] = index;
+            }
+            double top = index * itemHeight - offset;
+            boolean visible = top < getHeight() && top + itemHeight > 0;
+            cell.setVisible(visible);
+            if (visible) {
+                cell.setLayoutBounds(getPositionX(), getPositionY() + top, getWidth(), itemHeight);
+            }
+        }
+    }
+
+    /**
+     * Creates the cells which are missing for the current height. Cells are only added on the thread which
+     * owns the scene, other threads queue the creation for the next frame.
+     */
+    private void ensureCells() {
+        int needed = (int) Math.ceil(getHeight() / itemHeight) + 1 + buffer * 2;
+        if (cells.size() >= needed) {
+            return;
+        }
+        if (getScene() != null && !getScene().isOwnerThread()) {
+            getScene().post(() -> {
+                ensureCells();
+                invalidateArrange();
+            });
+            return;
+        }
+        List<C> created = new ArrayList<>(needed - cells.size());
+        while (cells.size() + created.size() < needed) {
+            created.add(cellFactory.get());
+        }
+        cells.addAll(created);
+        boundIndices = new int[cells.size()];
+        Arrays.fill(boundIndices, -1);
+        addChildren(created);
+    }
+
+    private double clampOffset(double offset) {
+        return Math.max(0, Math.min(offset, getMaxScrollOffset()));
+    }
+
+    @Override
+    public void destroy() {
+        for (C cell : cells) {
+            cell.destroy();
+        }
+    }
+
+    /**
+     * Shows an item in a cell of a {@link VirtualList}.
+     *
+     * @param <T> the item type
+     * @param <C> the cell type
+     */
+    @FunctionalInterface
+    public interface Binder<T, C> {
+
+        /**
+         * @param cell  the cell
+         * @param item  the item
+         * @param index the index of the item
+         */
+        void bind(C cell, T item, int index);
+    }
+}
@@ -0,0 +1,555 @@
+package com.jilou.ui.widget.control.table;
+
+import com.jilou.ui.container.Scene;
+import com.jilou.ui.widget.AbstractWidget;
+import com.jilou.ui.widget.control.Text;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntPredicate;
+
+/**
+ * A scrolling table for large {@link TableData}, with a fixed header row, resizable columns and frozen columns.
+ * <p>
+ * Only the cells in the viewport exist as {@link Text} widgets. Row {@code r} is shown by the cells of row slot
+ * {@code r % rowSlots} and every scrolled column by a column slot in the same way, so scrolling by one row or
+ * column binds only the cells which come into view. Headers and frozen columns are drawn above the scrolled
+ * cells by their z-index.
+ * </p>
+ * <p>
+ * Sorting and filtering run on a fork/join pool, see {@link #sort(int, boolean)} and {@link #setFilter(IntPredicate)}.
+ * They produce a new row order, which the pool hands to the thread which owns the scene. It replaces the current
+ * order with the next {@link Scene#commit()} as a whole, or with {@link #commitOrder()} if the grid has no scene.
+ * Until then the grid keeps showing the previous order, so a frame never waits for a sort. Results of outdated
+ * requests are dropped.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+public class DataGrid extends AbstractWidget {
+
+    /**
+     * The width of a column which was not resized.
+     */
+    public static final double DEFAULT_COLUMN_WIDTH = 100;
+
+    /**
+     * The smallest width of a column.
+     */
+    public static final double MIN_COLUMN_WIDTH = 16;
+
+    private static final int HEADER_Z_INDEX = 2;
+    private static final int FROZEN_Z_INDEX = 1;
+
+    /**
+     * The pool which sorts and filters the rows.
+     */
+    @Getter(AccessLevel.NONE)
+    private final ForkJoinPool pool;
+
+    /**
+     * The shown data, null for none.
+     */
+    private TableData data;
+
+    @Getter(AccessLevel.NONE)
+    private double[] columnWidths = new double[0];
+
+    private double rowHeight = 20;
+    private double headerHeight = 24;
+
+    /**
+     * The amount of leading columns which are not scrolled horizontally.
+     */
+    private int frozenColumns;
+
+    private double scrollX;
+    private double scrollY;
+
+    /**
+     * The sorted column, -1 for the row order of the data.
+     */
+    private int sortColumn = -1;
+    private boolean ascending = true;
+
+    @Getter(AccessLevel.NONE)
+    private IntPredicate filter;
+
+    /**
+     * The data rows in shown order. The array is never changed, a new order replaces it.
+     */
+    @Getter(AccessLevel.NONE)
+    private int[] order = new int[0];
+
+    /**
+     * The newest order which the pool computed and which is not committed yet, null for none.
+     */
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<PendingOrder> pendingOrder = new AtomicReference<>();
+
+    /**
+     * The number of the last requested order, older results are dropped.
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile int orderVersion;
+
+    @Getter(AccessLevel.NONE)
+    private final List<Text> headers = new ArrayList<>();
+
+    @Getter(AccessLevel.NONE)
+    private final List<Text> cells = new ArrayList<>();
+
+    /**
+     * The data row and column which are bound to every cell as {@code row << 32 | column}, -1 if unbound.
+     */
+    @Getter(AccessLevel.NONE)
+    private long[] boundKeys = new long[0];
+
+    /**
+     * The arrange pass in which every cell was used last, unused cells are hidden.
+     */
+    @Getter(AccessLevel.NONE)
+    private int[] usedPasses = new int[0];
+
+    @Getter(AccessLevel.NONE)
+    private int pass;
+
+    @Getter(AccessLevel.NONE)
+    private int rowSlots;
+
+    @Getter(AccessLevel.NONE)
+    private int columnSlots;
+
+    /**
+     * Creates a data grid which sorts on the common fork/join pool.
+     *
+     * @param localizedName the unique localized name, null for a generated one
+     */
+    public DataGrid(String localizedName) {
+        this(localizedName, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a data grid.
+     *
+     * @param localizedName the unique localized name, null for a generated one
+     * @param pool          the pool which sorts and filters the rows
+     */
+    public DataGrid(String localizedName, ForkJoinPool pool) {
+        super(localizedName);
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Shows new data in the original row order. Sorting, filtering and the column widths are reset.
+     *
+     * @param data the data, null for none
+     */
+    public void setData(TableData data) {
+        for (Text header : headers) {
+            header.destroy();
+            removeChild(header);
+        }
+        headers.clear();
+        this.data = data;
+        this.sortColumn = -1;
+        this.filter = null;
+        this.orderVersion++;
+        this.pendingOrder.set(null);
+
+        int columns = data == null ? 0 : data.getColumnCount();
+        columnWidths = new double[columns];
+        Arrays.fill(columnWidths, DEFAULT_COLUMN_WIDTH);
+        for (int column = 0; column < columns; column++) {
+            Text header = new Text(null, data.getColumnName(column));
+            header.getStyle().setZIndex(column < frozenColumns ? HEADER_Z_INDEX + 1 : HEADER_Z_INDEX);
+            headers.add(header);
+        }
+        addChildren(headers);
+
+        int rows = data == null ? 0 : data.getRowCount();
+        int[] identity = new int[rows];
+        Arrays.setAll(identity, row -> row);
+        this.order = identity;
+        this.scrollX = 0;
+        this.scrollY = 0;
+        Arrays.fill(boundKeys, -1);
+        invalidateArrange();
+    }
+
+    /**
+     * Sorts the rows by one column in the background.
+     *
+     * @param column    the column, -1 for the row order of the data
+     * @param ascending {@code true} to sort ascending
+     * @return completes when the new order was computed, it is shown with the next frame
+     */
+    public CompletableFuture<Void> sort(int column, boolean ascending) {
+        if (data == null || column >= data.getColumnCount()) {
+            throw new IllegalArgumentException("Unknown column " + column);
+        }
+        this.sortColumn = Math.max(-1, column);
+        this.ascending = ascending;
+        return refresh();
+    }
+
+    /**
+     * Filters the rows in the background.
+     *
+     * @param filter tests a data row index, null shows all rows
+     * @return completes when the new order was computed, it is shown with the next frame
+     */
+    public CompletableFuture<Void> setFilter(IntPredicate filter) {
+        this.filter = filter;
+        return refresh();
+    }
+
+    /**
+     * Computes the row order again, call this after the data changed.
+     *
+     * @return completes when the new order was computed, it is shown with the next frame
+     */
+    public CompletableFuture<Void> refresh() {
+        TableData source = data;
+        if (source == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        int version = ++orderVersion;
+        int column = sortColumn;
+        boolean sortAscending = ascending;
+        IntPredicate rowFilter = filter;
+        return CompletableFuture
+                .supplyAsync(() -> TableSort.order(source, column, sortAscending, rowFilter, pool), pool)
+                .thenAccept(rows -> swapOrder(rows, version));
+    }
+
+    /**
+     * Hands a computed row order to the thread which owns the scene. The pool never changes the grid itself.
+     */
+    private void swapOrder(int[] rows, int version) {
+        if (version != orderVersion) {
+            return;
+        }
+        pendingOrder.accumulateAndGet(new PendingOrder(rows, version),
+                (current, next) -> current != null && current.version() > next.version() ? current : next);
+        Scene scene = getScene();
+        if (scene != null) {
+            scene.enqueue(this::commitOrder);
+        }
+    }
+
+    /**
+     * Replaces the row order by the newest computed order, unless a newer order was requested meanwhile.
+     * The scene calls this with its next {@link Scene#commit()}, a grid without a scene must call it itself.
+     * This must run on the thread which owns the grid.
+     *
+     * @return {@code true} if the order was replaced
+     */
+    public boolean commitOrder() {
+        PendingOrder pending = pendingOrder.getAndSet(null);
+        if (pending == null || pending.version() != orderVersion) {
+            return false;
+        }
+        this.order = pending.rows();
+        Arrays.fill(boundKeys, -1);
+        this.scrollY = clamp(scrollY, getMaxScrollY());
+        invalidateArrange();
+        return true;
+    }
+
+    /**
+     * @param column the column index
+     * @return the width of the column
+     */
+    public double getColumnWidth(int column) {
+        return columnWidths[column];
+    }
+
+    /**
+     * Resizes a column.
+     *
+     * @param column the column index
+     * @param width  the new width, at least {@link #MIN_COLUMN_WIDTH}
+     */
+    public void setColumnWidth(int column, double width) {
+        width = Math.max(MIN_COLUMN_WIDTH, width);
+        if (columnWidths[column] == width) {
+            return;
+        }
+        columnWidths[column] = width;
+        this.scrollX = clamp(scrollX, getMaxScrollX());
+        invalidateArrange();
+    }
+
+    /**
+     * @param column the column index
+     * @param delta  the change of the width, like the distance a header border was dragged
+     */
+    public void resizeColumn(int column, double delta) {
+        setColumnWidth(column, columnWidths[column] + delta);
+    }
+
+    /**
+     * @param frozenColumns the amount of leading columns which are not scrolled horizontally
+     */
+    public void setFrozenColumns(int frozenColumns) {
+        this.frozenColumns = Math.max(0, frozenColumns);
+        for (int column = 0; column < headers.size(); column++) {
+            headers.get(column).getStyle().setZIndex(column < this.frozenColumns ? HEADER_Z_INDEX + 1 : HEADER_Z_INDEX);
+        }
+        Arrays.fill(boundKeys, -1);
+        invalidateArrange();
+    }
+
+    /**
+     * @param rowHeight the height of every row
+     */
+    public void setRowHeight(double rowHeight) {
+        if (rowHeight <= 0) {
+            throw new IllegalArgumentException("Row height must be positive");
+        }
+        this.rowHeight = rowHeight;
+        invalidateArrange();
+    }
+
+    /**
+     * @param headerHeight the height of the header row
+     */
+    public void setHeaderHeight(double headerHeight) {
+        this.headerHeight = Math.max(0, headerHeight);
+        invalidateArrange();
+    }
+
+    /**
+     * Scrolls the grid. The offsets are clamped to the content, the cells are bound with the next layout pass.
+     *
+     * @param scrollX the horizontal offset of the scrolled columns
+     * @param scrollY the vertical offset of the rows
+     */
+    public void setScroll(double scrollX, double scrollY) {
+        scrollX = clamp(scrollX, getMaxScrollX());
+        scrollY = clamp(scrollY, getMaxScrollY());
+        if (this.scrollX == scrollX && this.scrollY == scrollY) {
+            return;
+        }
+        this.scrollX = scrollX;
+        this.scrollY = scrollY;
+        invalidateArrange();
+    }
+
+    /**
+     * @param deltaX the horizontal distance, positive scrolls right
+     * @param deltaY the vertical distance, positive scrolls down
+     */
+    public void scrollBy(double deltaX, double deltaY) {
+        setScroll(scrollX + deltaX, scrollY + deltaY);
+    }
+
+    /**
+     * @return the amount of shown rows, after filtering
+     */
+    public int getShownRowCount() {
+        return order.length;
+    }
+
+    /**
+     * @param shownRow the position of a row in the grid
+     * @return the index of the row in the data
+     */
+    public int getDataRow(int shownRow) {
+        return order[shownRow];
+    }
+
+    /**
+     * @return the largest vertical scroll offset
+     */
+    public double getMaxScrollY() {
+        return Math.max(0, order.length * rowHeight - (getHeight() - headerHeight));
+    }
+
+    /**
+     * @return the largest horizontal scroll offset
+     */
+    public double getMaxScrollX() {
+        double content = 0;
+        for (double width : columnWidths) {
+            content += width;
+        }
+        return Math.max(0, content - getWidth());
+    }
+
+    /**
+     * @param shownRow the position of a row in the grid
+     * @param column   the column index
+     * @return the cell which shows the value, null if the value is outside the viewport
+     */
+    public Text getCell(int shownRow, int column) {
+        if (shownRow < 0 || shownRow >= order.length) {
+            return null;
+        }
+        long key = (long) order[shownRow] << 32 | column;
+        for (int slot = 0; slot < boundKeys.length; slot++) {
+            if (boundKeys[slot] == key && usedPasses[slot] == pass) {
+                return cells.get(slot);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Places the headers and binds and places the cells of the viewport. Cells which are not needed or lie fully
+     * below the viewport are hidden.
+     */
+    @Override
+    protected void arrangeChildren() {
+        if (data == null) {
+            return;
+        }
+        int columns = data.getColumnCount();
+        int frozen = Math.min(frozenColumns, columns);
+        double bodyHeight = Math.max(0, getHeight() - headerHeight);
+        if (!ensureCells((int) Math.ceil(bodyHeight / rowHeight) + 1, frozen + scrollSlots(frozen))) {
+            return;
+        }
+
+        double left = getPositionX();
+        double top = getPositionY();
+        double frozenRight = left;
+        double[] columnX = new double[columns];
+        boolean[] shown = new boolean[columns];
+        double cursor = 0;
+        for (int column = 0; column < columns; column++) {
+            double width = columnWidths[column];
+            double x = column < frozen ? left + cursor : left + cursor - scrollX;
+            if (column < frozen) {
+                frozenRight = x + width;
+            }
+            shown[column] = column < frozen || (x + width > frozenRight && x < left + getWidth());
+            columnX[column] = x;
+            cursor += width;
+
+            Text header = headers.get(column);
+            header.setVisible(shown[column]);
+            if (shown[column]) {
+                header.setLayoutBounds(x, top, width, headerHeight);
+            }
+        }
+
+        pass++;
+        int[] rows = order;
+        int firstRow = (int) Math.floor(scrollY / rowHeight);
+        int lastRow = Math.min(rows.length, firstRow + rowSlots);
+        for (int shownRow = firstRow; shownRow < lastRow; shownRow++) {
+            double y = top + headerHeight + shownRow * rowHeight - scrollY;
+            if (y >= top + headerHeight + bodyHeight) {
+                break;
+            }
+            int dataRow = rows[shownRow];
+            int rowSlot = shownRow % rowSlots;
+            for (int column = 0; column < columns; column++) {
+                if (!shown[column]) {
+                    continue;
+                }
+                int columnSlot = column < frozen ? column : frozen + (column - frozen) % (columnSlots - frozen);
+                int slot = rowSlot * columnSlots + columnSlot;
+                Text cell = cells.get(slot);
+                long key = (long) dataRow << 32 | column;
+                if (boundKeys[slot] != key) {
+                    cell.setMessage(data.format(column, dataRow));
+                    boundKeys[slot] = key;
+                }
+                int zIndex = column < frozen ? FROZEN_Z_INDEX : 0;
+                if (cell.getStyle().getZIndex() != zIndex) {
+                    cell.getStyle().setZIndex(zIndex);
+                }
+                usedPasses[slot] = pass;
+                cell.setVisible(true);
+                cell.setLayoutBounds(columnX[column], y, columnWidths[column], rowHeight);
+            }
+        }
+
+        for (int slot = 0; slot < cells.size(); slot++) {
+            if (usedPasses[slot] != pass) {
+                cells.get(slot).setVisible(false);
+            }
+        }
+    }
+
+    /**
+     * @return the most scrolled columns which can be in the viewport at once
+     */
+    private int scrollSlots(int frozen) {
+        int scrolled = columnWidths.length - frozen;
+        if (scrolled <= 0) {
+            return 0;
+        }
+        double narrowest = Double.MAX_VALUE;
+        for (int column = frozen; column < columnWidths.length; column++) {
+            narrowest = Math.min(narrowest, columnWidths[column]);
+        }
+        return Math.min(scrolled, (int) Math.ceil(getWidth() / narrowest) + 1);
+    }
+
+    /**
+     * Creates the cells for the given slots. Cells are only added on the thread which owns the scene, other
+     * threads queue the creation for the next frame.
+     *
+     * @return {@code true} if the cells exist
+     */
+    private boolean ensureCells(int rowSlots, int columnSlots) {
+        if (this.rowSlots == rowSlots && this.columnSlots == columnSlots) {
+            return true;
+        }
+        if (getScene() != null && !getScene().isOwnerThread()) {
+            getScene().post(() -> {
+                ensureCells(rowSlots, columnSlots);
+                invalidateArrange();
+            });
+            return false;
+        }
+        int needed = rowSlots * columnSlots;
+        List<Text> created = new ArrayList<>();
+        while (cells.size() + created.size() < needed) {
+            created.add(new Text(null, ""));
+        }
+        cells.addAll(created);
+        addChildren(created);
+        this.rowSlots = rowSlots;
+        this.columnSlots = columnSlots;
+        boundKeys = new long[cells.size()];
+        Arrays.fill(boundKeys, -1);
+        usedPasses = new int[cells.size()];
+        return true;
+    }
+
+    private static double clamp(double value, double max) {
+        return Math.max(0, Math.min(value, max));
+    }
+
+    @Override
+    public void destroy() {
+        for (Text header : headers) {
+            header.destroy();
+        }
+        for (Text cell : cells) {
+            cell.destroy();
+        }
+    }
+
+    /**
+     * A computed row order and the number of the request which computed it.
+     */
+    private record PendingOrder(int[] rows, int version) {
+    }
+}
@@ -0,0 +1,163 @@
+package com.jilou.ui.widget.control.table;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The data of a {@link DataGrid}, stored by column.
+ * <p>
+ * Every column is one primitive array, or one string array for text, so sorting and filtering read one
+ * contiguous array instead of one object per row. The arrays are not copied, they must not be changed while
+ * the grid sorts or filters them.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public class TableData {
+
+    /**
+     * The amount of rows, every column has this length.
+     */
+    @Getter
+    private final int rowCount;
+
+    private final List<Column> columns = new ArrayList<>();
+
+    /**
+     * Creates an empty table.
+     *
+     * @param rowCount the amount of rows
+     */
+    public TableData(int rowCount) {
+        if (rowCount < 0) {
+            throw new IllegalArgumentException("Row count cannot be negative");
+        }
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Adds a numeric column.
+     *
+     * @param name   the header of the column
+     * @param values one value per row
+     * @return this table
+     */
+    public TableData addColumn(String name, double[] values) {
+        checkLength(values == null ? -1 : values.length);
+        columns.add(new NumberColumn(name, values));
+        return this;
+    }
+
+    /**
+     * Adds a text column.
+     *
+     * @param name   the header of the column
+     * @param values one value per row
+     * @return this table
+     */
+    public TableData addColumn(String name, String[] values) {
+        checkLength(values == null ? -1 : values.length);
+        columns.add(new TextColumn(name, values));
+        return this;
+    }
+
+    /**
+     * @return the amount of columns
+     */
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    /**
+     * @param column the column index
+     * @return the header of the column
+     */
+    public String getColumnName(int column) {
+        return columns.get(column).name();
+    }
+
+    /**
+     * @param column the column index
+     * @return {@code true} if the column holds numbers
+     */
+    public boolean isNumeric(int column) {
+        return columns.get(column) instanceof NumberColumn;
+    }
+
+    /**
+     * @param column a numeric column
+     * @param row    the row index
+     * @return the value
+     * @throws ClassCastException if the column holds text
+     */
+    public double getNumber(int column, int row) {
+        return ((NumberColumn) columns.get(column)).values()[row];
+    }
+
+    /**
+     * @param column a text column
+     * @param row    the row index
+     * @return the value
+     * @throws ClassCastException if the column holds numbers
+     */
+    public String getText(int column, int row) {
+        return ((TextColumn) columns.get(column)).values()[row];
+    }
+
+    /**
+     * @param column the column index
+     * @param row    the row index
+     * @return the value as shown in a cell
+     */
+    public String format(int column, int row) {
+        Column value = columns.get(column);
+        if (value instanceof NumberColumn number) {
+            double cell = number.values()[row];
+            return cell == Math.rint(cell) && Math.abs(cell) < 1e15 ? Long.toString((long) cell) : Double.toString(cell);
+        }
+        String text = ((TextColumn) value).values()[row];
+        return text == null ? "" : text;
+    }
+
+    /**
+     * Compares two rows by one column, numbers by value and text lexicographically with empty cells first.
+     *
+     * @param column the column index
+     * @return the comparator of the column
+     */
+    TableSort.RowComparator comparator(int column) {
+        Column value = columns.get(column);
+        if (value instanceof NumberColumn number) {
+            double[] values = number.values();
+            return (rowA, rowB) -> Double.compare(values[rowA], values[rowB]);
+        }
+        String[] values = ((TextColumn) value).values();
+        return (rowA, rowB) -> {
+            String a = values[rowA];
+            String b = values[rowB];
+            if (a == null || b == null) {
+                return a == null ? (b == null ? 0 : -1) : 1;
+            }
+            return a.compareTo(b);
+        };
+    }
+
+    private void checkLength(int length) {
+        if (length != rowCount) {
+            throw new IllegalArgumentException("Column must have " + rowCount + " values");
+        }
+    }
+
+    private sealed interface Column permits NumberColumn, TextColumn {
+        String name();
+    }
+
+    private record NumberColumn(String name, double[] values) implements Column {
+    }
+
+    private record TextColumn(String name, String[] values) implements Column {
+    }
+}
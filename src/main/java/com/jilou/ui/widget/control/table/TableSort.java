@@ -0,0 +1,172 @@
+package com.jilou.ui.widget.control.table;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntPredicate;
+
+/**
+ * Computes the row order of a {@link DataGrid} on a fork/join pool.
+ * <p>
+ * Filtering splits the rows into ranges which are tested in parallel and concatenated in row order.
+ * Sorting is a stable parallel merge sort of the row indices, which compares the rows through the primitive
+ * column arrays, so no row object is created.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+final class TableSort {
+
+    /**
+     * The amount of rows below which a range is processed without forking.
+     */
+    static final int SEQUENTIAL_THRESHOLD = 8192;
+
+    /**
+     * The amount of rows below which a range is sorted by insertion.
+     */
+    private static final int INSERTION_THRESHOLD = 32;
+
+    private TableSort() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Compares two rows of a table.
+     */
+    @FunctionalInterface
+    interface RowComparator {
+        int compare(int rowA, int rowB);
+    }
+
+    /**
+     * Computes the visible rows in their shown order.
+     *
+     * @param data      the table
+     * @param column    the sorted column, -1 to keep the row order
+     * @param ascending {@code true} to sort ascending
+     * @param filter    the filter of the rows, null to show all rows
+     * @param pool      the pool which runs the work
+     * @return the row indices in shown order
+     */
+    static int[] order(TableData data, int column, boolean ascending, IntPredicate filter, ForkJoinPool pool) {
+        int[] rows = pool.invoke(new FilterTask(filter, 0, data.getRowCount()));
+        if (column >= 0 && rows.length > 1) {
+            RowComparator comparator = data.comparator(column);
+            RowComparator order = ascending ? comparator : (rowA, rowB) -> comparator.compare(rowB, rowA);
+            pool.invoke(new SortTask(rows, new int[rows.length], 0, rows.length, order));
+        }
+        return rows;
+    }
+
+    /**
+     * Collects the rows of a range which pass the filter.
+     */
+    private static final class FilterTask extends RecursiveTask<int[]> {
+
+        private final transient IntPredicate filter;
+        private final int from;
+        private final int to;
+
+        private FilterTask(IntPredicate filter, int from, int to) {
+            this.filter = filter;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                int[] rows = new int[to - from];
+                int count = 0;
+                for (int row = from; row < to; row++) {
+                    if (filter == null || filter.test(row)) {
+                        rows[count++] = row;
+                    }
+                }
+                return count == rows.length ? rows : Arrays.copyOf(rows, count);
+            }
+            int mid = (from + to) >>> 1;
+            FilterTask left = new FilterTask(filter, from, mid);
+            left.fork();
+            int[] right = new FilterTask(filter, mid, to).compute();
+            int[] first = left.join();
+            int[] rows = new int[first.length + right.length];
+            System.arraycopy(first, 0, rows, 0, first.length);
+            System.arraycopy(right, 0, rows, first.length, right.length);
+            return rows;
+        }
+    }
+
+    /**
+     * Sorts a range of row indices, using the buffer of the same range for merging.
+     */
+    private static final class SortTask extends RecursiveAction {
+
+        private final int[] rows;
+        private final int[] buffer;
+        private final int from;
+        private final int to;
+        private final transient RowComparator comparator;
+
+        private SortTask(int[] rows, int[] buffer, int from, int to, RowComparator comparator) {
+            this.rows = rows;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                sort(rows, buffer, from, to, comparator);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SortTask(rows, buffer, from, mid, comparator),
+                    new SortTask(rows, buffer, mid, to, comparator));
+            merge(rows, buffer, from, mid, to, comparator);
+        }
+    }
+
+    private static void sort(int[] rows, int[] buffer, int from, int to, RowComparator comparator) {
+        if (to - from <= INSERTION_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int row = rows[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(rows[j], row) > 0) {
+                    rows[j + 1] = rows[j];
+                    j--;
+                }
+                rows[j + 1] = row;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sort(rows, buffer, from, mid, comparator);
+        sort(rows, buffer, mid, to, comparator);
+        merge(rows, buffer, from, mid, to, comparator);
+    }
+
+    /**
+     * Merges two sorted neighbor ranges, taking the left row on ties so the sort is stable.
+     */
+    private static void merge(int[] rows, int[] buffer, int from, int mid, int to, RowComparator comparator) {
+        if (comparator.compare(rows[mid - 1], rows[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(rows, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && comparator.compare(buffer[left], buffer[right]) <= 0)) {
+                rows[i] = buffer[left++];
+            } else {
+                rows[i] = buffer[right++];
+            }
+        }
+    }
+}
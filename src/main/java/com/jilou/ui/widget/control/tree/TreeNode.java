@@ -0,0 +1,201 @@
+package com.jilou.ui.widget.control.tree;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * One item of a {@link TreeView} and its position in the hierarchy.
+ * <p>
+ * The children are loaded when the node is expanded first, and the node of a child is only created when its
+ * row is shown. Every node counts the rows of its expanded subtree and knows its expanded children in index
+ * order, so the row at a position is found by skipping collapsed children as one range and expanding or
+ * collapsing a node only updates the counts of its ancestors.
+ * </p>
+ *
+ * @param <T> the item type
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+public final class TreeNode<T> {
+
+    /**
+     * The item, null for the hidden root of a tree.
+     */
+    private final T value;
+
+    /**
+     * The parent node, null for the hidden root.
+     */
+    private final TreeNode<T> parent;
+
+    /**
+     * The index of this node among its siblings.
+     */
+    private final int index;
+
+    /**
+     * The depth of this node, 0 for the top level items.
+     */
+    private final int depth;
+
+    /**
+     * True if the children of this node are shown.
+     */
+    private boolean expanded;
+
+    /**
+     * The child items, null until they are loaded.
+     */
+    @Getter(AccessLevel.NONE)
+    private List<? extends T> childValues;
+
+    /**
+     * The nodes of the children which were shown so far, by index.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<Integer, TreeNode<T>> children = new HashMap<>();
+
+    /**
+     * The children which are expanded, by index.
+     */
+    @Getter(AccessLevel.NONE)
+    private final TreeMap<Integer, TreeNode<T>> expandedChildren = new TreeMap<>();
+
+    /**
+     * The amount of rows below this node while it is expanded, including the rows of expanded children.
+     */
+    @Getter(AccessLevel.NONE)
+    private int rows;
+
+    TreeNode(T value, TreeNode<T> parent, int index) {
+        this.value = value;
+        this.parent = parent;
+        this.index = index;
+        this.depth = parent == null ? -1 : parent.depth + 1;
+    }
+
+    /**
+     * @return {@code true} if the children were loaded
+     */
+    public boolean isLoaded() {
+        return childValues != null;
+    }
+
+    /**
+     * @return the amount of children, 0 until they are loaded
+     */
+    public int getChildCount() {
+        return childValues == null ? 0 : childValues.size();
+    }
+
+    /**
+     * @return {@code true} if the children were loaded and there are none
+     */
+    public boolean isLeaf() {
+        return childValues != null && childValues.isEmpty();
+    }
+
+    /**
+     * @param index the index of a loaded child
+     * @return the node of the child, created on first access
+     */
+    public TreeNode<T> getChild(int index) {
+        if (index < 0 || index >= getChildCount()) {
+            throw new IndexOutOfBoundsException("Child " + index + " of " + getChildCount());
+        }
+        return children.computeIfAbsent(index, key -> new TreeNode<>(childValues.get(key), this, key));
+    }
+
+    /**
+     * @return the amount of rows below this node which are shown, 0 if it is collapsed
+     */
+    int getShownRows() {
+        return expanded ? rows : 0;
+    }
+
+    /**
+     * Loads the children once.
+     */
+    void load(List<? extends T> values) {
+        this.childValues = values == null ? List.of() : values;
+        this.rows = childValues.size();
+    }
+
+    /**
+     * Shows or hides the children and updates the row counts of the ancestors.
+     */
+    void setExpanded(boolean expanded) {
+        if (this.expanded == expanded) {
+            return;
+        }
+        this.expanded = expanded;
+        if (parent == null) {
+            return;
+        }
+        if (expanded) {
+            parent.expandedChildren.put(index, this);
+        } else {
+            parent.expandedChildren.remove(index);
+        }
+        int delta = expanded ? rows : -rows;
+        for (TreeNode<T> ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+            ancestor.rows += delta;
+            if (!ancestor.expanded) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Finds the node at a row below this expanded node. Collapsed children are skipped as one range, so the
+     * cost depends on the depth and the amount of expanded children, not on the amount of rows.
+     *
+     * @param row the row, 0 for the first child
+     */
+    TreeNode<T> nodeAt(int row) {
+        TreeNode<T> node = this;
+        while (true) {
+            int skipped = 0;
+            TreeNode<T> inside = null;
+            for (TreeNode<T> child : node.expandedChildren.values()) {
+                int childRow = child.index + skipped;
+                if (row <= childRow) {
+                    break;
+                }
+                if (row <= childRow + child.rows) {
+                    row -= childRow + 1;
+                    inside = child;
+                    break;
+                }
+                skipped += child.rows;
+            }
+            if (inside == null) {
+                return node.getChild(row - skipped);
+            }
+            node = inside;
+        }
+    }
+
+    /**
+     * @return the row of this node below the hidden root, -1 if an ancestor is collapsed
+     */
+    int rowIndex() {
+        int row = -1;
+        for (TreeNode<T> node = this; node.parent != null; node = node.parent) {
+            if (!node.parent.expanded) {
+                return -1;
+            }
+            row += node.index + 1;
+            for (TreeNode<T> sibling : node.parent.expandedChildren.headMap(node.index).values()) {
+                row += sibling.rows;
+            }
+        }
+        return row;
+    }
+}
@@ -0,0 +1,169 @@
+package com.jilou.ui.widget.control.tree;
+
+import com.jilou.ui.widget.AbstractWidget;
+import com.jilou.ui.widget.control.VirtualList;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A scrolling tree for very large hierarchies, which loads children when their parent is expanded.
+ * <p>
+ * The expanded nodes are shown as rows of a {@link VirtualList}, so only the cells in the viewport exist.
+ * The rows are not stored in a flat list. Every {@link TreeNode} counts the rows of its expanded subtree, so
+ * expanding or collapsing a node only updates the counts of its ancestors and finding the node of a row
+ * skips collapsed siblings as one range. Expanding a node with 100 000 children therefore costs the loading
+ * of the children and the binding of the visible cells, nodes are only created for the shown rows.
+ * </p>
+ * <p>
+ * The binder receives the {@link TreeNode} of a row, which provides the item, its depth for indentation and
+ * its expanded state. Nodes are expanded and collapsed on the thread which owns the scene.
+ * </p>
+ *
+ * @param <T> the item type
+ * @param <C> the cell widget type
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+public class TreeView<T, C extends AbstractWidget> extends VirtualList<TreeNode<T>, C> {
+
+    /**
+     * Loads the children of an item, called once per item when it is expanded first.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Function<? super T, ? extends List<? extends T>> loader;
+
+    /**
+     * The hidden root, its children are the top level items.
+     */
+    @Getter(AccessLevel.NONE)
+    private TreeNode<T> root;
+
+    /**
+     * Creates a tree view.
+     *
+     * @param localizedName the unique localized name, null for a generated one
+     * @param itemHeight    the height of every row
+     * @param loader        loads the children of an item
+     * @param cellFactory   creates a new cell
+     * @param binder        shows the node of a row in a cell
+     */
+    public TreeView(String localizedName, double itemHeight, Function<? super T, ? extends List<? extends T>> loader,
+                    Supplier<? extends C> cellFactory, Binder<? super TreeNode<T>, ? super C> binder) {
+        super(localizedName, itemHeight, cellFactory, binder);
+        if (loader == null) {
+            throw new IllegalArgumentException("Loader cannot be null");
+        }
+        this.loader = loader;
+        setRoots(List.of());
+    }
+
+    /**
+     * Sets the top level items, all nodes are collapsed.
+     *
+     * @param roots the top level items, null for none
+     */
+    public void setRoots(List<? extends T> roots) {
+        TreeNode<T> node = new TreeNode<>(null, null, -1);
+        node.load(roots);
+        node.setExpanded(true);
+        this.root = node;
+        setItems(new Rows());
+    }
+
+    /**
+     * @return the nodes of the top level items
+     */
+    public List<TreeNode<T>> getRoots() {
+        return new AbstractList<>() {
+            @Override
+            public TreeNode<T> get(int index) {
+                return root.getChild(index);
+            }
+
+            @Override
+            public int size() {
+                return root.getChildCount();
+            }
+        };
+    }
+
+    /**
+     * Shows the children of a node, they are loaded on the first call.
+     *
+     * @param node a node of this tree
+     */
+    public void expand(TreeNode<T> node) {
+        if (node == null || node.isExpanded()) {
+            return;
+        }
+        if (!node.isLoaded()) {
+            node.load(loader.apply(node.getValue()));
+        }
+        node.setExpanded(true);
+        itemsChanged();
+    }
+
+    /**
+     * Hides the children of a node, expanded descendants stay expanded for the next expansion.
+     *
+     * @param node a node of this tree
+     */
+    public void collapse(TreeNode<T> node) {
+        if (node == null || !node.isExpanded()) {
+            return;
+        }
+        node.setExpanded(false);
+        itemsChanged();
+    }
+
+    /**
+     * @param node a node of this tree
+     */
+    public void toggle(TreeNode<T> node) {
+        if (node != null && node.isExpanded()) {
+            collapse(node);
+        } else {
+            expand(node);
+        }
+    }
+
+    /**
+     * @param node a node of this tree
+     * @return the row of the node, -1 if one of its ancestors is collapsed
+     */
+    public int getRow(TreeNode<T> node) {
+        return node == null || node.getParent() == null ? -1 : node.rowIndex();
+    }
+
+    /**
+     * @return the amount of shown rows
+     */
+    public int getRowCount() {
+        return root.getShownRows();
+    }
+
+    /**
+     * The shown rows, read on demand from the row counts of the nodes.
+     */
+    private final class Rows extends AbstractList<TreeNode<T>> {
+
+        @Override
+        public TreeNode<T> get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Row " + index + " of " + size());
+            }
+            return root.nodeAt(index);
+        }
+
+        @Override
+        public int size() {
+            return root.getShownRows();
+        }
+    }
+}
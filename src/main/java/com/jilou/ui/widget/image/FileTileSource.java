@@ -0,0 +1,189 @@
+package com.jilou.ui.widget.image;
+
+import lombok.Getter;
+import org.lwjgl.stb.STBImage;
+import org.lwjgl.stb.STBImageWrite;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A tile pyramid which is stored as one PNG file per tile, decoded with stb_image.
+ * <p>
+ * The tile of a {@link TileKey} is stored at {@code <directory>/<level>/<column>_<row>.png}. Use
+ * {@link #split(Path, Path, int)} to create the pyramid of an image once, the image is then never decoded
+ * as a whole again.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+public class FileTileSource implements TileSource {
+
+    private final Path directory;
+    private final int width;
+    private final int height;
+    private final int tileSize;
+
+    /**
+     * Creates a source for an existing pyramid.
+     *
+     * @param directory the directory of the pyramid
+     * @param width     the width of the full resolution image
+     * @param height    the height of the full resolution image
+     * @param tileSize  the width and height of a tile
+     */
+    public FileTileSource(Path directory, int width, int height, int tileSize) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory cannot be null");
+        }
+        if (width <= 0 || height <= 0 || tileSize <= 0) {
+            throw new IllegalArgumentException("Width, height and tile size must be positive");
+        }
+        this.directory = directory;
+        this.width = width;
+        this.height = height;
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * @param key a tile
+     * @return the file of the tile
+     */
+    public Path getFile(TileKey key) {
+        return directory.resolve(Integer.toString(key.level())).resolve(key.column() + "_" + key.row() + ".png");
+    }
+
+    @Override
+    public TilePixels decode(TileKey key) throws IOException {
+        byte[] bytes = Files.readAllBytes(getFile(key));
+        ByteBuffer encoded = MemoryUtil.memAlloc(bytes.length);
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            encoded.put(bytes).flip();
+            IntBuffer tileWidth = stack.mallocInt(1);
+            IntBuffer tileHeight = stack.mallocInt(1);
+            IntBuffer channels = stack.mallocInt(1);
+            ByteBuffer pixels = STBImage.stbi_load_from_memory(encoded, tileWidth, tileHeight, channels, 4);
+            if (pixels == null) {
+                throw new IOException("Cannot decode tile " + key + ": " + STBImage.stbi_failure_reason());
+            }
+            return new TilePixels(tileWidth.get(0), tileHeight.get(0), pixels, () -> STBImage.stbi_image_free(pixels));
+        } finally {
+            MemoryUtil.memFree(encoded);
+        }
+    }
+
+    /**
+     * Splits an image into a tile pyramid. The image is decoded once, every level is written as tiles and
+     * then reduced to the next level by averaging 2x2 pixels.
+     *
+     * @param image     the image file, in any format stb_image decodes
+     * @param directory the directory of the pyramid, created if it does not exist
+     * @param tileSize  the width and height of a tile
+     * @return the source of the written pyramid
+     * @throws IOException if the image cannot be decoded or a tile cannot be written
+     */
+    public static FileTileSource split(Path image, Path directory, int tileSize) throws IOException {
+        if (image == null || directory == null) {
+            throw new IllegalArgumentException("Image and directory cannot be null");
+        }
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException("Tile size must be positive");
+        }
+        ByteBuffer pixels;
+        int width;
+        int height;
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer imageWidth = stack.mallocInt(1);
+            IntBuffer imageHeight = stack.mallocInt(1);
+            IntBuffer channels = stack.mallocInt(1);
+            pixels = STBImage.stbi_load(image.toString(), imageWidth, imageHeight, channels, 4);
+            if (pixels == null) {
+                throw new IOException("Cannot decode image " + image + ": " + STBImage.stbi_failure_reason());
+            }
+            width = imageWidth.get(0);
+            height = imageHeight.get(0);
+        }
+
+        FileTileSource source = new FileTileSource(directory, width, height, tileSize);
+        ByteBuffer level = pixels;
+        try {
+            for (int index = 0; index < source.getLevels(); index++) {
+                int levelWidth = source.getLevelWidth(index);
+                int levelHeight = source.getLevelHeight(index);
+                source.writeLevel(index, level, levelWidth, levelHeight);
+                if (index + 1 < source.getLevels()) {
+                    ByteBuffer next = downsample(level, levelWidth, levelHeight);
+                    free(level, pixels);
+                    level = next;
+                }
+            }
+        } finally {
+            free(level, pixels);
+        }
+        return source;
+    }
+
+    /**
+     * Writes all tiles of one level, every tile is written directly from the level with a row stride.
+     */
+    private void writeLevel(int index, ByteBuffer level, int levelWidth, int levelHeight) throws IOException {
+        Files.createDirectories(directory.resolve(Integer.toString(index)));
+        for (int row = 0; row * tileSize < levelHeight; row++) {
+            for (int column = 0; column * tileSize < levelWidth; column++) {
+                int x = column * tileSize;
+                int y = row * tileSize;
+                int tileWidth = Math.min(tileSize, levelWidth - x);
+                int tileHeight = Math.min(tileSize, levelHeight - y);
+                ByteBuffer region = MemoryUtil.memSlice(level, (y * levelWidth + x) * 4,
+                        ((tileHeight - 1) * levelWidth + tileWidth) * 4);
+                Path file = getFile(new TileKey(index, column, row));
+                if (!STBImageWrite.stbi_write_png(file.toString(), tileWidth, tileHeight, 4, region, levelWidth * 4)) {
+                    throw new IOException("Cannot write tile " + file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Halves a level, every pixel is the average of up to 2x2 pixels.
+     */
+    private static ByteBuffer downsample(ByteBuffer level, int width, int height) {
+        int nextWidth = (width + 1) / 2;
+        int nextHeight = (height + 1) / 2;
+        ByteBuffer next = MemoryUtil.memAlloc(nextWidth * nextHeight * 4);
+        for (int y = 0; y < nextHeight; y++) {
+            int top = y * 2;
+            int bottom = Math.min(top + 1, height - 1);
+            for (int x = 0; x < nextWidth; x++) {
+                int left = x * 2;
+                int right = Math.min(left + 1, width - 1);
+                for (int channel = 0; channel < 4; channel++) {
+                    int sum = (level.get((top * width + left) * 4 + channel) & 0xFF)
+                            + (level.get((top * width + right) * 4 + channel) & 0xFF)
+                            + (level.get((bottom * width + left) * 4 + channel) & 0xFF)
+                            + (level.get((bottom * width + right) * 4 + channel) & 0xFF);
+                    next.put((y * nextWidth + x) * 4 + channel, (byte) ((sum + 2) >> 2));
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Frees a level, the decoded image is freed by stb_image and the reduced levels by the allocator.
+     */
+    private static void free(ByteBuffer level, ByteBuffer decoded) {
+        if (level == decoded) {
+            STBImage.stbi_image_free(level);
+        } else {
+            MemoryUtil.memFree(level);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.jilou.ui.widget.image;
+
+import com.jilou.ui.container.Scene;
+import com.jilou.ui.enums.Invalidation;
+import com.jilou.ui.enums.image.ImageState;
+import com.jilou.ui.logic.graphics.image.Image;
+import com.jilou.ui.logic.graphics.image.Images;
+import com.jilou.ui.widget.AbstractWidget;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A widget which shows a shared {@link Image}.
+ * <p>
+ * The widget is a user of its image: the image is acquired when it is set and released when it is replaced
+ * or the widget is destroyed, so the renderer frees the texture space of an image with its last widget.
+ * Small images are drawn from a shared texture atlas, so many image views are drawn together.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+public class ImageView extends AbstractWidget {
+
+    /**
+     * The shown image, null for none.
+     */
+    private Image image;
+
+    /**
+     * True to fit the image into the bounds with its aspect ratio, false to stretch it over the bounds.
+     */
+    private boolean preserveAspectRatio = true;
+
+    /**
+     * Creates an image view without image.
+     *
+     * @param localizedName the unique localized name, null for a generated one
+     */
+    public ImageView(String localizedName) {
+        super(localizedName);
+    }
+
+    /**
+     * Sets the shown image. The window is woken up when the image finished decoding.
+     *
+     * @param image the image, null for none
+     */
+    public void setImage(Image image) {
+        if (this.image == image) {
+            return;
+        }
+        if (image != null) {
+            image.acquire();
+            if (image.getState() != ImageState.READY) {
+                image.whenReady().whenComplete((result, error) -> requestFrame());
+            }
+        }
+        if (this.image != null) {
+            this.image.release();
+        }
+        this.image = image;
+        propertyChanged(Invalidation.PAINT);
+    }
+
+    /**
+     * Loads an image file on a worker thread and shows it once it is decoded.
+     *
+     * @param path the file
+     * @return a future which completes with the image after it was set
+     */
+    public CompletableFuture<Image> load(Path path) {
+        return Images.load(path).thenApply(loaded -> {
+            Scene scene = getScene();
+            if (scene != null) {
+                scene.post(() -> setImage(loaded));
+            } else {
+                setImage(loaded);
+            }
+            return loaded;
+        });
+    }
+
+    /**
+     * @param preserveAspectRatio true to fit the image into the bounds with its aspect ratio
+     */
+    public void setPreserveAspectRatio(boolean preserveAspectRatio) {
+        this.preserveAspectRatio = preserveAspectRatio;
+        propertyChanged(Invalidation.PAINT);
+    }
+
+    /**
+     * Computes where the image is drawn.
+     *
+     * @param bounds receives the left, top, right and bottom edge
+     * @return false if there is nothing to draw
+     */
+    public boolean getImageBounds(float[] bounds) {
+        if (image == null || image.getWidth() <= 0 || image.getHeight() <= 0) {
+            return false;
+        }
+        double x = getPositionX();
+        double y = getPositionY();
+        double width = getWidth();
+        double height = getHeight();
+        if (preserveAspectRatio) {
+            double scale = Math.min(width / image.getWidth(), height / image.getHeight());
+            x += (width - image.getWidth() * scale) / 2;
+            y += (height - image.getHeight() * scale) / 2;
+            width = image.getWidth() * scale;
+            height = image.getHeight() * scale;
+        }
+        bounds[0] = (float) x;
+        bounds[1] = (float) y;
+        bounds[2] = (float) (x + width);
+        bounds[3] = (float) (y + height);
+        return true;
+    }
+
+    /**
+     * Wakes up the window, called by the decoding thread.
+     */
+    private void requestFrame() {
+        Scene scene = getScene();
+        if (scene != null && scene.getContainer() != null) {
+            scene.getContainer().requestRedraw();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (image != null) {
+            image.release();
+            image = null;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.jilou.ui.widget.image;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+/**
+ * The uploaded tiles of a {@link TiledImage}, in least recently used order with a memory budget.
+ * <p>
+ * Missing tiles are requested with {@link #request(TileSource, TileKey)} and decoded by an executor. A request
+ * which was not repeated for a few frames is dropped before it is decoded, so fast panning does not queue up
+ * outdated work. Decoded tiles are uploaded by the render thread with {@link #upload(TileUploader, int)},
+ * a limited amount per frame, and the least recently used tiles are deleted while the uploaded bytes exceed
+ * the budget. Tiles which were used in the current frame are never deleted.
+ * </p>
+ * <p>
+ * Except for the decoding, the cache is used by the render thread only.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public class TileCache {
+
+    private static final Logger LOGGER = LogManager.getLogger(TileCache.class);
+
+    /**
+     * The default memory budget, 256 MiB.
+     */
+    public static final long DEFAULT_BUDGET = 256L << 20;
+
+    /**
+     * The amount of frames a request waits for decoding before it is dropped.
+     */
+    private static final int STALE_FRAMES = 2;
+
+    /**
+     * The uploaded tiles, the least recently used first.
+     */
+    private final Map<TileKey, Tile> tiles = new LinkedHashMap<>(64, 0.75f, true);
+
+    /**
+     * The requested tiles which are not uploaded yet, with the frame of their latest request.
+     */
+    private final Map<TileKey, Long> requested = new ConcurrentHashMap<>();
+
+    /**
+     * The tiles which could not be decoded, they are not requested again.
+     */
+    private final Set<TileKey> failed = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The decoded tiles which wait for their upload.
+     */
+    private final Queue<Decoded> decoded = new ConcurrentLinkedQueue<>();
+
+    private final Executor executor;
+
+    /**
+     * The maximum amount of uploaded bytes.
+     */
+    @Getter
+    private long budget;
+
+    /**
+     * The amount of uploaded bytes.
+     */
+    @Getter
+    private long usedBytes;
+
+    /**
+     * The current frame, increased by {@link #beginFrame()}.
+     */
+    private volatile long frame;
+
+    /**
+     * True if all tiles are deleted with the next upload.
+     */
+    private boolean reset;
+
+    /**
+     * Increased by {@link #invalidate()}, tiles decoded for an older generation are dropped.
+     */
+    private volatile int generation;
+
+    /**
+     * Called when a tile was decoded, to request a new frame.
+     */
+    private volatile Runnable wakeUp;
+
+    /**
+     * Creates a cache.
+     *
+     * @param executor decodes the tiles
+     * @param budget   the maximum amount of uploaded bytes
+     */
+    public TileCache(Executor executor, long budget) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        this.executor = executor;
+        setBudget(budget);
+    }
+
+    /**
+     * @param budget the maximum amount of uploaded bytes, applied with the next upload
+     */
+    public void setBudget(long budget) {
+        if (budget <= 0) {
+            throw new IllegalArgumentException("Budget must be positive");
+        }
+        this.budget = budget;
+    }
+
+    /**
+     * Starts a new frame, the tiles used afterward are kept by the following uploads.
+     */
+    public void beginFrame() {
+        frame++;
+    }
+
+    /**
+     * Returns an uploaded tile and marks it as used in the current frame.
+     *
+     * @param key the tile
+     * @return the uploaded tile, null if it is not uploaded
+     */
+    public Tile get(TileKey key) {
+        Tile tile = reset ? null : tiles.get(key);
+        if (tile != null) {
+            tile.frame = frame;
+        }
+        return tile;
+    }
+
+    /**
+     * Requests a tile which is not uploaded. The tile is decoded by the executor unless it is already queued,
+     * a queued request is only renewed.
+     *
+     * @param source the source of the tile
+     * @param key    the tile
+     * @return {@code true} if the tile was queued for decoding
+     */
+    public boolean request(TileSource source, TileKey key) {
+        if ((!reset && tiles.containsKey(key)) || failed.contains(key)) {
+            return false;
+        }
+        if (requested.put(key, frame) != null) {
+            return false;
+        }
+        int current = generation;
+        executor.execute(() -> decode(source, key, current));
+        return true;
+    }
+
+    /**
+     * Uploads decoded tiles and deletes the least recently used tiles which exceed the budget.
+     *
+     * @param uploader uploads and deletes textures
+     * @param limit    the maximum amount of tiles to upload
+     * @return the amount of uploaded tiles
+     */
+    public int upload(TileUploader uploader, int limit) {
+        if (reset) {
+            deleteTiles(uploader);
+        }
+        int count = 0;
+        Decoded next;
+        while (count < limit && (next = decoded.poll()) != null) {
+            try {
+                if (next.generation != generation) {
+                    continue;
+                }
+                Long frameRequested = requested.remove(next.key);
+                if (frameRequested == null || tiles.containsKey(next.key) || frame - frameRequested > STALE_FRAMES) {
+                    continue;
+                }
+                TilePixels pixels = next.pixels;
+                int texture = uploader.upload(pixels);
+                Tile tile = new Tile(next.key, texture, pixels.width(), pixels.height(), pixels.getBytes());
+                tile.frame = frame;
+                tiles.put(next.key, tile);
+                usedBytes += tile.bytes;
+                count++;
+            } finally {
+                next.pixels.free();
+            }
+        }
+        evict(uploader);
+        return count;
+    }
+
+    /**
+     * @return {@code true} if decoded tiles wait for their upload
+     */
+    public boolean hasDecoded() {
+        return !decoded.isEmpty();
+    }
+
+    /**
+     * @return the amount of uploaded tiles
+     */
+    public int getTileCount() {
+        return tiles.size();
+    }
+
+    /**
+     * Deletes all tiles with the next upload, for example because the source changed.
+     */
+    public void invalidate() {
+        generation++;
+        reset = true;
+        requested.clear();
+        failed.clear();
+    }
+
+    /**
+     * Deletes all textures and drops the decoded tiles. This must run on the render thread.
+     *
+     * @param uploader deletes the textures
+     */
+    public void release(TileUploader uploader) {
+        deleteTiles(uploader);
+        requested.clear();
+        Decoded next;
+        while ((next = decoded.poll()) != null) {
+            next.pixels.free();
+        }
+    }
+
+    /**
+     * @param wakeUp called on the decoding thread when a tile was decoded, null for none
+     */
+    public void setWakeUp(Runnable wakeUp) {
+        this.wakeUp = wakeUp;
+    }
+
+    private void deleteTiles(TileUploader uploader) {
+        for (Tile tile : tiles.values()) {
+            uploader.delete(tile.texture);
+        }
+        tiles.clear();
+        usedBytes = 0;
+        reset = false;
+    }
+
+    /**
+     * Decodes a tile on the executor, unless its request is outdated.
+     */
+    private void decode(TileSource source, TileKey key, int generation) {
+        Long frameRequested = requested.get(key);
+        while (frameRequested != null && frame - frameRequested > STALE_FRAMES) {
+            if (requested.remove(key, frameRequested)) {
+                return;
+            }
+            frameRequested = requested.get(key);
+        }
+        if (frameRequested == null) {
+            return;
+        }
+        try {
+            decoded.add(new Decoded(key, source.decode(key), generation));
+        } catch (Exception exception) {
+            LOGGER.warn("Cannot decode tile {}", key, exception);
+            failed.add(key);
+            requested.remove(key);
+            return;
+        }
+        Runnable callback = wakeUp;
+        if (callback != null) {
+            callback.run();
+        }
+    }
+
+    /**
+     * Deletes the least recently used tiles until the budget is kept, tiles of the current frame are kept.
+     */
+    private void evict(TileUploader uploader) {
+        Iterator<Tile> iterator = tiles.values().iterator();
+        while (usedBytes > budget && iterator.hasNext()) {
+            Tile tile = iterator.next();
+            if (tile.frame == frame) {
+                break;
+            }
+            uploader.delete(tile.texture);
+            usedBytes -= tile.bytes;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Uploads tile pixels into textures and deletes them, implemented by the renderer.
+     */
+    public interface TileUploader {
+
+        /**
+         * @param pixels the decoded pixels, freed after the call
+         * @return the texture id
+         */
+        int upload(TilePixels pixels);
+
+        /**
+         * @param texture a texture id returned by {@link #upload(TilePixels)}
+         */
+        void delete(int texture);
+    }
+
+    /**
+     * One uploaded tile.
+     */
+    @Getter
+    public static final class Tile {
+
+        private final TileKey key;
+        private final int texture;
+        private final int width;
+        private final int height;
+        private final long bytes;
+
+        @Getter(AccessLevel.NONE)
+        private long frame;
+
+        private Tile(TileKey key, int texture, int width, int height, long bytes) {
+            this.key = key;
+            this.texture = texture;
+            this.width = width;
+            this.height = height;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * A decoded tile which waits for its upload.
+     */
+    private record Decoded(TileKey key, TilePixels pixels, int generation) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.jilou.ui.widget.image;
+
+/**
+ * The position of one tile in a tile pyramid.
+ *
+ * @param level  the pyramid level, 0 for full resolution, every level halves the size
+ * @param column the column of the tile in its level
+ * @param row    the row of the tile in its level
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public record TileKey(int level, int column, int row) {
+
+    /**
+     * @param levels the amount of levels above this tile
+     * @return the tile of a coarser level which contains this tile
+     */
+    public TileKey ancestor(int levels) {
+        return new TileKey(level + levels, column >> levels, row >> levels);
+    }
+}
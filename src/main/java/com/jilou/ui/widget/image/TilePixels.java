@@ -0,0 +1,32 @@
+package com.jilou.ui.widget.image;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The decoded RGBA pixels of one tile, row by row without padding.
+ *
+ * @param width   the width in pixels
+ * @param height  the height in pixels
+ * @param pixels  four bytes per pixel
+ * @param release frees the native memory of the pixels, null if it is managed by the garbage collector
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public record TilePixels(int width, int height, ByteBuffer pixels, Runnable release) {
+
+    /**
+     * @return the size of the pixels in bytes
+     */
+    public long getBytes() {
+        return (long) width * height * 4;
+    }
+
+    /**
+     * Frees the pixels, they must not be used afterward.
+     */
+    public void free() {
+        if (release != null) {
+            release.run();
+        }
+    }
+}
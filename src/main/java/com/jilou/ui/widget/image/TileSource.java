@@ -0,0 +1,73 @@
+package com.jilou.ui.widget.image;
+
+import java.io.IOException;
+
+/**
+ * Provides the tiles of a tile pyramid for a {@link TiledImage}.
+ * <p>
+ * Level 0 is the image in full resolution, every following level halves the width and height, rounded up,
+ * until the whole image fits into one tile. Every level is split into tiles of {@link #getTileSize()} pixels,
+ * the tiles at the right and bottom edge can be smaller. Tiles are decoded on background threads, so
+ * implementations must be thread safe.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public interface TileSource {
+
+    /**
+     * @return the width of the full resolution image in pixels
+     */
+    int getWidth();
+
+    /**
+     * @return the height of the full resolution image in pixels
+     */
+    int getHeight();
+
+    /**
+     * @return the width and height of a tile in pixels
+     */
+    int getTileSize();
+
+    /**
+     * Decodes one tile. This is called on a background thread.
+     *
+     * @param key the tile
+     * @return the RGBA pixels of the tile
+     * @throws IOException if the tile cannot be read or decoded
+     */
+    TilePixels decode(TileKey key) throws IOException;
+
+    /**
+     * @return the amount of levels, the last level fits into one tile
+     */
+    default int getLevels() {
+        int levels = 1;
+        int width = getWidth();
+        int height = getHeight();
+        while (width > getTileSize() || height > getTileSize()) {
+            width = (width + 1) / 2;
+            height = (height + 1) / 2;
+            levels++;
+        }
+        return levels;
+    }
+
+    /**
+     * @param level a level
+     * @return the width of the level in pixels
+     */
+    default int getLevelWidth(int level) {
+        return (int) ((getWidth() + (1L << level) - 1) >> level);
+    }
+
+    /**
+     * @param level a level
+     * @return the height of the level in pixels
+     */
+    default int getLevelHeight(int level) {
+        return (int) ((getHeight() + (1L << level) - 1) >> level);
+    }
+}
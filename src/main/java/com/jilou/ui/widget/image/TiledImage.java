@@ -0,0 +1,289 @@
+package com.jilou.ui.widget.image;
+
+import com.jilou.ui.container.Scene;
+import com.jilou.ui.enums.Invalidation;
+import com.jilou.ui.widget.AbstractWidget;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * An image widget for very large bitmaps, which shows a {@link TileSource} pyramid with pan and zoom.
+ * <p>
+ * Only the tiles which intersect the widget at the level matching the zoom are requested. Missing tiles are
+ * decoded in the background by the {@link TileCache} of the widget and drawn from the nearest coarser level
+ * which is uploaded until then, so panning and zooming never wait for decoding. The single tile of the
+ * coarsest level is always requested, so there is always something to draw.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+public class TiledImage extends AbstractWidget {
+
+    /**
+     * The smallest and largest zoom factor.
+     */
+    public static final double MIN_ZOOM = 1.0 / (1 << 16);
+    public static final double MAX_ZOOM = 64;
+
+    /**
+     * The default amount of tiles which are uploaded per frame.
+     */
+    public static final int DEFAULT_UPLOADS_PER_FRAME = 4;
+
+    /**
+     * The shown pyramid, null for none.
+     */
+    private TileSource source;
+
+    /**
+     * The screen pixels per source pixel.
+     */
+    private double zoom = 1;
+
+    /**
+     * The source pixel at the top left corner of the widget.
+     */
+    private double offsetX;
+    private double offsetY;
+
+    /**
+     * The maximum amount of tiles which are uploaded per frame.
+     */
+    private int uploadsPerFrame = DEFAULT_UPLOADS_PER_FRAME;
+
+    /**
+     * The uploaded tiles.
+     */
+    private final TileCache cache;
+
+    /**
+     * The tiles of the last {@link #prepareTiles()}, reused between frames.
+     */
+    @Getter(AccessLevel.NONE)
+    private final List<TilePlacement> placements = new ArrayList<>();
+    @Getter(AccessLevel.NONE)
+    private final List<TilePlacement> exact = new ArrayList<>();
+
+    /**
+     * Creates an image which decodes on the common fork/join pool.
+     *
+     * @param localizedName the unique localized name, null for a generated one
+     */
+    public TiledImage(String localizedName) {
+        this(localizedName, ForkJoinPool.commonPool(), TileCache.DEFAULT_BUDGET);
+    }
+
+    /**
+     * Creates an image.
+     *
+     * @param localizedName the unique localized name, null for a generated one
+     * @param executor      decodes the tiles
+     * @param budget        the maximum amount of uploaded bytes
+     */
+    public TiledImage(String localizedName, Executor executor, long budget) {
+        super(localizedName);
+        this.cache = new TileCache(executor, budget);
+        this.cache.setWakeUp(this::requestFrame);
+    }
+
+    /**
+     * Sets the shown pyramid, the tiles of the previous source are deleted with the next frame.
+     *
+     * @param source the pyramid, null for none
+     */
+    public void setSource(TileSource source) {
+        if (this.source == source) {
+            return;
+        }
+        this.source = source;
+        cache.invalidate();
+        propertyChanged(Invalidation.PAINT);
+    }
+
+    /**
+     * @param zoom the screen pixels per source pixel
+     */
+    public void setZoom(double zoom) {
+        zoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom));
+        if (this.zoom == zoom) {
+            return;
+        }
+        this.zoom = zoom;
+        propertyChanged(Invalidation.PAINT);
+    }
+
+    /**
+     * Zooms while the source pixel below a screen position stays in place.
+     *
+     * @param factor the zoom factor, above 1 zooms in
+     * @param x      the screen x position
+     * @param y      the screen y position
+     */
+    public void zoomAt(double factor, double x, double y) {
+        double sourceX = offsetX + (x - getPositionX()) / zoom;
+        double sourceY = offsetY + (y - getPositionY()) / zoom;
+        setZoom(zoom * factor);
+        setOffset(sourceX - (x - getPositionX()) / zoom, sourceY - (y - getPositionY()) / zoom);
+    }
+
+    /**
+     * @param offsetX the source x at the left edge of the widget
+     * @param offsetY the source y at the top edge of the widget
+     */
+    public void setOffset(double offsetX, double offsetY) {
+        if (this.offsetX == offsetX && this.offsetY == offsetY) {
+            return;
+        }
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+        propertyChanged(Invalidation.PAINT);
+    }
+
+    /**
+     * Moves the image with the cursor.
+     *
+     * @param dx the screen distance to the right
+     * @param dy the screen distance down
+     */
+    public void panBy(double dx, double dy) {
+        setOffset(offsetX - dx / zoom, offsetY - dy / zoom);
+    }
+
+    /**
+     * @param uploadsPerFrame the maximum amount of tiles which are uploaded per frame
+     */
+    public void setUploadsPerFrame(int uploadsPerFrame) {
+        this.uploadsPerFrame = Math.max(1, uploadsPerFrame);
+    }
+
+    /**
+     * @return the pyramid level which is drawn at the current zoom, 0 if there is no source
+     */
+    public int getLevel() {
+        if (source == null || zoom >= 1) {
+            return 0;
+        }
+        int level = (int) Math.floor(Math.log(1 / zoom) / Math.log(2));
+        return Math.min(level, source.getLevels() - 1);
+    }
+
+    /**
+     * Starts a frame of the cache, requests the missing visible tiles and computes where the uploaded tiles
+     * are drawn. Coarser fallback tiles come first, so the exact tiles are drawn on top. Renderers call this
+     * once per frame after {@link TileCache#upload(TileCache.TileUploader, int)}.
+     *
+     * @return the tiles to draw in order, valid until the next call
+     */
+    public List<TilePlacement> prepareTiles() {
+        cache.beginFrame();
+        placements.clear();
+        if (source == null || getWidth() <= 0 || getHeight() <= 0) {
+            return Collections.unmodifiableList(placements);
+        }
+        int coarsest = source.getLevels() - 1;
+        TileKey top = new TileKey(coarsest, 0, 0);
+        if (cache.get(top) == null) {
+            cache.request(source, top);
+        }
+
+        int level = getLevel();
+        double span = (double) source.getTileSize() * (1L << level);
+        double left = Math.max(0, offsetX);
+        double upper = Math.max(0, offsetY);
+        double right = Math.min(source.getWidth(), offsetX + getWidth() / zoom);
+        double lower = Math.min(source.getHeight(), offsetY + getHeight() / zoom);
+        if (right <= left || lower <= upper) {
+            return Collections.unmodifiableList(placements);
+        }
+        int firstColumn = (int) (left / span);
+        int lastColumn = (int) Math.ceil(right / span) - 1;
+        int firstRow = (int) (upper / span);
+        int lastRow = (int) Math.ceil(lower / span) - 1;
+
+        exact.clear();
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                TileKey key = new TileKey(level, column, row);
+                TileCache.Tile tile = cache.get(key);
+                if (tile != null) {
+                    exact.add(place(tile, key));
+                    continue;
+                }
+                cache.request(source, key);
+                for (int up = 1; level + up <= coarsest; up++) {
+                    TileCache.Tile fallback = cache.get(key.ancestor(up));
+                    if (fallback != null) {
+                        placements.add(place(fallback, key));
+                        break;
+                    }
+                }
+            }
+        }
+        placements.addAll(exact);
+        return Collections.unmodifiableList(placements);
+    }
+
+    /**
+     * Places the part of an uploaded tile which covers the area of a tile of the same or a finer level.
+     */
+    private TilePlacement place(TileCache.Tile tile, TileKey area) {
+        double areaScale = 1L << area.level();
+        double tileScale = 1L << tile.getKey().level();
+        int tileSize = source.getTileSize();
+        double x0 = area.column() * tileSize * areaScale;
+        double y0 = area.row() * tileSize * areaScale;
+        double x1 = Math.min(source.getWidth(), x0 + tileSize * areaScale);
+        double y1 = Math.min(source.getHeight(), y0 + tileSize * areaScale);
+
+        double tileX = tile.getKey().column() * tileSize * tileScale;
+        double tileY = tile.getKey().row() * tileSize * tileScale;
+        double tileWidth = tile.getWidth() * tileScale;
+        double tileHeight = tile.getHeight() * tileScale;
+        return new TilePlacement(tile.getTexture(),
+                (float) (getPositionX() + (x0 - offsetX) * zoom), (float) (getPositionY() + (y0 - offsetY) * zoom),
+                (float) (getPositionX() + (x1 - offsetX) * zoom), (float) (getPositionY() + (y1 - offsetY) * zoom),
+                (float) ((x0 - tileX) / tileWidth), (float) ((y0 - tileY) / tileHeight),
+                (float) Math.min(1, (x1 - tileX) / tileWidth), (float) Math.min(1, (y1 - tileY) / tileHeight));
+    }
+
+    /**
+     * Wakes up the window, called by the decoding threads.
+     */
+    private void requestFrame() {
+        Scene scene = getScene();
+        if (scene != null && scene.getContainer() != null) {
+            scene.getContainer().requestRedraw();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        cache.setWakeUp(null);
+        cache.invalidate();
+    }
+
+    /**
+     * Where an uploaded tile is drawn.
+     *
+     * @param texture the texture id
+     * @param x0      the left screen edge
+     * @param y0      the top screen edge
+     * @param x1      the right screen edge
+     * @param y1      the bottom screen edge
+     * @param u0      the left texture coordinate
+     * @param v0      the top texture coordinate
+     * @param u1      the right texture coordinate
+     * @param v1      the bottom texture coordinate
+     */
+    public record TilePlacement(int texture, float x0, float y0, float x1, float y1,
+                                float u0, float v0, float u1, float v1) {
+    }
+}
@@ -0,0 +1,164 @@
+package com.jilou.ui.widget.shapes;
+
+import com.jilou.ui.enums.Invalidation;
+import com.jilou.ui.logic.graphics.tessellation.PathMesh;
+import com.jilou.ui.logic.graphics.tessellation.PathTessellator;
+import com.jilou.ui.utils.Color;
+import com.jilou.ui.widget.AbstractWidget;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * A widget which fills and strokes a {@link VectorPath}, for example an icon, a gauge or an arrow.
+ * <p>
+ * The bounds of the path are scaled uniformly into the bounds of the widget and centered. The path is
+ * tessellated once per detail level, see {@link PathTessellator}, so moving or resizing the widget reuses its
+ * mesh until the scale changes by a factor of two, and all widgets with an equal path share the mesh.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+@Getter
+public class PathShape extends AbstractWidget {
+
+    /**
+     * The shown path, null for none.
+     */
+    private VectorPath path;
+
+    /**
+     * The fill color, null for no fill.
+     */
+    private Color fillColor = Color.BLACK;
+
+    /**
+     * The stroke color, null for no stroke.
+     */
+    private Color strokeColor;
+
+    /**
+     * The stroke width in path units.
+     */
+    private float strokeWidth = 1;
+
+    /**
+     * The mesh of the last {@link #getMesh()} and its detail level.
+     */
+    @Getter(AccessLevel.NONE)
+    private PathMesh mesh;
+    @Getter(AccessLevel.NONE)
+    private int meshLevel;
+
+    /**
+     * Creates a shape without path.
+     *
+     * @param localizedName the unique localized name, null for a generated one
+     */
+    public PathShape(String localizedName) {
+        super(localizedName);
+    }
+
+    /**
+     * Creates a shape.
+     *
+     * @param localizedName the unique localized name, null for a generated one
+     * @param path          the shown path
+     */
+    public PathShape(String localizedName, VectorPath path) {
+        super(localizedName);
+        this.path = path;
+    }
+
+    /**
+     * @param path the shown path, null for none
+     */
+    public void setPath(VectorPath path) {
+        this.path = path;
+        this.mesh = null;
+        propertyChanged(Invalidation.PAINT);
+    }
+
+    /**
+     * @param fillColor the fill color, null for no fill
+     */
+    public void setFillColor(Color fillColor) {
+        this.fillColor = fillColor;
+        propertyChanged(Invalidation.PAINT);
+    }
+
+    /**
+     * @param strokeColor the stroke color, null for no stroke
+     */
+    public void setStrokeColor(Color strokeColor) {
+        this.strokeColor = strokeColor;
+        this.mesh = null;
+        propertyChanged(Invalidation.PAINT);
+    }
+
+    /**
+     * @param strokeWidth the stroke width in path units
+     */
+    public void setStrokeWidth(float strokeWidth) {
+        this.strokeWidth = Math.max(0, strokeWidth);
+        this.mesh = null;
+        propertyChanged(Invalidation.PAINT);
+    }
+
+    /**
+     * @return the screen pixels per path unit, 0 if the path has no area
+     */
+    public double getScale() {
+        if (path == null) {
+            return 0;
+        }
+        double width = path.getMaxX() - path.getMinX();
+        double height = path.getMaxY() - path.getMinY();
+        if (width <= 0 && height <= 0) {
+            return 0;
+        }
+        double scaleX = width > 0 ? getWidth() / width : Double.POSITIVE_INFINITY;
+        double scaleY = height > 0 ? getHeight() / height : Double.POSITIVE_INFINITY;
+        return Math.min(scaleX, scaleY);
+    }
+
+    /**
+     * @return the screen x of path x 0
+     */
+    public double getOriginX() {
+        double scale = getScale();
+        return getPositionX() + (getWidth() - (path.getMaxX() - path.getMinX()) * scale) / 2 - path.getMinX() * scale;
+    }
+
+    /**
+     * @return the screen y of path y 0
+     */
+    public double getOriginY() {
+        double scale = getScale();
+        return getPositionY() + (getHeight() - (path.getMaxY() - path.getMinY()) * scale) / 2 - path.getMinY() * scale;
+    }
+
+    /**
+     * Returns the mesh for the current scale. A new mesh is only looked up when the detail level or a
+     * property of the path changed.
+     *
+     * @return the mesh, null if there is nothing to draw
+     */
+    public PathMesh getMesh() {
+        double scale = getScale();
+        if (path == null || scale <= 0) {
+            return null;
+        }
+        int level = PathTessellator.level(scale);
+        if (mesh == null || meshLevel != level) {
+            mesh = PathTessellator.mesh(path, level, strokeColor == null ? 0 : strokeWidth);
+            meshLevel = level;
+        }
+        return mesh;
+    }
+
+    @Override
+    public void destroy() {
+        this.mesh = null;
+    }
+}
@@ -0,0 +1,279 @@
+package com.jilou.ui.widget.shapes;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * An immutable outline of lines, quadratic and cubic Bézier curves and circular arcs.
+ * <p>
+ * A path consists of contours, every contour starts with a move and can be closed. The coordinates are in
+ * the units of the path, a {@link PathShape} scales them to its bounds. Paths with equal commands are equal,
+ * so widgets which show the same icon share one tessellated mesh.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public final class VectorPath {
+
+    /**
+     * Starts a new contour, one point.
+     */
+    public static final byte MOVE = 0;
+
+    /**
+     * A straight line, one point.
+     */
+    public static final byte LINE = 1;
+
+    /**
+     * A quadratic Bézier curve, a control point and the end point.
+     */
+    public static final byte QUAD = 2;
+
+    /**
+     * A cubic Bézier curve, two control points and the end point.
+     */
+    public static final byte CUBIC = 3;
+
+    /**
+     * Closes the contour with a line to its start, no point.
+     */
+    public static final byte CLOSE = 4;
+
+    private final byte[] verbs;
+    private final float[] points;
+    private final int hash;
+
+    /**
+     * The bounds of all points including control points.
+     */
+    @Getter
+    private final float minX;
+    @Getter
+    private final float minY;
+    @Getter
+    private final float maxX;
+    @Getter
+    private final float maxY;
+
+    private VectorPath(byte[] verbs, float[] points) {
+        this.verbs = verbs;
+        this.points = points;
+        this.hash = 31 * Arrays.hashCode(verbs) + Arrays.hashCode(points);
+        float left = Float.POSITIVE_INFINITY;
+        float top = Float.POSITIVE_INFINITY;
+        float right = Float.NEGATIVE_INFINITY;
+        float bottom = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < points.length; i += 2) {
+            left = Math.min(left, points[i]);
+            top = Math.min(top, points[i + 1]);
+            right = Math.max(right, points[i]);
+            bottom = Math.max(bottom, points[i + 1]);
+        }
+        boolean empty = points.length == 0;
+        this.minX = empty ? 0 : left;
+        this.minY = empty ? 0 : top;
+        this.maxX = empty ? 0 : right;
+        this.maxY = empty ? 0 : bottom;
+    }
+
+    /**
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the amount of commands
+     */
+    public int getVerbCount() {
+        return verbs.length;
+    }
+
+    /**
+     * @param index the index of a command
+     * @return the command, one of the constants of this class
+     */
+    public byte getVerb(int index) {
+        return verbs[index];
+    }
+
+    /**
+     * @param index the index of a coordinate, x and y alternate
+     * @return the coordinate
+     */
+    public float getPoint(int index) {
+        return points[index];
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        return other instanceof VectorPath path && hash == path.hash
+                && Arrays.equals(verbs, path.verbs) && Arrays.equals(points, path.points);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * Builds a {@link VectorPath}. Every drawing command without a current contour starts one at the origin.
+     */
+    public static final class Builder {
+
+        private byte[] verbs = new byte[16];
+        private float[] points = new float[32];
+        private int verbCount;
+        private int pointCount;
+        private boolean open;
+        private float lastX;
+        private float lastY;
+        private float startX;
+        private float startY;
+
+        private Builder() {
+        }
+
+        /**
+         * Starts a new contour.
+         *
+         * @param x the x of the start
+         * @param y the y of the start
+         * @return this builder
+         */
+        public Builder moveTo(float x, float y) {
+            add(MOVE, x, y);
+            open = true;
+            startX = x;
+            startY = y;
+            return this;
+        }
+
+        /**
+         * @param x the x of the end
+         * @param y the y of the end
+         * @return this builder
+         */
+        public Builder lineTo(float x, float y) {
+            ensureContour();
+            add(LINE, x, y);
+            return this;
+        }
+
+        /**
+         * @param cx the x of the control point
+         * @param cy the y of the control point
+         * @param x  the x of the end
+         * @param y  the y of the end
+         * @return this builder
+         */
+        public Builder quadTo(float cx, float cy, float x, float y) {
+            ensureContour();
+            add(QUAD, cx, cy, x, y);
+            return this;
+        }
+
+        /**
+         * @param c1x the x of the first control point
+         * @param c1y the y of the first control point
+         * @param c2x the x of the second control point
+         * @param c2y the y of the second control point
+         * @param x   the x of the end
+         * @param y   the y of the end
+         * @return this builder
+         */
+        public Builder cubicTo(float c1x, float c1y, float c2x, float c2y, float x, float y) {
+            ensureContour();
+            add(CUBIC, c1x, c1y, c2x, c2y, x, y);
+            return this;
+        }
+
+        /**
+         * Adds a circular arc, approximated by cubic curves. The current point is connected to the start of the
+         * arc with a line, or the arc starts a new contour.
+         *
+         * @param cx         the x of the center
+         * @param cy         the y of the center
+         * @param radius     the radius
+         * @param startAngle the start angle in radians, 0 points right and positive angles turn clockwise
+         * @param sweep      the sweep angle in radians, negative for counter clockwise
+         * @return this builder
+         */
+        public Builder arc(float cx, float cy, float radius, double startAngle, double sweep) {
+            float arcX = (float) (cx + radius * Math.cos(startAngle));
+            float arcY = (float) (cy + radius * Math.sin(startAngle));
+            if (open) {
+                add(LINE, arcX, arcY);
+            } else {
+                moveTo(arcX, arcY);
+            }
+            int parts = Math.max(1, (int) Math.ceil(Math.abs(sweep) / (Math.PI / 2)));
+            double step = sweep / parts;
+            double handle = 4.0 / 3.0 * Math.tan(step / 4) * radius;
+            for (int i = 0; i < parts; i++) {
+                double from = startAngle + step * i;
+                double to = from + step;
+                double cosFrom = Math.cos(from);
+                double sinFrom = Math.sin(from);
+                double cosTo = Math.cos(to);
+                double sinTo = Math.sin(to);
+                add(CUBIC,
+                        (float) (cx + radius * cosFrom - handle * sinFrom), (float) (cy + radius * sinFrom + handle * cosFrom),
+                        (float) (cx + radius * cosTo + handle * sinTo), (float) (cy + radius * sinTo - handle * cosTo),
+                        (float) (cx + radius * cosTo), (float) (cy + radius * sinTo));
+            }
+            return this;
+        }
+
+        /**
+         * Closes the current contour.
+         *
+         * @return this builder
+         */
+        public Builder close() {
+            if (open) {
+                add(CLOSE);
+                open = false;
+                lastX = startX;
+                lastY = startY;
+            }
+            return this;
+        }
+
+        /**
+         * @return the path
+         */
+        public VectorPath build() {
+            return new VectorPath(Arrays.copyOf(verbs, verbCount), Arrays.copyOf(points, pointCount));
+        }
+
+        private void ensureContour() {
+            if (!open) {
+                moveTo(verbCount == 0 ? 0 : lastX, verbCount == 0 ? 0 : lastY);
+            }
+        }
+
+        private void add(byte verb, float... coordinates) {
+            if (verbCount == verbs.length) {
+                verbs = Arrays.copyOf(verbs, verbs.length * 2);
+            }
+            if (pointCount + coordinates.length > points.length) {
+                points = Arrays.copyOf(points, Math.max(points.length * 2, pointCount + coordinates.length));
+            }
+            verbs[verbCount++] = verb;
+            System.arraycopy(coordinates, 0, points, pointCount, coordinates.length);
+            pointCount += coordinates.length;
+            if (coordinates.length >= 2) {
+                lastX = coordinates[coordinates.length - 2];
+                lastY = coordinates[coordinates.length - 1];
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.jilou.ui.widget.virtual;
+
+import com.jilou.ui.widget.AbstractWidget;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A lightweight description of one widget, used to describe a user interface as a function of the
+ * application state. A {@link Reconciler} turns a tree of nodes into live widgets and applies only the
+ * differences when the tree is described again.
+ * <p>
+ * A node is identified among its siblings by its type and its key. Nodes without key are identified by
+ * their position. Properties are set with a setter and are only applied again if their value changed.
+ * </p>
+ *
+ * @param <T> the widget class
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public final class Node<T extends AbstractWidget> {
+
+    /**
+     * The widget class, a widget is only reused for a node of the same class.
+     */
+    @Getter
+    private final Class<T> type;
+
+    /**
+     * Creates the widget from its localized name, which is {@code null} if the node has no name.
+     */
+    private final Function<String, T> factory;
+
+    /**
+     * The key which identifies this node among its siblings, null to identify it by its position.
+     */
+    @Getter
+    private Object key;
+
+    /**
+     * The localized name of the created widget, null for a generated name.
+     */
+    @Getter
+    private String name;
+
+    /**
+     * The properties in the order they are applied.
+     */
+    private final List<Property<T, ?>> properties = new ArrayList<>();
+
+    /**
+     * The child nodes, null if the children of the widget are not managed by the reconciler.
+     */
+    @Getter
+    private List<Node<?>> children;
+
+    private Node(Class<T> type, Function<String, T> factory) {
+        if (type == null || factory == null) {
+            throw new IllegalArgumentException("Type and factory cannot be null");
+        }
+        this.type = type;
+        this.factory = factory;
+    }
+
+    /**
+     * Creates a node.
+     *
+     * @param type    the widget class
+     * @param factory creates a widget from its localized name, for example {@code Rectangle::new}
+     * @param <T>     the widget class
+     * @return the new node
+     */
+    public static <T extends AbstractWidget> Node<T> of(Class<T> type, Function<String, T> factory) {
+        return new Node<>(type, factory);
+    }
+
+    /**
+     * @param key the key which identifies this node among its siblings, for example the id of a list item
+     * @return this node
+     */
+    public Node<T> key(Object key) {
+        this.key = key;
+        return this;
+    }
+
+    /**
+     * @param name the localized name of the created widget, which must be unique in the scene
+     * @return this node
+     */
+    public Node<T> name(String name) {
+        this.name = name;
+        return this;
+    }
+
+    /**
+     * Sets a property. The setter is called when the widget is created and whenever the value is not equal
+     * to the value of the previous node. A property which is left out of a later node keeps its value.
+     *
+     * @param property the name of the property, unique in this node
+     * @param value    the value
+     * @param setter   applies the value to the widget
+     * @param <V>      the value type
+     * @return this node
+     */
+    public <V> Node<T> set(String property, V value, BiConsumer<? super T, ? super V> setter) {
+        if (property == null || setter == null) {
+            throw new IllegalArgumentException("Property and setter cannot be null");
+        }
+        properties.removeIf(existing -> existing.name().equals(property));
+        properties.add(new Property<>(property, value, setter));
+        return this;
+    }
+
+    /**
+     * @param width the preferred width
+     * @return this node
+     */
+    public Node<T> width(double width) {
+        return set("width", width, AbstractWidget::setWidth);
+    }
+
+    /**
+     * @param height the preferred height
+     * @return this node
+     */
+    public Node<T> height(double height) {
+        return set("height", height, AbstractWidget::setHeight);
+    }
+
+    /**
+     * @param visible {@code true} to show the widget, see {@link AbstractWidget#setVisible(boolean)}
+     * @return this node
+     */
+    public Node<T> visible(boolean visible) {
+        return set("visible", visible, AbstractWidget::setVisible);
+    }
+
+    /**
+     * @param displayed {@code true} to add the widget to the layout, see {@link AbstractWidget#setDisplayed(boolean)}
+     * @return this node
+     */
+    public Node<T> displayed(boolean displayed) {
+        return set("displayed", displayed, AbstractWidget::setDisplayed);
+    }
+
+    /**
+     * Sets the child nodes. The reconciler then owns all children of the widget.
+     *
+     * @param children the child nodes
+     * @return this node
+     */
+    public Node<T> children(Node<?>... children) {
+        return children(Arrays.asList(children));
+    }
+
+    /**
+     * Sets the child nodes. The reconciler then owns all children of the widget.
+     *
+     * @param children the child nodes
+     * @return this node
+     */
+    public Node<T> children(List<Node<?>> children) {
+        this.children = children == null ? null : Collections.unmodifiableList(new ArrayList<>(children));
+        return this;
+    }
+
+    /**
+     * Creates the widget of this node with all properties, the children are not created.
+     */
+    T create() {
+        T widget = factory.apply(name);
+        for (Property<T, ?> property : properties) {
+            property.apply(widget);
+        }
+        return widget;
+    }
+
+    /**
+     * Applies every property whose value differs from the previous node of the same widget.
+     *
+     * @param widget   the widget of both nodes
+     * @param previous the node which was applied before
+     */
+    @SuppressWarnings("unchecked")
+    void patch(AbstractWidget widget, Node<?> previous) {
+        T target = (T) widget;
+        for (Property<T, ?> property : properties) {
+            if (!previous.hasProperty(property.name(), property.value())) {
+                property.apply(target);
+            }
+        }
+    }
+
+    private boolean hasProperty(String property, Object value) {
+        for (Property<T, ?> existing : properties) {
+            if (existing.name().equals(property)) {
+                return Objects.equals(existing.value(), value);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * One property of a node.
+     */
+    private record Property<T, V>(String name, V value, BiConsumer<? super T, ? super V> setter) {
+
+        private void apply(T widget) {
+            setter.accept(widget, value);
+        }
+    }
+}
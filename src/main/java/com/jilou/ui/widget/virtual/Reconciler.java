@@ -0,0 +1,198 @@
+package com.jilou.ui.widget.virtual;
+
+import com.jilou.ui.container.Scene;
+import com.jilou.ui.widget.AbstractWidget;
+
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies a tree of {@link Node}s to the live widget tree with the smallest set of changes.
+ * <p>
+ * Every call to {@link #render(Scene, List)} or {@link #render(AbstractWidget, List)} compares the new nodes
+ * with the nodes of the previous call. Siblings are matched by type and key in one pass over a hash map.
+ * A matched widget is kept, so its layout, style and render caches survive, and only its changed properties
+ * are set. Widgets without a matching node are removed and destroyed, new nodes are created and added in
+ * one batch, and a changed sibling order is applied with one reorder instead of one move per widget.
+ * </p>
+ * <p>
+ * The reconciler owns the children of every parent it renders into: children which were not created by
+ * it are removed. A reconciler must only be used by the thread which owns the scene.
+ * </p>
+ *
+ * @since 0.1.0
+ * @author Daniel Ramke
+ */
+public final class Reconciler {
+
+    /**
+     * The node which was applied last to every widget created by this reconciler.
+     */
+    private final Map<AbstractWidget, Node<?>> mounted = new IdentityHashMap<>();
+
+    /**
+     * Renders the nodes as the top level widgets of a scene.
+     *
+     * @param scene the scene
+     * @param nodes the top level nodes
+     */
+    public void render(Scene scene, List<? extends Node<?>> nodes) {
+        if (scene == null) {
+            throw new IllegalArgumentException("Scene cannot be null");
+        }
+        Result result = reconcile(scene.getWidgetList(), nodes);
+        for (AbstractWidget widget : result.removed) {
+            unmount(widget);
+            scene.remove(widget);
+        }
+        scene.addAll(result.created);
+        if (!scene.getWidgetList().equals(result.order)) {
+            scene.reorder(result.order);
+        }
+    }
+
+    /**
+     * Renders the nodes as the children of a widget.
+     *
+     * @param parent the parent widget
+     * @param nodes  the child nodes
+     */
+    public void render(AbstractWidget parent, List<? extends Node<?>> nodes) {
+        if (parent == null) {
+            throw new IllegalArgumentException("Parent cannot be null");
+        }
+        Result result = reconcile(parent.getChildren(), nodes);
+        for (AbstractWidget widget : result.removed) {
+            unmount(widget);
+            if (parent.getScene() != null) {
+                parent.getScene().remove(widget);
+            } else {
+                widget.destroy();
+                parent.removeChild(widget);
+            }
+        }
+        parent.addChildren(result.created);
+        if (!parent.getChildren().equals(result.order)) {
+            parent.reorderChildren(result.order);
+        }
+    }
+
+    /**
+     * @param widget a widget
+     * @return the node which was applied last to the widget, null if the widget was not created by this reconciler
+     */
+    public Node<?> getNode(AbstractWidget widget) {
+        return mounted.get(widget);
+    }
+
+    /**
+     * Matches the nodes with the current widgets and patches or creates the widget of every node.
+     */
+    private Result reconcile(List<AbstractWidget> current, List<? extends Node<?>> nodes) {
+        int count = nodes == null ? 0 : nodes.size();
+        Object[] identities = new Object[count];
+        Set<Object> seen = new HashSet<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            identities[i] = identity(nodes.get(i), i);
+            if (!seen.add(identities[i])) {
+                throw new IllegalArgumentException("Duplicate node key " + nodes.get(i).getKey());
+            }
+        }
+
+        Map<Object, AbstractWidget> existing = new HashMap<>(current.size() * 2);
+        List<AbstractWidget> removed = new ArrayList<>();
+        for (int i = 0; i < current.size(); i++) {
+            AbstractWidget widget = current.get(i);
+            Node<?> node = mounted.get(widget);
+            if (node == null || existing.putIfAbsent(identity(node, i), widget) != null) {
+                removed.add(widget);
+            }
+        }
+
+        Result result = new Result(count, removed);
+        for (int i = 0; i < count; i++) {
+            Node<?> node = nodes.get(i);
+            AbstractWidget widget = existing.remove(identities[i]);
+            if (widget != null) {
+                node.patch(widget, mounted.put(widget, node));
+                if (node.getChildren() != null) {
+                    render(widget, node.getChildren());
+                }
+            } else {
+                widget = mount(node);
+                result.created.add(widget);
+            }
+            result.order.add(widget);
+        }
+        removed.addAll(existing.values());
+        return result;
+    }
+
+    /**
+     * Creates the widget of a node and its whole subtree, before it is attached to a scene.
+     */
+    private AbstractWidget mount(Node<?> node) {
+        AbstractWidget widget = node.create();
+        mounted.put(widget, node);
+        if (node.getChildren() != null && !node.getChildren().isEmpty()) {
+            List<AbstractWidget> children = new ArrayList<>(node.getChildren().size());
+            for (Node<?> child : node.getChildren()) {
+                children.add(mount(child));
+            }
+            widget.addChildren(children);
+        }
+        return widget;
+    }
+
+    /**
+     * Forgets a removed widget and its subtree.
+     */
+    private void unmount(AbstractWidget widget) {
+        Deque<AbstractWidget> stack = new ArrayDeque<>();
+        stack.push(widget);
+        while (!stack.isEmpty()) {
+            AbstractWidget current = stack.pop();
+            mounted.remove(current);
+            for (AbstractWidget child : current.getChildren()) {
+                stack.push(child);
+            }
+        }
+    }
+
+    /**
+     * @return the identity of a node among its siblings, its type and its key or position
+     */
+    private static Object identity(Node<?> node, int index) {
+        return node.getKey() != null
+                ? List.of(node.getType(), node.getKey())
+                : List.of(node.getType(), new Position(index));
+    }
+
+    /**
+     * The identity of a node without key, never equal to a key.
+     */
+    private record Position(int index) {
+    }
+
+    /**
+     * The outcome of one reconciliation of a sibling list.
+     */
+    private static final class Result {
+
+        private final List<AbstractWidget> order;
+        private final List<AbstractWidget> created = new ArrayList<>();
+        private final List<AbstractWidget> removed;
+
+        private Result(int count, List<AbstractWidget> removed) {
+            this.order = new ArrayList<>(count);
+            this.removed = removed;
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.jilou.ui.JilouUI;
 import com.jilou.ui.container.Scene;
 import com.jilou.ui.container.Window;
 import com.jilou.ui.enums.Backend;
+import com.jilou.ui.enums.WidgetState;
+import com.jilou.ui.styles.StyleSheet;
 import com.jilou.ui.styles.types.Background;
 import com.jilou.ui.styles.types.DropShadow;
 import com.jilou.ui.styles.types.Radius;
@@ -31,13 +33,7 @@ public final class ExampleWindowTest {
         rectangle.getStyle().setBorderRadius(new Radius(10));
         rectangle.getStyle().setBackground(Background.fromColor(Color.WHITE));
 
-        rectangle.onHover((widget, hover) -> {
-            if (hover) {
-                widget.getStyle().setBackground(Background.fromColor(Color.RED));
-            } else {
-                widget.getStyle().setBackground(Background.fromColor(Color.WHITE));
-            }
-        });
+        rectangle.getStyle().setVariant(WidgetState.HOVERED, StyleSheet.builder().background(Background.fromColor(Color.RED)).build());
 
         Rectangle rectangle2 = new Rectangle("Test2");
         rectangle2.setHeight(200);
@@ -50,13 +46,7 @@ public final class ExampleWindowTest {
         rectangle2.getStyle().setAlignment(Alignment.CENTER);
         rectangle2.getStyle().setDropShadow(DropShadow.builder().layer(8).color(Color.rgba(0, 0, 0, 0.5)).strength(0.4f).offsetX(5).offsetY(-5).build());
 
-        rectangle2.onHover((widget, hover) -> {
-            if (hover) {
-                widget.getStyle().setBackground(Background.fromColor(Color.GREEN));
-            } else {
-                widget.getStyle().setBackground(Background.fromColor(Color.WHITE));
-            }
-        });
+        rectangle2.getStyle().setVariant(WidgetState.HOVERED, StyleSheet.builder().background(Background.fromColor(Color.GREEN)).build());
 
         Rectangle rectangle3 = new Rectangle("Test3");
         rectangle3.setHeight(50);
@@ -65,13 +55,7 @@ public final class ExampleWindowTest {
         rectangle3.getStyle().setBackground(Background.fromColor(Color.WHITE));
         rectangle3.getStyle().setZIndex(2);
 
-        rectangle3.onHover((widget, hover) -> {
-            if (hover) {
-                widget.getStyle().setBackground(Background.fromColor(Color.BLUE));
-            } else {
-                widget.getStyle().setBackground(Background.fromColor(Color.WHITE));
-            }
-        });
+        rectangle3.getStyle().setVariant(WidgetState.HOVERED, StyleSheet.builder().background(Background.fromColor(Color.BLUE)).build());
 
         rectangle2.addChild(rectangle3);
         rectangle.addChild(rectangle2);
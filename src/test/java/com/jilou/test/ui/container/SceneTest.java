@@ -0,0 +1,296 @@
+package com.jilou.test.ui.container;
+
+import com.jilou.ui.container.AbstractWindow;
+import com.jilou.ui.container.Scene;
+import com.jilou.ui.container.layout.FlexLayout;
+import com.jilou.ui.enums.Invalidation;
+import com.jilou.ui.styles.types.Background;
+import com.jilou.ui.styles.types.Flex;
+import com.jilou.ui.utils.Color;
+import com.jilou.ui.widget.AbstractWidget;
+import com.jilou.ui.widget.shapes.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SceneTest {
+
+    @Test
+    void testNestedWidgetsAreIndexed() {
+        Scene scene = new Scene();
+        Rectangle parent = new Rectangle("parent");
+        Rectangle child = new Rectangle("child");
+        Rectangle grandChild = new Rectangle("grandChild");
+        child.addChild(grandChild);
+        parent.addChild(child);
+        scene.add(parent);
+
+        assertSame(grandChild, scene.getWidget("grandChild"));
+        assertTrue(scene.hasWidget(child));
+        assertSame(scene, grandChild.getScene());
+        assertEquals(3, scene.getRegistry().size());
+
+        Rectangle late = new Rectangle("late");
+        grandChild.addChild(late);
+        assertSame(late, scene.getWidget("late"));
+    }
+
+    @Test
+    void testDuplicateNameIsRejected() {
+        Scene scene = new Scene();
+        Rectangle parent = new Rectangle("parent");
+        parent.addChild(new Rectangle("child"));
+        scene.add(parent);
+        int slots = scene.getStore().size();
+
+        Rectangle other = new Rectangle("other");
+        other.addChild(new Rectangle("child"));
+        assertThrows(IllegalArgumentException.class, () -> scene.add(other));
+        assertThrows(IllegalArgumentException.class, () -> parent.addChild(new Rectangle("parent")));
+
+        assertFalse(scene.hasWidget(other));
+        assertEquals(1, parent.getChildren().size());
+        assertEquals(1, scene.getWidgetList().size());
+        assertEquals(2, scene.getRegistry().size());
+        assertEquals(slots, scene.getStore().size());
+
+        AbstractWidget moved = scene.getWidget("child");
+        Rectangle holder = new Rectangle("holder");
+        scene.add(holder);
+        holder.addChild(moved);
+        assertSame(moved, scene.getWidget("child"));
+        assertFalse(parent.hasChild(moved));
+    }
+
+    @Test
+    void testRemoveNestedWidget() {
+        Scene scene = new Scene();
+        Rectangle parent = new Rectangle("parent");
+        Rectangle child = new Rectangle("child");
+        parent.addChild(child);
+        scene.add(parent);
+
+        scene.remove("child");
+
+        assertFalse(scene.hasWidget("child"));
+        assertFalse(parent.hasChild(child));
+        assertNull(child.getScene());
+        assertTrue(scene.hasWidget(parent));
+    }
+
+    @Test
+    void testReparentTopLevelWidget() {
+        Scene scene = new Scene();
+        Rectangle first = new Rectangle("first");
+        Rectangle second = new Rectangle("second");
+        scene.add(first);
+        scene.add(second);
+
+        first.addChild(second);
+
+        assertEquals(1, scene.getWidgetList().size());
+        assertSame(first, second.getParent());
+        assertSame(second, scene.getWidget("second"));
+    }
+
+    @Test
+    void testBulkInsertion() {
+        Scene scene = new Scene();
+        List<AbstractWidget> widgets = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            widgets.add(new Rectangle("widget-" + i));
+        }
+        scene.addAll(widgets);
+        scene.addAll(widgets);
+
+        assertEquals(1000, scene.getWidgetList().size());
+        assertEquals(1000, scene.getRegistry().size());
+        assertSame(widgets.get(500), scene.getWidget("widget-500"));
+    }
+
+    @Test
+    void testGeneratedLocalizedName() {
+        Rectangle first = new Rectangle(null);
+        Rectangle second = new Rectangle(null);
+
+        assertNotNull(first.getLocalizedName());
+        assertNotEquals(first.getLocalizedName(), second.getLocalizedName());
+    }
+
+    @Test
+    void testPropertyChangesAreClassified() {
+        Scene scene = new Scene();
+        Rectangle parent = new Rectangle("parent");
+        Rectangle child = new Rectangle("child");
+        parent.addChild(child);
+        scene.add(parent);
+        parent.update();
+        scene.consumePaint();
+        List<Invalidation> changes = new ArrayList<>();
+        child.onInvalidate((widget, invalidation) -> changes.add(invalidation));
+
+        child.getStyle().setBackground(Background.fromColor(Color.RED));
+        assertEquals(List.of(Invalidation.PAINT), changes);
+        assertFalse(parent.isSubtreeDirty());
+        assertTrue(scene.consumePaint());
+        assertFalse(scene.consumePaint());
+
+        child.getStyle().setBackground(Background.fromColor(Color.RED));
+        child.getStyle().setZIndex(3);
+        child.setWidth(40);
+        assertEquals(List.of(Invalidation.PAINT, Invalidation.ORDER, Invalidation.LAYOUT), changes);
+        assertTrue(parent.isLayoutDirty());
+        assertTrue(scene.consumePaint());
+    }
+
+    @Test
+    void testPrepareOffThread() {
+        Scene scene = new Scene();
+        Rectangle parent = new Rectangle("parent");
+        parent.addChild(new Rectangle("child"));
+        scene.add(parent);
+        assertFalse(scene.isPrepared());
+
+        CompletableFuture.runAsync(scene::prepare).join();
+
+        assertTrue(scene.isPrepared());
+        assertFalse(parent.isSubtreeDirty());
+        assertEquals(2, scene.getUnpackedWidgetList().size());
+        assertTrue(scene.getStore().isOrderValid());
+
+        scene.add(new Rectangle("late"));
+        assertFalse(scene.isPrepared());
+    }
+
+    @Test
+    void testForeignMutationsAreCommittedTogether() throws Exception {
+        Scene scene = new Scene();
+        ExecutorService frameThread = Executors.newSingleThreadExecutor();
+        try {
+            frameThread.submit(scene::commit).get();
+            assertFalse(scene.isOwnerThread());
+
+            for (int i = 0; i < 1000; i++) {
+                scene.add(new Rectangle("row-" + i));
+            }
+            scene.post(() -> scene.remove("row-0"));
+            assertEquals(0, scene.getRegistry().size());
+
+            assertEquals(1001, frameThread.submit(scene::commit).get());
+            assertEquals(999, scene.getRegistry().size());
+            assertFalse(scene.hasWidget("row-0"));
+        } finally {
+            frameThread.shutdownNow();
+        }
+    }
+
+    @Test
+    void testInactiveSceneIsReleased() throws Exception {
+        AbstractWindow window = new AbstractWindow("window") {
+            @Override
+            protected void setup() {
+            }
+
+            @Override
+            protected void update(float delta) {
+            }
+
+            @Override
+            protected void render() {
+            }
+        };
+        Scene first = window.getActiveScene();
+        Scene second = new Scene();
+        window.addScene(second);
+        ExecutorService frameThread = Executors.newSingleThreadExecutor();
+        try {
+            frameThread.submit(first::commit).get();
+            first.add(new Rectangle("queued"));
+            assertFalse(first.hasWidget("queued"));
+
+            frameThread.submit(() -> window.setActiveScene(second)).get();
+            assertTrue(first.hasWidget("queued"));
+
+            first.add(new Rectangle("immediate"));
+            assertTrue(first.hasWidget("immediate"));
+        } finally {
+            frameThread.shutdownNow();
+        }
+    }
+
+    @Test
+    void testChangesDuringBackgroundPrepareAreQueued() throws Exception {
+        Scene scene = new Scene();
+        CountDownLatch arranging = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Rectangle slow = new Rectangle("slow") {
+            @Override
+            protected void arrangeChildren() {
+                arranging.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+                super.arrangeChildren();
+            }
+        };
+        scene.add(slow);
+
+        CompletableFuture<Void> prepare = CompletableFuture.runAsync(scene::prepare);
+        assertTrue(arranging.await(5, TimeUnit.SECONDS));
+        scene.add(new Rectangle("late"));
+        assertFalse(scene.hasWidget("late"));
+        assertEquals(1, scene.getWidgetList().size());
+
+        release.countDown();
+        prepare.join();
+        assertFalse(scene.hasWidget("late"));
+
+        scene.prepare();
+        assertTrue(scene.hasWidget("late"));
+        assertEquals(2, scene.getUnpackedWidgetList().size());
+    }
+
+    @Test
+    void testHiddenWidgetsAreSkipped() {
+        Scene scene = new Scene(new FlexLayout(Flex.builder().gap(10).build()));
+        Rectangle first = new Rectangle("first");
+        Rectangle second = new Rectangle("second");
+        Rectangle third = new Rectangle("third");
+        for (Rectangle rectangle : List.of(first, second, third)) {
+            rectangle.setWidth(100);
+            rectangle.setHeight(50);
+        }
+        first.addChild(new Rectangle("child"));
+        scene.addAll(List.of(first, second, third));
+        scene.prepare();
+        assertEquals(220, third.getPositionX());
+
+        second.setDisplayed(false);
+        scene.prepare();
+        assertEquals(110, third.getPositionX());
+        assertFalse(scene.getUnpackedWidgetList().contains(second));
+
+        first.setVisible(false);
+        scene.prepare();
+        assertEquals(110, third.getPositionX());
+        assertEquals(List.of(third), scene.getUnpackedWidgetList());
+        assertNull(scene.getStore().hitTest(50, 10));
+        assertFalse(scene.getWidget("child").isShowing());
+
+        first.setVisible(true);
+        second.setDisplayed(true);
+        scene.prepare();
+        assertEquals(4, scene.getUnpackedWidgetList().size());
+        assertSame(first, scene.getStore().hitTest(50, 10));
+    }
+}
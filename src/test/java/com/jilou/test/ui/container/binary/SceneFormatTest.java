@@ -0,0 +1,159 @@
+package com.jilou.test.ui.container.binary;
+
+import com.jilou.ui.container.Scene;
+import com.jilou.ui.container.binary.SceneFormat;
+import com.jilou.ui.container.layout.GridLayout;
+import com.jilou.ui.container.layout.GridTrack;
+import com.jilou.ui.enums.WidgetState;
+import com.jilou.ui.enums.css.TrackSizing;
+import com.jilou.ui.logic.graphics.image.Images;
+import com.jilou.ui.styles.StyleSheet;
+import com.jilou.ui.styles.types.Background;
+import com.jilou.ui.styles.types.Radius;
+import com.jilou.ui.utils.Color;
+import com.jilou.ui.widget.AbstractWidget;
+import com.jilou.ui.widget.control.Text;
+import com.jilou.ui.widget.shapes.Rectangle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SceneFormatTest {
+
+    @Test
+    void testRoundTrip(@TempDir Path directory) throws IOException {
+        GridLayout grid = new GridLayout();
+        grid.setColumns(GridTrack.fixed(120), GridTrack.fr(1));
+        grid.setGap(4);
+        Scene scene = new Scene(grid);
+
+        Rectangle panel = new Rectangle("panel");
+        panel.setWidth(200);
+        panel.addStyleClass("card");
+        panel.getStyle().setBorderRadius(new Radius(6));
+        panel.getStyle().setVariant(WidgetState.HOVERED,
+                StyleSheet.builder().background(Background.fromColor(Color.RED)).build());
+        Text label = new Text("label", "Hello");
+        label.setInnerParentX(12);
+        panel.addChild(label);
+        grid.place(panel, 0, 1);
+        scene.add(panel);
+
+        Path file = directory.resolve("screen.jscn");
+        SceneFormat.write(scene, file);
+        Scene loaded = SceneFormat.read(file);
+
+        assertEquals(2, loaded.getRegistry().size());
+        AbstractWidget loadedPanel = loaded.getWidget("panel");
+        Text loadedLabel = (Text) loaded.getWidget("label");
+        assertSame(loadedPanel, loadedLabel.getParent());
+        assertEquals("Hello", loadedLabel.getMessage());
+        assertEquals(12, loadedLabel.getInnerParentX());
+        assertEquals(200, loadedPanel.getPreferredWidth());
+        assertTrue(loadedPanel.getStyleClasses().contains("card"));
+        assertSame(panel.getStyle().getValues(), loadedPanel.getStyle().getValues());
+        assertEquals(panel.getStyle().getInlineMask(), loadedPanel.getStyle().getInlineMask());
+
+        loadedPanel.setState(WidgetState.HOVERED, true);
+        assertEquals(Color.RED, loadedPanel.getStyle().getBackground().getColor());
+
+        GridLayout loadedGrid = (GridLayout) loaded.getRoot();
+        assertEquals(2, loadedGrid.getColumns().size());
+        assertEquals(TrackSizing.FRACTION, loadedGrid.getColumns().get(1).getSizing());
+        assertEquals(120, loadedGrid.getColumns().get(0).getValue());
+        assertEquals(4, loadedGrid.getColumnGap());
+        assertArrayEquals(new int[] {0, 1, 1, 1}, loadedGrid.getPlacement(loadedPanel));
+    }
+
+    @Test
+    void testLargeSceneKeepsTreeOrder() {
+        Scene scene = new Scene();
+        List<AbstractWidget> rows = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Rectangle row = new Rectangle("row-" + i);
+            for (int j = 0; j < 19; j++) {
+                row.addChild(new Rectangle("cell-" + i + "-" + j));
+            }
+            rows.add(row);
+        }
+        scene.addAll(rows);
+
+        Scene loaded = SceneFormat.read(ByteBuffer.wrap(SceneFormat.write(scene)));
+
+        assertEquals(20_000, loaded.getRegistry().size());
+        assertEquals(1000, loaded.getWidgetList().size());
+        AbstractWidget row = loaded.getWidget("row-999");
+        assertEquals("cell-999-18", row.getChildren().get(18).getLocalizedName());
+    }
+
+    @Test
+    void testLargeSceneIsRestored() {
+        Scene scene = new Scene();
+        List<AbstractWidget> rows = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Rectangle row = new Rectangle("row-" + i);
+            row.setWidth(400);
+            row.setHeight(20);
+            for (int j = 0; j < 19; j++) {
+                Rectangle cell = new Rectangle("cell-" + i + "-" + j);
+                cell.setWidth(20);
+                row.addChild(cell);
+            }
+            rows.add(row);
+        }
+        scene.addAll(rows);
+
+        Scene loaded = SceneFormat.read(ByteBuffer.wrap(SceneFormat.write(scene)));
+
+        assertEquals(20_000, loaded.getRegistry().size());
+        assertEquals(20_000, loaded.getStore().size());
+        assertEquals(1000, loaded.getWidgetList().size());
+        for (int slot = 0; slot < loaded.getStore().size(); slot++) {
+            assertEquals(slot, loaded.getStore().getWidget(slot).getStoreSlot());
+        }
+        AbstractWidget row = loaded.getWidget("row-3");
+        assertEquals(19, row.getChildren().size());
+        assertEquals("cell-3-18", row.getChildren().get(18).getLocalizedName());
+        assertSame(row.getStyle().getValues(), loaded.getWidget("row-999").getStyle().getValues());
+        assertTrue(row.isLayoutDirty());
+        assertEquals(20, row.getPreferredHeight());
+        loaded.prepare();
+        assertFalse(row.isLayoutDirty());
+        assertFalse(row.getChildren().get(18).isSubtreeDirty());
+    }
+
+    @Test
+    void testInvalidData() {
+        assertThrows(IllegalArgumentException.class, () -> SceneFormat.read(ByteBuffer.wrap(new byte[] {1, 2, 3, 4})));
+        byte[] data = SceneFormat.write(new Scene());
+        assertThrows(IllegalArgumentException.class,
+                () -> SceneFormat.read(ByteBuffer.wrap(data, 0, data.length - 2)));
+    }
+
+    @Test
+    void testImageBackgroundIsRejected() throws Exception {
+        Scene scene = new Scene();
+        Rectangle rectangle = new Rectangle("image");
+        rectangle.getStyle().setBackground(Background.fromImage(Images.load(png()).get()));
+        scene.add(rectangle);
+
+        assertThrows(IllegalArgumentException.class, () -> SceneFormat.write(scene));
+    }
+
+    private static byte[] png() throws IOException {
+        BufferedImage image = new BufferedImage(2, 2, BufferedImage.TYPE_INT_ARGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
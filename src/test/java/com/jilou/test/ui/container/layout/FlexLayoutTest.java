@@ -0,0 +1,175 @@
+package com.jilou.test.ui.container.layout;
+
+import com.jilou.ui.container.Scene;
+import com.jilou.ui.container.layout.FlexLayout;
+import com.jilou.ui.enums.css.AlignItems;
+import com.jilou.ui.enums.css.Alignment;
+import com.jilou.ui.enums.css.FlexDirection;
+import com.jilou.ui.enums.css.JustifyContent;
+import com.jilou.ui.styles.types.Flex;
+import com.jilou.ui.styles.types.FlexItem;
+import com.jilou.ui.widget.AbstractWidget;
+import com.jilou.ui.widget.LayoutTask;
+import com.jilou.ui.widget.shapes.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlexLayoutTest {
+
+    private static Rectangle rectangle(String name, double width, double height) {
+        Rectangle rectangle = new Rectangle(name);
+        rectangle.setWidth(width);
+        rectangle.setHeight(height);
+        return rectangle;
+    }
+
+    @Test
+    void testGrowDistributesFreeSpace() {
+        FlexLayout layout = new FlexLayout(Flex.builder().gap(10).build());
+        Scene scene = new Scene(layout);
+        Rectangle fixed = rectangle("fixed", 100, 50);
+        Rectangle grow = rectangle("grow", 100, 50);
+        grow.getStyle().setFlexItem(FlexItem.builder().grow(1).build());
+        scene.add(fixed);
+        scene.add(grow);
+
+        layout.update();
+
+        assertEquals(0, fixed.getPositionX());
+        assertEquals(110, grow.getPositionX());
+        assertEquals(scene.getWidth() - 110, grow.getWidth());
+        assertEquals(100, grow.getPreferredWidth());
+        assertFalse(layout.isDirty());
+    }
+
+    @Test
+    void testFlexItemKeepsItsAlignment() {
+        Rectangle parent = rectangle("parent", 300, 100);
+        parent.getStyle().setFlex(Flex.builder().build());
+        Rectangle fixed = rectangle("fixed", 100, 100);
+        Rectangle grow = rectangle("grow", 100, 100);
+        grow.getStyle().setFlexItem(FlexItem.builder().grow(1).build());
+        grow.getStyle().setAlignment(Alignment.CENTER);
+        Rectangle inner = rectangle("inner", 20, 20);
+        grow.addChild(inner);
+        parent.addChild(fixed);
+        parent.addChild(grow);
+
+        parent.update();
+
+        assertNull(grow.getStyle().getFlex());
+        assertEquals(100, grow.getPositionX());
+        assertEquals(200, grow.getWidth());
+        assertEquals(190, inner.getPositionX());
+        assertEquals(40, inner.getPositionY());
+    }
+
+    @Test
+    void testColumnJustifyAndAlign() {
+        FlexLayout layout = new FlexLayout(Flex.builder()
+                .direction(FlexDirection.COLUMN)
+                .justifyContent(JustifyContent.CENTER)
+                .alignItems(AlignItems.CENTER)
+                .build());
+        layout.setBindSizeToScene(false);
+        layout.setWidth(200);
+        layout.setHeight(300);
+        Scene scene = new Scene(layout);
+        Rectangle top = rectangle("top", 50, 50);
+        Rectangle bottom = rectangle("bottom", 100, 50);
+        scene.add(top);
+        scene.add(bottom);
+
+        layout.update();
+
+        assertEquals(100, top.getPositionY());
+        assertEquals(150, bottom.getPositionY());
+        assertEquals(75, top.getPositionX());
+        assertEquals(50, bottom.getPositionX());
+    }
+
+    @Test
+    void testCleanSubtreeIsSkipped() {
+        Rectangle parent = rectangle("parent", 300, 100);
+        parent.getStyle().setFlex(Flex.builder().padding(5).build());
+        Rectangle child = rectangle("child", 40, 40);
+        Rectangle autoSized = new Rectangle("autoSized");
+        autoSized.getStyle().setFlex(Flex.builder().build());
+        autoSized.addChild(rectangle("inner", 20, 30));
+        parent.addChild(child);
+        parent.addChild(autoSized);
+
+        parent.update();
+
+        assertFalse(parent.isSubtreeDirty());
+        assertEquals(5, child.getPositionX());
+        assertEquals(45, autoSized.getPositionX());
+        assertEquals(20, autoSized.getWidth());
+
+        child.setWidth(60);
+        assertTrue(parent.isSubtreeDirty());
+        assertFalse(autoSized.isSubtreeDirty());
+
+        parent.update();
+        assertEquals(65, autoSized.getPositionX());
+        assertFalse(parent.isLayoutDirty());
+    }
+
+    @Test
+    void testLargeSubtreesAreLaidOutInParallel() throws Exception {
+        Rectangle root = rectangle("root", 1000, 1000);
+        root.getStyle().setFlex(Flex.builder().direction(FlexDirection.COLUMN).build());
+        int panels = 4;
+        int cells = LayoutTask.PARALLEL_THRESHOLD;
+        CountDownLatch started = new CountDownLatch(panels);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        for (int p = 0; p < panels; p++) {
+            Rectangle panel = new Rectangle("panel-" + p) {
+                @Override
+                protected void arrangeChildren() {
+                    threads.add(Thread.currentThread().getName());
+                    started.countDown();
+                    try {
+                        started.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                    }
+                    super.arrangeChildren();
+                }
+            };
+            panel.setWidth(1000);
+            panel.setHeight(100);
+            panel.getStyle().setFlex(Flex.builder().gap(1).build());
+            for (int c = 0; c < cells; c++) {
+                panel.addChild(rectangle("cell-" + p + "-" + c, 2, 10));
+            }
+            root.addChild(panel);
+        }
+
+        assertEquals(1 + panels * (cells + 1), root.getSubtreeSize());
+        ForkJoinPool pool = new ForkJoinPool(panels);
+        try {
+            pool.submit(root::update).get(30, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(panels, threads.size(), "Panels were arranged by " + threads);
+
+        assertFalse(root.isSubtreeDirty());
+        for (int p = 0; p < panels; p++) {
+            AbstractWidget panel = root.getChild("panel-" + p);
+            assertFalse(panel.isSubtreeDirty());
+            AbstractWidget last = panel.getChild("cell-" + p + "-" + (cells - 1));
+            assertEquals((cells - 1) * 3.0, last.getPositionX());
+            assertEquals(p * 100.0, last.getPositionY());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.jilou.test.ui.container.layout;
+
+import com.jilou.ui.container.Scene;
+import com.jilou.ui.container.layout.GridLayout;
+import com.jilou.ui.container.layout.GridTrack;
+import com.jilou.ui.widget.shapes.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GridLayoutTest {
+
+    private static Rectangle rectangle(String name, double width, double height) {
+        Rectangle rectangle = new Rectangle(name);
+        rectangle.setWidth(width);
+        rectangle.setHeight(height);
+        return rectangle;
+    }
+
+    private static GridLayout grid() {
+        GridLayout layout = new GridLayout();
+        layout.setBindSizeToScene(false);
+        layout.setWidth(400);
+        layout.setHeight(300);
+        layout.setColumns(GridTrack.fixed(100), GridTrack.fr(1), GridTrack.auto());
+        layout.setRows(GridTrack.fr(1), GridTrack.fr(2));
+        layout.setGap(10);
+        return layout;
+    }
+
+    @Test
+    void testTrackSizing() {
+        GridLayout layout = grid();
+        Scene scene = new Scene(layout);
+        Rectangle auto = rectangle("auto", 60, 20);
+        Rectangle spanning = rectangle("spanning", 10, 10);
+        layout.place(auto, 0, 2);
+        layout.place(spanning, 1, 0, 1, 2);
+        scene.add(auto);
+        scene.add(spanning);
+
+        layout.update();
+
+        assertEquals(100, layout.getColumnSize(0));
+        assertEquals(60, layout.getColumnSize(2));
+        assertEquals(400 - 100 - 60 - 20, layout.getColumnSize(1));
+        assertEquals(290.0 / 3, layout.getRowSize(0), 1e-9);
+
+        assertEquals(340, auto.getPositionX());
+        assertEquals(60, auto.getWidth());
+        assertEquals(0, spanning.getPositionX());
+        assertEquals(100 + 10 + 220, spanning.getWidth());
+        assertEquals(290.0 / 3 + 10, spanning.getPositionY(), 1e-9);
+        assertFalse(layout.isDirty());
+    }
+
+    @Test
+    void testResizingWidgetOnlyAffectsItsTracks() {
+        GridLayout layout = grid();
+        Scene scene = new Scene(layout);
+        Rectangle auto = rectangle("auto", 60, 20);
+        Rectangle fixed = rectangle("fixed", 10, 10);
+        layout.place(auto, 0, 2);
+        layout.place(fixed, 0, 0);
+        scene.add(auto);
+        scene.add(fixed);
+        layout.update();
+
+        auto.setWidth(80);
+        assertTrue(layout.isDirty());
+        layout.update();
+
+        assertEquals(80, layout.getColumnSize(2));
+        assertEquals(200, layout.getColumnSize(1));
+        assertEquals(320, auto.getPositionX());
+        assertEquals(100, fixed.getWidth());
+    }
+
+    @Test
+    void testAutoPlacementAddsRows() {
+        GridLayout layout = new GridLayout(2, 0);
+        Scene scene = new Scene(layout);
+        for (int i = 0; i < 5; i++) {
+            scene.add(rectangle("cell-" + i, 20, 30));
+        }
+
+        layout.update();
+
+        assertEquals(3, layout.getRows().size());
+        assertEquals(30, layout.getRowSize(2));
+        assertEquals(60, scene.getWidget("cell-4").getPositionY());
+        assertEquals(scene.getWidth() / 2.0, scene.getWidget("cell-3").getPositionX());
+    }
+
+    @Test
+    void testAutoPlacementSkipsAndReusesCells() {
+        GridLayout layout = new GridLayout(2, 0);
+        Scene scene = new Scene(layout);
+        Rectangle placed = rectangle("placed", 20, 30);
+        layout.place(placed, 0, 0, 2, 1);
+        scene.add(placed);
+        Rectangle first = rectangle("first", 20, 30);
+        Rectangle second = rectangle("second", 20, 30);
+        scene.add(first);
+        scene.add(second);
+        layout.update();
+
+        assertArrayEquals(new int[] {0, 1, 1, 1}, layout.getPlacement(first));
+        assertArrayEquals(new int[] {1, 1, 1, 1}, layout.getPlacement(second));
+
+        scene.remove(placed);
+        Rectangle late = rectangle("late", 20, 30);
+        scene.add(late);
+        layout.update();
+
+        assertArrayEquals(new int[] {0, 0, 1, 1}, layout.getPlacement(late));
+    }
+
+    @Test
+    void testInvalidCell() {
+        GridLayout layout = grid();
+        Rectangle rectangle = rectangle("rectangle", 10, 10);
+        assertThrows(IllegalArgumentException.class, () -> layout.place(rectangle, 0, 2, 1, 2));
+    }
+}
@@ -0,0 +1,157 @@
+package com.jilou.test.ui.logic.animation;
+
+import com.jilou.ui.enums.animation.AnimatedProperty;
+import com.jilou.ui.enums.animation.Easing;
+import com.jilou.ui.logic.animation.Animator;
+import com.jilou.ui.logic.animation.Timeline;
+import com.jilou.ui.logic.graphics.image.Image;
+import com.jilou.ui.logic.graphics.image.Images;
+import com.jilou.ui.styles.StyleCache;
+import com.jilou.ui.styles.types.Background;
+import com.jilou.ui.styles.types.Radius;
+import com.jilou.ui.utils.Color;
+import com.jilou.ui.widget.shapes.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnimatorTest {
+
+    @Test
+    void testInterpolatesAndFinishes() {
+        Animator animator = new Animator();
+        Rectangle rectangle = new Rectangle("rectangle");
+        rectangle.setPositionX(0);
+        rectangle.getStyle().setBackground(Background.fromColor(Color.rgba(0, 0, 0, 255)));
+
+        int move = animator.animate(rectangle, AnimatedProperty.POSITION_X, 100, 1.0f, Easing.LINEAR);
+        animator.animate(rectangle, AnimatedProperty.BACKGROUND_COLOR, Color.rgba(200, 100, 0, 255), 1.0f, null);
+        assertEquals(2, animator.getActiveCount());
+
+        animator.update(0.5f);
+        assertEquals(50, rectangle.getPositionX(), 0.001);
+        assertEquals(100, rectangle.getStyle().getBackground().getColor().getRed());
+        assertEquals(50, rectangle.getStyle().getBackground().getColor().getGreen());
+
+        animator.update(0.6f);
+        assertEquals(100, rectangle.getPositionX(), 0.001);
+        assertEquals(200, rectangle.getStyle().getBackground().getColor().getRed());
+        assertFalse(animator.isRunning(move));
+        assertFalse(animator.isRunning());
+    }
+
+    @Test
+    void testNewAnimationReplacesRunningOne() {
+        Animator animator = new Animator();
+        Rectangle rectangle = new Rectangle("rectangle");
+        rectangle.setWidth(10);
+
+        int first = animator.animate(rectangle, AnimatedProperty.WIDTH, 110, 1.0f, Easing.LINEAR);
+        animator.update(0.5f);
+        int second = animator.animate(rectangle, AnimatedProperty.WIDTH, 0, 1.0f, Easing.LINEAR);
+
+        assertFalse(animator.isRunning(first));
+        assertTrue(animator.isRunning(second));
+        animator.update(0.5f);
+        assertEquals(30, rectangle.getWidth(), 0.001);
+
+        animator.cancel(rectangle);
+        assertFalse(animator.isRunning());
+    }
+
+    @Test
+    void testTimelineRunsInSequence() {
+        Animator animator = new Animator();
+        Rectangle rectangle = new Rectangle("rectangle");
+        rectangle.setPositionY(0);
+
+        Timeline timeline = new Timeline()
+                .animate(rectangle, AnimatedProperty.POSITION_Y, 10, 0.5f, Easing.EASE_OUT)
+                .then()
+                .animate(rectangle, new Radius(8), 0.5f, Easing.LINEAR);
+        assertEquals(1.0f, timeline.getDuration(), 0.0001f);
+        timeline.play(animator);
+
+        animator.update(0.5f);
+        assertEquals(10, rectangle.getPositionY(), 0.001);
+        assertEquals(1, animator.getActiveCount());
+
+        animator.update(0.25f);
+        assertEquals(4, rectangle.getStyle().getBorderRadius().getTopLeft(), 0.001);
+        animator.update(0.25f);
+        assertEquals(new Radius(8), rectangle.getStyle().getBorderRadius());
+        assertFalse(animator.isRunning());
+    }
+
+    @Test
+    void testTimelineSequencesOneProperty() {
+        Animator animator = new Animator();
+        Rectangle rectangle = new Rectangle("rectangle");
+        new Timeline()
+                .animate(rectangle, AnimatedProperty.POSITION_X, 100, 1.0f, Easing.LINEAR)
+                .then()
+                .animate(rectangle, AnimatedProperty.POSITION_X, 0, 1.0f, Easing.LINEAR)
+                .play(animator);
+        assertEquals(2, animator.getActiveCount());
+
+        animator.update(1.0f);
+        assertEquals(100, rectangle.getPositionX(), 0.001);
+        animator.update(0.5f);
+        assertEquals(50, rectangle.getPositionX(), 0.001);
+        animator.update(0.5f);
+        assertEquals(0, rectangle.getPositionX(), 0.001);
+        assertFalse(animator.isRunning());
+    }
+
+    @Test
+    void testEasingBounds() {
+        for (Easing easing : Easing.values()) {
+            assertEquals(0.0f, easing.apply(0.0f), 0.0001f);
+            assertEquals(1.0f, easing.apply(1.0f), 0.0001f);
+        }
+        assertTrue(Easing.EASE_OUT_BACK.apply(0.7f) > 1.0f);
+    }
+
+    @Test
+    void testBackgroundColorKeepsImage() throws Exception {
+        Image image = Images.load(png()).get();
+        Animator animator = new Animator();
+        Rectangle rectangle = new Rectangle("rectangle");
+        rectangle.getStyle().setBackground(new Background(Color.BLACK, image));
+
+        animator.animate(rectangle, AnimatedProperty.BACKGROUND_COLOR, Color.WHITE, 1.0f, null);
+        animator.update(0.5f);
+        assertSame(image, rectangle.getStyle().getBackground().getImage());
+        animator.update(0.6f);
+        assertSame(image, rectangle.getStyle().getBackground().getImage());
+        assertEquals(255, rectangle.getStyle().getBackground().getColor().getRed());
+    }
+
+    @Test
+    void testOnlyTheLastFrameIsInterned() {
+        Animator animator = new Animator();
+        Rectangle rectangle = new Rectangle("rectangle");
+        rectangle.getStyle().setBackground(Background.fromColor(Color.BLACK));
+
+        animator.animate(rectangle, AnimatedProperty.BACKGROUND_COLOR, Color.rgba(10, 200, 30, 255), 1.0f, null);
+        animator.update(0.5f);
+        Background frame = rectangle.getStyle().getBackground();
+        assertNotSame(StyleCache.intern(new Background(frame.getColor())), frame);
+        animator.update(0.6f);
+        Background last = rectangle.getStyle().getBackground();
+        assertSame(StyleCache.intern(new Background(Color.rgba(10, 200, 30, 255))), last);
+        assertSame(StyleCache.intern(Color.rgba(10, 200, 30, 255)), last.getColor());
+    }
+
+    private static byte[] png() throws IOException {
+        BufferedImage image = new BufferedImage(2, 2, BufferedImage.TYPE_INT_ARGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,87 @@
+package com.jilou.test.ui.logic.binding;
+
+import com.jilou.ui.container.Scene;
+import com.jilou.ui.logic.binding.Bindings;
+import com.jilou.ui.widget.control.Text;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BindingsTest {
+
+    @Test
+    void testLatestValueIsAppliedOnce() {
+        Bindings bindings = new Bindings(4);
+        AtomicInteger calls = new AtomicInteger();
+        double[] applied = new double[1];
+        int slot = bindings.bind(value -> {
+            calls.incrementAndGet();
+            applied[0] = value;
+        });
+
+        bindings.publish(slot, 1);
+        bindings.publish(slot, 2);
+        bindings.publish(slot, 3);
+
+        assertEquals(1, bindings.apply());
+        assertEquals(1, calls.get());
+        assertEquals(3, applied[0]);
+        assertEquals(0, bindings.apply());
+
+        bindings.unbind(slot);
+        bindings.publish(slot, 4);
+        assertEquals(0, bindings.apply());
+        assertEquals(slot, bindings.bind(value -> { }));
+    }
+
+    @Test
+    void testCapacityIsFixed() {
+        Bindings bindings = new Bindings(2);
+        bindings.bind(value -> { });
+        bindings.bind(value -> { });
+        assertThrows(IllegalStateException.class, () -> bindings.bind(value -> { }));
+    }
+
+    @Test
+    void testProducersAreCoalescedPerCommit() throws Exception {
+        Scene scene = new Scene();
+        Bindings bindings = new Bindings(1000);
+        Text[] texts = new Text[1000];
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = new Text("price-" + i, "");
+            bindings.bind(texts[i], value -> Integer.toString((int) value));
+        }
+        scene.addBindings(bindings);
+
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[4];
+            for (int p = 0; p < futures.length; p++) {
+                int offset = p;
+                futures[p] = producers.submit(() -> {
+                    for (int round = 0; round < 50; round++) {
+                        for (int slot = offset; slot < 1000; slot += 4) {
+                            bindings.publish(slot, round);
+                        }
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            producers.shutdownNow();
+        }
+
+        scene.commit();
+        for (Text text : texts) {
+            assertEquals("49", text.getMessage());
+        }
+        assertEquals(0, bindings.apply());
+    }
+}
@@ -0,0 +1,136 @@
+package com.jilou.test.ui.logic.graphics.image;
+
+import com.jilou.ui.enums.image.ImageState;
+import com.jilou.ui.logic.graphics.image.AtlasPacker;
+import com.jilou.ui.logic.graphics.image.Image;
+import com.jilou.ui.logic.graphics.image.Images;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImagesTest {
+
+    @BeforeEach
+    void setUp() {
+        Images.setExecutor(Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Images.setExecutor(ForkJoinPool.commonPool());
+    }
+
+    private static byte[] png(int width, int height, int argb) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, argb);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    @Test
+    void testEqualContentIsDecodedOnce() throws Exception {
+        byte[] content = png(3, 2, 0xFF336699);
+        Image first = Images.load(content).get();
+        Image second = Images.load(content.clone()).get();
+        Image other = Images.load(png(3, 2, 0xFF000000)).get();
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+        assertEquals(ImageState.READY, first.getState());
+        assertEquals(3, first.getWidth());
+        assertEquals(2, first.getHeight());
+
+        int[] red = new int[1];
+        assertTrue(first.upload(pixels -> red[0] = pixels.data().get(0) & 0xFF));
+        assertEquals(0x33, red[0]);
+    }
+
+    @Test
+    void testPixelsAreKeptForEverySubscribedRenderer() throws Exception {
+        Queue<Image> first = Images.subscribe();
+        Queue<Image> second = Images.subscribe();
+        Image image;
+        try {
+            image = Images.load(png(2, 2, 0xFF00FF00)).get();
+        } finally {
+            Images.unsubscribe(first);
+            Images.unsubscribe(second);
+        }
+
+        assertTrue(image.upload(pixels -> assertEquals(2, pixels.width())));
+        assertTrue(image.upload(pixels -> assertEquals(2, pixels.height())));
+        assertFalse(image.upload(pixels -> fail("All renderers uploaded the pixels")));
+
+        Image.Pixels copy = image.decodeCopy().get();
+        assertEquals(0xFF, copy.data().get(1) & 0xFF);
+        copy.free();
+    }
+
+    @Test
+    void testLastReleaseUnloadsAndAcquireDecodesAgain() throws Exception {
+        Queue<Image> first = Images.subscribe();
+        Queue<Image> second = Images.subscribe();
+        try {
+            Image image = Images.load(png(4, 4, 0xFFFF0000)).get();
+            image.acquire();
+            image.acquire();
+            image.release();
+            assertNull(first.poll());
+
+            image.release();
+            assertSame(image, first.poll());
+            assertSame(image, second.poll());
+            assertEquals(ImageState.UNLOADED, image.getState());
+            assertFalse(image.upload(pixels -> fail("Unloaded pixels were uploaded")));
+
+            image.acquire();
+            assertEquals(ImageState.READY, image.getState());
+            assertTrue(image.upload(pixels -> assertEquals(4, pixels.width())));
+            image.release();
+            assertSame(image, first.poll());
+            assertSame(image, second.poll());
+        } finally {
+            Images.unsubscribe(first);
+            Images.unsubscribe(second);
+        }
+    }
+
+    @Test
+    void testAtlasPacksAndReusesRegions() {
+        AtlasPacker packer = new AtlasPacker(256);
+        Set<String> corners = new HashSet<>();
+        AtlasPacker.Region first = null;
+        for (int i = 0; i < 196; i++) {
+            AtlasPacker.Region region = packer.allocate(16, 16);
+            if (first == null) {
+                first = region;
+            }
+            assertTrue(region.x() + region.width() < 256 && region.y() + region.height() < 256);
+            assertTrue(corners.add(region.page() + ":" + region.x() + ":" + region.y()));
+        }
+        assertEquals(1, packer.getPageCount());
+        assertEquals(196, packer.getRegionCount(0));
+
+        packer.free(first);
+        AtlasPacker.Region reused = packer.allocate(12, 12);
+        assertEquals(first.x(), reused.x());
+        assertEquals(first.y(), reused.y());
+        assertThrows(IllegalArgumentException.class, () -> packer.allocate(300, 10));
+    }
+}
@@ -0,0 +1,77 @@
+package com.jilou.test.ui.logic.graphics.tessellation;
+
+import com.jilou.ui.logic.graphics.tessellation.PathMesh;
+import com.jilou.ui.logic.graphics.tessellation.PathTessellator;
+import com.jilou.ui.utils.Color;
+import com.jilou.ui.widget.shapes.PathShape;
+import com.jilou.ui.widget.shapes.VectorPath;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathTessellatorTest {
+
+    private static VectorPath circle() {
+        return VectorPath.builder().arc(12, 12, 10, 0, Math.PI * 2).close().build();
+    }
+
+    @Test
+    void testCurvesStayWithinTolerance() {
+        double tolerance = 0.01;
+        PathMesh mesh = PathTessellator.tessellate(circle(), tolerance, 0);
+        float[] vertices = mesh.getVertices();
+
+        assertTrue(mesh.getFillVertexCount() > 100);
+        assertEquals(0, mesh.getFillVertexCount() % 3);
+        for (int i = 0; i < mesh.getFillVertexCount() * 2; i += 2) {
+            double distance = Math.hypot(vertices[i] - 12, vertices[i + 1] - 12);
+            assertEquals(10, distance, tolerance + 0.01);
+        }
+        assertEquals(2f, vertices[mesh.getCoverStart() * 2], 0.01f);
+        assertEquals(22f, vertices[mesh.getCoverStart() * 2 + 4], 0.01f);
+        assertEquals(0, mesh.getStrokeVertexCount());
+
+        PathMesh coarse = PathTessellator.tessellate(circle(), 1, 0);
+        assertTrue(coarse.getFillVertexCount() < mesh.getFillVertexCount());
+    }
+
+    @Test
+    void testEqualPathsShareMeshPerLevel() {
+        PathMesh first = PathTessellator.mesh(circle(), 1, 2);
+        assertSame(first, PathTessellator.mesh(circle(), 1, 2));
+        assertNotSame(first, PathTessellator.mesh(circle(), 2, 2));
+        assertNotSame(first, PathTessellator.mesh(circle(), 1, 0));
+        assertTrue(first.getStrokeVertexCount() > 0);
+
+        assertEquals(3, PathTessellator.level(8));
+        assertEquals(3, PathTessellator.level(15.9));
+        assertEquals(-1, PathTessellator.level(0.5));
+    }
+
+    @Test
+    void testShapeKeepsMeshUntilScaleDoubles() {
+        VectorPath arrow = VectorPath.builder()
+                .moveTo(0, 4).lineTo(10, 4).lineTo(10, 0).lineTo(16, 8)
+                .lineTo(10, 16).lineTo(10, 12).lineTo(0, 12).close()
+                .build();
+        PathShape shape = new PathShape("arrow", arrow);
+        shape.setStrokeColor(Color.BLACK);
+        shape.setLayoutBounds(0, 0, 32, 32);
+        PathMesh mesh = shape.getMesh();
+
+        assertEquals(2, shape.getScale());
+        assertEquals(15, mesh.getFillVertexCount());
+        shape.setLayoutBounds(50, 50, 40, 40);
+        assertSame(mesh, shape.getMesh());
+        shape.setLayoutBounds(0, 0, 64, 64);
+        assertNotSame(mesh, shape.getMesh());
+
+        PathShape other = new PathShape("other", VectorPath.builder()
+                .moveTo(0, 4).lineTo(10, 4).lineTo(10, 0).lineTo(16, 8)
+                .lineTo(10, 16).lineTo(10, 12).lineTo(0, 12).close()
+                .build());
+        other.setStrokeColor(Color.BLACK);
+        other.setLayoutBounds(0, 0, 64, 64);
+        assertSame(shape.getMesh(), other.getMesh());
+    }
+}
@@ -0,0 +1,124 @@
+package com.jilou.test.ui.logic.input;
+
+import com.jilou.ui.enums.io.Action;
+import com.jilou.ui.enums.io.Input;
+import com.jilou.ui.logic.input.InputHandler;
+import com.jilou.ui.logic.input.InputQueue;
+import com.jilou.ui.logic.input.InputState;
+import com.jilou.ui.logic.input.Mouse;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputHandlerTest {
+
+    @Test
+    void testSimultaneousKeyPresses() {
+        InputHandler handler = new InputHandler();
+        handler.keyCallback(0L, Input.A.getCode(), 0, Action.PRESS.getCode(), 0);
+        handler.keyCallback(0L, Input.D.getCode(), 0, Action.PRESS.getCode(), 0);
+        handler.poll();
+
+        assertTrue(handler.getKeyBoard().isDown(Input.A));
+        assertTrue(handler.getKeyBoard().isDown(Input.D));
+        assertTrue(handler.getKeyBoard().isPressed(Input.A));
+        assertTrue(handler.getKeyBoard().isPressed(Input.D));
+    }
+
+    @Test
+    void testPressedAndReleasedEdges() {
+        InputHandler handler = new InputHandler();
+        handler.keyCallback(0L, Input.SPACE.getCode(), 0, Action.PRESS.getCode(), 0);
+        handler.poll();
+        assertTrue(handler.getKeyBoard().isPressed(Input.SPACE));
+
+        handler.poll();
+        assertTrue(handler.getKeyBoard().isDown(Input.SPACE));
+        assertFalse(handler.getKeyBoard().isPressed(Input.SPACE));
+
+        handler.keyCallback(0L, Input.SPACE.getCode(), 0, Action.RELEASE.getCode(), 0);
+        handler.poll();
+        assertFalse(handler.getKeyBoard().isDown(Input.SPACE));
+        assertTrue(handler.getKeyBoard().isReleased(Input.SPACE));
+    }
+
+    @Test
+    void testTapInsideOneFrameIsNotLost() {
+        InputHandler handler = new InputHandler();
+        handler.mouseButtonCallback(0L, Input.MOUSE_BUTTON_LEFT.getCode(), Action.PRESS.getCode(), 0);
+        handler.mouseButtonCallback(0L, Input.MOUSE_BUTTON_LEFT.getCode(), Action.RELEASE.getCode(), 0);
+        handler.poll();
+
+        assertFalse(handler.getMouse().isDown(Input.MOUSE_BUTTON_LEFT));
+        assertTrue(handler.getMouse().isPressed(Input.MOUSE_BUTTON_LEFT));
+        assertTrue(handler.getMouse().isReleased(Input.MOUSE_BUTTON_LEFT));
+    }
+
+    @Test
+    void testMouseMovementAndScroll() {
+        InputHandler handler = new InputHandler();
+        handler.positionCallback(0L, 10.0, 20.0);
+        handler.scrollCallback(0L, 0.0, 1.0);
+        handler.scrollCallback(0L, 0.0, 2.0);
+        handler.poll();
+
+        assertEquals(10.0f, handler.getMouse().getPositionX());
+        assertEquals(20.0f, handler.getMouse().getPositionY());
+        assertEquals(3.0f, handler.getMouse().getScrollY());
+
+        handler.poll();
+        assertEquals(0.0f, handler.getMouse().getScrollY());
+    }
+
+    @Test
+    void testSnapshotsOfOtherThreadsAreNeverTorn() throws InterruptedException {
+        InputHandler handler = new InputHandler();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger torn = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            InputState state = new InputState();
+            while (running.get()) {
+                Mouse mouse = handler.snapshot(state).getMouse();
+                if (mouse.getPositionX() != mouse.getPositionY() || mouse.getScrollY() != mouse.getPositionX()) {
+                    torn.incrementAndGet();
+                }
+            }
+        });
+        reader.start();
+        for (int frame = 1; frame <= 20_000; frame++) {
+            handler.positionCallback(0L, frame, frame);
+            handler.scrollCallback(0L, 0.0, frame);
+            handler.poll();
+        }
+        running.set(false);
+        reader.join();
+
+        assertEquals(0, torn.get());
+        assertEquals(20_000.0f, handler.snapshot(new InputState()).getMouse().getPositionX());
+    }
+
+    @Test
+    void testUnknownKeyIsIgnored() {
+        InputHandler handler = new InputHandler();
+        handler.keyCallback(0L, Input.UNKNOWN.getCode(), 0, Action.PRESS.getCode(), 0);
+        assertDoesNotThrow(handler::poll);
+    }
+
+    @Test
+    void testQueueDropsWhenFull() {
+        InputQueue queue = new InputQueue(2);
+        assertTrue(queue.offer(InputQueue.TYPE_KEY, 1, 1, 0, 0, 0));
+        assertTrue(queue.offer(InputQueue.TYPE_KEY, 2, 1, 0, 0, 0));
+        assertFalse(queue.offer(InputQueue.TYPE_KEY, 3, 1, 0, 0, 0));
+        assertEquals(1L, queue.getDropped());
+
+        int[] codes = new int[2];
+        int drained = queue.drain((type, code, action, modifiers, x, y) -> codes[code - 1] = code);
+        assertEquals(2, drained);
+        assertArrayEquals(new int[]{1, 2}, codes);
+        assertEquals(0, queue.size());
+    }
+}
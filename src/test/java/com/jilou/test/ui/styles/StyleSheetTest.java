@@ -0,0 +1,95 @@
+package com.jilou.test.ui.styles;
+
+import com.jilou.ui.enums.WidgetState;
+import com.jilou.ui.styles.Style;
+import com.jilou.ui.styles.StyleCache;
+import com.jilou.ui.styles.StyleSheet;
+import com.jilou.ui.styles.types.Background;
+import com.jilou.ui.styles.types.Radius;
+import com.jilou.ui.utils.Color;
+import com.jilou.ui.widget.shapes.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StyleSheetTest {
+
+    @Test
+    void testDefaultStyleIsShared() {
+        List<Rectangle> widgets = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            widgets.add(new Rectangle(null));
+        }
+
+        Style shared = widgets.getFirst().getStyle().getValues();
+        assertSame(Style.DEFAULT, shared);
+        for (Rectangle widget : widgets) {
+            assertSame(shared, widget.getStyle().getValues());
+        }
+    }
+
+    @Test
+    void testCopyOnWrite() {
+        Rectangle first = new Rectangle("first");
+        Rectangle second = new Rectangle("second");
+
+        first.getStyle().setBackground(Background.fromColor(Color.RED));
+
+        assertEquals(Color.RED, first.getStyle().getBackground().getColor());
+        assertSame(Style.DEFAULT, second.getStyle().getValues());
+
+        second.getStyle().setBackground(new Background(new Color(255, 0, 0)));
+        assertSame(first.getStyle().getValues(), second.getStyle().getValues());
+    }
+
+    @Test
+    void testBuilderInternsValues() {
+        StyleSheet first = StyleSheet.builder().zIndex(3).borderRadius(new Radius(4)).build();
+        StyleSheet second = StyleSheet.builder().borderRadius(new Radius(4)).zIndex(3).build();
+
+        assertSame(first.getValues(), second.getValues());
+        assertSame(first.getBorderRadius(), second.getBorderRadius());
+        assertTrue(StyleCache.countDistinct().get("Style") >= 2);
+        assertTrue(StyleCache.report().startsWith("Style cache: "));
+    }
+
+    @Test
+    void testStateVariants() {
+        Rectangle rectangle = new Rectangle("variant");
+        rectangle.getStyle().setBorderRadius(new Radius(10));
+        rectangle.getStyle().setVariant(WidgetState.HOVERED, StyleSheet.builder().background(Background.fromColor(Color.RED)).build());
+        rectangle.getStyle().setVariant(WidgetState.DISABLED, StyleSheet.builder().background(Background.fromColor(Color.GREY)).build());
+        Style normal = rectangle.getStyle().getActive();
+
+        rectangle.getHoverCallback().onHover(rectangle, true);
+        Style hovered = rectangle.getStyle().getActive();
+        assertTrue(rectangle.isHovered());
+        assertEquals(Color.RED, rectangle.getStyle().getBackground().getColor());
+        assertEquals(new Radius(10), rectangle.getStyle().getBorderRadius());
+        assertSame(normal, rectangle.getStyle().getValues());
+
+        rectangle.setState(WidgetState.DISABLED, true);
+        assertEquals(Color.GREY, rectangle.getStyle().getBackground().getColor());
+        rectangle.setState(WidgetState.DISABLED, false);
+
+        rectangle.getHoverCallback().onHover(rectangle, false);
+        assertSame(normal, rectangle.getStyle().getActive());
+        rectangle.getHoverCallback().onHover(rectangle, true);
+        assertSame(hovered, rectangle.getStyle().getActive());
+
+        rectangle.getStyle().setBorderRadius(new Radius(2));
+        assertEquals(new Radius(2), rectangle.getStyle().getBorderRadius());
+        assertEquals(Color.RED, rectangle.getStyle().getBackground().getColor());
+    }
+
+    @Test
+    void testColorValueEquality() {
+        assertEquals(Color.hexadecimal("#FF0000"), Color.RED);
+        assertEquals(Color.RED.hashCode(), new Color(255, 0, 0).hashCode());
+        assertEquals("#FF0000FF", Color.RED.getHexadecimal());
+        assertEquals(0.0f, Color.RED.getHsb()[0]);
+    }
+}
@@ -0,0 +1,93 @@
+package com.jilou.test.ui.styles.css;
+
+import com.jilou.ui.enums.WidgetState;
+import com.jilou.ui.styles.Style;
+import com.jilou.ui.styles.css.CssSheet;
+import com.jilou.ui.styles.types.Background;
+import com.jilou.ui.styles.types.Radius;
+import com.jilou.ui.utils.Color;
+import com.jilou.ui.widget.control.Text;
+import com.jilou.ui.widget.shapes.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CssSheetTest {
+
+    private static final String SOURCE = """
+            /* defaults */
+            Rectangle { background: #00FF00; border-radius: 4px; }
+            .panel > Rectangle { border: 3px line red; }
+            .panel Rectangle:hover { background-color: rgba(0, 0, 255, 1); }
+            #save { background: alice-blue; z-index: 5; }
+            """;
+
+    @Test
+    void testCascade() {
+        CssSheet css = CssSheet.parse(SOURCE);
+        Rectangle panel = new Rectangle("panel");
+        Rectangle save = new Rectangle("save");
+        Rectangle other = new Rectangle("other");
+        panel.addStyleClass("panel");
+        panel.addChild(save);
+        panel.addChild(other);
+
+        panel.updateStyle(css);
+
+        assertEquals(Color.GREEN, panel.getStyle().getBackground().getColor());
+        assertEquals(Color.ALICE_BLUE, save.getStyle().getBackground().getColor());
+        assertEquals(5, save.getStyle().getZIndex());
+        assertEquals(3, other.getStyle().getBorder().getThickness());
+        assertEquals(Color.RED, other.getStyle().getBorder().getColor());
+        assertEquals(new Radius(4), other.getStyle().getBorderRadius());
+        assertEquals(2, panel.getStyle().getBorder().getThickness());
+    }
+
+    @Test
+    void testStateInvalidatesOnlyItsSubtree() {
+        CssSheet css = CssSheet.parse(SOURCE);
+        Rectangle panel = new Rectangle("panel");
+        Rectangle first = new Rectangle("first");
+        Rectangle second = new Rectangle("second");
+        panel.addStyleClass("panel");
+        panel.addChild(first);
+        panel.addChild(second);
+        panel.updateStyle(css);
+        Style shared = second.getStyle().getValues();
+        assertSame(shared, first.getStyle().getValues());
+
+        first.setState(WidgetState.HOVERED, true);
+        assertTrue(first.isStyleDirty());
+        assertFalse(second.isStyleDirty());
+        panel.updateStyle(css);
+
+        assertEquals(Color.BLUE, first.getStyle().getBackground().getColor());
+        assertSame(shared, second.getStyle().getValues());
+
+        first.setState(WidgetState.HOVERED, false);
+        panel.updateStyle(css);
+        assertSame(shared, first.getStyle().getValues());
+    }
+
+    @Test
+    void testInlinePropertiesWinAndBaseIsRestored() {
+        CssSheet css = CssSheet.parse("Text { background: red; border-width: 4; }");
+        Text text = new Text("label");
+        text.getStyle().setBackground(Background.fromColor(Color.YELLOW));
+
+        text.updateStyle(css);
+        assertEquals(Color.YELLOW, text.getStyle().getBackground().getColor());
+        assertEquals(4, text.getStyle().getBorder().getThickness());
+
+        text.invalidateStyle();
+        text.updateStyle(null);
+        assertEquals(1, text.getStyle().getBorder().getThickness());
+    }
+
+    @Test
+    void testMalformedSource() {
+        assertThrows(IllegalArgumentException.class, () -> CssSheet.parse("Rectangle { background: red;"));
+        assertThrows(IllegalArgumentException.class, () -> CssSheet.parse("Rectangle:unknown { z-index: 1; }"));
+        assertEquals(1, CssSheet.parse("Rectangle { unknown: 1; z-index: x; }").getRules().size());
+    }
+}
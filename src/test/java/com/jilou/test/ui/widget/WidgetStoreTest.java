@@ -0,0 +1,85 @@
+package com.jilou.test.ui.widget;
+
+import com.jilou.ui.container.Scene;
+import com.jilou.ui.styles.types.Background;
+import com.jilou.ui.utils.Color;
+import com.jilou.ui.widget.WidgetStore;
+import com.jilou.ui.widget.shapes.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WidgetStoreTest {
+
+    @Test
+    void testSettersWriteThrough() {
+        Scene scene = new Scene();
+        Rectangle rectangle = new Rectangle("rectangle");
+        assertEquals(-1, rectangle.getStoreSlot());
+        scene.add(rectangle);
+
+        int slot = rectangle.getStoreSlot();
+        WidgetStore store = scene.getStore();
+        assertSame(rectangle, store.getWidget(slot));
+
+        rectangle.setPosition(10, 20);
+        rectangle.setWidth(30);
+        rectangle.getStyle().setZIndex(3);
+        rectangle.getStyle().setBackground(Background.fromColor(Color.rgba(255, 0, 0, 255)));
+        assertEquals(10, store.getX(slot));
+        assertEquals(20, store.getY(slot));
+        assertEquals(30, store.getWidth(slot));
+        assertEquals(3, store.getZIndex(slot));
+        assertEquals(0xFFFF0000, store.getBackground(slot));
+    }
+
+    @Test
+    void testReleaseKeepsSlotsDense() {
+        Scene scene = new Scene();
+        Rectangle first = new Rectangle("first");
+        Rectangle second = new Rectangle("second");
+        Rectangle third = new Rectangle("third");
+        scene.add(first);
+        scene.add(second);
+        scene.add(third);
+        third.setPositionX(42);
+
+        scene.remove(first);
+        WidgetStore store = scene.getStore();
+        assertEquals(2, store.size());
+        assertEquals(-1, first.getStoreSlot());
+        assertSame(third, store.getWidget(third.getStoreSlot()));
+        assertEquals(42, store.getX(third.getStoreSlot()));
+    }
+
+    @Test
+    void testHitTestAndInstances() {
+        Scene scene = new Scene();
+        Rectangle back = new Rectangle("back");
+        Rectangle front = new Rectangle("front");
+        back.setWidth(100);
+        back.setHeight(100);
+        front.setPosition(50, 50);
+        front.setWidth(20);
+        front.setHeight(20);
+        front.getStyle().setZIndex(1);
+        front.getStyle().setBackground(Background.fromColor(Color.rgba(0, 0, 255, 255)));
+        scene.add(back);
+        scene.add(front);
+
+        WidgetStore store = scene.getStore();
+        assertSame(front, store.hitTest(60, 60));
+        assertSame(back, store.hitTest(10, 10));
+        assertNull(store.hitTest(200, 200));
+
+        scene.getStore().setOrder(List.of(back, front));
+        assertSame(front, store.hitTest(60, 60));
+        assertEquals(2, store.getOrderSize());
+        int top = store.getOrderSlot(1);
+        assertSame(front, store.getWidget(top));
+        assertEquals(50, store.getX(top));
+        assertEquals(0xFF0000FF, store.getBackground(top));
+    }
+}
@@ -0,0 +1,65 @@
+package com.jilou.test.ui.widget.canvas;
+
+import com.jilou.ui.utils.Color;
+import com.jilou.ui.widget.canvas.Canvas;
+import com.jilou.ui.widget.canvas.CommandList;
+import com.jilou.ui.widget.shapes.VectorPath;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CanvasTest {
+
+    @Test
+    void testPainterRunsOnlyAfterInvalidation() {
+        AtomicInteger calls = new AtomicInteger();
+        Canvas canvas = new Canvas(null, (context, width, height) -> {
+            calls.incrementAndGet();
+            context.fillRect(0, 0, (float) width, (float) height);
+        });
+        canvas.setLayoutBounds(10, 20, 100, 50);
+
+        for (int frame = 0; frame < 5; frame++) {
+            canvas.getCommands();
+        }
+        assertEquals(1, calls.get());
+
+        canvas.setLayoutBounds(30, 40, 100, 50);
+        canvas.getCommands();
+        assertEquals(1, calls.get());
+
+        canvas.invalidateCanvas();
+        canvas.getCommands();
+        assertEquals(2, calls.get());
+
+        canvas.setLayoutBounds(30, 40, 200, 50);
+        canvas.getCommands();
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void testConsecutiveShapesMergeIntoOneCommand() {
+        VectorPath triangle = VectorPath.builder().moveTo(0, 0).lineTo(10, 0).lineTo(5, 10).close().build();
+        Canvas canvas = new Canvas(null, (context, width, height) -> {
+            for (int i = 0; i < 1000; i++) {
+                context.setColor(i % 2 == 0 ? Color.RED : Color.BLUE);
+                context.fillRect(i % 100, i / 100f, 1, 1);
+            }
+            context.drawLine(0, 0, 100, 100);
+            context.fillPath(triangle, 5, 5, 2);
+            context.strokeRect(0, 0, 100, 100);
+        });
+        canvas.setLayoutBounds(0, 0, 100, 100);
+
+        CommandList commands = canvas.getCommands();
+        assertEquals(3, commands.getCommandCount());
+        assertEquals(CommandList.TRIANGLES, commands.getOpcode(0));
+        assertEquals(1000 * 6 + 6, commands.getCount(0));
+        assertEquals(CommandList.PATH, commands.getOpcode(1));
+        assertEquals(CommandList.TRIANGLES, commands.getOpcode(2));
+        assertEquals(1000 * 6 + 6 + 4 * 6, commands.getVertexCount());
+        assertEquals(Color.BLUE.getBluePercent(), commands.getVertices()[6 * CommandList.FLOATS_PER_VERTEX + 4]);
+    }
+}
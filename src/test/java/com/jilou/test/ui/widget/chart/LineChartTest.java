@@ -0,0 +1,91 @@
+package com.jilou.test.ui.widget.chart;
+
+import com.jilou.ui.enums.chart.Decimation;
+import com.jilou.ui.utils.Color;
+import com.jilou.ui.widget.chart.LineChart;
+import com.jilou.ui.widget.chart.TimeSeries;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LineChartTest {
+
+    @Test
+    void testConcurrentAppendsArePublishedInOrder() throws InterruptedException {
+        TimeSeries series = new TimeSeries(1000);
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < 2500; i++) {
+                    series.append(0, 1);
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertEquals(10_000, series.getEnd());
+        assertEquals(10_000 - 1000 + series.getMargin(), series.getStart());
+        assertEquals(1f, series.getValue(series.getEnd() - 1));
+    }
+
+    @Test
+    void testMinMaxKeepsPeaksAtPixelResolution() {
+        TimeSeries series = new TimeSeries(2_000_000);
+        double[] times = new double[10_000];
+        double[] values = new double[10_000];
+        for (int chunk = 0; chunk < 200; chunk++) {
+            for (int i = 0; i < times.length; i++) {
+                int index = chunk * times.length + i;
+                times[i] = index;
+                values[i] = index == 1_234_567 ? 100 : Math.sin(index * 0.001);
+            }
+            series.append(times, values, 0, times.length);
+        }
+        LineChart chart = new LineChart("chart");
+        chart.setSeries(series);
+        chart.setLayoutBounds(0, 0, 200, 100);
+
+        assertTrue(chart.prepareVertices());
+        assertEquals(400, chart.getLineVertexCount());
+        float[] vertices = chart.getVertices();
+        float top = Float.MAX_VALUE;
+        for (int i = 1; i < chart.getLineVertexCount() * 2; i += 2) {
+            top = Math.min(top, vertices[i]);
+        }
+        assertEquals(0f, top, 0.001f);
+        assertFalse(chart.prepareVertices());
+    }
+
+    @Test
+    void testLttbSelectsOnePointPerColumn() {
+        TimeSeries series = new TimeSeries(100_000);
+        for (int i = 0; i < 100_000; i++) {
+            series.append(i, i % 100);
+        }
+        LineChart chart = new LineChart("chart");
+        chart.setSeries(series);
+        chart.setDecimation(Decimation.LTTB);
+        chart.setFillColor(Color.BLUE);
+        chart.setLayoutBounds(10, 0, 50, 20);
+        chart.prepareVertices();
+
+        assertEquals(50, chart.getLineVertexCount());
+        assertEquals(100, chart.getFillVertexCount());
+        assertEquals(10f, chart.getVertices()[0], 0.001f);
+        assertEquals(0, chart.getDirtyStart());
+        assertEquals(300, chart.getDirtyEnd());
+
+        chart.clearDirty();
+        series.append(100_000, 50);
+        chart.setWindow(50);
+        chart.prepareVertices();
+        assertTrue(chart.getLineVertexCount() <= 50);
+    }
+}
@@ -0,0 +1,95 @@
+package com.jilou.test.ui.widget.control;
+
+import com.jilou.ui.container.Scene;
+import com.jilou.ui.widget.control.Text;
+import com.jilou.ui.widget.control.VirtualList;
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualListTest {
+
+    private static final List<Integer> MILLION = new AbstractList<>() {
+        @Override
+        public Integer get(int index) {
+            return index;
+        }
+
+        @Override
+        public int size() {
+            return 1_000_000;
+        }
+    };
+
+    @Test
+    void testOnlyViewportCellsAreCreated() {
+        AtomicInteger binds = new AtomicInteger();
+        VirtualList<Integer, Text> list = new VirtualList<>("list", 20, Text::new, (cell, item, index) -> {
+            binds.incrementAndGet();
+            cell.setMessage("Row " + item);
+        });
+        list.setHeight(200);
+        list.setItems(MILLION);
+        Scene scene = new Scene();
+        scene.add(list);
+        scene.prepare();
+
+        int cells = 200 / 20 + 1 + VirtualList.DEFAULT_BUFFER * 2;
+        assertEquals(cells, list.getCells().size());
+        assertEquals(cells + 1, scene.getRegistry().size());
+        assertEquals(cells, binds.get());
+
+        list.scrollBy(20);
+        list.scrollBy(20);
+        list.scrollBy(20);
+        scene.prepare();
+        assertEquals(cells + 1, binds.get());
+        assertEquals(1, list.getFirstIndex());
+
+        list.scrollTo(500_000);
+        scene.prepare();
+        Text top = list.getCells().get(500_000 % cells);
+        assertEquals("Row 500000", top.getMessage());
+        assertEquals(list.getPositionY(), top.getPositionY());
+        assertEquals(cells + 1, scene.getRegistry().size());
+    }
+
+    @Test
+    void testBufferedRowsOutsideTheListAreHidden() {
+        VirtualList<Integer, Text> list = new VirtualList<>("list", 20, Text::new,
+                (cell, item, index) -> cell.setMessage("Row " + item));
+        list.setHeight(200);
+        list.setItems(MILLION);
+        Scene scene = new Scene();
+        scene.add(list);
+        list.scrollTo(100);
+        scene.prepare();
+
+        for (Text cell : list.getCells()) {
+            int index = list.getBoundIndex(cell);
+            assertTrue(index >= 0);
+            assertEquals(index >= 100 && index < 110, cell.isVisible(), "Row " + index);
+        }
+    }
+
+    @Test
+    void testShortListHidesUnusedCells() {
+        VirtualList<String, Text> list = new VirtualList<>("list", 20, Text::new,
+                (cell, item, index) -> cell.setMessage(item));
+        list.setHeight(200);
+        list.setItems(List.of("a", "b", "c"));
+        Scene scene = new Scene();
+        scene.add(list);
+        scene.prepare();
+
+        long shown = list.getCells().stream().filter(Text::isVisible).count();
+        assertEquals(3, shown);
+        assertEquals(0, list.getMaxScrollOffset());
+        list.scrollBy(100);
+        assertEquals(0, list.getScrollOffset());
+    }
+}
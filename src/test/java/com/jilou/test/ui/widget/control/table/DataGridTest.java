@@ -0,0 +1,119 @@
+package com.jilou.test.ui.widget.control.table;
+
+import com.jilou.ui.container.Scene;
+import com.jilou.ui.widget.control.Text;
+import com.jilou.ui.widget.control.table.DataGrid;
+import com.jilou.ui.widget.control.table.TableData;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataGridTest {
+
+    private static final int ROWS = 1_000_000;
+
+    private static TableData table(int rows, int columns) {
+        TableData data = new TableData(rows);
+        double[] prices = new double[rows];
+        String[] symbols = new String[rows];
+        for (int row = 0; row < rows; row++) {
+            prices[row] = (row * 7919L) % rows;
+            symbols[row] = "S" + (rows - row);
+        }
+        data.addColumn("price", prices);
+        data.addColumn("symbol", symbols);
+        for (int column = 2; column < columns; column++) {
+            data.addColumn("c" + column, new double[rows]);
+        }
+        return data;
+    }
+
+    private static DataGrid grid(TableData data, Scene scene) {
+        DataGrid grid = new DataGrid("grid");
+        grid.setWidth(400);
+        grid.setHeight(224);
+        grid.setData(data);
+        scene.add(grid);
+        scene.prepare();
+        return grid;
+    }
+
+    @Test
+    void testOnlyViewportCellsExist() {
+        Scene scene = new Scene();
+        DataGrid grid = grid(table(ROWS, 3), scene);
+
+        assertEquals(1 + 3 + 11 * 3, scene.getRegistry().size());
+        assertEquals("0", grid.getCell(0, 0).getMessage());
+        assertNotNull(grid.getCell(9, 0));
+        assertNull(grid.getCell(10, 0));
+        assertNull(grid.getCell(50, 0));
+
+        grid.scrollBy(0, 20 * 1000);
+        scene.prepare();
+        Text cell = grid.getCell(1000, 1);
+        assertEquals("S" + (ROWS - 1000), cell.getMessage());
+        assertEquals(grid.getPositionY() + grid.getHeaderHeight(), cell.getPositionY());
+    }
+
+    @Test
+    void testSortAndFilterOffThread() {
+        Scene scene = new Scene();
+        TableData data = table(ROWS, 3);
+        DataGrid grid = grid(data, scene);
+
+        int before = grid.getDataRow(0);
+        CompletableFuture<Void> stale = grid.sort(0, true);
+        grid.sort(0, false).join();
+        stale.join();
+        assertEquals(before, grid.getDataRow(0));
+        assertEquals("0", grid.getCell(0, 0).getMessage());
+
+        scene.commit();
+        scene.prepare();
+        assertEquals(ROWS - 1, data.getNumber(0, grid.getDataRow(0)));
+        assertEquals(Integer.toString(ROWS - 1), grid.getCell(0, 0).getMessage());
+        for (int row = 1; row < 1000; row++) {
+            assertTrue(data.getNumber(0, grid.getDataRow(row - 1)) >= data.getNumber(0, grid.getDataRow(row)));
+        }
+
+        grid.setFilter(row -> data.getNumber(0, row) % 2 == 0).join();
+        assertEquals(ROWS, grid.getShownRowCount());
+        scene.commit();
+        scene.prepare();
+        assertEquals(ROWS / 2, grid.getShownRowCount());
+        assertEquals(ROWS - 2, data.getNumber(0, grid.getDataRow(0)));
+    }
+
+    @Test
+    void testGridWithoutSceneCommitsItself() {
+        DataGrid grid = new DataGrid("grid");
+        grid.setData(table(100, 2));
+
+        grid.sort(0, false).join();
+        assertEquals(0, grid.getDataRow(0));
+        assertTrue(grid.commitOrder());
+        assertEquals(99, (int) grid.getData().getNumber(0, grid.getDataRow(0)));
+        assertFalse(grid.commitOrder());
+    }
+
+    @Test
+    void testFrozenColumnsAndResize() {
+        Scene scene = new Scene();
+        DataGrid grid = grid(table(100, 10), scene);
+        grid.setFrozenColumns(1);
+        grid.setScroll(250, 0);
+        scene.prepare();
+
+        assertEquals(grid.getPositionX(), grid.getCell(0, 0).getPositionX());
+        assertNull(grid.getCell(0, 1));
+        assertEquals(grid.getPositionX() + 50, grid.getCell(0, 3).getPositionX());
+
+        grid.resizeColumn(0, -500);
+        assertEquals(DataGrid.MIN_COLUMN_WIDTH, grid.getColumnWidth(0));
+        scene.prepare();
+        assertEquals(DataGrid.MIN_COLUMN_WIDTH, grid.getCell(0, 0).getWidth());
+    }
+}
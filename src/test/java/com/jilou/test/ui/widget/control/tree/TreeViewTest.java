@@ -0,0 +1,82 @@
+package com.jilou.test.ui.widget.control.tree;
+
+import com.jilou.ui.widget.control.Text;
+import com.jilou.ui.widget.control.tree.TreeNode;
+import com.jilou.ui.widget.control.tree.TreeView;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeViewTest {
+
+    /**
+     * Every item has 100 000 children, named by their path.
+     */
+    private static List<String> children(String parent) {
+        return new AbstractList<>() {
+            @Override
+            public String get(int index) {
+                return parent + "/" + index;
+            }
+
+            @Override
+            public int size() {
+                return 100_000;
+            }
+        };
+    }
+
+    private static TreeView<String, Text> tree(AtomicInteger loads) {
+        TreeView<String, Text> tree = new TreeView<>("tree", 20, parent -> {
+            loads.incrementAndGet();
+            return children(parent);
+        }, Text::new, (cell, node, index) -> cell.setMessage(node.getValue()));
+        tree.setRoots(List.of("a", "b", "c"));
+        return tree;
+    }
+
+    @Test
+    void testExpandLoadsChildrenOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        TreeView<String, Text> tree = tree(loads);
+        TreeNode<String> b = tree.getRoots().get(1);
+
+        tree.expand(b);
+        assertEquals(100_003, tree.getRowCount());
+        assertEquals("b/0", tree.getItems().get(2).getValue());
+        assertEquals("b/99999", tree.getItems().get(100_001).getValue());
+        assertEquals("c", tree.getItems().get(100_002).getValue());
+
+        tree.collapse(b);
+        assertEquals(3, tree.getRowCount());
+        tree.expand(b);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testNestedRowsAreFoundThroughCollapsedRanges() {
+        TreeView<String, Text> tree = tree(new AtomicInteger());
+        TreeNode<String> a = tree.getRoots().get(0);
+        tree.expand(a);
+        TreeNode<String> deep = a.getChild(50_000);
+        tree.expand(deep);
+
+        assertEquals(200_003, tree.getRowCount());
+        assertEquals(50_001, tree.getRow(deep));
+        assertEquals("a/50000/7", tree.getItems().get(50_009).getValue());
+        assertEquals(2, tree.getItems().get(50_009).getDepth());
+        assertEquals("a/50001", tree.getItems().get(150_002).getValue());
+        assertEquals(200_001, tree.getRow(tree.getRoots().get(1)));
+
+        tree.collapse(a);
+        assertEquals(3, tree.getRowCount());
+        assertEquals(-1, tree.getRow(deep));
+        tree.expand(a);
+        assertEquals(200_003, tree.getRowCount());
+    }
+}
@@ -0,0 +1,134 @@
+package com.jilou.test.ui.widget.image;
+
+import com.jilou.ui.widget.image.TileCache;
+import com.jilou.ui.widget.image.TileKey;
+import com.jilou.ui.widget.image.TilePixels;
+import com.jilou.ui.widget.image.TileSource;
+import com.jilou.ui.widget.image.TiledImage;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TiledImageTest {
+
+    /**
+     * A 20000x20000 pyramid with 256 pixel tiles which records the decoded tiles.
+     */
+    private static final class FakeSource implements TileSource {
+
+        private final List<TileKey> decoded = new ArrayList<>();
+
+        @Override
+        public int getWidth() {
+            return 20_000;
+        }
+
+        @Override
+        public int getHeight() {
+            return 20_000;
+        }
+
+        @Override
+        public int getTileSize() {
+            return 256;
+        }
+
+        @Override
+        public TilePixels decode(TileKey key) {
+            decoded.add(key);
+            int width = Math.min(256, getLevelWidth(key.level()) - key.column() * 256);
+            int height = Math.min(256, getLevelHeight(key.level()) - key.row() * 256);
+            return new TilePixels(width, height, ByteBuffer.allocateDirect(width * height * 4), null);
+        }
+    }
+
+    /**
+     * Hands out increasing texture ids and records the deleted ones.
+     */
+    private static final class FakeUploader implements TileCache.TileUploader {
+
+        private final List<Integer> deleted = new ArrayList<>();
+        private int next = 1;
+
+        @Override
+        public int upload(TilePixels pixels) {
+            return next++;
+        }
+
+        @Override
+        public void delete(int texture) {
+            deleted.add(texture);
+        }
+    }
+
+    @Test
+    void testVisibleTilesAreRequestedAtZoomLevel() {
+        List<Runnable> queued = new ArrayList<>();
+        Executor executor = queued::add;
+        FakeSource source = new FakeSource();
+        TiledImage image = new TiledImage("image", executor, TileCache.DEFAULT_BUDGET);
+        image.setSource(source);
+        image.setLayoutBounds(0, 0, 512, 512);
+        image.setZoom(0.25);
+        image.setOffset(4096, 4096);
+
+        assertEquals(8, source.getLevels());
+        assertEquals(2, image.getLevel());
+        assertTrue(image.prepareTiles().isEmpty());
+        assertEquals(1 + 4, queued.size());
+
+        queued.forEach(Runnable::run);
+        assertTrue(source.decoded.contains(new TileKey(7, 0, 0)));
+        assertTrue(source.decoded.contains(new TileKey(2, 4, 4)));
+        assertTrue(source.decoded.contains(new TileKey(2, 5, 5)));
+    }
+
+    @Test
+    void testMissingTilesFallBackToCoarserLevel() {
+        FakeSource source = new FakeSource();
+        FakeUploader uploader = new FakeUploader();
+        TiledImage image = new TiledImage("image", Runnable::run, TileCache.DEFAULT_BUDGET);
+        image.setSource(source);
+        image.setLayoutBounds(0, 0, 256, 256);
+        image.prepareTiles();
+        image.getCache().upload(uploader, 1);
+
+        List<TiledImage.TilePlacement> placements = image.prepareTiles();
+        assertEquals(1, placements.size());
+        TiledImage.TilePlacement fallback = placements.get(0);
+        assertEquals(0f, fallback.x0());
+        assertEquals(256f, fallback.x1());
+        assertEquals(0f, fallback.u0());
+        assertEquals(256f / (157 * 128), fallback.u1(), 0.0001f);
+
+        image.getCache().upload(uploader, 4);
+        placements = image.prepareTiles();
+        assertEquals(1, placements.size());
+        assertEquals(1f, placements.get(0).u1());
+    }
+
+    @Test
+    void testLeastRecentlyUsedTilesAreEvicted() {
+        FakeSource source = new FakeSource();
+        FakeUploader uploader = new FakeUploader();
+        long tileBytes = 256 * 256 * 4;
+        TiledImage image = new TiledImage("image", Runnable::run, tileBytes * 3);
+        image.setSource(source);
+        image.setLayoutBounds(0, 0, 256, 256);
+
+        for (int column = 0; column < 6; column++) {
+            image.setOffset(column * 256, 0);
+            image.prepareTiles();
+            image.getCache().upload(uploader, 8);
+            assertTrue(image.getCache().getUsedBytes() <= tileBytes * 3);
+        }
+        assertFalse(uploader.deleted.isEmpty());
+        image.prepareTiles();
+        assertEquals(1f, image.prepareTiles().get(image.prepareTiles().size() - 1).u1());
+    }
+}
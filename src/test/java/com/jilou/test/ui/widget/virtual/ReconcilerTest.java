@@ -0,0 +1,77 @@
+package com.jilou.test.ui.widget.virtual;
+
+import com.jilou.ui.container.Scene;
+import com.jilou.ui.widget.AbstractWidget;
+import com.jilou.ui.widget.shapes.Rectangle;
+import com.jilou.ui.widget.virtual.Node;
+import com.jilou.ui.widget.virtual.Reconciler;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReconcilerTest {
+
+    private static Node<Rectangle> item(String key, double width) {
+        return Node.of(Rectangle.class, Rectangle::new).key(key).name(key).width(width);
+    }
+
+    @Test
+    void testKeyedReorderKeepsWidgets() {
+        Scene scene = new Scene();
+        Reconciler reconciler = new Reconciler();
+        reconciler.render(scene, List.of(item("a", 10), item("b", 20), item("c", 30)));
+        AbstractWidget a = scene.getWidget("a");
+        AbstractWidget c = scene.getWidget("c");
+
+        reconciler.render(scene, List.of(item("c", 30), item("a", 15)));
+
+        assertEquals(List.of(c, a), scene.getWidgetList());
+        assertSame(a, scene.getWidget("a"));
+        assertEquals(15, a.getPreferredWidth());
+        assertFalse(scene.hasWidget("b"));
+        assertEquals(2, scene.getRegistry().size());
+    }
+
+    @Test
+    void testOnlyChangedPropertiesAreApplied() {
+        Scene scene = new Scene();
+        Reconciler reconciler = new Reconciler();
+        AtomicInteger applied = new AtomicInteger();
+        for (String message : List.of("first", "first", "second")) {
+            reconciler.render(scene, List.of(Node.of(Rectangle.class, Rectangle::new)
+                    .set("message", message, (widget, value) -> applied.incrementAndGet())));
+        }
+
+        assertEquals(2, applied.get());
+        assertEquals(1, scene.getRegistry().size());
+    }
+
+    @Test
+    void testNestedChildrenAreReconciled() {
+        Scene scene = new Scene();
+        Reconciler reconciler = new Reconciler();
+        List<Node<?>> rows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            rows.add(item("row-" + i, i));
+        }
+        reconciler.render(scene, List.of(Node.of(Rectangle.class, Rectangle::new).name("list").children(rows)));
+        AbstractWidget list = scene.getWidget("list");
+        AbstractWidget last = scene.getWidget("row-99");
+
+        List<Node<?>> reversed = new ArrayList<>(rows.reversed());
+        reversed.add(item("row-100", 100));
+        reconciler.render(scene, List.of(Node.of(Rectangle.class, Rectangle::new).name("list").children(reversed)));
+
+        assertSame(list, scene.getWidget("list"));
+        assertSame(last, list.getChildren().get(0));
+        assertEquals("row-100", list.getChildren().get(100).getLocalizedName());
+        assertEquals(102, scene.getRegistry().size());
+        assertThrows(IllegalArgumentException.class,
+                () -> reconciler.render(scene, List.of(item("x", 1), item("x", 2))));
+        assertFalse(scene.hasWidget("x"));
+    }
+}